@@ -0,0 +1,136 @@
+package run.halo.app.core.freemarker;
+
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+import freemarker.template.TemplateException;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.ui.freemarker.FreeMarkerTemplateUtils;
+import run.halo.app.utils.BenchmarkDocuments;
+import run.halo.app.utils.BenchmarkDocuments.DocumentType;
+
+/**
+ * Benchmark for {@link TemplateStreamRenderer} against rendering into a string.
+ *
+ * <p>The {@code firstByte} benchmarks stop once the first chunk reaches the response, which is
+ * the time to first byte. Run with {@code -prof gc} to compare allocations, the string
+ * rendering holds the whole document twice, in the builder and in the string.
+ *
+ * @author guqing
+ * @date 2022-04-11
+ */
+@State(Scope.Benchmark)
+public class TemplateStreamRendererBenchmark {
+
+    private static final String FEED_TEMPLATE = "<rss><channel><#list posts as post>"
+        + "<item><title>${post.title}</title><description><![CDATA[${post.content}]]>"
+        + "</description></item></#list></channel></rss>";
+
+    private static final int FLUSH_SIZE = 8192;
+
+    @Param({"10", "100", "1000"})
+    int posts;
+
+    Template template;
+
+    Map<String, Object> model;
+
+    @Setup
+    public void setUp() throws IOException {
+        template = new Template("rss", FEED_TEMPLATE,
+            new Configuration(Configuration.VERSION_2_3_25));
+        String content = BenchmarkDocuments.html(DocumentType.LARGE);
+        List<Map<String, String>> postList = new ArrayList<>(posts);
+        for (int i = 0; i < posts; i++) {
+            postList.add(Map.of("title", "Post " + i, "content", content));
+        }
+        model = Map.of("posts", postList);
+    }
+
+    @Benchmark
+    public void renderString() throws IOException, TemplateException {
+        String document = FreeMarkerTemplateUtils.processTemplateIntoString(template, model);
+        NullWriter out = new NullWriter(false);
+        out.write(document);
+        out.flush();
+    }
+
+    @Benchmark
+    public void renderStream() throws IOException, TemplateException {
+        TemplateStreamRenderer.render(template, model, new NullWriter(false), FLUSH_SIZE);
+    }
+
+    @Benchmark
+    public void firstByteString() throws IOException, TemplateException {
+        String document = FreeMarkerTemplateUtils.processTemplateIntoString(template, model);
+        try {
+            NullWriter out = new NullWriter(true);
+            out.write(document, 0, Math.min(FLUSH_SIZE, document.length()));
+            out.flush();
+        } catch (FirstByteException e) {
+            // Expected
+        }
+    }
+
+    @Benchmark
+    public void firstByteStream() throws IOException, TemplateException {
+        try {
+            TemplateStreamRenderer.render(template, model, new NullWriter(true), FLUSH_SIZE);
+        } catch (FirstByteException e) {
+            // Expected
+        }
+    }
+
+    /**
+     * Writer discarding output, which stops rendering on the first flush if required.
+     */
+    static class NullWriter extends Writer {
+
+        private final boolean stopOnFlush;
+
+        NullWriter(boolean stopOnFlush) {
+            this.stopOnFlush = stopOnFlush;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            // Discard
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            // Discard
+        }
+
+        @Override
+        public void flush() throws FirstByteException {
+            if (stopOnFlush) {
+                throw FirstByteException.INSTANCE;
+            }
+        }
+
+        @Override
+        public void close() {
+            // Nothing to close
+        }
+    }
+
+    static class FirstByteException extends IOException {
+
+        static final FirstByteException INSTANCE = new FirstByteException();
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            // Thrown on every invocation, skip the stack trace
+            return this;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package run.halo.app.service.assembler;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import run.halo.app.model.entity.Post;
+import run.halo.app.model.enums.PostPermalinkType;
+import run.halo.app.service.OptionService;
+import run.halo.app.service.support.PermalinkGenerator;
+
+/**
+ * Benchmark for {@link PostAssembler}.
+ *
+ * @author guqing
+ * @date 2022-04-09
+ */
+@State(Scope.Benchmark)
+public class PostAssemblerBenchmark {
+
+    @Param({"DEFAULT", "DATE", "DAY", "ID", "YEAR", "ID_SLUG"})
+    PostPermalinkType permalinkType;
+
+    PostAssembler postAssembler;
+
+    Post post;
+
+    @Setup
+    public void setUp() {
+        OptionService optionService = mock(OptionService.class);
+        when(optionService.getPostPermalinkType()).thenReturn(permalinkType);
+        when(optionService.getArchivesPrefix()).thenReturn("archives");
+        when(optionService.getSheetPrefix()).thenReturn("s");
+        when(optionService.getCategoriesPrefix()).thenReturn("categories");
+        when(optionService.getTagsPrefix()).thenReturn("tags");
+        when(optionService.getPathSuffix()).thenReturn(".html");
+
+        postAssembler = new PostAssembler(null, optionService, null, null, null, null, null,
+            null, new PermalinkGenerator(optionService));
+
+        post = new Post();
+        post.setId(1);
+        post.setSlug("hello-halo");
+        post.setCreateTime(new Date(1640995200000L));
+    }
+
+    @Benchmark
+    public String buildFullPath() {
+        return postAssembler.buildFullPath(post);
+    }
+}
@@ -0,0 +1,73 @@
+package run.halo.app.service.assembler.comment;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import run.halo.app.model.entity.PostComment;
+import run.halo.app.model.properties.CommentProperties;
+import run.halo.app.model.vo.BaseCommentVO;
+import run.halo.app.service.OptionService;
+
+/**
+ * Benchmark for {@link BaseCommentAssembler}.
+ *
+ * @author guqing
+ * @date 2022-04-09
+ */
+@State(Scope.Benchmark)
+public class BaseCommentAssemblerBenchmark {
+
+    @Param({"100", "1000"})
+    int size;
+
+    PostCommentAssembler postCommentAssembler;
+
+    List<PostComment> comments;
+
+    Comparator<BaseCommentVO> comparator;
+
+    @Setup
+    public void setUp() {
+        OptionService optionService = mock(OptionService.class);
+        when(optionService.getByPropertyOrDefault(CommentProperties.GRAVATAR_SOURCE, String.class))
+            .thenReturn("//cn.gravatar.com/avatar/");
+        when(optionService.getByPropertyOrDefault(CommentProperties.GRAVATAR_DEFAULT, String.class))
+            .thenReturn("mm");
+        postCommentAssembler = new PostCommentAssembler(optionService, null, null);
+
+        // A third of comments are top level, the others reply to a random earlier comment
+        Random random = new Random(size);
+        comments = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            PostComment comment = new PostComment();
+            comment.setId(id);
+            comment.setParentId(id % 3 == 1 ? 0L : (long) random.nextInt((int) id - 1) + 1);
+            comment.setPostId(1);
+            comment.setAuthor("author-" + id);
+            comment.setGravatarMd5("md5-" + id);
+            comment.setContent("comment " + id);
+            comments.add(comment);
+        }
+        comparator = Comparator.comparing(BaseCommentVO::getId);
+    }
+
+    @Benchmark
+    public BaseCommentVO concreteTree() {
+        BaseCommentVO topVirtualComment = new BaseCommentVO();
+        topVirtualComment.setId(0L);
+        topVirtualComment.setChildren(new LinkedList<>());
+        postCommentAssembler.concreteTree(topVirtualComment, new LinkedList<>(comments),
+            comparator);
+        return topVirtualComment;
+    }
+}
@@ -0,0 +1,34 @@
+package run.halo.app.service.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import run.halo.app.utils.BenchmarkDocuments;
+import run.halo.app.utils.BenchmarkDocuments.DocumentType;
+
+/**
+ * Benchmark for {@link BasePostServiceImpl}.
+ *
+ * @author guqing
+ * @date 2022-04-09
+ */
+@State(Scope.Benchmark)
+public class BasePostServiceImplBenchmark {
+
+    @Param({"SMALL", "LARGE"})
+    DocumentType type;
+
+    String html;
+
+    @Setup
+    public void setUp() {
+        html = BenchmarkDocuments.html(type);
+    }
+
+    @Benchmark
+    public long htmlFormatWordCount() {
+        return BasePostServiceImpl.htmlFormatWordCount(html);
+    }
+}
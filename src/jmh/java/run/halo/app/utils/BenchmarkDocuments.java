@@ -0,0 +1,109 @@
+package run.halo.app.utils;
+
+import java.util.Random;
+
+/**
+ * Generated documents shared by benchmarks.
+ *
+ * <p>Documents are generated with fixed seeds so every run measures the same input.
+ *
+ * @author guqing
+ * @date 2022-04-09
+ */
+public final class BenchmarkDocuments {
+
+    private static final String[] WORDS = {"halo", "blog", "theme", "post", "comment", "render",
+        "markdown", "spring", "cache", "index", "template", "archive", "博客", "主题", "文章",
+        "评论"};
+
+    private BenchmarkDocuments() {
+    }
+
+    /**
+     * Generates a markdown document.
+     *
+     * @param type document type
+     * @return markdown document
+     */
+    public static String markdown(DocumentType type) {
+        Random random = new Random(type.ordinal());
+        StringBuilder markdown = new StringBuilder();
+        switch (type) {
+            case SMALL:
+                markdown.append("# Hello Halo\n\n");
+                paragraph(markdown, random, 60);
+                break;
+            case LARGE:
+                for (int section = 0; section < 40; section++) {
+                    markdown.append("## Section ").append(section).append("\n\n");
+                    paragraph(markdown, random, 120);
+                    markdown.append("- **").append(word(random)).append("** ")
+                        .append("[link](https://halo.run/").append(section).append(")\n")
+                        .append("- `code` ~~").append(word(random)).append("~~\n\n")
+                        .append("```java\nSystem.out.println(\"").append(section)
+                        .append("\");\n```\n\n");
+                }
+                break;
+            case TABLE:
+                for (int table = 0; table < 20; table++) {
+                    markdown.append("| id | name | description | link |\n")
+                        .append("| --- | :--- | :---: | ---: |\n");
+                    for (int row = 0; row < 20; row++) {
+                        markdown.append("| ").append(row).append(" | ").append(word(random))
+                            .append(" | *").append(word(random)).append("* | ")
+                            .append("[go](https://halo.run) |\n");
+                    }
+                    markdown.append('\n');
+                }
+                break;
+            case FOOTNOTE:
+                for (int note = 0; note < 200; note++) {
+                    markdown.append(word(random)).append(" ").append(word(random))
+                        .append("[^").append(note).append("] ");
+                    if (note % 10 == 9) {
+                        markdown.append("\n\n");
+                    }
+                }
+                markdown.append("\n\n");
+                for (int note = 0; note < 200; note++) {
+                    markdown.append("[^").append(note).append("]: ").append(word(random))
+                        .append(" ").append(word(random)).append("\n");
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported document type " + type);
+        }
+        return markdown.toString();
+    }
+
+    /**
+     * Generates an html document by rendering the markdown document.
+     *
+     * @param type document type
+     * @return html document
+     */
+    public static String html(DocumentType type) {
+        return MarkdownUtils.renderHtml(markdown(type));
+    }
+
+    private static void paragraph(StringBuilder markdown, Random random, int words) {
+        for (int i = 0; i < words; i++) {
+            markdown.append(word(random)).append(i % 15 == 14 ? ".\n" : " ");
+        }
+        markdown.append("\n\n");
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    /**
+     * Types of generated documents.
+     */
+    public enum DocumentType {
+        SMALL,
+        LARGE,
+        TABLE,
+        FOOTNOTE
+    }
+}
@@ -0,0 +1,33 @@
+package run.halo.app.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import run.halo.app.utils.BenchmarkDocuments.DocumentType;
+
+/**
+ * Benchmark for {@link HaloUtils}.
+ *
+ * @author guqing
+ * @date 2022-04-09
+ */
+@State(Scope.Benchmark)
+public class HaloUtilsBenchmark {
+
+    @Param({"SMALL", "LARGE"})
+    DocumentType type;
+
+    String html;
+
+    @Setup
+    public void setUp() {
+        html = BenchmarkDocuments.html(type);
+    }
+
+    @Benchmark
+    public String cleanHtmlTag() {
+        return HaloUtils.cleanHtmlTag(html);
+    }
+}
@@ -0,0 +1,66 @@
+package run.halo.app.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.IOException;
+import java.util.Date;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import run.halo.app.model.dto.post.BasePostDetailDTO;
+import run.halo.app.model.enums.PostEditorType;
+import run.halo.app.model.enums.PostStatus;
+import run.halo.app.utils.BenchmarkDocuments.DocumentType;
+
+/**
+ * Benchmark for {@link JsonUtils}.
+ *
+ * @author guqing
+ * @date 2022-04-09
+ */
+@State(Scope.Benchmark)
+public class JsonUtilsBenchmark {
+
+    BasePostDetailDTO post;
+
+    String json;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        post = new BasePostDetailDTO();
+        post.setId(1);
+        post.setTitle("Hello Halo");
+        post.setSlug("hello-halo");
+        post.setStatus(PostStatus.PUBLISHED);
+        post.setEditorType(PostEditorType.MARKDOWN);
+        post.setCreateTime(new Date(1640995200000L));
+        post.setUpdateTime(new Date(1640995200000L));
+        post.setEditTime(new Date(1640995200000L));
+        post.setFullPath("/archives/hello-halo");
+        post.setSummary("Welcome to Halo");
+        post.setVisits(100L);
+        post.setLikes(10L);
+        post.setWordCount(1000L);
+        post.setDisallowComment(false);
+        post.setTopPriority(0);
+        post.setOriginalContent(BenchmarkDocuments.markdown(DocumentType.SMALL));
+        post.setContent(BenchmarkDocuments.html(DocumentType.SMALL));
+        post.setCommentCount(5L);
+        json = JsonUtils.objectToJson(post);
+    }
+
+    @Benchmark
+    public String objectToJson() throws JsonProcessingException {
+        return JsonUtils.objectToJson(post);
+    }
+
+    @Benchmark
+    public BasePostDetailDTO jsonToObject() throws IOException {
+        return JsonUtils.jsonToObject(json, BasePostDetailDTO.class);
+    }
+
+    @Benchmark
+    public BasePostDetailDTO roundTrip() throws IOException {
+        return JsonUtils.jsonToObject(JsonUtils.objectToJson(post), BasePostDetailDTO.class);
+    }
+}
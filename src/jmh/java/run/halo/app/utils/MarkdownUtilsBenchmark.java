@@ -0,0 +1,33 @@
+package run.halo.app.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import run.halo.app.utils.BenchmarkDocuments.DocumentType;
+
+/**
+ * Benchmark for {@link MarkdownUtils}.
+ *
+ * @author guqing
+ * @date 2022-04-09
+ */
+@State(Scope.Benchmark)
+public class MarkdownUtilsBenchmark {
+
+    @Param({"SMALL", "LARGE", "TABLE", "FOOTNOTE"})
+    DocumentType type;
+
+    String markdown;
+
+    @Setup
+    public void setUp() {
+        markdown = BenchmarkDocuments.markdown(type);
+    }
+
+    @Benchmark
+    public String renderHtml() {
+        return MarkdownUtils.renderHtml(markdown);
+    }
+}
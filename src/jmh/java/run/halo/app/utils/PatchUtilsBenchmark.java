@@ -0,0 +1,46 @@
+package run.halo.app.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import run.halo.app.utils.BenchmarkDocuments.DocumentType;
+
+/**
+ * Benchmark for {@link PatchUtils}.
+ *
+ * @author guqing
+ * @date 2022-04-09
+ */
+@State(Scope.Benchmark)
+public class PatchUtilsBenchmark {
+
+    @Param({"SMALL", "LARGE"})
+    DocumentType type;
+
+    String original;
+
+    String revised;
+
+    String patch;
+
+    @Setup
+    public void setUp() {
+        original = BenchmarkDocuments.markdown(type);
+        // Edit a few lines like a usual revision does
+        revised = original.replace("halo ", "Halo ")
+            .replace("## Section 1\n", "## Section one\n\nA new paragraph.\n");
+        patch = PatchUtils.diffToJsonPatch(original, revised);
+    }
+
+    @Benchmark
+    public String diffToJsonPatch() {
+        return PatchUtils.diffToJsonPatch(original, revised);
+    }
+
+    @Benchmark
+    public String restoreContent() {
+        return PatchUtils.restoreContent(patch, original);
+    }
+}
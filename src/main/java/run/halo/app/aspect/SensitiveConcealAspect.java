@@ -6,6 +6,7 @@ import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 import org.springframework.stereotype.Component;
 import run.halo.app.model.entity.BaseComment;
+import run.halo.app.model.support.CursorPage;
 import run.halo.app.security.context.SecurityContextHolder;
 
 
@@ -41,6 +42,9 @@ public class SensitiveConcealAspect {
         if (result instanceof Iterable) {
             ((Iterable<?>) result).forEach(this::sensitiveMask);
         }
+        if (result instanceof CursorPage) {
+            ((CursorPage<?>) result).getContent().forEach(this::sensitiveMask);
+        }
         return sensitiveMask(result);
     }
 }
@@ -0,0 +1,63 @@
+package run.halo.app.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+
+/**
+ * Site-wide content generation.
+ *
+ * <p>The generation is increased whenever the content which could be shown on theme pages is
+ * changed, so that anything derived from the content can be discarded by comparing the
+ * generation it was built with. The generation starts from zero on every startup, so compare it
+ * with {@link #getInstanceId()} as well if it leaves the process.
+ *
+ * @author guqing
+ * @date 2022-03-29
+ */
+@Component
+public class ContentGeneration {
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final String instanceId =
+        Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private volatile long lastModified = System.currentTimeMillis();
+
+    /**
+     * Gets current generation.
+     *
+     * @return current generation
+     */
+    public long get() {
+        return generation.get();
+    }
+
+    /**
+     * Increases the generation.
+     *
+     * @return increased generation
+     */
+    public long increase() {
+        lastModified = System.currentTimeMillis();
+        return generation.incrementAndGet();
+    }
+
+    /**
+     * Gets the time of the last increase, or the startup time if never increased.
+     *
+     * @return epoch milliseconds
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Gets the id distinguishing generations of different startups.
+     *
+     * @return instance id
+     */
+    public String getInstanceId() {
+        return instanceId;
+    }
+}
@@ -12,6 +12,7 @@ import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.Cache;
 import okhttp3.OkHttpClient;
+import org.hibernate.cfg.AvailableSettings;
 import org.jetbrains.annotations.NotNull;
 import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GitHub;
@@ -26,6 +27,7 @@ import org.kohsuke.github.extras.okhttp3.OkHttpGitHubConnector;
 import org.kohsuke.github.internal.GitHubConnectorHttpConnectorAdapter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.cache.annotation.EnableCaching;
@@ -46,6 +48,9 @@ import run.halo.app.cache.LevelCacheStore;
 import run.halo.app.cache.RedisCacheStore;
 import run.halo.app.config.attributeconverter.AttributeConverterAutoGenerateConfiguration;
 import run.halo.app.config.properties.HaloProperties;
+import run.halo.app.core.metrics.SqlEntityLoadInterceptor;
+import run.halo.app.core.metrics.SqlSessionEventListener;
+import run.halo.app.core.metrics.SqlStatementInspector;
 import run.halo.app.exception.ServiceException;
 import run.halo.app.repository.base.BaseRepositoryImpl;
 import run.halo.app.utils.HttpClientUtils;
@@ -93,6 +98,21 @@ public class HaloConfiguration {
     }
 
 
+    /**
+     * Instruments hibernate sessions for per-request sql statistics.
+     */
+    @Bean
+    HibernatePropertiesCustomizer sqlStatisticsCustomizer() {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                new SqlStatementInspector());
+            hibernateProperties.put(AvailableSettings.INTERCEPTOR,
+                new SqlEntityLoadInterceptor());
+            hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                SqlSessionEventListener.class.getName());
+        };
+    }
+
     @Bean
     @ConditionalOnMissingBean
     AbstractStringCacheStore stringCacheStore() {
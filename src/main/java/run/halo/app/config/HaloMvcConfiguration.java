@@ -8,10 +8,11 @@ import static run.halo.app.utils.HaloUtils.ensureSuffix;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import freemarker.template.TemplateModel;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 import javax.servlet.MultipartConfigElement;
 import javax.servlet.http.HttpServletRequest;
 import kr.pe.kwonnam.freemarker.inheritance.BlockDirective;
@@ -29,12 +30,12 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.boot.jackson.JsonComponentModule;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.core.io.FileUrlResource;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.data.web.SortHandlerMethodArgumentResolver;
 import org.springframework.format.FormatterRegistry;
-import org.springframework.http.CacheControl;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
@@ -43,15 +44,26 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.multipart.MultipartResolver;
 import org.springframework.web.multipart.commons.CommonsMultipartResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
 import run.halo.app.config.properties.HaloProperties;
+import run.halo.app.core.ConditionalRequestInterceptor;
+import run.halo.app.core.FileDownloadHandler;
+import run.halo.app.core.ImmutableAssetInterceptor;
+import run.halo.app.core.LocalAttachmentRequestHandler;
 import run.halo.app.core.PageJacksonSerializer;
 import run.halo.app.core.freemarker.inheritance.ThemeExtendsDirective;
+import run.halo.app.core.freemarker.profile.ThemeProfilingInterceptor;
+import run.halo.app.core.metrics.RouteMetricsInterceptor;
 import run.halo.app.factory.StringToEnumConverterFactory;
 import run.halo.app.security.resolver.AuthenticationArgumentResolver;
+import run.halo.app.theme.ThemeAssetResolver;
+import run.halo.app.theme.ThemeAssets;
 
 /**
  * Halo mvc configuration.
@@ -69,15 +81,30 @@ public class HaloMvcConfiguration implements WebMvcConfigurer {
     private final PageableHandlerMethodArgumentResolver pageableResolver;
     private final SortHandlerMethodArgumentResolver sortResolver;
     private final HaloProperties haloProperties;
+    private final ThemeProfilingInterceptor themeProfilingInterceptor;
+
+    private final ConditionalRequestInterceptor conditionalRequestInterceptor;
+
+    private final ImmutableAssetInterceptor immutableAssetInterceptor;
+
+    private final ThemeAssets themeAssets;
     @Value("${springfox.documentation.swagger-ui.base-url:}")
     private String swaggerBaseUrl;
 
     public HaloMvcConfiguration(PageableHandlerMethodArgumentResolver pageableResolver,
         SortHandlerMethodArgumentResolver sortResolver,
-        HaloProperties haloProperties) {
+        HaloProperties haloProperties,
+        ThemeProfilingInterceptor themeProfilingInterceptor,
+        ConditionalRequestInterceptor conditionalRequestInterceptor,
+        ImmutableAssetInterceptor immutableAssetInterceptor,
+        ThemeAssets themeAssets) {
         this.pageableResolver = pageableResolver;
         this.sortResolver = sortResolver;
         this.haloProperties = haloProperties;
+        this.themeProfilingInterceptor = themeProfilingInterceptor;
+        this.conditionalRequestInterceptor = conditionalRequestInterceptor;
+        this.immutableAssetInterceptor = immutableAssetInterceptor;
+        this.themeAssets = themeAssets;
     }
 
     // @Bean
@@ -127,6 +154,24 @@ public class HaloMvcConfiguration implements WebMvcConfigurer {
         return resolver;
     }
 
+    /**
+     * Serves local attachments with range support, ahead of the resource handler of
+     * {@code /**}.
+     *
+     * @param fileDownloadHandler file download handler
+     * @return handler mapping of the upload url prefix
+     */
+    @Bean
+    SimpleUrlHandlerMapping localAttachmentHandlerMapping(
+        FileDownloadHandler fileDownloadHandler) {
+        String uploadUrlPattern =
+            ensureBoth(haloProperties.getUploadUrlPrefix(), URL_SEPARATOR) + "**";
+        Path uploadPath = Paths.get(haloProperties.getWorkDir(), "upload");
+        return new SimpleUrlHandlerMapping(Map.of(uploadUrlPattern,
+            new LocalAttachmentRequestHandler(uploadPath, fileDownloadHandler)),
+            Ordered.LOWEST_PRECEDENCE - 2);
+    }
+
     @Bean
     WebMvcRegistrations webMvcRegistrations() {
         return new WebMvcRegistrations() {
@@ -160,6 +205,15 @@ public class HaloMvcConfiguration implements WebMvcConfigurer {
         resolvers.add(sortResolver);
     }
 
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Short-circuit conditional requests before any other interceptor
+        registry.addInterceptor(conditionalRequestInterceptor);
+        registry.addInterceptor(new RouteMetricsInterceptor());
+        registry.addInterceptor(themeProfilingInterceptor);
+        registry.addInterceptor(immutableAssetInterceptor);
+    }
+
     @Override
     public void addViewControllers(ViewControllerRegistry registry) {
         // for backward compatibility
@@ -176,24 +230,26 @@ public class HaloMvcConfiguration implements WebMvcConfigurer {
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         String workDir = FILE_PROTOCOL + ensureSuffix(haloProperties.getWorkDir(), FILE_SEPARATOR);
 
-        // register /** resource handler.
+        // register /** resource handler, serving precompressed admin assets if accepted.
         registry.addResourceHandler("/**")
             .addResourceLocations("classpath:/admin/")
-            .addResourceLocations(workDir + "static/");
+            .addResourceLocations(workDir + "static/")
+            .resourceChain(false)
+            .addResolver(new EncodedResourceResolver());
 
-        // register /themes/** resource handler.
+        // register /themes/** resource handler, resolving fingerprinted and compressed assets.
         registry.addResourceHandler("/themes/**")
-            .addResourceLocations(workDir + "templates/themes/");
+            .addResourceLocations(workDir + "templates/themes/")
+            .resourceChain(false)
+            .addResolver(new ThemeAssetResolver(themeAssets));
 
-        String uploadUrlPattern =
-            ensureBoth(haloProperties.getUploadUrlPrefix(), URL_SEPARATOR) + "**";
+        // upload resources are served by localAttachmentHandlerMapping
         String adminPathPattern = ensureSuffix(haloProperties.getAdminPath(), URL_SEPARATOR) + "**";
 
-        registry.addResourceHandler(uploadUrlPattern)
-            .setCacheControl(CacheControl.maxAge(7L, TimeUnit.DAYS))
-            .addResourceLocations(workDir + "upload/");
         registry.addResourceHandler(adminPathPattern)
-            .addResourceLocations("classpath:/admin/");
+            .addResourceLocations("classpath:/admin/")
+            .resourceChain(false)
+            .addResolver(new EncodedResourceResolver());
 
         // If doc is enable
         registry.addResourceHandler("swagger-ui.html")
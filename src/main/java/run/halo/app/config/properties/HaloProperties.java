@@ -6,8 +6,12 @@ import static run.halo.app.model.support.HaloConst.USER_HOME;
 import static run.halo.app.utils.HaloUtils.ensureSuffix;
 
 import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import run.halo.app.model.enums.AccessTokenMode;
+import run.halo.app.model.enums.LogOverflowPolicy;
 import run.halo.app.model.enums.Mode;
 
 
@@ -27,6 +31,24 @@ public class HaloProperties {
      */
     private boolean authEnabled = true;
 
+    /**
+     * Mode of admin access tokens.
+     */
+    private AccessTokenMode accessTokenMode = AccessTokenMode.CACHE;
+
+    /**
+     * Secrets to sign and verify access tokens in the signed mode, by key id. Keep the old keys
+     * for a while after rotating to a new key, then tokens signed by them expire naturally. A
+     * local key is generated in the work directory if empty, so configure the same keys on all
+     * nodes of a cluster. An existing local key is always accepted for verification.
+     */
+    private Map<String, String> accessTokenSigningKeys = new LinkedHashMap<>();
+
+    /**
+     * Id of the key to sign new access tokens, defaults to the first signing key.
+     */
+    private String accessTokenSigningKeyId;
+
     /**
      * Halo startup mode.
      */
@@ -76,4 +98,66 @@ public class HaloProperties {
      * level
      */
     private String cache = "memory";
+
+    /**
+     * Capacity of the log write queue.
+     */
+    private int logQueueCapacity = 1024;
+
+    /**
+     * Max count of logs written in one batch.
+     */
+    private int logBatchSize = 100;
+
+    /**
+     * Policy applied when the log write queue is full.
+     */
+    private LogOverflowPolicy logOverflowPolicy = LogOverflowPolicy.DROP_OLDEST;
+
+    /**
+     * Max time to wait for room in the log write queue with the block policy.
+     */
+    private Duration logBlockTimeout = Duration.ofMillis(100);
+
+    /**
+     * Logs older than this will be removed, zero or negative means keeping logs forever.
+     */
+    private Duration logRetention = Duration.ZERO;
+
+    /**
+     * Max rows of logs to retain, zero or negative means no limit.
+     */
+    private int logMaxRows = 0;
+
+    /**
+     * Whether to roll removed logs up into daily counts per log type.
+     */
+    private boolean logRollupEnabled = true;
+
+    /**
+     * Max rows removed in one transaction by retention.
+     */
+    private int retentionChunkSize = 500;
+
+    /**
+     * Latest content patch log versions of each post to retain, zero or negative means
+     * retaining all versions.
+     */
+    private int contentPatchLogRetainVersions = 0;
+
+    /**
+     * Identical sql statements executed more times than this in one request will be reported.
+     */
+    private int sqlRepeatThreshold = 10;
+
+    /**
+     * Whether to return sql statistics in response headers for requests asking for them.
+     */
+    private boolean sqlDebugHeaderEnabled = false;
+
+    /**
+     * Chars of template output streamed to the response before flushing it to the client, for
+     * feeds, sitemaps and robots.txt.
+     */
+    private int templateFlushSize = 8192;
 }
@@ -13,11 +13,9 @@ import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.Resource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -30,9 +28,11 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 import run.halo.app.annotation.DisableOnCondition;
 import run.halo.app.config.properties.HaloProperties;
+import run.halo.app.core.FileDownloadHandler;
 import run.halo.app.exception.NotFoundException;
 import run.halo.app.model.dto.BackupDTO;
 import run.halo.app.model.dto.post.BasePostDetailDTO;
+import run.halo.app.model.enums.DownloadType;
 import run.halo.app.model.params.PostMarkdownParam;
 import run.halo.app.service.BackupService;
 
@@ -53,9 +53,13 @@ public class BackupController {
 
     private final HaloProperties haloProperties;
 
-    public BackupController(BackupService backupService, HaloProperties haloProperties) {
+    private final FileDownloadHandler fileDownloadHandler;
+
+    public BackupController(BackupService backupService, HaloProperties haloProperties,
+        FileDownloadHandler fileDownloadHandler) {
         this.backupService = backupService;
         this.haloProperties = haloProperties;
+        this.fileDownloadHandler = fileDownloadHandler;
     }
 
     @GetMapping("work-dir/fetch")
@@ -109,29 +113,16 @@ public class BackupController {
     @GetMapping("work-dir/{filename:.+}")
     @ApiOperation("Downloads a work directory backup file")
     @DisableOnCondition
-    public ResponseEntity<Resource> downloadBackup(@PathVariable("filename") String filename,
-        HttpServletRequest request) {
+    public void downloadBackup(@PathVariable("filename") String filename,
+        HttpServletRequest request, HttpServletResponse response) throws IOException {
         log.info("Trying to download backup file: [{}]", filename);
 
         // Load file as resource
-        Resource backupResource =
+        Resource resource =
             backupService.loadFileAsResource(haloProperties.getBackupDir(), filename);
 
-        String contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE;
-        // Try to determine file's content type
-        try {
-            contentType =
-                request.getServletContext().getMimeType(backupResource.getFile().getAbsolutePath());
-        } catch (IOException e) {
-            log.warn("Could not determine file type", e);
-            // Ignore this error
-        }
-
-        return ResponseEntity.ok()
-            .contentType(MediaType.parseMediaType(contentType))
-            .header(HttpHeaders.CONTENT_DISPOSITION,
-                "attachment; filename=\"" + backupResource.getFilename() + "\"")
-            .body(backupResource);
+        fileDownloadHandler.download(resource.getFile().toPath(), DownloadType.BACKUP, true,
+            request, response);
     }
 
     @DeleteMapping("work-dir")
@@ -171,28 +162,16 @@ public class BackupController {
     @GetMapping("data/{fileName:.+}")
     @ApiOperation("Downloads a exported data")
     @DisableOnCondition
-    public ResponseEntity<Resource> downloadExportedData(@PathVariable("fileName") String fileName,
-        HttpServletRequest request) {
+    public void downloadExportedData(@PathVariable("fileName") String fileName,
+        HttpServletRequest request, HttpServletResponse response) throws IOException {
         log.info("Try to download exported data file: [{}]", fileName);
 
-        // Load exported data as resource
-        Resource exportDataResource =
+        // Load file as resource
+        Resource resource =
             backupService.loadFileAsResource(haloProperties.getDataExportDir(), fileName);
 
-        String contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE;
-        // Try to determine file's content type
-        try {
-            contentType = request.getServletContext()
-                .getMimeType(exportDataResource.getFile().getAbsolutePath());
-        } catch (IOException e) {
-            log.warn("Could not determine file type", e);
-        }
-
-        return ResponseEntity.ok()
-            .contentType(MediaType.parseMediaType(contentType))
-            .header(HttpHeaders.CONTENT_DISPOSITION,
-                "attachment; filename=\"" + exportDataResource.getFilename() + "\"")
-            .body(exportDataResource);
+        fileDownloadHandler.download(resource.getFile().toPath(), DownloadType.DATA_EXPORT, true,
+            request, response);
     }
 
     @PostMapping("markdown/export")
@@ -219,29 +198,16 @@ public class BackupController {
     @GetMapping("markdown/export/{fileName:.+}")
     @ApiOperation("Downloads a work markdown backup file")
     @DisableOnCondition
-    public ResponseEntity<Resource> downloadMarkdown(@PathVariable("fileName") String fileName,
-        HttpServletRequest request) {
+    public void downloadMarkdown(@PathVariable("fileName") String fileName,
+        HttpServletRequest request, HttpServletResponse response) throws IOException {
         log.info("Try to download markdown backup file: [{}]", fileName);
 
         // Load file as resource
-        Resource backupResource =
+        Resource resource =
             backupService.loadFileAsResource(haloProperties.getBackupMarkdownDir(), fileName);
 
-        String contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE;
-        // Try to determine file's content type
-        try {
-            contentType =
-                request.getServletContext().getMimeType(backupResource.getFile().getAbsolutePath());
-        } catch (IOException e) {
-            log.warn("Could not determine file type", e);
-            // Ignore this error
-        }
-
-        return ResponseEntity.ok()
-            .contentType(MediaType.parseMediaType(contentType))
-            .header(HttpHeaders.CONTENT_DISPOSITION,
-                "attachment; filename=\"" + backupResource.getFilename() + "\"")
-            .body(backupResource);
+        fileDownloadHandler.download(resource.getFile().toPath(), DownloadType.MARKDOWN_EXPORT,
+            true, request, response);
     }
 
 
@@ -0,0 +1,48 @@
+package run.halo.app.controller.admin.api;
+
+import io.swagger.annotations.ApiOperation;
+import javax.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import run.halo.app.model.dto.LoadReportDTO;
+import run.halo.app.model.dto.PerfDataDTO;
+import run.halo.app.model.params.LoadScenarioParam;
+import run.halo.app.model.params.PerfDataParam;
+import run.halo.app.perf.LoadScenario;
+import run.halo.app.perf.PerfDataGenerator;
+
+/**
+ * Performance test controller, only available in the {@code perf} profile.
+ *
+ * @author guqing
+ * @date 2022-04-09
+ */
+@Profile("perf")
+@RestController
+@RequestMapping("/api/admin/perf")
+public class PerfController {
+
+    private final PerfDataGenerator perfDataGenerator;
+
+    private final LoadScenario loadScenario;
+
+    public PerfController(PerfDataGenerator perfDataGenerator, LoadScenario loadScenario) {
+        this.perfDataGenerator = perfDataGenerator;
+        this.loadScenario = loadScenario;
+    }
+
+    @PostMapping("data")
+    @ApiOperation("Generates synthetic data")
+    public PerfDataDTO generate(@RequestBody @Valid PerfDataParam param) {
+        return perfDataGenerator.generate(param);
+    }
+
+    @PostMapping("load")
+    @ApiOperation("Runs the load scenario and reports throughput and latency per route")
+    public LoadReportDTO load(@RequestBody @Valid LoadScenarioParam param) {
+        return loadScenario.run(param);
+    }
+}
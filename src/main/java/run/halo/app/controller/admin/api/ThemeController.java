@@ -18,9 +18,11 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 import run.halo.app.annotation.DisableOnCondition;
 import run.halo.app.cache.lock.CacheLock;
+import run.halo.app.core.freemarker.profile.ThemeProfiler;
 import run.halo.app.handler.theme.config.support.Group;
 import run.halo.app.handler.theme.config.support.Item;
 import run.halo.app.handler.theme.config.support.ThemeProperty;
+import run.halo.app.model.dto.ThemeProfileDTO;
 import run.halo.app.model.params.ThemeContentParam;
 import run.halo.app.model.support.BaseResponse;
 import run.halo.app.model.support.ThemeFile;
@@ -43,10 +45,14 @@ public class ThemeController {
 
     private final ThemeSettingService themeSettingService;
 
+    private final ThemeProfiler themeProfiler;
+
     public ThemeController(ThemeService themeService,
-        ThemeSettingService themeSettingService) {
+        ThemeSettingService themeSettingService,
+        ThemeProfiler themeProfiler) {
         this.themeService = themeService;
         this.themeSettingService = themeSettingService;
+        this.themeProfiler = themeProfiler;
     }
 
     @GetMapping("{themeId:.+}")
@@ -129,6 +135,25 @@ public class ThemeController {
         return themeService.getThemeOfNonNullBy(themeService.getActivatedThemeId());
     }
 
+    @GetMapping("activation/profiles")
+    @ApiOperation("Lists the slowest templates and directive calls of the activated theme")
+    public ThemeProfileDTO listProfiles(
+        @RequestParam(name = "top", required = false, defaultValue = "20") int top) {
+        String themeFolder = themeService.getActivatedTheme().getFolderName();
+        ThemeProfileDTO themeProfile = new ThemeProfileDTO();
+        themeProfile.setThemeFolder(themeFolder);
+        themeProfile.setModels(themeProfiler.listSlowestModels(themeFolder, top));
+        themeProfile.setTemplates(themeProfiler.listSlowestTemplates(themeFolder, top));
+        themeProfile.setDirectives(themeProfiler.listSlowestDirectives(themeFolder, top));
+        return themeProfile;
+    }
+
+    @DeleteMapping("activation/profiles")
+    @ApiOperation("Clears render profiles")
+    public void clearProfiles() {
+        themeProfiler.clear();
+    }
+
     @GetMapping("activation/configurations")
     @ApiOperation("Fetches activated theme configuration")
     public BaseResponse<Object> fetchConfig() {
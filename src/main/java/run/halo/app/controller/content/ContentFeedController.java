@@ -2,7 +2,6 @@ package run.halo.app.controller.content;
 
 import static org.springframework.data.domain.Sort.Direction.DESC;
 
-import freemarker.template.Template;
 import freemarker.template.TemplateException;
 import java.io.IOException;
 import java.sql.Timestamp;
@@ -12,7 +11,6 @@ import java.util.Locale;
 import java.util.OptionalLong;
 import javax.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.RegExUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -22,12 +20,10 @@ import org.springframework.http.MediaType;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
-import org.springframework.ui.freemarker.FreeMarkerTemplateUtils;
 import org.springframework.util.Assert;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.ResponseBody;
-import org.springframework.web.servlet.view.freemarker.FreeMarkerConfigurer;
+import run.halo.app.core.freemarker.TemplateStreamRenderer;
 import run.halo.app.model.dto.CategoryDTO;
 import run.halo.app.model.entity.Category;
 import run.halo.app.model.entity.Post;
@@ -38,6 +34,7 @@ import run.halo.app.service.OptionService;
 import run.halo.app.service.PostCategoryService;
 import run.halo.app.service.PostService;
 import run.halo.app.service.assembler.PostRenderAssembler;
+import run.halo.app.utils.XmlUtils;
 
 /**
  * @author ryanwang
@@ -50,10 +47,10 @@ public class ContentFeedController {
 
     private static final String UTF_8_SUFFIX = ";charset=UTF-8";
 
-    private static final String XML_INVALID_CHAR = "[\\x00-\\x1F\\x7F]";
-
     private static final String XML_MEDIA_TYPE = MediaType.APPLICATION_XML_VALUE + UTF_8_SUFFIX;
 
+    private static final String TEXT_MEDIA_TYPE = MediaType.TEXT_PLAIN_VALUE + UTF_8_SUFFIX;
+
     private static final String LAST_MODIFIED_HEADER = "Last-Modified";
 
     private final PostService postService;
@@ -66,40 +63,40 @@ public class ContentFeedController {
 
     private final OptionService optionService;
 
-    private final FreeMarkerConfigurer freeMarker;
+    private final TemplateStreamRenderer templateStreamRenderer;
 
     public ContentFeedController(PostService postService,
         PostRenderAssembler postRenderAssembler, CategoryService categoryService,
         PostCategoryService postCategoryService,
         OptionService optionService,
-        FreeMarkerConfigurer freeMarker) {
+        TemplateStreamRenderer templateStreamRenderer) {
         this.postService = postService;
         this.postRenderAssembler = postRenderAssembler;
         this.categoryService = categoryService;
         this.postCategoryService = postCategoryService;
         this.optionService = optionService;
-        this.freeMarker = freeMarker;
+        this.templateStreamRenderer = templateStreamRenderer;
     }
 
     /**
      * Get post rss.
      *
      * @param model model
-     * @return rss xml content
+     * @param response http servlet response
      * @throws IOException       throw IOException
      * @throws TemplateException throw TemplateException
      */
     @GetMapping(value = {"feed", "feed.xml", "rss", "rss.xml"}, produces = XML_MEDIA_TYPE)
-    @ResponseBody
-    public String feed(Model model, HttpServletResponse response)
+    public void feed(Model model, HttpServletResponse response)
         throws IOException, TemplateException {
-        List<PostDetailVO> posts = buildPosts(buildPostPageable(optionService.getRssPageSize()));
+        List<PostDetailVO> posts =
+            buildFeedPosts(buildPostPageable(optionService.getRssPageSize()));
         model.addAttribute("posts", posts);
         Timestamp lastModified = this.getLastModifiedTime(posts);
         this.lastModified2ResponseHeader(response, lastModified);
         model.addAttribute("lastModified", lastModified);
-        Template template = freeMarker.getConfiguration().getTemplate("common/web/rss.ftl");
-        return FreeMarkerTemplateUtils.processTemplateIntoString(template, model);
+        templateStreamRenderer.render("common/web/rss.ftl", model.asMap(), XML_MEDIA_TYPE,
+            response);
     }
 
     /**
@@ -107,14 +104,13 @@ public class ContentFeedController {
      *
      * @param model model
      * @param slug slug
-     * @return rss xml content
+     * @param response http servlet response
      * @throws IOException       throw IOException
      * @throws TemplateException throw TemplateException
      */
     @GetMapping(value = {"feed/categories/{slug}",
         "feed/categories/{slug}.xml"}, produces = XML_MEDIA_TYPE)
-    @ResponseBody
-    public String feed(Model model, @PathVariable(name = "slug") String slug,
+    public void feed(Model model, @PathVariable(name = "slug") String slug,
         HttpServletResponse response)
         throws IOException, TemplateException {
         Category category = categoryService.getBySlugOfNonNull(slug);
@@ -126,29 +122,29 @@ public class ContentFeedController {
         Timestamp lastModified = this.getLastModifiedTime(posts);
         this.lastModified2ResponseHeader(response, lastModified);
         model.addAttribute("lastModified", lastModified);
-        Template template = freeMarker.getConfiguration().getTemplate("common/web/rss.ftl");
-        return FreeMarkerTemplateUtils.processTemplateIntoString(template, model);
+        templateStreamRenderer.render("common/web/rss.ftl", model.asMap(), XML_MEDIA_TYPE,
+            response);
     }
 
     /**
      * Get atom.xml
      *
      * @param model model
-     * @return atom xml content
+     * @param response http servlet response
      * @throws IOException       IOException
      * @throws TemplateException TemplateException
      */
     @GetMapping(value = {"atom", "atom.xml"}, produces = XML_MEDIA_TYPE)
-    @ResponseBody
-    public String atom(Model model, HttpServletResponse response)
+    public void atom(Model model, HttpServletResponse response)
         throws IOException, TemplateException {
-        List<PostDetailVO> posts = buildPosts(buildPostPageable(optionService.getRssPageSize()));
+        List<PostDetailVO> posts =
+            buildFeedPosts(buildPostPageable(optionService.getRssPageSize()));
         model.addAttribute("posts", posts);
         Timestamp lastModified = this.getLastModifiedTime(posts);
         this.lastModified2ResponseHeader(response, lastModified);
         model.addAttribute("lastModified", lastModified);
-        Template template = freeMarker.getConfiguration().getTemplate("common/web/atom.ftl");
-        return FreeMarkerTemplateUtils.processTemplateIntoString(template, model);
+        templateStreamRenderer.render("common/web/atom.ftl", model.asMap(), XML_MEDIA_TYPE,
+            response);
     }
 
     /**
@@ -156,14 +152,13 @@ public class ContentFeedController {
      *
      * @param model model
      * @param slug slug
-     * @return atom xml content
+     * @param response http servlet response
      * @throws IOException       throw IOException
      * @throws TemplateException throw TemplateException
      */
     @GetMapping(value = {"atom/categories/{slug}",
         "atom/categories/{slug}.xml"}, produces = XML_MEDIA_TYPE)
-    @ResponseBody
-    public String atom(Model model, @PathVariable(name = "slug") String slug,
+    public void atom(Model model, @PathVariable(name = "slug") String slug,
         HttpServletResponse response)
         throws IOException, TemplateException {
         Category category = categoryService.getBySlugOfNonNull(slug);
@@ -175,26 +170,26 @@ public class ContentFeedController {
         Timestamp lastModified = this.getLastModifiedTime(posts);
         this.lastModified2ResponseHeader(response, lastModified);
         model.addAttribute("lastModified", lastModified);
-        Template template = freeMarker.getConfiguration().getTemplate("common/web/atom.ftl");
-        return FreeMarkerTemplateUtils.processTemplateIntoString(template, model);
+        templateStreamRenderer.render("common/web/atom.ftl", model.asMap(), XML_MEDIA_TYPE,
+            response);
     }
 
     /**
      * Get sitemap.xml.
      *
      * @param model model
-     * @return sitemap xml content.
+     * @param response http servlet response
      * @throws IOException       IOException
      * @throws TemplateException TemplateException
      */
     @GetMapping(value = {"sitemap", "sitemap.xml"}, produces = XML_MEDIA_TYPE)
-    @ResponseBody
-    public String sitemapXml(Model model,
+    public void sitemapXml(Model model,
         @PageableDefault(size = Integer.MAX_VALUE, sort = "createTime", direction = DESC)
-            Pageable pageable) throws IOException, TemplateException {
+            Pageable pageable, HttpServletResponse response)
+        throws IOException, TemplateException {
         model.addAttribute("posts", buildPosts(pageable));
-        Template template = freeMarker.getConfiguration().getTemplate("common/web/sitemap_xml.ftl");
-        return FreeMarkerTemplateUtils.processTemplateIntoString(template, model);
+        templateStreamRenderer.render("common/web/sitemap_xml.ftl", model.asMap(), XML_MEDIA_TYPE,
+            response);
     }
 
     /**
@@ -215,15 +210,15 @@ public class ContentFeedController {
      * Get robots.txt
      *
      * @param model model
-     * @return robots.txt content
+     * @param response http servlet response
      * @throws IOException       IOException
      * @throws TemplateException TemplateException
      */
     @GetMapping(value = "robots.txt", produces = MediaType.TEXT_PLAIN_VALUE)
-    @ResponseBody
-    public String robots(Model model) throws IOException, TemplateException {
-        Template template = freeMarker.getConfiguration().getTemplate("common/web/robots.ftl");
-        return FreeMarkerTemplateUtils.processTemplateIntoString(template, model);
+    public void robots(Model model, HttpServletResponse response)
+        throws IOException, TemplateException {
+        templateStreamRenderer.render("common/web/robots.ftl", model.asMap(), TEXT_MEDIA_TYPE,
+            response);
     }
 
     /**
@@ -247,36 +242,44 @@ public class ContentFeedController {
         Assert.notNull(pageable, "Pageable must not be null");
 
         Page<Post> postPage = postService.pageBy(PostStatus.PUBLISHED, pageable);
-        Page<PostDetailVO> posts = convertToDetailPageVo(postPage);
+        Page<PostDetailVO> posts = postRenderAssembler.convertToDetailVo(postPage);
         return posts.getContent();
     }
 
     /**
-     * Converts to a page of detail vo.
-     * Notes: this method will escape the XML tag characters in the post content and summary.
+     * Build posts for rss and atom feeds.
+     *
+     * @param pageable pageable
+     * @return list of post detail vo that title, content and summary sanitized.
+     */
+    private List<PostDetailVO> buildFeedPosts(@NonNull Pageable pageable) {
+        return sanitizeForCdata(buildPosts(pageable));
+    }
+
+    /**
+     * Sanitizes the title, content and summary of the given posts for CDATA sections.
+     * Notes: only feed templates emit these fields inside CDATA, sitemaps must not use it.
      *
-     * @param postPage post page must not be null
-     * @return a page of post detail vo that content and summary escaped.
+     * @param posts posts must not be null
+     * @return the given posts
      */
     @NonNull
-    private Page<PostDetailVO> convertToDetailPageVo(Page<Post> postPage) {
-        Assert.notNull(postPage, "The postPage must not be null.");
-        Page<PostDetailVO> posts = postRenderAssembler.convertToDetailVo(postPage);
-        posts.getContent().forEach(postDetailVO -> {
-            postDetailVO.setContent(
-                RegExUtils.replaceAll(postDetailVO.getContent(), XML_INVALID_CHAR, ""));
-            postDetailVO
-                .setSummary(RegExUtils.replaceAll(postDetailVO.getSummary(), XML_INVALID_CHAR, ""));
+    private List<PostDetailVO> sanitizeForCdata(@NonNull List<PostDetailVO> posts) {
+        Assert.notNull(posts, "The posts must not be null.");
+        posts.forEach(postDetailVO -> {
+            postDetailVO.setTitle(XmlUtils.sanitizeCdata(postDetailVO.getTitle()));
+            postDetailVO.setContent(XmlUtils.sanitizeCdata(postDetailVO.getContent()));
+            postDetailVO.setSummary(XmlUtils.sanitizeCdata(postDetailVO.getSummary()));
         });
         return posts;
     }
 
     /**
-     * Build category posts.
+     * Build category posts for rss and atom feeds.
      *
      * @param pageable pageable must not be null.
      * @param category category
-     * @return list of post detail vo.
+     * @return list of post detail vo that title, content and summary sanitized.
      */
     private List<PostDetailVO> buildCategoryPosts(@NonNull Pageable pageable,
         @NonNull CategoryDTO category) {
@@ -285,8 +288,8 @@ public class ContentFeedController {
 
         Page<Post> postPage =
             postCategoryService.pagePostBy(category.getId(), PostStatus.PUBLISHED, pageable);
-        Page<PostDetailVO> posts = convertToDetailPageVo(postPage);
-        return posts.getContent();
+        Page<PostDetailVO> posts = postRenderAssembler.convertToDetailVo(postPage);
+        return sanitizeForCdata(posts.getContent());
     }
 
     private Timestamp getLastModifiedTime(List<PostDetailVO> posts) {
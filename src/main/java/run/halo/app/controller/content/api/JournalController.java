@@ -28,6 +28,8 @@ import run.halo.app.model.entity.JournalComment;
 import run.halo.app.model.enums.CommentStatus;
 import run.halo.app.model.enums.JournalType;
 import run.halo.app.model.params.JournalCommentParam;
+import run.halo.app.model.params.JournalQuery;
+import run.halo.app.model.support.CursorPage;
 import run.halo.app.model.vo.BaseCommentVO;
 import run.halo.app.model.vo.BaseCommentWithParentVO;
 import run.halo.app.model.vo.CommentWithHasChildrenVO;
@@ -73,6 +75,17 @@ public class JournalController {
         return journalService.convertToCmtCountDto(journals);
     }
 
+    @GetMapping(params = "cursor")
+    @ApiOperation("Lists journals by cursor")
+    public CursorPage<JournalWithCmtCountDTO> pageBy(@RequestParam("cursor") String cursor,
+        @RequestParam(value = "size", required = false, defaultValue = "10") int size,
+        @SortDefault(sort = "createTime", direction = DESC) Sort sort) {
+        JournalQuery journalQuery = new JournalQuery();
+        journalQuery.setType(JournalType.PUBLIC);
+        CursorPage<Journal> journals = journalService.pageBy(journalQuery, cursor, sort, size);
+        return journals.withContent(journalService.convertToCmtCountDto(journals.getContent()));
+    }
+
     @GetMapping("{journalId:\\d+}")
     @ApiOperation("Gets a journal detail")
     public JournalWithCmtCountDTO getBy(@PathVariable("journalId") Integer journalId) {
@@ -92,6 +105,18 @@ public class JournalController {
         return comments;
     }
 
+    @GetMapping(value = "{journalId:\\d+}/comments/top_view", params = "cursor")
+    public CursorPage<CommentWithHasChildrenVO> listTopComments(
+        @PathVariable("journalId") Integer journalId,
+        @RequestParam("cursor") String cursor,
+        @SortDefault(sort = "createTime", direction = DESC) Sort sort) {
+        CursorPage<CommentWithHasChildrenVO> comments =
+            journalCommentService.pageTopCommentsBy(journalId, CommentStatus.PUBLISHED, cursor,
+                sort, optionService.getCommentPageSize());
+        comments.getContent().forEach(journalCommentRenderAssembler::clearSensitiveField);
+        return comments;
+    }
+
     @GetMapping("{journalId:\\d+}/comments/{commentParentId:\\d+}/children")
     public List<BaseCommentDTO> listChildrenBy(@PathVariable("journalId") Integer journalId,
         @PathVariable("commentParentId") Long commentParentId,
@@ -11,9 +11,11 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.data.web.SortDefault;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import run.halo.app.model.dto.PhotoDTO;
 import run.halo.app.model.params.PhotoQuery;
+import run.halo.app.model.support.CursorPage;
 import run.halo.app.service.PhotoService;
 
 /**
@@ -51,6 +53,14 @@ public class PhotoController {
         return photoService.pageDtosBy(pageable, photoQuery);
     }
 
+    @GetMapping(params = "cursor")
+    public CursorPage<PhotoDTO> pageBy(@RequestParam("cursor") String cursor,
+        @RequestParam(value = "size", required = false, defaultValue = "10") int size,
+        @SortDefault(sort = "updateTime", direction = DESC) Sort sort,
+        PhotoQuery photoQuery) {
+        return photoService.pageDtosBy(photoQuery, cursor, sort, size);
+    }
+
     @GetMapping("teams")
     @ApiOperation("Lists all of photo teams")
     public List<String> listTeams() {
@@ -33,6 +33,7 @@ import run.halo.app.model.enums.CommentStatus;
 import run.halo.app.model.enums.PostStatus;
 import run.halo.app.model.params.PostCommentParam;
 import run.halo.app.model.params.PostQuery;
+import run.halo.app.model.support.CursorPage;
 import run.halo.app.model.vo.BaseCommentVO;
 import run.halo.app.model.vo.BaseCommentWithParentVO;
 import run.halo.app.model.vo.CommentWithHasChildrenVO;
@@ -43,6 +44,8 @@ import run.halo.app.service.PostCommentService;
 import run.halo.app.service.PostService;
 import run.halo.app.service.assembler.PostRenderAssembler;
 import run.halo.app.service.assembler.comment.PostCommentRenderAssembler;
+import run.halo.app.service.support.StatisticSnapshot;
+import run.halo.app.service.support.StatisticSnapshot.Counter;
 
 /**
  * Content post controller.
@@ -68,17 +71,21 @@ public class PostController {
 
     private final PostAuthentication postAuthentication;
 
+    private final StatisticSnapshot statisticSnapshot;
+
     public PostController(PostService postService,
         PostCommentRenderAssembler postCommentRenderAssembler,
         PostCommentService postCommentService,
         OptionService optionService, PostRenderAssembler postRenderAssembler,
-        PostAuthentication postAuthentication) {
+        PostAuthentication postAuthentication,
+        StatisticSnapshot statisticSnapshot) {
         this.postService = postService;
         this.postCommentRenderAssembler = postCommentRenderAssembler;
         this.postCommentService = postCommentService;
         this.optionService = optionService;
         this.postRenderAssembler = postRenderAssembler;
         this.postAuthentication = postAuthentication;
+        this.statisticSnapshot = statisticSnapshot;
     }
 
     //CS304 issue for https://github.com/halo-dev/halo/issues/1351
@@ -105,6 +112,27 @@ public class PostController {
         return postRenderAssembler.convertToListVo(postPage);
     }
 
+    @GetMapping(params = "cursor")
+    @ApiOperation("Lists posts by cursor")
+    public CursorPage<PostListVO> pageBy(@RequestParam("cursor") String cursor,
+        @RequestParam(value = "size", required = false, defaultValue = "10") int size,
+        @SortDefault(sort = {"topPriority", "createTime"}, direction = DESC) Sort sort,
+        @RequestParam(value = "keyword", required = false) String keyword,
+        @RequestParam(value = "categoryId", required = false) Integer categoryId) {
+        PostQuery postQuery = new PostQuery();
+        postQuery.setKeyword(keyword);
+        postQuery.setCategoryId(categoryId);
+        postQuery.setStatuses(Set.of(PostStatus.PUBLISHED));
+        CursorPage<Post> postPage = postService.pageBy(postQuery, cursor, sort, size);
+        CursorPage<PostListVO> postListVoPage =
+            postPage.withContent(postRenderAssembler.convertToListVo(postPage.getContent()));
+        if (keyword == null && categoryId == null) {
+            // All published posts are counted already
+            return postListVoPage.withTotal(statisticSnapshot.getCount(Counter.POST));
+        }
+        return postListVoPage;
+    }
+
     @PostMapping(value = "search")
     @ApiOperation("Lists posts by keyword")
     public Page<BasePostSimpleDTO> pageBy(@RequestParam(value = "keyword") String keyword,
@@ -201,6 +229,19 @@ public class PostController {
         return comments;
     }
 
+    @GetMapping(value = "{postId:\\d+}/comments/top_view", params = "cursor")
+    public CursorPage<CommentWithHasChildrenVO> listTopComments(
+        @PathVariable("postId") Integer postId,
+        @RequestParam("cursor") String cursor,
+        @SortDefault(sort = "createTime", direction = DESC) Sort sort) {
+        checkAuthenticate(postId);
+        CursorPage<CommentWithHasChildrenVO> comments =
+            postCommentService.pageTopCommentsBy(postId, CommentStatus.PUBLISHED, cursor, sort,
+                optionService.getCommentPageSize());
+        comments.getContent().forEach(postCommentRenderAssembler::clearSensitiveField);
+        return comments;
+    }
+
     @GetMapping("{postId:\\d+}/comments/{commentParentId:\\d+}/children")
     public List<BaseCommentDTO> listChildrenBy(@PathVariable("postId") Integer postId,
         @PathVariable("commentParentId") Long commentParentId,
@@ -26,6 +26,7 @@ import run.halo.app.model.entity.SheetComment;
 import run.halo.app.model.enums.CommentStatus;
 import run.halo.app.model.enums.PostStatus;
 import run.halo.app.model.params.SheetCommentParam;
+import run.halo.app.model.support.CursorPage;
 import run.halo.app.model.vo.BaseCommentVO;
 import run.halo.app.model.vo.BaseCommentWithParentVO;
 import run.halo.app.model.vo.CommentWithHasChildrenVO;
@@ -141,6 +142,18 @@ public class SheetController {
         return comments;
     }
 
+    @GetMapping(value = "{sheetId:\\d+}/comments/top_view", params = "cursor")
+    public CursorPage<CommentWithHasChildrenVO> listTopComments(
+        @PathVariable("sheetId") Integer sheetId,
+        @RequestParam("cursor") String cursor,
+        @SortDefault(sort = "createTime", direction = DESC) Sort sort) {
+        CursorPage<CommentWithHasChildrenVO> comments =
+            sheetCommentService.pageTopCommentsBy(sheetId, CommentStatus.PUBLISHED, cursor, sort,
+                optionService.getCommentPageSize());
+        comments.getContent().forEach(sheetCommentRenderAssembler::clearSensitiveField);
+        return comments;
+    }
+
     @GetMapping("{sheetId:\\d+}/comments/{commentParentId:\\d+}/children")
     public List<BaseCommentDTO> listChildrenBy(@PathVariable("sheetId") Integer sheetId,
         @PathVariable("commentParentId") Long commentParentId,
@@ -33,6 +33,8 @@ import run.halo.app.service.PostTagService;
 import run.halo.app.service.TagService;
 import run.halo.app.service.ThemeService;
 import run.halo.app.service.assembler.PostRenderAssembler;
+import run.halo.app.service.support.StatisticSnapshot;
+import run.halo.app.service.support.StatisticSnapshot.Counter;
 
 /**
  * Post Model
@@ -66,6 +68,8 @@ public class PostModel {
 
     private final PostAuthentication postAuthentication;
 
+    private final StatisticSnapshot statisticSnapshot;
+
     public PostModel(PostRenderAssembler postRenderAssembler,
         PostService postService,
         ThemeService themeService,
@@ -76,7 +80,8 @@ public class PostModel {
         TagService tagService,
         OptionService optionService,
         AbstractStringCacheStore cacheStore,
-        PostAuthentication postAuthentication) {
+        PostAuthentication postAuthentication,
+        StatisticSnapshot statisticSnapshot) {
         this.postRenderAssembler = postRenderAssembler;
         this.postService = postService;
         this.themeService = themeService;
@@ -88,6 +93,7 @@ public class PostModel {
         this.optionService = optionService;
         this.cacheStore = cacheStore;
         this.postAuthentication = postAuthentication;
+        this.statisticSnapshot = statisticSnapshot;
     }
 
     public String content(Post post, String token, Model model) {
@@ -176,7 +182,9 @@ public class PostModel {
         Pageable pageable = PageRequest
             .of(page >= 1 ? page - 1 : page, pageSize, postService.getPostDefaultSort());
 
-        Page<Post> postPage = postService.pageBy(PostStatus.PUBLISHED, pageable);
+        // Published posts are counted already, skip the count query of the page
+        Page<Post> postPage = postService.pageBy(PostStatus.PUBLISHED, pageable,
+            statisticSnapshot.getCount(Counter.POST));
         Page<PostListVO> posts = postRenderAssembler.convertToListVo(postPage);
 
         model.addAttribute("is_index", true);
@@ -191,12 +199,13 @@ public class PostModel {
         Pageable pageable = PageRequest
             .of(page >= 1 ? page - 1 : page, pageSize, Sort.by(Sort.Direction.DESC, "createTime"));
 
-        Page<Post> postPage = postService.pageBy(PostStatus.PUBLISHED, pageable);
+        Page<Post> postPage = postService.pageBy(PostStatus.PUBLISHED, pageable,
+            statisticSnapshot.getCount(Counter.POST));
 
         Page<PostListVO> posts = postRenderAssembler.convertToListVo(postPage);
 
-        List<ArchiveYearVO> archives =
-            postRenderAssembler.convertToYearArchives(postPage.getContent());
+        // Group the displayed posts only, they have been converted already
+        List<ArchiveYearVO> archives = postRenderAssembler.groupToYearArchives(posts.getContent());
 
         model.addAttribute("is_archives", true);
         model.addAttribute("posts", posts);
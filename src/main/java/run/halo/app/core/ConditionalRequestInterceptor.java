@@ -0,0 +1,100 @@
+package run.halo.app.core;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import run.halo.app.cache.ContentGeneration;
+
+/**
+ * Answers conditional GET requests of theme pages, feeds, sitemaps and content apis with 304
+ * before the handler builds any model.
+ *
+ * <p>Validators are derived from the {@link ContentGeneration}: the ETag carries the instance id
+ * and the generation, and the Last-Modified is the time of the last increase. The generation
+ * covers edits of every post and sheet, so page-specific edit times are not needed. Admin
+ * writes increase the generation as well, which covers changes without any event, such as
+ * photos and theme settings. Visitor writes such as likes and comments only increase it by
+ * their domain events. Previews with a token are never validated.
+ *
+ * <p>Requests with a session are never validated either, their pages may be rendered with the
+ * content authentication of the session, such as unlocked private posts and categories. Such
+ * responses are private, and other responses vary by cookie, so that shared caches never serve
+ * an unlocked page to other visitors.
+ *
+ * @author guqing
+ * @date 2022-04-11
+ */
+@Component
+public class ConditionalRequestInterceptor implements HandlerInterceptor {
+
+    private static final String CONTENT_PACKAGE = "run.halo.app.controller.content";
+
+    private static final String ADMIN_PACKAGE = "run.halo.app.controller.admin";
+
+    private static final String PREVIEW_TOKEN_PARAMETER = "token";
+
+    private static final String NO_CACHE = "no-cache";
+
+    private static final String PRIVATE_NO_CACHE = "private, no-cache";
+
+    private final ContentGeneration contentGeneration;
+
+    public ConditionalRequestInterceptor(ContentGeneration contentGeneration) {
+        this.contentGeneration = contentGeneration;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response, @NonNull Object handler) {
+        if (!isGetOrHead(request)
+            || !isHandledBy(handler, CONTENT_PACKAGE)
+            || request.getParameter(PREVIEW_TOKEN_PARAMETER) != null) {
+            return true;
+        }
+
+        // Shared caches must distinguish visitors with a session from others
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.COOKIE);
+        if (request.getRequestedSessionId() != null) {
+            // The session may have unlocked private content, which must be rendered again
+            response.setHeader(HttpHeaders.CACHE_CONTROL, PRIVATE_NO_CACHE);
+            return true;
+        }
+
+        long generation = contentGeneration.get();
+        // Round up to seconds, a change in the same second must not be considered as unmodified
+        long lastModified = (contentGeneration.getLastModified() / 1000 + 1) * 1000;
+        String etag = "W/\"" + contentGeneration.getInstanceId() + "-" + generation + "\"";
+
+        // Always revalidate instead of heuristic freshness
+        response.setHeader(HttpHeaders.CACHE_CONTROL, NO_CACHE);
+        return !new ServletWebRequest(request, response).checkNotModified(etag, lastModified);
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response, @NonNull Object handler,
+        @Nullable Exception ex) {
+        if (ex == null && response.getStatus() < 400 && !isGetOrHead(request)
+            && !HttpMethod.OPTIONS.matches(request.getMethod())
+            && isHandledBy(handler, ADMIN_PACKAGE)) {
+            contentGeneration.increase();
+        }
+    }
+
+    private static boolean isGetOrHead(HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod())
+            || HttpMethod.HEAD.matches(request.getMethod());
+    }
+
+    private static boolean isHandledBy(Object handler, String packageName) {
+        return handler instanceof HandlerMethod
+            && ((HandlerMethod) handler).getBeanType().getName().startsWith(packageName + ".");
+    }
+}
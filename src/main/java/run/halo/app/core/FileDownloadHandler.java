@@ -0,0 +1,292 @@
+package run.halo.app.core;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jetty.server.HttpOutput;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import run.halo.app.exception.NotFoundException;
+import run.halo.app.model.enums.DownloadType;
+
+/**
+ * Writes local files to the response with support of conditional and range requests.
+ *
+ * <p>Single ranges are answered with {@code 206} and a {@code Content-Range}, multiple ranges
+ * with {@code multipart/byteranges}. A range is only honored if the {@code If-Range} validator,
+ * if any, still matches the file. On Jetty the file is written as memory-mapped buffers that go
+ * to the socket without being copied to the heap, other containers fall back to
+ * {@link FileChannel#transferTo(long, long, WritableByteChannel)}.
+ *
+ * <p>Bytes and durations are recorded as {@code halo.download.bytes} and
+ * {@code halo.download.duration} tagged by download type and range kind.
+ *
+ * @author guqing
+ * @date 2022-04-11
+ */
+@Slf4j
+@Component
+public class FileDownloadHandler {
+
+    /**
+     * A mapped region must fit in an int, map large files segment by segment.
+     */
+    private static final long MAPPED_SEGMENT_SIZE = 64L * 1024 * 1024;
+
+    private static final String BYTES_UNIT = "bytes";
+
+    private static final String CRLF = "\r\n";
+
+    private final MeterRegistry meterRegistry;
+
+    public FileDownloadHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Downloads the file.
+     *
+     * @param file file to download must not be null
+     * @param type download type must not be null
+     * @param attachment whether to download as attachment instead of displaying inline
+     * @param request http servlet request
+     * @param response http servlet response
+     * @throws IOException if failed to write the file
+     * @throws NotFoundException if the file does not exist
+     */
+    public void download(@NonNull Path file, @NonNull DownloadType type, boolean attachment,
+        @NonNull HttpServletRequest request, @NonNull HttpServletResponse response)
+        throws IOException {
+        Assert.notNull(file, "File must not be null");
+        Assert.notNull(type, "Download type must not be null");
+
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            throw new NotFoundException("The file " + file.getFileName() + " was not found", e);
+        }
+        if (!attributes.isRegularFile()) {
+            throw new NotFoundException("The file " + file.getFileName() + " was not found");
+        }
+
+        long length = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        String fileName = file.getFileName().toString();
+        String contentType = getContentType(request, fileName);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, BYTES_UNIT);
+        if (attachment) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(fileName, StandardCharsets.UTF_8)
+                .build()
+                .toString());
+        }
+
+        List<long[]> regions;
+        try {
+            regions = isRangeApplicable(request, etag, lastModified)
+                ? getRegions(request.getHeader(HttpHeaders.RANGE), length)
+                : Collections.emptyList();
+        } catch (IllegalArgumentException e) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, BYTES_UNIT + " */" + length);
+            response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            return;
+        }
+
+        boolean head = HttpMethod.HEAD.matches(request.getMethod());
+        if (regions.isEmpty()) {
+            response.setContentType(contentType);
+            response.setContentLengthLong(length);
+            if (!head) {
+                write(file, type, "full", List.of(new long[] {0, length}), null, response);
+            }
+            return;
+        }
+
+        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        if (regions.size() == 1) {
+            long[] region = regions.get(0);
+            response.setContentType(contentType);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, contentRange(region, length));
+            response.setContentLengthLong(region[1]);
+            if (!head) {
+                write(file, type, "single", regions, null, response);
+            }
+            return;
+        }
+
+        String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+        List<byte[]> parts = new ArrayList<>(regions.size() + 1);
+        long contentLength = 0;
+        for (long[] region : regions) {
+            byte[] part = (CRLF + "--" + boundary + CRLF
+                + HttpHeaders.CONTENT_TYPE + ": " + contentType + CRLF
+                + HttpHeaders.CONTENT_RANGE + ": " + contentRange(region, length) + CRLF + CRLF)
+                .getBytes(StandardCharsets.US_ASCII);
+            parts.add(part);
+            contentLength += part.length + region[1];
+        }
+        byte[] end = (CRLF + "--" + boundary + "--" + CRLF).getBytes(StandardCharsets.US_ASCII);
+        parts.add(end);
+        contentLength += end.length;
+
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength);
+        if (!head) {
+            write(file, type, "multipart", regions, parts, response);
+        }
+    }
+
+    private void write(Path file, DownloadType type, String rangeKind, List<long[]> regions,
+        @Nullable List<byte[]> parts, HttpServletResponse response) throws IOException {
+        String typeTag = type.name().toLowerCase(Locale.ROOT);
+        long written = 0;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            OutputStream out = response.getOutputStream();
+            for (int i = 0; i < regions.size(); i++) {
+                if (parts != null) {
+                    out.write(parts.get(i));
+                }
+                long[] region = regions.get(i);
+                written += transfer(channel, region[0], region[1], out);
+            }
+            if (parts != null) {
+                out.write(parts.get(parts.size() - 1));
+            }
+            out.flush();
+        } finally {
+            // Aborted downloads are recorded too, with the bytes of completed regions
+            sample.stop(meterRegistry.timer("halo.download.duration",
+                "type", typeTag, "range", rangeKind));
+            meterRegistry.counter("halo.download.bytes", "type", typeTag, "range", rangeKind)
+                .increment(written);
+            log.debug("Wrote [{}] bytes of [{}] as [{}] download", written, file, typeTag);
+        }
+    }
+
+    private static long transfer(FileChannel channel, long position, long count,
+        OutputStream out) throws IOException {
+        long remaining = count;
+        if (out instanceof HttpOutput) {
+            HttpOutput httpOutput = (HttpOutput) out;
+            while (remaining > 0) {
+                long size = Math.min(remaining, MAPPED_SEGMENT_SIZE);
+                httpOutput.write(channel.map(FileChannel.MapMode.READ_ONLY,
+                    position + count - remaining, size));
+                remaining -= size;
+            }
+            return count;
+        }
+
+        WritableByteChannel target = Channels.newChannel(out);
+        while (remaining > 0) {
+            long transferred =
+                channel.transferTo(position + count - remaining, remaining, target);
+            if (transferred <= 0) {
+                throw new IOException("Unexpected end of file, it may have been truncated");
+            }
+            remaining -= transferred;
+        }
+        return count;
+    }
+
+    private static boolean isRangeApplicable(HttpServletRequest request, String etag,
+        long lastModified) {
+        if (request.getHeader(HttpHeaders.RANGE) == null
+            || (!HttpMethod.GET.matches(request.getMethod())
+            && !HttpMethod.HEAD.matches(request.getMethod()))) {
+            return false;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {
+            // Strong comparison
+            return ifRange.equals(etag);
+        }
+        if (ifRange.startsWith("W/")) {
+            return false;
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets regions of the range header.
+     *
+     * @param rangeHeader range header
+     * @param length file length
+     * @return regions as start and length pairs
+     * @throws IllegalArgumentException if the range is invalid or not satisfiable
+     */
+    @NonNull
+    static List<long[]> getRegions(String rangeHeader, long length) {
+        List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+        List<long[]> regions = new ArrayList<>(ranges.size());
+        long total = 0;
+        for (HttpRange range : ranges) {
+            long start = range.getRangeStart(length);
+            // The start is not checked against the length by Spring
+            Assert.isTrue(start < length, "The range start must be less than the file length");
+            long end = range.getRangeEnd(length);
+            regions.add(new long[] {start, end - start + 1});
+            total += end - start + 1;
+        }
+        // Same as Spring, overlapping ranges beyond the file length are not served
+        Assert.isTrue(regions.size() < 2 || total < length,
+            "The sum of all ranges must be less than the file length");
+        return regions;
+    }
+
+    private static String contentRange(long[] region, long length) {
+        return BYTES_UNIT + " " + region[0] + "-" + (region[0] + region[1] - 1) + "/" + length;
+    }
+
+    private static String getContentType(HttpServletRequest request, String fileName) {
+        String contentType = request.getServletContext().getMimeType(fileName);
+        if (contentType != null) {
+            return contentType;
+        }
+        return MediaTypeFactory.getMediaType(fileName)
+            .map(MediaType::toString)
+            .orElse(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+    }
+}
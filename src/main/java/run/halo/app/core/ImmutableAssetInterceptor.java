@@ -0,0 +1,61 @@
+package run.halo.app.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+import org.springframework.web.util.UrlPathHelper;
+import run.halo.app.theme.ThemeAssets;
+
+/**
+ * Marks fingerprinted static assets as immutable, so browsers never revalidate them.
+ *
+ * <p>Theme assets are fingerprinted by {@link ThemeAssets}, and admin assets are built with
+ * content hashes in their names, such as {@code /js/app.8eac304f.js}.
+ *
+ * @author guqing
+ * @date 2022-04-11
+ */
+@Component
+public class ImmutableAssetInterceptor implements HandlerInterceptor {
+
+    private static final String THEMES_PREFIX = "/themes/";
+
+    private static final Pattern ADMIN_ASSET_PATTERN =
+        Pattern.compile("/(?:js|css)/[\\w-]+[.-][0-9a-f]{8}\\.(?:js|css)");
+
+    private static final String IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS)
+        .cachePublic()
+        .getHeaderValue() + ", immutable";
+
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    private final ThemeAssets themeAssets;
+
+    public ImmutableAssetInterceptor(ThemeAssets themeAssets) {
+        this.themeAssets = themeAssets;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response, @NonNull Object handler) {
+        if (handler instanceof ResourceHttpRequestHandler
+            && isFingerprinted(urlPathHelper.getLookupPathForRequest(request))) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+        }
+        return true;
+    }
+
+    private boolean isFingerprinted(String lookupPath) {
+        if (lookupPath.startsWith(THEMES_PREFIX)) {
+            return themeAssets.resolve(lookupPath.substring(THEMES_PREFIX.length())) != null;
+        }
+        return ADMIN_ASSET_PATTERN.matcher(lookupPath).matches();
+    }
+}
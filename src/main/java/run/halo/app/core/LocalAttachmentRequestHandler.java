@@ -0,0 +1,82 @@
+package run.halo.app.core;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.web.HttpRequestHandler;
+import org.springframework.web.servlet.HandlerMapping;
+import run.halo.app.model.enums.DownloadType;
+
+/**
+ * Serves attachments of the local upload directory by {@link FileDownloadHandler}, so that
+ * large attachments support range requests and are written without heap copies.
+ *
+ * @author guqing
+ * @date 2022-04-11
+ */
+public class LocalAttachmentRequestHandler implements HttpRequestHandler {
+
+    private static final String CACHE_CONTROL = CacheControl.maxAge(7L, TimeUnit.DAYS)
+        .getHeaderValue();
+
+    private final Path uploadPath;
+
+    private final FileDownloadHandler fileDownloadHandler;
+
+    public LocalAttachmentRequestHandler(Path uploadPath,
+        FileDownloadHandler fileDownloadHandler) {
+        this.uploadPath = uploadPath.toAbsolutePath().normalize();
+        this.fileDownloadHandler = fileDownloadHandler;
+    }
+
+    @Override
+    public void handleRequest(@NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response) throws IOException {
+        if (!HttpMethod.GET.matches(request.getMethod())
+            && !HttpMethod.HEAD.matches(request.getMethod())) {
+            response.setHeader(HttpHeaders.ALLOW, "GET, HEAD");
+            response.sendError(HttpStatus.METHOD_NOT_ALLOWED.value());
+            return;
+        }
+
+        Path file = resolve((String) request.getAttribute(
+            HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE));
+        if (file == null || !Files.isRegularFile(file)) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        fileDownloadHandler.download(file, DownloadType.ATTACHMENT, false, request, response);
+    }
+
+    /**
+     * Resolves the path within the upload directory.
+     *
+     * @param path request path within the handler mapping
+     * @return attachment file, or null if the path is invalid or outside the upload directory
+     */
+    @Nullable
+    Path resolve(@Nullable String path) {
+        if (StringUtils.isBlank(path)) {
+            return null;
+        }
+        try {
+            Path file = uploadPath.resolve(StringUtils.removeStart(path, "/")).normalize();
+            return file.startsWith(uploadPath) && !file.equals(uploadPath) ? file : null;
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
+}
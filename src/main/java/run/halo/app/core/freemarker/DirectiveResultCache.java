@@ -0,0 +1,124 @@
+package run.halo.app.core.freemarker;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import freemarker.template.Configuration;
+import freemarker.template.DefaultObjectWrapperBuilder;
+import freemarker.template.ObjectWrapper;
+import freemarker.template.TemplateModel;
+import freemarker.template.TemplateModelException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import run.halo.app.cache.ContentGeneration;
+import run.halo.app.core.metrics.RouteMetrics;
+
+/**
+ * Result cache of freemarker custom directives.
+ *
+ * <p>Results are cached by directive name and directive parameters, and they will be discarded
+ * as soon as the {@link ContentGeneration} is increased. All results are wrapped by one shared
+ * object wrapper.
+ *
+ * @author guqing
+ * @date 2022-03-29
+ */
+@Slf4j
+@Component
+public class DirectiveResultCache {
+
+    private static final long MAXIMUM_SIZE = 1024;
+
+    /**
+     * Visits and likes are flushed without any event, so keep them fresh enough.
+     */
+    private static final Duration EXPIRE_AFTER_WRITE = Duration.ofMinutes(5);
+
+    private final ObjectWrapper objectWrapper =
+        new DefaultObjectWrapperBuilder(Configuration.VERSION_2_3_25).build();
+
+    private final Cache<String, TemplateModel> cache = CacheBuilder.newBuilder()
+        .maximumSize(MAXIMUM_SIZE)
+        .expireAfterWrite(EXPIRE_AFTER_WRITE)
+        .build();
+
+    private final ContentGeneration contentGeneration;
+
+    private volatile long generation;
+
+    public DirectiveResultCache(ContentGeneration contentGeneration) {
+        this.contentGeneration = contentGeneration;
+        this.generation = contentGeneration.get();
+    }
+
+    /**
+     * Gets the cached result or loads and caches it.
+     *
+     * @param directive directive name
+     * @param params directive parameters
+     * @param loader result loader
+     * @return wrapped result
+     * @throws TemplateModelException if the result cannot be wrapped
+     */
+    @NonNull
+    public TemplateModel get(@NonNull String directive, @Nullable Map<?, ?> params,
+        @NonNull Supplier<Object> loader) throws TemplateModelException {
+        Assert.hasText(directive, "Directive name must not be blank");
+        Assert.notNull(loader, "Result loader must not be null");
+
+        long currentGeneration = contentGeneration.get();
+        if (currentGeneration != generation) {
+            cache.invalidateAll();
+            generation = currentGeneration;
+            log.debug("Invalidated directive results for generation [{}]", currentGeneration);
+        }
+
+        String key = buildKey(directive, params);
+        TemplateModel result = cache.getIfPresent(key);
+        RouteMetrics.recordCacheLookup(result != null);
+        if (result == null) {
+            result = wrap(loader.get());
+            // Do not cache results loaded while the content was changing
+            if (currentGeneration == contentGeneration.get()) {
+                cache.put(key, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Wraps the result without caching, such as the results in random order.
+     *
+     * @param result result to wrap
+     * @return wrapped result
+     * @throws TemplateModelException if the result cannot be wrapped
+     */
+    @NonNull
+    public TemplateModel wrap(@Nullable Object result) throws TemplateModelException {
+        return objectWrapper.wrap(result);
+    }
+
+    /**
+     * Clears all cached results.
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    @NonNull
+    private String buildKey(String directive, @Nullable Map<?, ?> params) {
+        StringBuilder key = new StringBuilder(directive);
+        if (params != null) {
+            // Sort the parameters to make the key stable
+            new TreeMap<>(params).forEach((name, value) ->
+                key.append(':').append(name).append('=').append(value));
+        }
+        return key.toString();
+    }
+}
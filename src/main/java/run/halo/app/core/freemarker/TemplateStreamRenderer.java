@@ -0,0 +1,142 @@
+package run.halo.app.core.freemarker;
+
+import freemarker.template.Template;
+import freemarker.template.TemplateException;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springframework.web.servlet.view.freemarker.FreeMarkerConfigurer;
+import run.halo.app.config.properties.HaloProperties;
+
+/**
+ * Renders templates straight to the response writer, instead of building the whole document
+ * as a string first.
+ *
+ * <p>The output is buffered and flushed to the client every
+ * {@link HaloProperties#getTemplateFlushSize()} chars, so that clients receive the head of
+ * large feeds and sitemaps while the rest is still rendering. Once the first chunk is flushed
+ * the response is committed, a failure after that truncates the document.
+ *
+ * @author guqing
+ * @date 2022-04-11
+ */
+@Component
+public class TemplateStreamRenderer {
+
+    private final FreeMarkerConfigurer freeMarker;
+
+    private final int flushSize;
+
+    public TemplateStreamRenderer(FreeMarkerConfigurer freeMarker,
+        HaloProperties haloProperties) {
+        Assert.isTrue(haloProperties.getTemplateFlushSize() > 0,
+            "Template flush size must be greater than 0");
+        this.freeMarker = freeMarker;
+        this.flushSize = haloProperties.getTemplateFlushSize();
+    }
+
+    /**
+     * Renders the template to the response.
+     *
+     * @param templateName template name must not be blank
+     * @param model data model must not be null
+     * @param contentType content type of the response must not be blank
+     * @param response http servlet response must not be null
+     * @throws IOException if failed to load the template or write the response
+     * @throws TemplateException if failed to render the template
+     */
+    public void render(@NonNull String templateName, @NonNull Map<String, Object> model,
+        @NonNull String contentType, @NonNull HttpServletResponse response)
+        throws IOException, TemplateException {
+        Assert.hasText(templateName, "Template name must not be blank");
+        Assert.notNull(model, "Model must not be null");
+        Assert.hasText(contentType, "Content type must not be blank");
+
+        // Load the template before writing anything, so that a missing template is an error page
+        Template template = freeMarker.getConfiguration().getTemplate(templateName);
+        response.setContentType(contentType);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        render(template, model, response.getWriter(), flushSize);
+    }
+
+    static void render(Template template, Object model, Writer out, int flushSize)
+        throws IOException, TemplateException {
+        FlushingWriter writer = new FlushingWriter(out, flushSize);
+        template.process(model, writer);
+        writer.flush();
+    }
+
+    /**
+     * Writer buffering output in chars of the flush size, the underlying writer is flushed
+     * whenever the buffer is full.
+     */
+    static final class FlushingWriter extends Writer {
+
+        private final Writer out;
+
+        private final char[] buffer;
+
+        private int count;
+
+        FlushingWriter(Writer out, int flushSize) {
+            this.out = out;
+            this.buffer = new char[flushSize];
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            if (count == buffer.length) {
+                flush();
+            }
+            buffer[count++] = (char) c;
+        }
+
+        @Override
+        public void write(@NonNull char[] cbuf, int off, int len) throws IOException {
+            while (len > 0) {
+                if (count == buffer.length) {
+                    flush();
+                }
+                int size = Math.min(len, buffer.length - count);
+                System.arraycopy(cbuf, off, buffer, count, size);
+                count += size;
+                off += size;
+                len -= size;
+            }
+        }
+
+        @Override
+        public void write(@NonNull String str, int off, int len) throws IOException {
+            while (len > 0) {
+                if (count == buffer.length) {
+                    flush();
+                }
+                int size = Math.min(len, buffer.length - count);
+                str.getChars(off, off + size, buffer, count);
+                count += size;
+                off += size;
+                len -= size;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (count > 0) {
+                out.write(buffer, 0, count);
+                count = 0;
+            }
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            // The response writer is closed by the container
+            flush();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package run.halo.app.core.freemarker.method;
+
+import freemarker.template.Configuration;
+import freemarker.template.TemplateMethodModelEx;
+import freemarker.template.TemplateModel;
+import freemarker.template.TemplateModelException;
+import freemarker.template.TemplateScalarModel;
+import java.util.List;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+import run.halo.app.theme.ThemeAssets;
+
+/**
+ * Freemarker template method building fingerprinted urls of theme assets.
+ *
+ * <p>Usage: {@code ${theme_asset('source/css/style.css')}}, which is the same as
+ * {@code ${theme_base}/source/css/style.css} except for the content hash in the file name.
+ *
+ * @author guqing
+ * @date 2022-04-11
+ */
+@Component
+public class ThemeAssetMethod implements TemplateMethodModelEx {
+
+    private static final String THEME_BASE_VARIABLE = "theme_base";
+
+    private final Configuration configuration;
+
+    private final ThemeAssets themeAssets;
+
+    public ThemeAssetMethod(Configuration configuration, ThemeAssets themeAssets) {
+        this.configuration = configuration;
+        this.themeAssets = themeAssets;
+        configuration.setSharedVariable("theme_asset", this);
+    }
+
+    @Override
+    public Object exec(List arguments) throws TemplateModelException {
+        if (arguments.size() != 1 || !(arguments.get(0) instanceof TemplateScalarModel)) {
+            throw new TemplateModelException("Wrong arguments! 1 string argument is needed");
+        }
+        String url = ((TemplateScalarModel) arguments.get(0)).getAsString();
+        if (url.startsWith("//") || url.contains("://")) {
+            return url;
+        }
+
+        // Keep the query and fragment
+        int suffixIndex = StringUtils.indexOfAny(url, '?', '#');
+        String path = suffixIndex < 0 ? url : url.substring(0, suffixIndex);
+        String suffix = suffixIndex < 0 ? "" : url.substring(suffixIndex);
+        path = StringUtils.removeStart(path, "/");
+
+        TemplateModel themeBase = configuration.getSharedVariable(THEME_BASE_VARIABLE);
+        String basePath = themeBase instanceof TemplateScalarModel
+            ? ((TemplateScalarModel) themeBase).getAsString() : "";
+        return basePath + "/" + themeAssets.fingerprint(path) + suffix;
+    }
+}
@@ -0,0 +1,59 @@
+package run.halo.app.core.freemarker.profile;
+
+import freemarker.core.Environment;
+import freemarker.template.TemplateDirectiveBody;
+import freemarker.template.TemplateDirectiveModel;
+import freemarker.template.TemplateException;
+import freemarker.template.TemplateModel;
+import java.io.IOException;
+import java.util.Map;
+import run.halo.app.model.support.HaloConst;
+
+/**
+ * Directive decorator recording the time spent on the directive itself.
+ *
+ * <p>Custom directives render their bodies inside {@code execute}, so the body rendering time
+ * is measured separately and excluded.
+ *
+ * @author guqing
+ * @date 2022-04-08
+ */
+class ProfilingDirective implements TemplateDirectiveModel {
+
+    private final String name;
+
+    private final TemplateDirectiveModel delegate;
+
+    private final ThemeProfiler themeProfiler;
+
+    ProfilingDirective(String name, TemplateDirectiveModel delegate,
+        ThemeProfiler themeProfiler) {
+        this.name = name;
+        this.delegate = delegate;
+        this.themeProfiler = themeProfiler;
+    }
+
+    @Override
+    public void execute(Environment env, Map params, TemplateModel[] loopVars,
+        TemplateDirectiveBody body) throws TemplateException, IOException {
+        long[] bodyNanos = {0L};
+        TemplateDirectiveBody profilingBody = body == null ? null : out -> {
+            long bodyStart = System.nanoTime();
+            try {
+                body.render(out);
+            } finally {
+                bodyNanos[0] += System.nanoTime() - bodyStart;
+            }
+        };
+
+        long start = System.nanoTime();
+        try {
+            delegate.execute(env, params, loopVars, profilingBody);
+        } finally {
+            long elapsed = System.nanoTime() - start - bodyNanos[0];
+            Object method = params == null ? null : params.get(HaloConst.METHOD_KEY);
+            themeProfiler.recordDirective(env.getMainTemplate().getName(), name,
+                method == null ? null : method.toString(), elapsed);
+        }
+    }
+}
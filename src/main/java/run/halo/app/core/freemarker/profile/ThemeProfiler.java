@@ -0,0 +1,292 @@
+package run.halo.app.core.freemarker.profile;
+
+import freemarker.template.Configuration;
+import freemarker.template.TemplateDirectiveModel;
+import freemarker.template.TemplateModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import run.halo.app.model.dto.RenderProfileDTO;
+
+/**
+ * Profiles theme model building, template rendering and custom directive calls.
+ *
+ * <p>Every record is published as a Micrometer timer and aggregated in memory since startup, so
+ * the slowest templates and directive calls of a theme can be listed.
+ *
+ * @author guqing
+ * @date 2022-04-08
+ */
+@Slf4j
+@Component
+public class ThemeProfiler implements SmartInitializingSingleton {
+
+    private static final String THEME_VIEW_PREFIX = "themes/";
+
+    private static final String DIRECTIVE_PACKAGE = "run.halo.app.core.freemarker.tag";
+
+    private final Configuration configuration;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<ProfileKey, Profile> profiles = new ConcurrentHashMap<>();
+
+    public ThemeProfiler(Configuration configuration, MeterRegistry meterRegistry) {
+        this.configuration = configuration;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Wraps custom directives after they registered themselves as shared variables.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (String name : configuration.getSharedVariableNames()) {
+            TemplateModel variable = configuration.getSharedVariable(name);
+            if (variable instanceof TemplateDirectiveModel
+                && !(variable instanceof ProfilingDirective)
+                && variable.getClass().getName().startsWith(DIRECTIVE_PACKAGE)) {
+                configuration.setSharedVariable(name,
+                    new ProfilingDirective(name, (TemplateDirectiveModel) variable, this));
+                log.debug("Profiling directive: [{}]", name);
+            }
+        }
+    }
+
+    /**
+     * Records time spent on building the model of a theme view.
+     *
+     * @param viewName view name
+     * @param nanos elapsed nanoseconds
+     */
+    public void recordModel(@NonNull String viewName, long nanos) {
+        record(ProfileType.MODEL, viewName, null, nanos);
+    }
+
+    /**
+     * Records time spent on rendering a theme view.
+     *
+     * @param viewName view name
+     * @param nanos elapsed nanoseconds
+     */
+    public void recordTemplate(@NonNull String viewName, long nanos) {
+        record(ProfileType.TEMPLATE, viewName, null, nanos);
+    }
+
+    /**
+     * Records time spent on a directive call.
+     *
+     * @param templateName name of the main template
+     * @param directive directive name
+     * @param method directive method
+     * @param nanos elapsed nanoseconds
+     */
+    public void recordDirective(@Nullable String templateName, @NonNull String directive,
+        @Nullable String method, long nanos) {
+        String theme = resolveTheme(templateName);
+        if (theme == null) {
+            return;
+        }
+        Profile profile = profiles.computeIfAbsent(
+            new ProfileKey(ProfileType.DIRECTIVE, theme, directive, method),
+            key -> new Profile(Timer.builder("halo.theme.directive")
+                .tag("theme", theme)
+                .tag("directive", directive)
+                .tag("method", Objects.toString(method, "none"))
+                .register(meterRegistry)));
+        profile.record(nanos);
+    }
+
+    /**
+     * Lists the slowest model buildings of the theme.
+     *
+     * @param theme theme folder name
+     * @param limit max count of profiles
+     * @return a list of profile, the largest average time first
+     */
+    @NonNull
+    public List<RenderProfileDTO> listSlowestModels(@NonNull String theme, int limit) {
+        return listSlowest(ProfileType.MODEL, theme, limit);
+    }
+
+    /**
+     * Lists the slowest templates of the theme.
+     *
+     * @param theme theme folder name
+     * @param limit max count of profiles
+     * @return a list of profile, the largest average time first
+     */
+    @NonNull
+    public List<RenderProfileDTO> listSlowestTemplates(@NonNull String theme, int limit) {
+        return listSlowest(ProfileType.TEMPLATE, theme, limit);
+    }
+
+    /**
+     * Lists the slowest directive calls of the theme.
+     *
+     * @param theme theme folder name
+     * @param limit max count of profiles
+     * @return a list of profile, the largest average time first
+     */
+    @NonNull
+    public List<RenderProfileDTO> listSlowestDirectives(@NonNull String theme, int limit) {
+        return listSlowest(ProfileType.DIRECTIVE, theme, limit);
+    }
+
+    /**
+     * Clears aggregated profiles, Micrometer timers are not affected.
+     */
+    public void clear() {
+        profiles.values().forEach(Profile::reset);
+    }
+
+    /**
+     * Resolves theme folder name from a theme view or template name.
+     *
+     * @param name view name like {@code themes/anatole/post} or template name
+     * @return theme folder name or null if it is not a theme view
+     */
+    @Nullable
+    static String resolveTheme(@Nullable String name) {
+        if (name == null || !name.startsWith(THEME_VIEW_PREFIX)) {
+            return null;
+        }
+        String theme = StringUtils.substringBefore(name.substring(THEME_VIEW_PREFIX.length()), "/");
+        return StringUtils.isBlank(theme) ? null : theme;
+    }
+
+    private void record(ProfileType type, String viewName, @Nullable String method, long nanos) {
+        String theme = resolveTheme(viewName);
+        if (theme == null) {
+            return;
+        }
+        String template = StringUtils.removeEnd(StringUtils.substringAfterLast(viewName, "/"),
+            ".ftl");
+        Profile profile = profiles.computeIfAbsent(
+            new ProfileKey(type, theme, template, method),
+            key -> new Profile(Timer.builder(type.meterName)
+                .tag("theme", theme)
+                .tag("template", template)
+                .register(meterRegistry)));
+        profile.record(nanos);
+    }
+
+    private List<RenderProfileDTO> listSlowest(ProfileType type, String theme, int limit) {
+        return profiles.entrySet().stream()
+            .filter(entry -> entry.getKey().type == type && entry.getKey().theme.equals(theme))
+            .filter(entry -> entry.getValue().count.sum() > 0)
+            .map(entry -> entry.getValue().toDto(entry.getKey()))
+            .sorted(Comparator.comparing(RenderProfileDTO::getAverageMillis).reversed())
+            .limit(limit)
+            .collect(Collectors.toList());
+    }
+
+    private enum ProfileType {
+        MODEL("halo.theme.model"),
+        TEMPLATE("halo.theme.render"),
+        DIRECTIVE("halo.theme.directive");
+
+        private final String meterName;
+
+        ProfileType(String meterName) {
+            this.meterName = meterName;
+        }
+    }
+
+    private static final class ProfileKey {
+
+        private final ProfileType type;
+
+        private final String theme;
+
+        private final String name;
+
+        private final String method;
+
+        private ProfileKey(ProfileType type, String theme, String name, @Nullable String method) {
+            this.type = type;
+            this.theme = theme;
+            this.name = name;
+            this.method = method;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ProfileKey that = (ProfileKey) o;
+            return type == that.type
+                && theme.equals(that.theme)
+                && name.equals(that.name)
+                && Objects.equals(method, that.method);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, theme, name, method);
+        }
+    }
+
+    private static final class Profile {
+
+        private final Timer timer;
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder totalNanos = new LongAdder();
+
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0L);
+
+        private Profile(Timer timer) {
+            this.timer = timer;
+        }
+
+        private void record(long nanos) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        private void reset() {
+            count.reset();
+            totalNanos.reset();
+            maxNanos.reset();
+        }
+
+        private RenderProfileDTO toDto(ProfileKey key) {
+            long currentCount = count.sum();
+            double totalMillis = toMillis(totalNanos.sum());
+            RenderProfileDTO profile = new RenderProfileDTO();
+            profile.setName(key.name);
+            profile.setMethod(key.method);
+            profile.setCount(currentCount);
+            profile.setTotalMillis(totalMillis);
+            profile.setAverageMillis(currentCount == 0 ? 0D : totalMillis / currentCount);
+            profile.setMaxMillis(toMillis(maxNanos.get()));
+            return profile;
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package run.halo.app.core.freemarker.profile;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Records model building and rendering time of theme views.
+ *
+ * <p>The handler builds the model before {@code postHandle}, and the view is rendered between
+ * {@code postHandle} and {@code afterCompletion}.
+ *
+ * @author guqing
+ * @date 2022-04-08
+ */
+@Component
+public class ThemeProfilingInterceptor implements HandlerInterceptor {
+
+    private static final String HANDLE_START_ATTRIBUTE =
+        ThemeProfilingInterceptor.class.getName() + ".HANDLE_START";
+
+    private static final String RENDER_START_ATTRIBUTE =
+        ThemeProfilingInterceptor.class.getName() + ".RENDER_START";
+
+    private static final String VIEW_NAME_ATTRIBUTE =
+        ThemeProfilingInterceptor.class.getName() + ".VIEW_NAME";
+
+    private final ThemeProfiler themeProfiler;
+
+    public ThemeProfilingInterceptor(ThemeProfiler themeProfiler) {
+        this.themeProfiler = themeProfiler;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response, @NonNull Object handler) {
+        request.setAttribute(HANDLE_START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void postHandle(@NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response, @NonNull Object handler,
+        @Nullable ModelAndView modelAndView) {
+        long now = System.nanoTime();
+        String viewName = modelAndView == null ? null : modelAndView.getViewName();
+        if (ThemeProfiler.resolveTheme(viewName) == null) {
+            return;
+        }
+        Object handleStart = request.getAttribute(HANDLE_START_ATTRIBUTE);
+        if (handleStart != null) {
+            themeProfiler.recordModel(viewName, now - (Long) handleStart);
+        }
+        request.setAttribute(VIEW_NAME_ATTRIBUTE, viewName);
+        request.setAttribute(RENDER_START_ATTRIBUTE, System.nanoTime());
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response, @NonNull Object handler,
+        @Nullable Exception ex) {
+        Object renderStart = request.getAttribute(RENDER_START_ATTRIBUTE);
+        Object viewName = request.getAttribute(VIEW_NAME_ATTRIBUTE);
+        if (renderStart != null && viewName != null) {
+            themeProfiler.recordTemplate(viewName.toString(),
+                System.nanoTime() - (Long) renderStart);
+        }
+    }
+}
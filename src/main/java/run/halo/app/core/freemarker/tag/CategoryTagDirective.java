@@ -4,7 +4,6 @@ import static org.springframework.data.domain.Sort.Direction.ASC;
 
 import freemarker.core.Environment;
 import freemarker.template.Configuration;
-import freemarker.template.DefaultObjectWrapperBuilder;
 import freemarker.template.TemplateDirectiveBody;
 import freemarker.template.TemplateDirectiveModel;
 import freemarker.template.TemplateException;
@@ -14,6 +13,7 @@ import java.util.List;
 import java.util.Map;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
+import run.halo.app.core.freemarker.DirectiveResultCache;
 import run.halo.app.model.entity.Category;
 import run.halo.app.model.support.HaloConst;
 import run.halo.app.service.CategoryService;
@@ -32,39 +32,45 @@ public class CategoryTagDirective implements TemplateDirectiveModel {
 
     private final PostCategoryService postCategoryService;
 
+    private final DirectiveResultCache directiveResultCache;
+
     public CategoryTagDirective(Configuration configuration,
         CategoryService categoryService,
-        PostCategoryService postCategoryService) {
+        PostCategoryService postCategoryService,
+        DirectiveResultCache directiveResultCache) {
         this.categoryService = categoryService;
         this.postCategoryService = postCategoryService;
+        this.directiveResultCache = directiveResultCache;
         configuration.setSharedVariable("categoryTag", this);
     }
 
     @Override
     public void execute(Environment env, Map params, TemplateModel[] loopVars,
         TemplateDirectiveBody body) throws TemplateException, IOException {
-        final DefaultObjectWrapperBuilder builder =
-            new DefaultObjectWrapperBuilder(Configuration.VERSION_2_3_25);
-
         if (params.containsKey(HaloConst.METHOD_KEY)) {
             String method = params.get(HaloConst.METHOD_KEY).toString();
             switch (method) {
                 case "list":
-                    env.setVariable("categories", builder.build().wrap(postCategoryService
-                        .listCategoryWithPostCountDto(Sort.by(ASC, "priority"))));
+                    env.setVariable("categories", directiveResultCache.get("categoryTag", params,
+                        () -> postCategoryService
+                            .listCategoryWithPostCountDto(Sort.by(ASC, "priority"))));
                     break;
                 case "tree":
-                    env.setVariable("categories", builder.build()
-                        .wrap(categoryService.listAsTree(Sort.by(ASC, "priority"))));
+                    env.setVariable("categories", directiveResultCache.get("categoryTag", params,
+                        () -> categoryService.listAsTree(Sort.by(ASC, "priority"))));
                     break;
                 case "listByPostId":
                     Integer postId = Integer.parseInt(params.get("postId").toString());
-                    List<Category> categories = postCategoryService.listCategoriesBy(postId);
-                    env.setVariable("categories",
-                        builder.build().wrap(categoryService.convertTo(categories)));
+                    env.setVariable("categories", directiveResultCache.get("categoryTag", params,
+                        () -> {
+                            List<Category> categories =
+                                postCategoryService.listCategoriesBy(postId);
+                            return categoryService.convertTo(categories);
+                        }));
                     break;
                 case "count":
-                    env.setVariable("count", builder.build().wrap(categoryService.count()));
+                    env.setVariable("count", directiveResultCache.get("categoryTag", params,
+                        categoryService::count));
                     break;
                 default:
                     break;
@@ -2,7 +2,6 @@ package run.halo.app.core.freemarker.tag;
 
 import freemarker.core.Environment;
 import freemarker.template.Configuration;
-import freemarker.template.DefaultObjectWrapperBuilder;
 import freemarker.template.TemplateDirectiveBody;
 import freemarker.template.TemplateDirectiveModel;
 import freemarker.template.TemplateException;
@@ -11,6 +10,7 @@ import java.io.IOException;
 import java.util.Map;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Component;
+import run.halo.app.core.freemarker.DirectiveResultCache;
 import run.halo.app.model.entity.PostComment;
 import run.halo.app.model.enums.CommentStatus;
 import run.halo.app.model.support.HaloConst;
@@ -31,32 +31,35 @@ public class CommentTagDirective implements TemplateDirectiveModel {
 
     private final PostCommentRenderAssembler postCommentRenderAssembler;
 
+    private final DirectiveResultCache directiveResultCache;
+
     public CommentTagDirective(Configuration configuration, PostCommentService postCommentService,
-        PostCommentRenderAssembler postCommentRenderAssembler) {
+        PostCommentRenderAssembler postCommentRenderAssembler,
+        DirectiveResultCache directiveResultCache) {
         this.postCommentService = postCommentService;
         this.postCommentRenderAssembler = postCommentRenderAssembler;
+        this.directiveResultCache = directiveResultCache;
         configuration.setSharedVariable("commentTag", this);
     }
 
     @Override
     public void execute(Environment env, Map params, TemplateModel[] loopVars,
         TemplateDirectiveBody body) throws TemplateException, IOException {
-        final DefaultObjectWrapperBuilder builder =
-            new DefaultObjectWrapperBuilder(Configuration.VERSION_2_3_25);
-
         if (params.containsKey(HaloConst.METHOD_KEY)) {
             String method = params.get(HaloConst.METHOD_KEY).toString();
             switch (method) {
                 case "latest":
                     int top = Integer.parseInt(params.get("top").toString());
-                    Page<PostComment> postComments =
-                        postCommentService.pageLatest(top, CommentStatus.PUBLISHED);
-                    env.setVariable("comments",
-                        builder.build()
-                            .wrap(postCommentRenderAssembler.convertToWithPostVo(postComments)));
+                    env.setVariable("comments", directiveResultCache.get("commentTag", params,
+                        () -> {
+                            Page<PostComment> postComments =
+                                postCommentService.pageLatest(top, CommentStatus.PUBLISHED);
+                            return postCommentRenderAssembler.convertToWithPostVo(postComments);
+                        }));
                     break;
                 case "count":
-                    env.setVariable("count", builder.build().wrap(postCommentService.count()));
+                    env.setVariable("count", directiveResultCache.get("commentTag", params,
+                        postCommentService::count));
                     break;
                 default:
                     break;
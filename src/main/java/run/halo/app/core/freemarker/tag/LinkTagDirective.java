@@ -4,7 +4,6 @@ import static org.springframework.data.domain.Sort.Direction.DESC;
 
 import freemarker.core.Environment;
 import freemarker.template.Configuration;
-import freemarker.template.DefaultObjectWrapperBuilder;
 import freemarker.template.TemplateDirectiveBody;
 import freemarker.template.TemplateDirectiveModel;
 import freemarker.template.TemplateException;
@@ -13,6 +12,7 @@ import java.io.IOException;
 import java.util.Map;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
+import run.halo.app.core.freemarker.DirectiveResultCache;
 import run.halo.app.model.support.HaloConst;
 import run.halo.app.service.LinkService;
 
@@ -27,36 +27,40 @@ public class LinkTagDirective implements TemplateDirectiveModel {
 
     private final LinkService linkService;
 
-    public LinkTagDirective(Configuration configuration, LinkService linkService) {
+    private final DirectiveResultCache directiveResultCache;
+
+    public LinkTagDirective(Configuration configuration, LinkService linkService,
+        DirectiveResultCache directiveResultCache) {
         this.linkService = linkService;
+        this.directiveResultCache = directiveResultCache;
         configuration.setSharedVariable("linkTag", this);
     }
 
     @Override
     public void execute(Environment env, Map params, TemplateModel[] loopVars,
         TemplateDirectiveBody body) throws TemplateException, IOException {
-        final DefaultObjectWrapperBuilder builder =
-            new DefaultObjectWrapperBuilder(Configuration.VERSION_2_3_25);
-
         if (params.containsKey(HaloConst.METHOD_KEY)) {
             String method = params.get(HaloConst.METHOD_KEY).toString();
             switch (method) {
                 case "list":
-                    env.setVariable("links", builder.build().wrap(linkService.listAll()));
+                    env.setVariable("links", directiveResultCache.get("linkTag", params,
+                        linkService::listAll));
                     break;
                 case "listByRandom":
-                    env.setVariable("links", builder.build().wrap(linkService.listAllByRandom()));
+                    env.setVariable("links",
+                        directiveResultCache.wrap(linkService.listAllByRandom()));
                     break;
                 case "listTeams":
-                    env.setVariable("teams",
-                        builder.build().wrap(linkService.listTeamVos(Sort.by(DESC, "createTime"))));
+                    env.setVariable("teams", directiveResultCache.get("linkTag", params,
+                        () -> linkService.listTeamVos(Sort.by(DESC, "createTime"))));
                     break;
                 case "listTeamsByRandom":
-                    env.setVariable("teams", builder.build()
+                    env.setVariable("teams", directiveResultCache
                         .wrap(linkService.listTeamVosByRandom(Sort.by(DESC, "createTime"))));
                     break;
                 case "count":
-                    env.setVariable("count", builder.build().wrap(linkService.count()));
+                    env.setVariable("count", directiveResultCache.get("linkTag", params,
+                        linkService::count));
                     break;
                 default:
                     break;
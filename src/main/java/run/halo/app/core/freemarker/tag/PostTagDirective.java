@@ -2,7 +2,6 @@ package run.halo.app.core.freemarker.tag;
 
 import freemarker.core.Environment;
 import freemarker.template.Configuration;
-import freemarker.template.DefaultObjectWrapperBuilder;
 import freemarker.template.TemplateDirectiveBody;
 import freemarker.template.TemplateDirectiveModel;
 import freemarker.template.TemplateException;
@@ -11,6 +10,7 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import org.springframework.stereotype.Component;
+import run.halo.app.core.freemarker.DirectiveResultCache;
 import run.halo.app.model.entity.Post;
 import run.halo.app.model.enums.PostStatus;
 import run.halo.app.model.support.HaloConst;
@@ -36,76 +36,76 @@ public class PostTagDirective implements TemplateDirectiveModel {
 
     private final PostCategoryService postCategoryService;
 
+    private final DirectiveResultCache directiveResultCache;
+
     public PostTagDirective(Configuration configuration,
         PostService postService,
         PostRenderAssembler postRenderAssembler,
         PostTagService postTagService,
-        PostCategoryService postCategoryService) {
+        PostCategoryService postCategoryService,
+        DirectiveResultCache directiveResultCache) {
         this.postService = postService;
         this.postRenderAssembler = postRenderAssembler;
         this.postTagService = postTagService;
         this.postCategoryService = postCategoryService;
+        this.directiveResultCache = directiveResultCache;
         configuration.setSharedVariable("postTag", this);
     }
 
     @Override
     public void execute(Environment env, Map params, TemplateModel[] loopVars,
         TemplateDirectiveBody body) throws TemplateException, IOException {
-        final DefaultObjectWrapperBuilder builder =
-            new DefaultObjectWrapperBuilder(Configuration.VERSION_2_3_25);
         if (params.containsKey(HaloConst.METHOD_KEY)) {
             String method = params.get(HaloConst.METHOD_KEY).toString();
             switch (method) {
                 case "latest":
                     int top = Integer.parseInt(params.get("top").toString());
-                    env.setVariable("posts", builder.build()
-                        .wrap(postRenderAssembler.convertToListVo(postService.listLatest(top))));
+                    env.setVariable("posts", directiveResultCache.get("postTag", params,
+                        () -> postRenderAssembler.convertToListVo(postService.listLatest(top))));
                     break;
                 case "count":
-                    env.setVariable("count",
-                        builder.build().wrap(postService.countByStatus(PostStatus.PUBLISHED)));
+                    env.setVariable("count", directiveResultCache.get("postTag", params,
+                        () -> postService.countByStatus(PostStatus.PUBLISHED)));
                     break;
                 case "archiveYear":
-                    env.setVariable("archives",
-                        builder.build().wrap(postService.listYearArchives()));
+                    env.setVariable("archives", directiveResultCache.get("postTag", params,
+                        postService::listYearArchives));
                     break;
                 case "archiveMonth":
-                    env.setVariable("archives",
-                        builder.build().wrap(postService.listMonthArchives()));
+                    env.setVariable("archives", directiveResultCache.get("postTag", params,
+                        postService::listMonthArchives));
                     break;
                 case "archive":
                     String type = params.get("type").toString();
-                    env.setVariable("archives", builder.build().wrap(
-                        "year".equals(type) ? postService.listYearArchives() :
+                    env.setVariable("archives", directiveResultCache.get("postTag", params,
+                        () -> "year".equals(type) ? postService.listYearArchives() :
                             postService.listMonthArchives()));
                     break;
                 case "listByCategoryId":
                     Integer categoryId = Integer.parseInt(params.get("categoryId").toString());
-                    env.setVariable("posts", builder.build()
-                        .wrap(postRenderAssembler.convertToListVo(
+                    env.setVariable("posts", directiveResultCache.get("postTag", params,
+                        () -> postRenderAssembler.convertToListVo(
                             postCategoryService.listPostBy(categoryId, PostStatus.PUBLISHED))));
                     break;
                 case "listByCategorySlug":
                     String categorySlug = params.get("categorySlug").toString();
-                    List<Post> posts =
-                        postCategoryService.listPostBy(categorySlug, PostStatus.PUBLISHED);
-                    env.setVariable("posts",
-                        builder.build().wrap(postRenderAssembler.convertToListVo(posts)));
+                    env.setVariable("posts", directiveResultCache.get("postTag", params, () -> {
+                        List<Post> posts =
+                            postCategoryService.listPostBy(categorySlug, PostStatus.PUBLISHED);
+                        return postRenderAssembler.convertToListVo(posts);
+                    }));
                     break;
                 case "listByTagId":
                     Integer tagId = Integer.parseInt(params.get("tagId").toString());
-                    env.setVariable("posts", builder.build().wrap(postRenderAssembler
-                        .convertToListVo(postTagService.listPostsBy(tagId, PostStatus.PUBLISHED))));
+                    env.setVariable("posts", directiveResultCache.get("postTag", params,
+                        () -> postRenderAssembler.convertToListVo(
+                            postTagService.listPostsBy(tagId, PostStatus.PUBLISHED))));
                     break;
                 case "listByTagSlug":
                     String tagSlug = params.get("tagSlug").toString();
-                    env.setVariable("posts", builder.build()
-                        .wrap(
-                            postRenderAssembler.convertToListVo(
-                                postTagService.listPostsBy(tagSlug, PostStatus.PUBLISHED)
-                            )
-                        )
-                    );
+                    env.setVariable("posts", directiveResultCache.get("postTag", params,
+                        () -> postRenderAssembler.convertToListVo(
+                            postTagService.listPostsBy(tagSlug, PostStatus.PUBLISHED))));
                     break;
                 default:
                     break;
@@ -4,7 +4,6 @@ import static org.springframework.data.domain.Sort.Direction.DESC;
 
 import freemarker.core.Environment;
 import freemarker.template.Configuration;
-import freemarker.template.DefaultObjectWrapperBuilder;
 import freemarker.template.TemplateDirectiveBody;
 import freemarker.template.TemplateDirectiveModel;
 import freemarker.template.TemplateException;
@@ -14,6 +13,7 @@ import java.util.List;
 import java.util.Map;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
+import run.halo.app.core.freemarker.DirectiveResultCache;
 import run.halo.app.model.entity.Tag;
 import run.halo.app.model.support.HaloConst;
 import run.halo.app.service.PostTagService;
@@ -32,34 +32,38 @@ public class TagTagDirective implements TemplateDirectiveModel {
 
     private final PostTagService postTagService;
 
+    private final DirectiveResultCache directiveResultCache;
+
     public TagTagDirective(Configuration configuration,
         TagService tagService,
-        PostTagService postTagService) {
+        PostTagService postTagService,
+        DirectiveResultCache directiveResultCache) {
         this.tagService = tagService;
         this.postTagService = postTagService;
+        this.directiveResultCache = directiveResultCache;
         configuration.setSharedVariable("tagTag", this);
     }
 
     @Override
     public void execute(Environment env, Map params, TemplateModel[] loopVars,
         TemplateDirectiveBody body) throws TemplateException, IOException {
-        final DefaultObjectWrapperBuilder builder =
-            new DefaultObjectWrapperBuilder(Configuration.VERSION_2_3_25);
-
         if (params.containsKey(HaloConst.METHOD_KEY)) {
             String method = params.get(HaloConst.METHOD_KEY).toString();
             switch (method) {
                 case "list":
-                    env.setVariable("tags", builder.build()
-                        .wrap(postTagService.listTagWithCountDtos(Sort.by(DESC, "createTime"))));
+                    env.setVariable("tags", directiveResultCache.get("tagTag", params,
+                        () -> postTagService.listTagWithCountDtos(Sort.by(DESC, "createTime"))));
                     break;
                 case "listByPostId":
                     Integer postId = Integer.parseInt(params.get("postId").toString());
-                    List<Tag> tags = postTagService.listTagsBy(postId);
-                    env.setVariable("tags", builder.build().wrap(tagService.convertTo(tags)));
+                    env.setVariable("tags", directiveResultCache.get("tagTag", params, () -> {
+                        List<Tag> tags = postTagService.listTagsBy(postId);
+                        return tagService.convertTo(tags);
+                    }));
                     break;
                 case "count":
-                    env.setVariable("count", builder.build().wrap(tagService.count()));
+                    env.setVariable("count", directiveResultCache.get("tagTag", params,
+                        tagService::count));
                     break;
                 default:
                     break;
@@ -0,0 +1,77 @@
+package run.halo.app.core.metrics;
+
+import javax.servlet.http.HttpServletRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Request scoped facts recorded for route metrics.
+ *
+ * @author guqing
+ * @date 2022-04-06
+ */
+public final class RouteMetrics {
+
+    public static final String NONE = "none";
+
+    static final String PAGE_TYPE_ATTRIBUTE = RouteMetrics.class.getName() + ".PAGE_TYPE";
+
+    private static final String CACHE_HITS_ATTRIBUTE =
+        RouteMetrics.class.getName() + ".CACHE_HITS";
+
+    private static final String CACHE_MISSES_ATTRIBUTE =
+        RouteMetrics.class.getName() + ".CACHE_MISSES";
+
+    private RouteMetrics() {
+    }
+
+    /**
+     * Records a cache lookup of the current request, nothing happens outside a request.
+     *
+     * @param hit whether the lookup hit the cache
+     */
+    public static void recordCacheLookup(boolean hit) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        String name = hit ? CACHE_HITS_ATTRIBUTE : CACHE_MISSES_ATTRIBUTE;
+        Object count = attributes.getAttribute(name, RequestAttributes.SCOPE_REQUEST);
+        attributes.setAttribute(name, count == null ? 1 : (Integer) count + 1,
+            RequestAttributes.SCOPE_REQUEST);
+    }
+
+    /**
+     * Gets theme page type of the request.
+     *
+     * @param request http servlet request
+     * @return page type, or none if no theme page was rendered
+     */
+    @NonNull
+    public static String getPageType(@Nullable HttpServletRequest request) {
+        Object pageType = request == null ? null : request.getAttribute(PAGE_TYPE_ATTRIBUTE);
+        return pageType == null ? NONE : pageType.toString();
+    }
+
+    /**
+     * Gets cache status of the request.
+     *
+     * @param request http servlet request
+     * @return hit if all lookups hit, miss if any lookup missed, or none without any lookup
+     */
+    @NonNull
+    public static String getCacheStatus(@Nullable HttpServletRequest request) {
+        if (request == null) {
+            return NONE;
+        }
+        if (request.getAttribute(CACHE_MISSES_ATTRIBUTE) != null) {
+            return "miss";
+        }
+        if (request.getAttribute(CACHE_HITS_ATTRIBUTE) != null) {
+            return "hit";
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,48 @@
+package run.halo.app.core.metrics;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Records the theme page type of the rendered view for route metrics.
+ *
+ * <p>Theme views are named like {@code themes/{folder}/{page}}, the page type is the page name
+ * without the custom template suffix, e.g. both {@code post} and {@code post_diary} are
+ * {@code post}, which keeps the tag cardinality low.
+ *
+ * @author guqing
+ * @date 2022-04-06
+ */
+public class RouteMetricsInterceptor implements HandlerInterceptor {
+
+    private static final String THEME_VIEW_PREFIX = "themes/";
+
+    @Override
+    public void postHandle(@NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response, @NonNull Object handler,
+        @Nullable ModelAndView modelAndView) {
+        if (modelAndView == null) {
+            return;
+        }
+        String pageType = resolvePageType(modelAndView.getViewName());
+        if (pageType != null) {
+            request.setAttribute(RouteMetrics.PAGE_TYPE_ATTRIBUTE, pageType);
+        }
+    }
+
+    @Nullable
+    static String resolvePageType(@Nullable String viewName) {
+        if (viewName == null || !viewName.startsWith(THEME_VIEW_PREFIX)) {
+            return null;
+        }
+        String pageName = StringUtils.substringAfterLast(viewName, "/");
+        pageName = StringUtils.removeEnd(pageName, ".ftl");
+        String pageType = StringUtils.substringBefore(pageName, "_");
+        return StringUtils.isBlank(pageType) ? null : pageType;
+    }
+}
@@ -0,0 +1,33 @@
+package run.halo.app.core.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds theme page type and cache status tags to the {@code http.server.requests} metrics.
+ *
+ * <p>Route template, method and status tags are provided by the default tags provider.
+ *
+ * @author guqing
+ * @date 2022-04-06
+ */
+@Component
+public class RouteMetricsTagsContributor implements WebMvcTagsContributor {
+
+    @Override
+    public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response,
+        Object handler, Throwable exception) {
+        return Tags.of(
+            Tag.of("page", RouteMetrics.getPageType(request)),
+            Tag.of("cache", RouteMetrics.getCacheStatus(request)));
+    }
+
+    @Override
+    public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+        return Tags.empty();
+    }
+}
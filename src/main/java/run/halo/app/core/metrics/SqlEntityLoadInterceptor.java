@@ -0,0 +1,26 @@
+package run.halo.app.core.metrics;
+
+import java.io.Serializable;
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.type.Type;
+
+/**
+ * Counts entities loaded from result sets into the current {@link SqlStatistics}.
+ *
+ * @author guqing
+ * @date 2022-04-07
+ */
+public class SqlEntityLoadInterceptor extends EmptyInterceptor {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public boolean onLoad(Object entity, Serializable id, Object[] state, String[] propertyNames,
+        Type[] types) {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics != null) {
+            statistics.recordEntityLoad();
+        }
+        return false;
+    }
+}
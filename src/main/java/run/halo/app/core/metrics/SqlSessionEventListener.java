@@ -0,0 +1,50 @@
+package run.halo.app.core.metrics;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Records statement execution time into the current {@link SqlStatistics}.
+ *
+ * <p>Hibernate creates one listener per session, and a session is used by one thread at a time.
+ *
+ * @author guqing
+ * @date 2022-04-07
+ */
+public class SqlSessionEventListener extends BaseSessionEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private long executionStart = -1;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        recordExecution();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        recordExecution();
+    }
+
+    private void recordExecution() {
+        if (executionStart < 0) {
+            return;
+        }
+        long elapsed = System.nanoTime() - executionStart;
+        executionStart = -1;
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics != null) {
+            statistics.recordExecution(elapsed);
+        }
+    }
+}
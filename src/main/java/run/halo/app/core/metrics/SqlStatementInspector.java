@@ -0,0 +1,21 @@
+package run.halo.app.core.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts statements prepared by hibernate into the current {@link SqlStatistics}.
+ *
+ * @author guqing
+ * @date 2022-04-07
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics != null) {
+            statistics.recordStatement(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,105 @@
+package run.halo.app.core.metrics;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * SQL statistics of the current thread, usually bound to an http request.
+ *
+ * @author guqing
+ * @date 2022-04-07
+ */
+public final class SqlStatistics {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> statementCounts = new HashMap<>();
+
+    private int statements;
+
+    private int loadedEntities;
+
+    private long executionNanos;
+
+    private SqlStatistics() {
+    }
+
+    /**
+     * Binds new statistics to the current thread.
+     *
+     * @return bound statistics
+     */
+    @NonNull
+    public static SqlStatistics begin() {
+        SqlStatistics statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Gets statistics bound to the current thread.
+     *
+     * @return statistics or null if nothing is bound
+     */
+    @Nullable
+    public static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Unbinds statistics from the current thread.
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    void recordStatement(String sql) {
+        statements++;
+        statementCounts.merge(sql, 1, Integer::sum);
+    }
+
+    void recordExecution(long nanos) {
+        executionNanos += nanos;
+    }
+
+    void recordEntityLoad() {
+        loadedEntities++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    /**
+     * Gets count of entities loaded from result sets.
+     *
+     * @return count of loaded entities
+     */
+    public int getLoadedEntities() {
+        return loadedEntities;
+    }
+
+    public long getExecutionNanos() {
+        return executionNanos;
+    }
+
+    /**
+     * Gets identical statements prepared more times than the threshold.
+     *
+     * @param threshold max times of an identical statement
+     * @return statement counts, the most repeated first
+     */
+    @NonNull
+    public Map<String, Integer> getRepeatedStatements(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        statementCounts.entrySet().stream()
+            .filter(entry -> entry.getValue() > threshold)
+            .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+            .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+        return repeated;
+    }
+}
@@ -0,0 +1,16 @@
+package run.halo.app.event.comment;
+
+import org.springframework.lang.NonNull;
+
+/**
+ * Comment updated event, it will be published after a comment is created, updated or deleted.
+ *
+ * @author guqing
+ * @date 2022-03-29
+ */
+public class CommentUpdatedEvent extends AbstractCommentBaseEvent {
+
+    public CommentUpdatedEvent(Object source, @NonNull Long commentId) {
+        super(source, commentId);
+    }
+}
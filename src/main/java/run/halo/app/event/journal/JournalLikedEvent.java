@@ -0,0 +1,30 @@
+package run.halo.app.event.journal;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Journal liked event, it will be published after likes of the journal are increased.
+ *
+ * @author guqing
+ * @date 2022-04-11
+ */
+public class JournalLikedEvent extends ApplicationEvent {
+
+    private final Integer journalId;
+
+    private final long likes;
+
+    public JournalLikedEvent(Object source, Integer journalId, long likes) {
+        super(source);
+        this.journalId = journalId;
+        this.likes = likes;
+    }
+
+    public Integer getJournalId() {
+        return journalId;
+    }
+
+    public long getLikes() {
+        return likes;
+    }
+}
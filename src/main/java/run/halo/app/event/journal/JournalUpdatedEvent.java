@@ -0,0 +1,16 @@
+package run.halo.app.event.journal;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Journal updated event, it will be published after journals are created, updated or deleted.
+ *
+ * @author guqing
+ * @date 2022-04-03
+ */
+public class JournalUpdatedEvent extends ApplicationEvent {
+
+    public JournalUpdatedEvent(Object source) {
+        super(source);
+    }
+}
@@ -0,0 +1,21 @@
+package run.halo.app.event.link;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Link updated event, it will be published after links are created, updated or deleted.
+ *
+ * @author guqing
+ * @date 2022-03-29
+ */
+public class LinkUpdatedEvent extends ApplicationEvent {
+
+    /**
+     * Create a new ApplicationEvent.
+     *
+     * @param source the object on which the event initially occurred (never {@code null})
+     */
+    public LinkUpdatedEvent(Object source) {
+        super(source);
+    }
+}
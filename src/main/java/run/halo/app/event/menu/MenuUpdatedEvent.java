@@ -0,0 +1,21 @@
+package run.halo.app.event.menu;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Menu updated event, it will be published after menus are created, updated or deleted.
+ *
+ * @author guqing
+ * @date 2022-03-29
+ */
+public class MenuUpdatedEvent extends ApplicationEvent {
+
+    /**
+     * Create a new ApplicationEvent.
+     *
+     * @param source the object on which the event initially occurred (never {@code null})
+     */
+    public MenuUpdatedEvent(Object source) {
+        super(source);
+    }
+}
@@ -0,0 +1,19 @@
+package run.halo.app.event.post;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Post batch updated event.
+ *
+ * <p>Published after posts were changed in batch without publishing any {@link PostUpdatedEvent},
+ * such as importing a backup. All data derived from posts should be rebuilt.
+ *
+ * @author guqing
+ * @date 2022-03-31
+ */
+public class PostBatchUpdatedEvent extends ApplicationEvent {
+
+    public PostBatchUpdatedEvent(Object source) {
+        super(source);
+    }
+}
@@ -0,0 +1,24 @@
+package run.halo.app.event.post;
+
+import org.springframework.context.ApplicationEvent;
+import run.halo.app.model.entity.Post;
+
+/**
+ * Post deleted event.
+ *
+ * @author guqing
+ * @date 2022-03-29
+ */
+public class PostDeletedEvent extends ApplicationEvent {
+
+    private final Post post;
+
+    public PostDeletedEvent(Object source, Post post) {
+        super(source);
+        this.post = post;
+    }
+
+    public Post getPost() {
+        return post;
+    }
+}
@@ -0,0 +1,30 @@
+package run.halo.app.event.post;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Post liked event, it will be published after likes of the post are increased.
+ *
+ * @author guqing
+ * @date 2022-04-03
+ */
+public class PostLikedEvent extends ApplicationEvent {
+
+    private final Integer postId;
+
+    private final long likes;
+
+    public PostLikedEvent(Object source, Integer postId, long likes) {
+        super(source);
+        this.postId = postId;
+        this.likes = likes;
+    }
+
+    public Integer getPostId() {
+        return postId;
+    }
+
+    public long getLikes() {
+        return likes;
+    }
+}
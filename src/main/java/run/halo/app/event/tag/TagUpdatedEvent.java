@@ -0,0 +1,21 @@
+package run.halo.app.event.tag;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Tag updated event, it will be published after tags are created, updated or deleted.
+ *
+ * @author guqing
+ * @date 2022-03-29
+ */
+public class TagUpdatedEvent extends ApplicationEvent {
+
+    /**
+     * Create a new ApplicationEvent.
+     *
+     * @param source the object on which the event initially occurred (never {@code null})
+     */
+    public TagUpdatedEvent(Object source) {
+        super(source);
+    }
+}
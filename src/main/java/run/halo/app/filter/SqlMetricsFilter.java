@@ -0,0 +1,136 @@
+package run.halo.app.filter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTags;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import run.halo.app.config.properties.HaloProperties;
+import run.halo.app.core.metrics.SqlStatistics;
+
+/**
+ * Collects sql statistics of every request.
+ *
+ * <p>Statement count, loaded entity count and execution time are published per route template,
+ * and identical statements executed more times than the threshold are reported as a possible
+ * N+1 problem. Each statement is logged as a warning only the first time it repeats in a route,
+ * later repeats are logged at debug level. If the debug header is enabled, a request with the
+ * {@value #DEBUG_HEADER} header gets the statement counts in response headers, never the sql
+ * text.
+ *
+ * @author guqing
+ * @date 2022-04-07
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class SqlMetricsFilter extends OncePerRequestFilter {
+
+    public static final String DEBUG_HEADER = "X-Halo-Sql-Debug";
+
+    public static final String STATISTICS_HEADER = "X-Halo-Sql-Statistics";
+
+    public static final String REPEATED_HEADER = "X-Halo-Sql-Repeated";
+
+    private static final int MAX_REPEATED_COUNTS = 5;
+
+    /**
+     * Bounds the reported statements, routes with dynamic sql would grow them without limit.
+     */
+    private static final int MAX_REPORTED_STATEMENTS = 1000;
+
+    private final Set<String> reportedStatements = ConcurrentHashMap.newKeySet();
+
+    private final HaloProperties haloProperties;
+
+    private final MeterRegistry meterRegistry;
+
+    public SqlMetricsFilter(HaloProperties haloProperties, MeterRegistry meterRegistry) {
+        this.haloProperties = haloProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+        FilterChain filterChain) throws ServletException, IOException {
+        boolean debug = haloProperties.isSqlDebugHeaderEnabled()
+            && Boolean.parseBoolean(request.getHeader(DEBUG_HEADER));
+        // Headers can only be added before the response is committed
+        ContentCachingResponseWrapper debugResponse =
+            debug ? new ContentCachingResponseWrapper(response) : null;
+
+        SqlStatistics statistics = SqlStatistics.begin();
+        try {
+            filterChain.doFilter(request, debug ? debugResponse : response);
+        } finally {
+            SqlStatistics.end();
+            Map<String, Integer> repeatedStatements =
+                statistics.getRepeatedStatements(haloProperties.getSqlRepeatThreshold());
+            record(request, response, statistics, repeatedStatements);
+            if (debug) {
+                writeHeaders(debugResponse, statistics, repeatedStatements);
+                debugResponse.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response,
+        SqlStatistics statistics, Map<String, Integer> repeatedStatements) {
+        Tags tags = Tags.of(WebMvcTags.uri(request, response));
+        meterRegistry.summary("halo.sql.statements", tags).record(statistics.getStatements());
+        meterRegistry.summary("halo.sql.entities", tags).record(statistics.getLoadedEntities());
+        meterRegistry.timer("halo.sql.execution", tags)
+            .record(statistics.getExecutionNanos(), TimeUnit.NANOSECONDS);
+
+        if (repeatedStatements.isEmpty()) {
+            return;
+        }
+        meterRegistry.counter("halo.sql.repeated", tags).increment();
+        String uri = tags.stream().findFirst().map(Tag::getValue).orElse("");
+        String route = request.getMethod() + " " + uri;
+        repeatedStatements.forEach((sql, count) -> {
+            if (firstReport(route, sql)) {
+                log.warn("Possible N+1 query in [{}], statement executed {} times: {}",
+                    route, count, sql);
+            } else {
+                log.debug("Possible N+1 query in [{}], statement executed {} times: {}",
+                    route, count, sql);
+            }
+        });
+    }
+
+    private boolean firstReport(String route, String sql) {
+        return reportedStatements.size() < MAX_REPORTED_STATEMENTS
+            && reportedStatements.add(route + '\n' + sql);
+    }
+
+    private void writeHeaders(HttpServletResponse response, SqlStatistics statistics,
+        Map<String, Integer> repeatedStatements) {
+        response.setHeader(STATISTICS_HEADER, String.format("statements=%d, entities=%d, time=%dms",
+            statistics.getStatements(),
+            statistics.getLoadedEntities(),
+            TimeUnit.NANOSECONDS.toMillis(statistics.getExecutionNanos())));
+        if (!repeatedStatements.isEmpty()) {
+            // Execution counts of the most repeated statements
+            response.setHeader(REPEATED_HEADER, repeatedStatements.values().stream()
+                .limit(MAX_REPEATED_COUNTS)
+                .map(String::valueOf)
+                .collect(Collectors.joining(", ")));
+        }
+    }
+}
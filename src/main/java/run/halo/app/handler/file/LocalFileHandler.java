@@ -47,12 +47,12 @@ public class LocalFileHandler implements FileHandler {
     /**
      * Thumbnail width.
      */
-    private static final int THUMB_WIDTH = 256;
+    public static final int THUMB_WIDTH = 256;
 
     /**
      * Thumbnail height.
      */
-    private static final int THUMB_HEIGHT = 256;
+    public static final int THUMB_HEIGHT = 256;
 
     private final AttachmentRepository attachmentRepository;
 
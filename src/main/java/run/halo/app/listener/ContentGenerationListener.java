@@ -0,0 +1,68 @@
+package run.halo.app.listener;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import run.halo.app.cache.ContentGeneration;
+import run.halo.app.event.category.CategoryUpdatedEvent;
+import run.halo.app.event.comment.CommentUpdatedEvent;
+import run.halo.app.event.journal.JournalLikedEvent;
+import run.halo.app.event.journal.JournalUpdatedEvent;
+import run.halo.app.event.link.LinkUpdatedEvent;
+import run.halo.app.event.menu.MenuUpdatedEvent;
+import run.halo.app.event.options.OptionUpdatedEvent;
+import run.halo.app.event.post.PostBatchUpdatedEvent;
+import run.halo.app.event.post.PostDeletedEvent;
+import run.halo.app.event.post.PostLikedEvent;
+import run.halo.app.event.post.PostUpdatedEvent;
+import run.halo.app.event.tag.TagUpdatedEvent;
+import run.halo.app.event.theme.ThemeActivatedEvent;
+import run.halo.app.event.theme.ThemeUpdatedEvent;
+import run.halo.app.event.user.UserUpdatedEvent;
+
+/**
+ * Increases the content generation after the content has been changed.
+ *
+ * @author guqing
+ * @date 2022-03-29
+ */
+@Slf4j
+@Component
+public class ContentGenerationListener {
+
+    private final ContentGeneration contentGeneration;
+
+    public ContentGenerationListener(ContentGeneration contentGeneration) {
+        this.contentGeneration = contentGeneration;
+    }
+
+    /**
+     * Events published in a transaction are handled after commit, otherwise a concurrent reader
+     * may cache the uncommitted state with the new generation.
+     *
+     * @param event content changed event
+     */
+    @TransactionalEventListener(fallbackExecution = true, classes = {
+        PostUpdatedEvent.class,
+        PostDeletedEvent.class,
+        PostBatchUpdatedEvent.class,
+        PostLikedEvent.class,
+        CommentUpdatedEvent.class,
+        CategoryUpdatedEvent.class,
+        TagUpdatedEvent.class,
+        LinkUpdatedEvent.class,
+        MenuUpdatedEvent.class,
+        OptionUpdatedEvent.class,
+        JournalUpdatedEvent.class,
+        JournalLikedEvent.class,
+        ThemeActivatedEvent.class,
+        ThemeUpdatedEvent.class,
+        UserUpdatedEvent.class
+    })
+    public void onContentChanged(ApplicationEvent event) {
+        long generation = contentGeneration.increase();
+        log.debug("Content generation increased to [{}] by [{}]", generation,
+            event.getClass().getSimpleName());
+    }
+}
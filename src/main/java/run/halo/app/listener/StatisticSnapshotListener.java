@@ -0,0 +1,92 @@
+package run.halo.app.listener;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.CollectionUtils;
+import run.halo.app.event.category.CategoryUpdatedEvent;
+import run.halo.app.event.comment.CommentUpdatedEvent;
+import run.halo.app.event.journal.JournalUpdatedEvent;
+import run.halo.app.event.link.LinkUpdatedEvent;
+import run.halo.app.event.options.OptionUpdatedEvent;
+import run.halo.app.event.post.PostBatchUpdatedEvent;
+import run.halo.app.event.post.PostDeletedEvent;
+import run.halo.app.event.post.PostLikedEvent;
+import run.halo.app.event.post.PostUpdatedEvent;
+import run.halo.app.event.tag.TagUpdatedEvent;
+import run.halo.app.service.support.StatisticSnapshot;
+import run.halo.app.service.support.StatisticSnapshot.Counter;
+
+/**
+ * Keeps the statistic snapshot up to date after the content committed.
+ *
+ * @author guqing
+ * @date 2022-04-03
+ */
+@Component
+public class StatisticSnapshotListener {
+
+    private final StatisticSnapshot statisticSnapshot;
+
+    public StatisticSnapshotListener(StatisticSnapshot statisticSnapshot) {
+        this.statisticSnapshot = statisticSnapshot;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostUpdated(PostUpdatedEvent event) {
+        statisticSnapshot.refresh(Counter.POST);
+    }
+
+    /**
+     * Visits and likes of the deleted post are no longer counted.
+     *
+     * @param event post deleted event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostDeleted(PostDeletedEvent event) {
+        statisticSnapshot.refresh(Counter.POST, Counter.COMMENT, Counter.VISIT, Counter.LIKE);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostBatchUpdated(PostBatchUpdatedEvent event) {
+        statisticSnapshot.refresh(Counter.values());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostLiked(PostLikedEvent event) {
+        statisticSnapshot.increase(Counter.LIKE, event.getLikes());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryUpdated(CategoryUpdatedEvent event) {
+        if (CollectionUtils.isEmpty(event.getPostIds())) {
+            statisticSnapshot.refresh(Counter.CATEGORY);
+        } else {
+            statisticSnapshot.refresh(Counter.CATEGORY, Counter.POST);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagUpdated(TagUpdatedEvent event) {
+        statisticSnapshot.refresh(Counter.TAG);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentUpdated(CommentUpdatedEvent event) {
+        statisticSnapshot.refresh(Counter.COMMENT);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJournalUpdated(JournalUpdatedEvent event) {
+        statisticSnapshot.refresh(Counter.JOURNAL, Counter.COMMENT);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLinkUpdated(LinkUpdatedEvent event) {
+        statisticSnapshot.refresh(Counter.LINK);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOptionUpdated(OptionUpdatedEvent event) {
+        statisticSnapshot.refreshBirthday();
+    }
+}
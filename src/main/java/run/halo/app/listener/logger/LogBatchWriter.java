@@ -0,0 +1,226 @@
+package run.halo.app.listener.logger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import run.halo.app.config.properties.HaloProperties;
+import run.halo.app.model.entity.Log;
+import run.halo.app.model.enums.LogOverflowPolicy;
+import run.halo.app.utils.DateUtils;
+
+/**
+ * Writes logs asynchronously in JDBC batches.
+ *
+ * <p>Logs are queued in a bounded buffer and a single worker thread drains them: it waits for
+ * the first log, then takes every queued log up to the batch size, so a burst of logs is written
+ * in a few batches while a single log is still written immediately. When the buffer is full,
+ * the configured {@link LogOverflowPolicy} is applied. Queued logs are drained before the
+ * application shuts down.
+ *
+ * @author guqing
+ * @date 2022-04-04
+ */
+@Slf4j
+@Component
+public class LogBatchWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO logs "
+        + "(log_key, type, content, ip_address, create_time, update_time) "
+        + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final long POLL_TIMEOUT_MILLIS = 1000L;
+
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10000L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final BlockingQueue<Log> queue;
+
+    private final int batchSize;
+
+    private final LogOverflowPolicy overflowPolicy;
+
+    private final long blockTimeoutMillis;
+
+    private final Counter writtenCounter;
+
+    private final Counter droppedCounter;
+
+    private final Counter failedCounter;
+
+    private final Timer batchTimer;
+
+    private final DistributionSummary batchSizeSummary;
+
+    private volatile boolean stopped;
+
+    private Thread worker;
+
+    public LogBatchWriter(JdbcTemplate jdbcTemplate,
+        HaloProperties haloProperties,
+        MeterRegistry meterRegistry) {
+        Assert.isTrue(haloProperties.getLogQueueCapacity() > 0,
+            "Log queue capacity must be greater than 0");
+        Assert.isTrue(haloProperties.getLogBatchSize() > 0,
+            "Log batch size must be greater than 0");
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(haloProperties.getLogQueueCapacity());
+        this.batchSize = haloProperties.getLogBatchSize();
+        this.overflowPolicy = haloProperties.getLogOverflowPolicy();
+        this.blockTimeoutMillis = haloProperties.getLogBlockTimeout().toMillis();
+
+        this.writtenCounter = meterRegistry.counter("halo.log.writer.written");
+        this.droppedCounter = meterRegistry.counter("halo.log.writer.dropped");
+        this.failedCounter = meterRegistry.counter("halo.log.writer.failed");
+        this.batchTimer = meterRegistry.timer("halo.log.writer.batch");
+        this.batchSizeSummary = meterRegistry.summary("halo.log.writer.batch.size");
+        meterRegistry.gaugeCollectionSize("halo.log.writer.queue.size", Tags.empty(), queue);
+    }
+
+    /**
+     * Queues the log, or writes it directly if the writer has been stopped.
+     *
+     * @param logToWrite log must not be null
+     */
+    public void write(@NonNull Log logToWrite) {
+        Assert.notNull(logToWrite, "Log must not be null");
+        Assert.notNull(logToWrite.getType(), "Log type must not be null");
+
+        if (logToWrite.getCreateTime() == null) {
+            logToWrite.setCreateTime(DateUtils.now());
+        }
+
+        if (stopped) {
+            writeBatch(List.of(logToWrite));
+            return;
+        }
+
+        if (LogOverflowPolicy.BLOCK.equals(overflowPolicy)) {
+            try {
+                if (queue.offer(logToWrite, blockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            droppedCounter.increment();
+            log.warn("Log queue is full, dropped log: [{}]", logToWrite.getContent());
+            return;
+        }
+
+        while (!queue.offer(logToWrite)) {
+            Log dropped = queue.poll();
+            if (dropped != null) {
+                droppedCounter.increment();
+                log.warn("Log queue is full, dropped the oldest log: [{}]", dropped.getContent());
+            }
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        worker = new Thread(this::drainUntilStopped, "log-batch-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopped = true;
+        if (worker != null) {
+            try {
+                worker.join(SHUTDOWN_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Write what the worker left behind
+        int drained = 0;
+        int written;
+        while ((written = flush()) > 0) {
+            drained += written;
+        }
+        log.debug("Log batch writer stopped, drained [{}] logs", drained);
+    }
+
+    /**
+     * Writes at most one batch of queued logs.
+     *
+     * @return number of logs taken from the queue
+     */
+    int flush() {
+        List<Log> batch = new ArrayList<>(batchSize);
+        queue.drainTo(batch, batchSize);
+        writeBatch(batch);
+        return batch.size();
+    }
+
+    private void drainUntilStopped() {
+        while (!stopped) {
+            try {
+                Log first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<Log> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unexpected error while writing logs", e);
+            }
+        }
+    }
+
+    private void writeBatch(List<Log> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Object[]> batchArgs = new ArrayList<>(batch.size());
+        batch.forEach(logToWrite -> batchArgs.add(toArgs(logToWrite)));
+
+        long start = System.nanoTime();
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batchArgs);
+            writtenCounter.increment(batch.size());
+        } catch (DataAccessException e) {
+            failedCounter.increment(batch.size());
+            log.error("Failed to write a batch of [{}] logs", batch.size(), e);
+        } finally {
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchSizeSummary.record(batch.size());
+        }
+    }
+
+    private static Object[] toArgs(Log logToWrite) {
+        Timestamp createTime = new Timestamp(logToWrite.getCreateTime().getTime());
+        return new Object[] {
+            logToWrite.getLogKey() == null ? "" : logToWrite.getLogKey(),
+            logToWrite.getType().getValue(),
+            logToWrite.getContent(),
+            logToWrite.getIpAddress(),
+            createTime,
+            createTime
+        };
+    }
+}
@@ -71,6 +71,16 @@ public abstract class AbstractVisitEventListener {
     }
 
 
+    /**
+     * Invoked after visits of the post have been flushed to database.
+     *
+     * @param postId post id
+     * @param visits increased visits
+     */
+    protected void onVisitIncreased(@NonNull Integer postId, long visits) {
+        // Do nothing by default
+    }
+
     private PostVisitTask createPostVisitTask(Integer postId) {
         // Create new post visit task
         PostVisitTask postVisitTask = new PostVisitTask(postId);
@@ -111,6 +121,8 @@ public abstract class AbstractVisitEventListener {
                     basePostService.increaseVisit(postId);
 
                     log.debug("Increased visits for post id: [{}]", postId);
+
+                    onVisitIncreased(postId, 1L);
                 } catch (InterruptedException e) {
                     log.debug(
                         "Post visit task: " + Thread.currentThread().getName() + " was interrupted",
@@ -0,0 +1,83 @@
+package run.halo.app.listener.post;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.CollectionUtils;
+import run.halo.app.event.category.CategoryUpdatedEvent;
+import run.halo.app.event.post.PostBatchUpdatedEvent;
+import run.halo.app.event.post.PostDeletedEvent;
+import run.halo.app.event.post.PostUpdatedEvent;
+import run.halo.app.event.tag.TagUpdatedEvent;
+import run.halo.app.service.support.PostArchiveIndex;
+import run.halo.app.service.support.PostCountIndex;
+import run.halo.app.service.support.PostNeighborIndex;
+
+/**
+ * Keeps in-memory post indexes up to date after posts committed.
+ *
+ * @author guqing
+ * @date 2022-03-31
+ */
+@Component
+public class PostIndexListener {
+
+    private final PostNeighborIndex postNeighborIndex;
+
+    private final PostArchiveIndex postArchiveIndex;
+
+    private final PostCountIndex postCountIndex;
+
+    public PostIndexListener(PostNeighborIndex postNeighborIndex,
+        PostArchiveIndex postArchiveIndex,
+        PostCountIndex postCountIndex) {
+        this.postNeighborIndex = postNeighborIndex;
+        this.postArchiveIndex = postArchiveIndex;
+        this.postCountIndex = postCountIndex;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostUpdated(PostUpdatedEvent event) {
+        postNeighborIndex.put(event.getPost());
+        postArchiveIndex.put(event.getPost());
+        postCountIndex.update(event.getPost());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostDeleted(PostDeletedEvent event) {
+        Integer postId = event.getPost().getId();
+        postNeighborIndex.remove(postId);
+        postArchiveIndex.remove(postId);
+        postCountIndex.remove(postId);
+    }
+
+    /**
+     * Status of posts may be refreshed in batch after the category encryption changed, and the
+     * category tree may be changed as well.
+     *
+     * @param event category updated event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryUpdated(CategoryUpdatedEvent event) {
+        if (!CollectionUtils.isEmpty(event.getPostIds())) {
+            invalidateAll();
+        } else {
+            postCountIndex.invalidate();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagUpdated(TagUpdatedEvent event) {
+        postCountIndex.invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostBatchUpdated(PostBatchUpdatedEvent event) {
+        invalidateAll();
+    }
+
+    private void invalidateAll() {
+        postNeighborIndex.invalidate();
+        postArchiveIndex.invalidate();
+        postCountIndex.invalidate();
+    }
+}
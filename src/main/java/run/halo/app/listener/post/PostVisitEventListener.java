@@ -5,6 +5,9 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import run.halo.app.event.post.PostVisitEvent;
 import run.halo.app.service.PostService;
+import run.halo.app.service.support.PostNeighborIndex;
+import run.halo.app.service.support.StatisticSnapshot;
+import run.halo.app.service.support.StatisticSnapshot.Counter;
 
 /**
  * Visit event listener.
@@ -15,8 +18,16 @@ import run.halo.app.service.PostService;
 @Component
 public class PostVisitEventListener extends AbstractVisitEventListener {
 
-    public PostVisitEventListener(PostService postService) {
+    private final PostNeighborIndex postNeighborIndex;
+
+    private final StatisticSnapshot statisticSnapshot;
+
+    public PostVisitEventListener(PostService postService,
+        PostNeighborIndex postNeighborIndex,
+        StatisticSnapshot statisticSnapshot) {
         super(postService);
+        this.postNeighborIndex = postNeighborIndex;
+        this.statisticSnapshot = statisticSnapshot;
     }
 
     @Async
@@ -24,4 +35,10 @@ public class PostVisitEventListener extends AbstractVisitEventListener {
     public void onPostVisitEvent(PostVisitEvent event) throws InterruptedException {
         handleVisitEvent(event);
     }
+
+    @Override
+    protected void onVisitIncreased(Integer postId, long visits) {
+        postNeighborIndex.increaseVisits(postId, visits);
+        statisticSnapshot.increase(Counter.VISIT, visits);
+    }
 }
@@ -5,6 +5,8 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import run.halo.app.event.post.SheetVisitEvent;
 import run.halo.app.service.SheetService;
+import run.halo.app.service.support.StatisticSnapshot;
+import run.halo.app.service.support.StatisticSnapshot.Counter;
 
 /**
  * Sheet visit event listener.
@@ -15,8 +17,12 @@ import run.halo.app.service.SheetService;
 @Component
 public class SheetVisitEventListener extends AbstractVisitEventListener {
 
-    protected SheetVisitEventListener(SheetService sheetService) {
+    private final StatisticSnapshot statisticSnapshot;
+
+    protected SheetVisitEventListener(SheetService sheetService,
+        StatisticSnapshot statisticSnapshot) {
         super(sheetService);
+        this.statisticSnapshot = statisticSnapshot;
     }
 
     @Async
@@ -25,4 +31,9 @@ public class SheetVisitEventListener extends AbstractVisitEventListener {
         handleVisitEvent(event);
     }
 
+    @Override
+    protected void onVisitIncreased(Integer postId, long visits) {
+        statisticSnapshot.increase(Counter.VISIT, visits);
+    }
+
 }
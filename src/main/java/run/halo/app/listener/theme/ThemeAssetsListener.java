@@ -0,0 +1,53 @@
+package run.halo.app.listener.theme;
+
+import java.nio.file.Paths;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import run.halo.app.cache.ContentGeneration;
+import run.halo.app.event.theme.ThemeActivatedEvent;
+import run.halo.app.event.theme.ThemeUpdatedEvent;
+import run.halo.app.service.ThemeService;
+import run.halo.app.theme.ThemeAssets;
+
+/**
+ * Loads assets of the activated theme on startup, theme activation and theme updates.
+ *
+ * @author guqing
+ * @date 2022-04-11
+ */
+@Component
+public class ThemeAssetsListener {
+
+    private final ThemeService themeService;
+
+    private final ThemeAssets themeAssets;
+
+    private final ContentGeneration contentGeneration;
+
+    public ThemeAssetsListener(ThemeService themeService,
+        ThemeAssets themeAssets,
+        ContentGeneration contentGeneration) {
+        this.themeService = themeService;
+        this.themeAssets = themeAssets;
+        this.contentGeneration = contentGeneration;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void onApplicationStarted() {
+        loadAssets();
+    }
+
+    @EventListener({ThemeActivatedEvent.class, ThemeUpdatedEvent.class})
+    public void onThemeChanged() {
+        loadAssets();
+    }
+
+    private void loadAssets() {
+        themeService.fetchActivatedTheme().ifPresent(theme -> {
+            themeAssets.load(theme.getFolderName(), Paths.get(theme.getThemePath()));
+            // Pages rendered with the old fingerprints must be validated again
+            contentGeneration.increase();
+        });
+    }
+}
@@ -0,0 +1,44 @@
+package run.halo.app.model.dto;
+
+import java.util.List;
+import lombok.Data;
+
+/**
+ * Report of a load scenario run.
+ *
+ * @author guqing
+ * @date 2022-04-09
+ */
+@Data
+public class LoadReportDTO {
+
+    private int concurrency;
+
+    private long durationMillis;
+
+    private List<RouteLoadDTO> routes;
+
+    /**
+     * Load result of a route.
+     */
+    @Data
+    public static class RouteLoadDTO {
+
+        private String route;
+
+        private long requests;
+
+        private long errors;
+
+        /**
+         * Requests per second.
+         */
+        private double throughput;
+
+        private double p50Millis;
+
+        private double p99Millis;
+
+        private double maxMillis;
+    }
+}
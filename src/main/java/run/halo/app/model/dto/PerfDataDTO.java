@@ -0,0 +1,29 @@
+package run.halo.app.model.dto;
+
+import lombok.Data;
+
+/**
+ * Numbers of generated synthetic records.
+ *
+ * @author guqing
+ * @date 2022-04-09
+ */
+@Data
+public class PerfDataDTO {
+
+    private long posts;
+
+    private long revisions;
+
+    private long categories;
+
+    private long tags;
+
+    private long comments;
+
+    private long journals;
+
+    private long attachments;
+
+    private long elapsedMillis;
+}
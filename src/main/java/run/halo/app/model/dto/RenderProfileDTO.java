@@ -0,0 +1,31 @@
+package run.halo.app.model.dto;
+
+import lombok.Data;
+
+/**
+ * Render profile of a template or a directive call.
+ *
+ * @author guqing
+ * @date 2022-04-08
+ */
+@Data
+public class RenderProfileDTO {
+
+    /**
+     * Template name or directive name.
+     */
+    private String name;
+
+    /**
+     * Directive method, null for templates.
+     */
+    private String method;
+
+    private Long count;
+
+    private Double totalMillis;
+
+    private Double averageMillis;
+
+    private Double maxMillis;
+}
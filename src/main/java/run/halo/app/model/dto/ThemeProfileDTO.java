@@ -0,0 +1,31 @@
+package run.halo.app.model.dto;
+
+import java.util.List;
+import lombok.Data;
+
+/**
+ * Render profiles of a theme, the slowest first.
+ *
+ * @author guqing
+ * @date 2022-04-08
+ */
+@Data
+public class ThemeProfileDTO {
+
+    private String themeFolder;
+
+    /**
+     * Time spent on building models of theme pages.
+     */
+    private List<RenderProfileDTO> models;
+
+    /**
+     * Time spent on rendering theme templates, including directive calls.
+     */
+    private List<RenderProfileDTO> templates;
+
+    /**
+     * Time spent on directive calls, excluding their bodies.
+     */
+    private List<RenderProfileDTO> directives;
+}
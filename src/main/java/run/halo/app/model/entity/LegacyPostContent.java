@@ -0,0 +1,47 @@
+package run.halo.app.model.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import lombok.Data;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Legacy content columns of posts and sheets.
+ *
+ * <p>The content has moved to {@link Content} and {@link ContentPatchLog}, so these columns are
+ * split from {@link BasePost} into a read-only entity of the same table. Loading posts never
+ * selects the large columns any more, while the columns are still created for the migrations
+ * relying on them.
+ *
+ * @author guqing
+ * @date 2022-04-11
+ */
+@Data
+@Immutable
+@Entity(name = "LegacyPostContent")
+@Table(name = "posts")
+public class LegacyPostContent {
+
+    @Id
+    @Column(name = "id")
+    private Integer id;
+
+    /**
+     * Original content,not format.
+     */
+    @Deprecated
+    @Column(name = "original_content")
+    @Lob
+    private String originalContent;
+
+    /**
+     * Rendered content.
+     */
+    @Deprecated
+    @Column(name = "format_content")
+    @Lob
+    private String formatContent;
+}
@@ -0,0 +1,57 @@
+package run.halo.app.model.entity;
+
+import java.util.Date;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import javax.persistence.UniqueConstraint;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.GenericGenerator;
+import run.halo.app.model.enums.LogType;
+
+/**
+ * Daily count of logs per type, rolled up from expired logs.
+ *
+ * @author guqing
+ * @date 2022-04-05
+ */
+@Data
+@Entity
+@Table(name = "log_daily_counts", uniqueConstraints = {
+    @UniqueConstraint(name = "log_daily_counts_day_type", columnNames = {"log_date", "type"})})
+@ToString
+@EqualsAndHashCode(callSuper = true)
+public class LogDailyCount extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY, generator = "custom-id")
+    @GenericGenerator(name = "custom-id",
+        strategy = "run.halo.app.model.entity.support.CustomIdGenerator")
+    private Long id;
+
+    /**
+     * Start of the day.
+     */
+    @Column(name = "log_date", nullable = false)
+    @Temporal(TemporalType.DATE)
+    private Date day;
+
+    /**
+     * Log type.
+     */
+    @Column(name = "type", nullable = false)
+    private LogType type;
+
+    /**
+     * Count of logs.
+     */
+    @Column(name = "log_count", nullable = false)
+    private Long count;
+}
@@ -0,0 +1,20 @@
+package run.halo.app.model.enums;
+
+/**
+ * Mode of admin access tokens issued on login and token refresh.
+ *
+ * @author guqing
+ * @date 2022-04-11
+ */
+public enum AccessTokenMode {
+
+    /**
+     * Random access tokens mapped to users in the cache store.
+     */
+    CACHE,
+
+    /**
+     * Self-contained access tokens signed by HMAC, verified without the cache store.
+     */
+    SIGNED
+}
@@ -0,0 +1,30 @@
+package run.halo.app.model.enums;
+
+/**
+ * Type of file downloads, used to tag download metrics.
+ *
+ * @author guqing
+ * @date 2022-04-11
+ */
+public enum DownloadType {
+
+    /**
+     * Work directory backups.
+     */
+    BACKUP,
+
+    /**
+     * Exported data.
+     */
+    DATA_EXPORT,
+
+    /**
+     * Exported markdown.
+     */
+    MARKDOWN_EXPORT,
+
+    /**
+     * Attachments stored in the local upload directory.
+     */
+    ATTACHMENT
+}
@@ -0,0 +1,21 @@
+package run.halo.app.model.enums;
+
+/**
+ * Policy applied when the log write queue is full.
+ *
+ * @author guqing
+ * @date 2022-04-04
+ */
+public enum LogOverflowPolicy {
+
+    /**
+     * Blocks the publisher until the queue has room or the timeout elapses, then drops the new
+     * log.
+     */
+    BLOCK,
+
+    /**
+     * Drops the oldest queued log to make room for the new one.
+     */
+    DROP_OLDEST
+}
@@ -0,0 +1,37 @@
+package run.halo.app.model.params;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import lombok.Data;
+
+/**
+ * Load scenario param.
+ *
+ * @author guqing
+ * @date 2022-04-09
+ */
+@Data
+public class LoadScenarioParam {
+
+    @Min(1)
+    @Max(256)
+    private int concurrency = 8;
+
+    /**
+     * Seconds to warm up before measuring.
+     */
+    @Min(0)
+    private int warmup = 10;
+
+    /**
+     * Seconds to measure.
+     */
+    @Min(1)
+    @Max(3600)
+    private int duration = 60;
+
+    /**
+     * Whether to post comments, which writes to the database.
+     */
+    private boolean comment = true;
+}
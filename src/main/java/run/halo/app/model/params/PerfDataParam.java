@@ -0,0 +1,49 @@
+package run.halo.app.model.params;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import lombok.Data;
+
+/**
+ * Synthetic data param, numbers of records to generate.
+ *
+ * @author guqing
+ * @date 2022-04-09
+ */
+@Data
+public class PerfDataParam {
+
+    @Min(0)
+    private int posts = 1000;
+
+    /**
+     * Published revisions of every post besides the first version.
+     */
+    @Min(0)
+    private int revisions = 3;
+
+    @Min(0)
+    private int categories = 60;
+
+    /**
+     * Depth of the category tree, 1 means all categories are at the top level.
+     */
+    @Min(1)
+    @Max(10)
+    private int categoryDepth = 3;
+
+    @Min(0)
+    private int tags = 200;
+
+    @Min(0)
+    private int tagsPerPost = 3;
+
+    @Min(0)
+    private int commentsPerPost = 10;
+
+    @Min(0)
+    private int journals = 200;
+
+    @Min(0)
+    private int attachments = 500;
+}
@@ -0,0 +1,25 @@
+package run.halo.app.model.projection;
+
+import java.util.Date;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import run.halo.app.model.enums.LogType;
+
+/**
+ * Log id with type and create time projection.
+ *
+ * @author guqing
+ * @date 2022-04-05
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogTypeTimeProjection {
+
+    private Long id;
+
+    private LogType type;
+
+    private Date createTime;
+}
@@ -0,0 +1,26 @@
+package run.halo.app.model.projection;
+
+import java.util.Date;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Post id with sort keys projection.
+ *
+ * @author guqing
+ * @date 2022-03-31
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostSortKeyProjection {
+
+    private Integer id;
+
+    private Date createTime;
+
+    private Date editTime;
+
+    private Long visits;
+}
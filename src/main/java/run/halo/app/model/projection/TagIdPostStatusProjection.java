@@ -0,0 +1,32 @@
+package run.halo.app.model.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import run.halo.app.model.enums.PostStatus;
+
+/**
+ * Tag id and post id with status projection.
+ *
+ * @author guqing
+ * @date 2022-04-02
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagIdPostStatusProjection {
+    /**
+     * tag id.
+     */
+    private Integer tagId;
+
+    /**
+     * post id.
+     */
+    private Integer postId;
+
+    /**
+     * post status.
+     */
+    private PostStatus postStatus;
+}
@@ -0,0 +1,97 @@
+package run.halo.app.model.support;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * A page of keyset pagination.
+ *
+ * <p>Instead of a page number, the next page is requested with the opaque {@code nextCursor},
+ * which locates the last element of this page by its sort values. No total count is queried,
+ * the {@code total} is only present if it comes from cached counters.
+ *
+ * @param <T> content type
+ * @author guqing
+ * @date 2022-04-11
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class CursorPage<T> {
+
+    private final List<T> content;
+
+    /**
+     * Requested page size.
+     */
+    private final int rpp;
+
+    /**
+     * Cursor of the next page, null if this is the last page.
+     */
+    @Nullable
+    private final String nextCursor;
+
+    @Nullable
+    private final Long total;
+
+    public CursorPage(@NonNull List<T> content, int rpp, @Nullable String nextCursor) {
+        this(content, rpp, nextCursor, null);
+    }
+
+    private CursorPage(@NonNull List<T> content, int rpp, @Nullable String nextCursor,
+        @Nullable Long total) {
+        Assert.notNull(content, "Content must not be null");
+        this.content = content;
+        this.rpp = rpp;
+        this.nextCursor = nextCursor;
+        this.total = total;
+    }
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Converts the content of this page.
+     *
+     * @param converter converter must not be null
+     * @param <R> converted type
+     * @return a new cursor page with converted content
+     */
+    @NonNull
+    public <R> CursorPage<R> map(@NonNull Function<? super T, ? extends R> converter) {
+        Assert.notNull(converter, "Converter must not be null");
+        return withContent(content.stream().map(converter).collect(Collectors.toList()));
+    }
+
+    /**
+     * Replaces the content of this page, such as a batch conversion of the content.
+     *
+     * @param content new content must not be null
+     * @param <R> new content type
+     * @return a new cursor page with the content
+     */
+    @NonNull
+    public <R> CursorPage<R> withContent(@NonNull List<R> content) {
+        return new CursorPage<>(content, rpp, nextCursor, total);
+    }
+
+    /**
+     * Sets the total from cached counters.
+     *
+     * @param total total elements of all pages
+     * @return a new cursor page with the total
+     */
+    @NonNull
+    public CursorPage<T> withTotal(long total) {
+        return new CursorPage<>(content, rpp, nextCursor, total);
+    }
+}
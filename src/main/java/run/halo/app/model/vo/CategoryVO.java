@@ -1,8 +1,6 @@
 package run.halo.app.model.vo;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.util.List;
-import java.util.Set;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
@@ -20,8 +18,5 @@ import run.halo.app.model.dto.CategoryDTO;
 @EqualsAndHashCode(callSuper = true)
 public class CategoryVO extends CategoryDTO {
 
-    @JsonIgnore
-    private Set<Integer> postIds;
-
     private List<CategoryVO> children;
 }
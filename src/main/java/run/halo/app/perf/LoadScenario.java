@@ -0,0 +1,313 @@
+package run.halo.app.perf;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import run.halo.app.exception.ServiceException;
+import run.halo.app.model.dto.LoadReportDTO;
+import run.halo.app.model.dto.LoadReportDTO.RouteLoadDTO;
+import run.halo.app.model.entity.Post;
+import run.halo.app.model.params.LoadScenarioParam;
+import run.halo.app.service.PostService;
+import run.halo.app.service.support.PermalinkGenerator;
+import run.halo.app.utils.JsonUtils;
+
+/**
+ * Scripted load scenario against the embedded server, only available in the {@code perf}
+ * profile.
+ *
+ * <p>Every worker repeatedly picks a route by weight: the index page, post pages, archives,
+ * search, feeds and sitemap, and optionally posting comments. Requests are sent over HTTP to
+ * the local port, so filters, interceptors and the theme rendering are all included. After the
+ * warm-up, throughput and latency percentiles are reported per route. Responses with a status
+ * code of 400 or above are counted as errors, such as comments rejected by the rate limits.
+ *
+ * @author guqing
+ * @date 2022-04-09
+ */
+@Slf4j
+@Component
+@Profile("perf")
+public class LoadScenario {
+
+    private static final int SAMPLE_POSTS = 200;
+
+    private final PostService postService;
+
+    private final PermalinkGenerator permalinkGenerator;
+
+    private final Environment environment;
+
+    public LoadScenario(PostService postService,
+        PermalinkGenerator permalinkGenerator,
+        Environment environment) {
+        this.postService = postService;
+        this.permalinkGenerator = permalinkGenerator;
+        this.environment = environment;
+    }
+
+    /**
+     * Runs the load scenario, it blocks until the scenario finishes.
+     *
+     * @param param load scenario param must not be null
+     * @return load report
+     */
+    @NonNull
+    public synchronized LoadReportDTO run(@NonNull LoadScenarioParam param) {
+        Assert.notNull(param, "Load scenario param must not be null");
+
+        String baseUrl = "http://127.0.0.1:" + environment.getProperty("local.server.port")
+            + environment.getProperty("server.servlet.context-path", "");
+        List<Post> posts = postService.listLatest(SAMPLE_POSTS);
+        if (posts.isEmpty()) {
+            throw new ServiceException("No published posts, generate data first");
+        }
+        List<Route> routes = routes(baseUrl, posts, param.isComment());
+
+        HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+
+        log.info("Warming up for [{}] seconds", param.getWarmup());
+        execute(httpClient, routes, param.getConcurrency(),
+            TimeUnit.SECONDS.toMillis(param.getWarmup()));
+
+        log.info("Running load scenario for [{}] seconds with [{}] workers",
+            param.getDuration(), param.getConcurrency());
+        long durationMillis = TimeUnit.SECONDS.toMillis(param.getDuration());
+        Map<String, Samples> samples =
+            execute(httpClient, routes, param.getConcurrency(), durationMillis);
+
+        LoadReportDTO report = new LoadReportDTO();
+        report.setConcurrency(param.getConcurrency());
+        report.setDurationMillis(durationMillis);
+        report.setRoutes(routes.stream()
+            .map(Route::getName)
+            .distinct()
+            .filter(samples::containsKey)
+            .map(name -> samples.get(name).toDto(name, durationMillis))
+            .collect(Collectors.toList()));
+        report.getRoutes().forEach(route -> log.info("Load result: [{}]", route));
+        return report;
+    }
+
+    private Map<String, Samples> execute(HttpClient httpClient, List<Route> routes,
+        int concurrency, long durationMillis) {
+        if (durationMillis <= 0) {
+            return Map.of();
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<Map<String, Samples>>> futures = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(executor.submit(() -> work(httpClient, routes, deadline)));
+            }
+
+            // Merge samples of workers
+            Map<String, Samples> merged = new HashMap<>();
+            for (Future<Map<String, Samples>> future : futures) {
+                future.get().forEach((name, samples) ->
+                    merged.computeIfAbsent(name, key -> new Samples()).addAll(samples));
+            }
+            return merged;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException("Load scenario was interrupted", e);
+        } catch (Exception e) {
+            throw new ServiceException("Failed to run load scenario", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Map<String, Samples> work(HttpClient httpClient, List<Route> routes,
+        long deadline) {
+        Map<String, Samples> samples = new HashMap<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            Route route = routes.get(random.nextInt(routes.size()));
+            Samples routeSamples = samples.computeIfAbsent(route.getName(), key -> new Samples());
+
+            long start = System.nanoTime();
+            boolean failed;
+            try {
+                HttpResponse<Void> response =
+                    httpClient.send(route.newRequest(random), HttpResponse.BodyHandlers.discarding());
+                failed = response.statusCode() >= 400;
+            } catch (IOException e) {
+                failed = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            routeSamples.add(System.nanoTime() - start, failed);
+        }
+        return samples;
+    }
+
+    private List<Route> routes(String baseUrl, List<Post> posts, boolean comment) {
+        List<String> postUrls = posts.stream()
+            .map(permalinkGenerator::buildPostFullPath)
+            .map(fullPath -> fullPath.startsWith("http") ? fullPath : baseUrl + fullPath)
+            .collect(Collectors.toList());
+
+        List<Route> routes = new ArrayList<>();
+        // Weights are expressed by repeating routes
+        routes.add(Route.get("index", baseUrl + "/"));
+        routes.add(Route.get("index", baseUrl + "/"));
+        for (int i = 0; i < 4; i++) {
+            routes.add(new Route("post", random -> HttpRequest.newBuilder(
+                URI.create(postUrls.get(random.nextInt(postUrls.size())))).GET()));
+        }
+        routes.add(Route.get("archives", baseUrl + "/archives"));
+        routes.add(new Route("search", random -> HttpRequest.newBuilder(
+            URI.create(baseUrl + "/search?keyword=halo&page=" + random.nextInt(1, 4))).GET()));
+        routes.add(Route.get("feed", baseUrl + "/feed.xml"));
+        routes.add(Route.get("atom", baseUrl + "/atom.xml"));
+        routes.add(Route.get("sitemap", baseUrl + "/sitemap.xml"));
+        if (comment) {
+            List<Integer> postIds =
+                posts.stream().map(Post::getId).collect(Collectors.toList());
+            routes.add(new Route("comment", random -> HttpRequest.newBuilder(
+                    URI.create(baseUrl + "/api/content/posts/comments"))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString(
+                    commentJson(postIds.get(random.nextInt(postIds.size())), random)))));
+        }
+        return routes;
+    }
+
+    private static String commentJson(Integer postId, ThreadLocalRandom random) {
+        Map<String, Object> comment = new HashMap<>();
+        comment.put("author", "perf-" + random.nextInt(1000));
+        comment.put("email", "perf@halo.run");
+        // Different contents to avoid the duplicate request lock
+        comment.put("content", "Load scenario comment " + random.nextLong());
+        comment.put("postId", postId);
+        comment.put("allowNotification", false);
+        try {
+            return JsonUtils.objectToJson(comment);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Named route, building a request for every call.
+     */
+    private static final class Route {
+
+        private final String name;
+
+        private final RequestFactory requestFactory;
+
+        private Route(String name, RequestFactory requestFactory) {
+            this.name = name;
+            this.requestFactory = requestFactory;
+        }
+
+        private static Route get(String name, String url) {
+            URI uri = URI.create(url);
+            return new Route(name, random -> HttpRequest.newBuilder(uri).GET());
+        }
+
+        private String getName() {
+            return name;
+        }
+
+        private HttpRequest newRequest(ThreadLocalRandom random) {
+            return requestFactory.create(random)
+                .timeout(Duration.ofSeconds(30))
+                .header(HttpHeaders.USER_AGENT, "halo-load-scenario")
+                .build();
+        }
+    }
+
+    @FunctionalInterface
+    private interface RequestFactory {
+
+        HttpRequest.Builder create(ThreadLocalRandom random);
+    }
+
+    /**
+     * Latency samples of a route.
+     */
+    private static final class Samples {
+
+        private long[] nanos = new long[1024];
+
+        private int size;
+
+        private long errors;
+
+        private void add(long latencyNanos, boolean failed) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = latencyNanos;
+            if (failed) {
+                errors++;
+            }
+        }
+
+        private void addAll(Samples other) {
+            if (size + other.size > nanos.length) {
+                nanos = Arrays.copyOf(nanos, Math.max(size + other.size, nanos.length * 2));
+            }
+            System.arraycopy(other.nanos, 0, nanos, size, other.size);
+            size += other.size;
+            errors += other.errors;
+        }
+
+        private RouteLoadDTO toDto(String route, long durationMillis) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+
+            RouteLoadDTO routeLoad = new RouteLoadDTO();
+            routeLoad.setRoute(route);
+            routeLoad.setRequests(size);
+            routeLoad.setErrors(errors);
+            routeLoad.setThroughput(size * 1000D / durationMillis);
+            routeLoad.setP50Millis(toMillis(percentile(sorted, 0.5)));
+            routeLoad.setP99Millis(toMillis(percentile(sorted, 0.99)));
+            routeLoad.setMaxMillis(toMillis(size == 0 ? 0 : sorted[size - 1]));
+            return routeLoad;
+        }
+
+        private static long percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / 1_000_000D;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package run.halo.app.perf;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import run.halo.app.event.comment.CommentUpdatedEvent;
+import run.halo.app.model.dto.PerfDataDTO;
+import run.halo.app.model.entity.Attachment;
+import run.halo.app.model.entity.Category;
+import run.halo.app.model.entity.Content.PatchedContent;
+import run.halo.app.model.entity.Post;
+import run.halo.app.model.entity.PostComment;
+import run.halo.app.model.entity.Tag;
+import run.halo.app.model.enums.AttachmentType;
+import run.halo.app.model.enums.CommentStatus;
+import run.halo.app.model.enums.JournalType;
+import run.halo.app.model.enums.PostEditorType;
+import run.halo.app.model.enums.PostStatus;
+import run.halo.app.model.params.JournalParam;
+import run.halo.app.model.params.PerfDataParam;
+import run.halo.app.service.AttachmentService;
+import run.halo.app.service.CategoryService;
+import run.halo.app.service.ContentService;
+import run.halo.app.service.JournalService;
+import run.halo.app.service.PostCommentService;
+import run.halo.app.service.PostService;
+import run.halo.app.service.TagService;
+import run.halo.app.utils.HaloUtils;
+import run.halo.app.utils.MarkdownUtils;
+
+/**
+ * Fills the database with synthetic data for performance tests, only available in the
+ * {@code perf} profile.
+ *
+ * <p>Posts, categories, tags and journals are created through services so that contents,
+ * revisions, links and in-memory indexes are maintained as usual. Comments and attachments are
+ * saved directly to skip mail notifications and storage uploads. Every run uses a random prefix
+ * for names and slugs, so it can be repeated on the same database.
+ *
+ * @author guqing
+ * @date 2022-04-09
+ */
+@Slf4j
+@Component
+@Profile("perf")
+public class PerfDataGenerator {
+
+    private static final String[] WORDS = {"halo", "blog", "theme", "post", "comment", "render",
+        "markdown", "spring", "cache", "index", "template", "archive", "performance", "博客",
+        "主题", "文章", "评论", "归档"};
+
+    /**
+     * Posts are spread over the past three years for realistic archives.
+     */
+    private static final long CREATE_TIME_RANGE_MILLIS = TimeUnit.DAYS.toMillis(3 * 365);
+
+    private final PostService postService;
+
+    private final ContentService contentService;
+
+    private final CategoryService categoryService;
+
+    private final TagService tagService;
+
+    private final PostCommentService postCommentService;
+
+    private final JournalService journalService;
+
+    private final AttachmentService attachmentService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PerfDataGenerator(PostService postService,
+        ContentService contentService,
+        CategoryService categoryService,
+        TagService tagService,
+        PostCommentService postCommentService,
+        JournalService journalService,
+        AttachmentService attachmentService,
+        ApplicationEventPublisher eventPublisher) {
+        this.postService = postService;
+        this.contentService = contentService;
+        this.categoryService = categoryService;
+        this.tagService = tagService;
+        this.postCommentService = postCommentService;
+        this.journalService = journalService;
+        this.attachmentService = attachmentService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Generates synthetic data.
+     *
+     * @param param numbers of records to generate must not be null
+     * @return numbers of generated records
+     */
+    @NonNull
+    public synchronized PerfDataDTO generate(@NonNull PerfDataParam param) {
+        Assert.notNull(param, "Perf data param must not be null");
+
+        long start = System.currentTimeMillis();
+        String prefix = "perf-" + HaloUtils.simpleUUID().substring(0, 8);
+        Random random = new Random();
+        PerfDataDTO result = new PerfDataDTO();
+
+        List<Integer> categoryIds = generateCategories(prefix, param, random);
+        result.setCategories(categoryIds.size());
+
+        List<Integer> tagIds = generateTags(prefix, param);
+        result.setTags(tagIds.size());
+
+        for (int i = 0; i < param.getPosts(); i++) {
+            Post post = generatePost(prefix, i, categoryIds, tagIds, param, random);
+            result.setPosts(result.getPosts() + 1);
+
+            if (PostStatus.PUBLISHED.equals(post.getStatus())) {
+                for (int revision = 1; revision <= param.getRevisions(); revision++) {
+                    String markdown = markdown(random, revision + 3);
+                    contentService.createOrUpdateDraftBy(post.getId(),
+                        MarkdownUtils.renderHtml(markdown), markdown);
+                    contentService.publishContent(post.getId());
+                    result.setRevisions(result.getRevisions() + 1);
+                }
+            }
+
+            result.setComments(result.getComments()
+                + generateComments(prefix, post.getId(), param.getCommentsPerPost(), random));
+
+            if ((i + 1) % 100 == 0) {
+                log.info("Generated [{}/{}] posts", i + 1, param.getPosts());
+            }
+        }
+
+        for (int i = 0; i < param.getJournals(); i++) {
+            JournalParam journalParam = new JournalParam();
+            journalParam.setSourceContent(sentence(random, 30));
+            journalParam.setType(i % 10 == 0 ? JournalType.INTIMATE : JournalType.PUBLIC);
+            journalService.createBy(journalParam);
+            result.setJournals(result.getJournals() + 1);
+        }
+
+        for (int i = 0; i < param.getAttachments(); i++) {
+            attachmentService.create(attachment(prefix, i, random));
+            result.setAttachments(result.getAttachments() + 1);
+        }
+
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        log.info("Generated synthetic data with prefix [{}]: [{}]", prefix, result);
+        return result;
+    }
+
+    private List<Integer> generateCategories(String prefix, PerfDataParam param,
+        Random random) {
+        int depth = param.getCategoryDepth();
+        List<List<Integer>> levels = new ArrayList<>(depth);
+        for (int level = 0; level < depth; level++) {
+            levels.add(new ArrayList<>());
+        }
+
+        List<Integer> categoryIds = new ArrayList<>(param.getCategories());
+        for (int i = 0; i < param.getCategories(); i++) {
+            // Spread categories evenly over levels, the first ones are at the top level
+            int level = (int) ((long) i * depth / param.getCategories());
+            List<Integer> parentIds = level == 0 ? Collections.emptyList() : levels.get(level - 1);
+
+            Category category = new Category();
+            category.setName(prefix + " category " + i);
+            category.setSlug(prefix + "-category-" + i);
+            category.setDescription(sentence(random, 10));
+            category.setParentId(
+                parentIds.isEmpty() ? 0 : parentIds.get(random.nextInt(parentIds.size())));
+            category.setPriority(i);
+
+            Integer categoryId = categoryService.create(category).getId();
+            levels.get(level).add(categoryId);
+            categoryIds.add(categoryId);
+        }
+        return categoryIds;
+    }
+
+    private List<Integer> generateTags(String prefix, PerfDataParam param) {
+        List<Integer> tagIds = new ArrayList<>(param.getTags());
+        for (int i = 0; i < param.getTags(); i++) {
+            Tag tag = new Tag();
+            tag.setName(prefix + " tag " + i);
+            tag.setSlug(prefix + "-tag-" + i);
+            tagIds.add(tagService.create(tag).getId());
+        }
+        return tagIds;
+    }
+
+    private Post generatePost(String prefix, int index, List<Integer> categoryIds,
+        List<Integer> tagIds, PerfDataParam param, Random random) {
+        String markdown = markdown(random, 3);
+
+        Post post = new Post();
+        post.setTitle(sentence(random, 6));
+        post.setSlug(prefix + "-post-" + index);
+        post.setStatus(index % 20 == 0 ? PostStatus.DRAFT : PostStatus.PUBLISHED);
+        post.setEditorType(PostEditorType.MARKDOWN);
+        post.setSummary(sentence(random, 40));
+        post.setVisits((long) random.nextInt(10000));
+        post.setLikes((long) random.nextInt(100));
+        post.setCreateTime(
+            new Date(System.currentTimeMillis() - (long) (random.nextDouble()
+                * CREATE_TIME_RANGE_MILLIS)));
+        post.setContent(new PatchedContent(MarkdownUtils.renderHtml(markdown), markdown));
+
+        Set<Integer> postTagIds = pick(tagIds, param.getTagsPerPost(), random);
+        Set<Integer> postCategoryIds = pick(categoryIds, 1, random);
+        postService.createBy(post, postTagIds, postCategoryIds, true);
+        return post;
+    }
+
+    private long generateComments(String prefix, Integer postId, int count, Random random) {
+        List<Long> commentIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            PostComment comment = new PostComment();
+            comment.setAuthor(prefix + "-author-" + random.nextInt(100));
+            comment.setEmail(comment.getAuthor() + "@halo.run");
+            comment.setContent(sentence(random, 20));
+            comment.setPostId(postId);
+            comment.setStatus(CommentStatus.PUBLISHED);
+            comment.setIsAdmin(false);
+            comment.setAllowNotification(false);
+            comment.setIpAddress("127.0.0.1");
+            // A third of comments are top level, the others reply to an earlier comment
+            comment.setParentId(commentIds.isEmpty() || i % 3 == 0 ? 0L
+                : commentIds.get(random.nextInt(commentIds.size())));
+            commentIds.add(postCommentService.create(comment).getId());
+        }
+        if (!commentIds.isEmpty()) {
+            eventPublisher.publishEvent(
+                new CommentUpdatedEvent(this, commentIds.get(commentIds.size() - 1)));
+        }
+        return commentIds.size();
+    }
+
+    private static Attachment attachment(String prefix, int index, Random random) {
+        String name = prefix + "-image-" + index;
+        Attachment attachment = new Attachment();
+        // Relative to the work dir without a leading slash, like the paths of uploaded files
+        String subPath = "upload/" + prefix + "/";
+        attachment.setName(name);
+        attachment.setPath(subPath + name + ".png");
+        attachment.setFileKey(subPath + name + ".png");
+        attachment.setThumbPath(subPath + name + "-thumbnail.png");
+        attachment.setMediaType("image/png");
+        attachment.setSuffix("png");
+        attachment.setWidth(800 + random.nextInt(1200));
+        attachment.setHeight(600 + random.nextInt(900));
+        attachment.setSize(10_000L + random.nextInt(2_000_000));
+        attachment.setType(AttachmentType.LOCAL);
+        return attachment;
+    }
+
+    private static Set<Integer> pick(List<Integer> ids, int count, Random random) {
+        Set<Integer> picked = new HashSet<>();
+        if (ids.isEmpty()) {
+            return picked;
+        }
+        for (int i = 0; i < count; i++) {
+            picked.add(ids.get(random.nextInt(ids.size())));
+        }
+        return picked;
+    }
+
+    private static String markdown(Random random, int sections) {
+        StringBuilder markdown = new StringBuilder();
+        for (int section = 0; section < sections; section++) {
+            markdown.append("## ").append(sentence(random, 4)).append("\n\n")
+                .append(sentence(random, 80)).append("\n\n")
+                .append("- ").append(sentence(random, 8)).append('\n')
+                .append("- **").append(sentence(random, 3)).append("**\n\n")
+                .append("| name | value |\n| --- | --- |\n");
+            for (int row = 0; row < 3; row++) {
+                markdown.append("| ").append(sentence(random, 1)).append(" | ")
+                    .append(random.nextInt(1000)).append(" |\n");
+            }
+            markdown.append("\n```java\nSystem.out.println(\"halo\");\n```\n\n");
+        }
+        return markdown.toString();
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            sentence.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sentence.toString();
+    }
+}
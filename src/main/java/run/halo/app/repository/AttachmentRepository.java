@@ -1,5 +1,6 @@
 package run.halo.app.repository;
 
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -50,4 +51,15 @@ public interface AttachmentRepository
      * @return count of the given path and type
      */
     long countByFileKeyAndType(@NonNull String fileKey, @NonNull AttachmentType type);
+
+    /**
+     * Finds all attachments by paths and type.
+     *
+     * @param paths attachment paths must not be null
+     * @param type attachment type must not be null
+     * @return a list of attachments
+     */
+    @NonNull
+    List<Attachment> findAllByPathInAndType(@NonNull Collection<String> paths,
+        @NonNull AttachmentType type);
 }
@@ -1,7 +1,10 @@
 package run.halo.app.repository;
 
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import run.halo.app.model.entity.ContentPatchLog;
 import run.halo.app.model.enums.PostStatus;
 import run.halo.app.repository.base.BaseRepository;
@@ -70,4 +73,32 @@ public interface ContentPatchLogRepository extends BaseRepository<ContentPatchLo
      * @return a list of {@link ContentPatchLog} queried by post id
      */
     List<ContentPatchLog> findAllByPostId(Integer postId);
+
+    /**
+     * Finds ids of posts which have more content patch logs than the given count.
+     *
+     * @param count version count
+     * @return a list of post id
+     */
+    @Query("select c.postId from ContentPatchLog c group by c.postId having count(c) > :count")
+    List<Integer> findAllPostIdsHavingMoreThan(@Param("count") long count);
+
+    /**
+     * Finds all record ids by post id, the latest version first.
+     *
+     * @param postId post id
+     * @return a list of record id
+     */
+    @Query("select c.id from ContentPatchLog c where c.postId = :postId order by c.version desc")
+    List<Integer> findAllIdsByPostIdOrderByVersionDesc(@Param("postId") Integer postId);
+
+    /**
+     * Deletes records by ids with a single statement.
+     *
+     * @param ids record ids must not be null
+     * @return deleted rows
+     */
+    @Modifying
+    @Query("delete from ContentPatchLog c where c.id in :ids")
+    int deleteAllByIdsInBatch(@Param("ids") Collection<Integer> ids);
 }
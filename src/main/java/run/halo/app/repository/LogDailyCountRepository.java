@@ -0,0 +1,27 @@
+package run.halo.app.repository;
+
+import java.util.Date;
+import java.util.Optional;
+import org.springframework.lang.NonNull;
+import run.halo.app.model.entity.LogDailyCount;
+import run.halo.app.model.enums.LogType;
+import run.halo.app.repository.base.BaseRepository;
+
+/**
+ * Log daily count repository.
+ *
+ * @author guqing
+ * @date 2022-04-05
+ */
+public interface LogDailyCountRepository extends BaseRepository<LogDailyCount, Long> {
+
+    /**
+     * Finds daily count by day and log type.
+     *
+     * @param day start of the day must not be null
+     * @param type log type must not be null
+     * @return an optional daily count
+     */
+    @NonNull
+    Optional<LogDailyCount> findByDayAndType(@NonNull Date day, @NonNull LogType type);
+}
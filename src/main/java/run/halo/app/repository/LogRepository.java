@@ -1,6 +1,15 @@
 package run.halo.app.repository;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.lang.NonNull;
 import run.halo.app.model.entity.Log;
+import run.halo.app.model.projection.LogTypeTimeProjection;
 import run.halo.app.repository.base.BaseRepository;
 
 /**
@@ -10,4 +19,34 @@ import run.halo.app.repository.base.BaseRepository;
  */
 public interface LogRepository extends BaseRepository<Log, Long> {
 
+    /**
+     * Finds the oldest logs created before the given time.
+     *
+     * @param before exclusive upper bound of create time must not be null
+     * @param pageable page info must not be null
+     * @return a list of log projection, the oldest first
+     */
+    @Query("select new run.halo.app.model.projection.LogTypeTimeProjection(l.id, l.type, "
+        + "l.createTime) from Log l where l.createTime < :before order by l.createTime, l.id")
+    List<LogTypeTimeProjection> findAllTypeTimesByCreateTimeBefore(
+        @Param("before") @NonNull Date before, @NonNull Pageable pageable);
+
+    /**
+     * Finds create times of logs, the latest first.
+     *
+     * @param pageable page info must not be null
+     * @return a list of create time
+     */
+    @Query("select l.createTime from Log l order by l.createTime desc, l.id desc")
+    List<Date> findAllCreateTimes(@NonNull Pageable pageable);
+
+    /**
+     * Deletes logs by ids with a single statement.
+     *
+     * @param ids log ids must not be null
+     * @return deleted rows
+     */
+    @Modifying
+    @Query("delete from Log l where l.id in :ids")
+    int deleteAllByIdsInBatch(@Param("ids") @NonNull Collection<Long> ids);
 }
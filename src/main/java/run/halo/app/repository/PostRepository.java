@@ -1,11 +1,13 @@
 package run.halo.app.repository;
 
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import run.halo.app.model.entity.Post;
 import run.halo.app.model.enums.PostStatus;
+import run.halo.app.model.projection.PostSortKeyProjection;
 import run.halo.app.repository.base.BasePostRepository;
 
 
@@ -103,4 +105,15 @@ public interface PostRepository extends BasePostRepository<Post>, JpaSpecificati
         + ".status = :status")
     Optional<Post> findBy(@Param("year") Integer year, @Param("month") Integer month,
         @Param("day") Integer day, @Param("slug") String slug, @Param("status") PostStatus status);
+
+    /**
+     * Finds sort keys of all posts by status.
+     *
+     * @param status post status must not be null
+     * @return a list of post id with sort keys
+     */
+    @Query("select new run.halo.app.model.projection.PostSortKeyProjection(post.id, "
+        + "post.createTime, post.editTime, post.visits) from Post post "
+        + "where post.status = :status")
+    List<PostSortKeyProjection> findAllSortKeysByStatus(@Param("status") PostStatus status);
 }
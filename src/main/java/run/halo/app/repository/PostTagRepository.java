@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.lang.NonNull;
 import run.halo.app.model.entity.PostTag;
 import run.halo.app.model.enums.PostStatus;
+import run.halo.app.model.projection.TagIdPostStatusProjection;
 import run.halo.app.model.projection.TagPostPostCountProjection;
 import run.halo.app.repository.base.BaseRepository;
 
@@ -109,13 +110,12 @@ public interface PostTagRepository extends BaseRepository<PostTag, Integer> {
     List<TagPostPostCountProjection> findPostCountByTagIds(@NonNull Collection<Integer> tagIds);
 
     /**
-     * Finds post count of tag.
+     * Finds all post tags with post status.
      *
-     * @return a list of tag post count projection
+     * @return a list of tag id and post id with status projection
      */
-    @Query("select new run.halo.app.model.projection.TagPostPostCountProjection(count(pt.postId),"
-        + " pt.tagId) from PostTag pt inner join Post p on p.id=pt.postId and"
-        + " p.status<>2 group by pt.tagId")
+    @Query("select new run.halo.app.model.projection.TagIdPostStatusProjection(pt.tagId,"
+        + " pt.postId, p.status) from PostTag pt inner join Post p on p.id=pt.postId")
     @NonNull
-    List<TagPostPostCountProjection> findPostCount();
+    List<TagIdPostStatusProjection> findAllWithPostStatus();
 }
@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -48,6 +49,16 @@ public interface BasePostRepository<POST extends BasePost> extends BaseRepositor
     @NonNull
     Page<POST> findAllByStatus(@NonNull PostStatus status, @NonNull Pageable pageable);
 
+    /**
+     * Finds a slice of posts by status, without counting all posts.
+     *
+     * @param status post status must not be null
+     * @param pageable page info must not be null
+     * @return a slice of post
+     */
+    @NonNull
+    Slice<POST> findSliceByStatus(@NonNull PostStatus status, @NonNull Pageable pageable);
+
     /**
      * Finds posts by status.
      *
@@ -5,9 +5,12 @@ import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.repository.NoRepositoryBean;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import run.halo.app.model.support.CursorPage;
 
 /**
  * Base repository interface contains some common methods.
@@ -41,6 +44,21 @@ public interface BaseRepository<D, I> extends JpaRepository<D, I> {
     @NonNull
     Page<D> findAllByIdIn(@NonNull Collection<I> ids, @NonNull Pageable pageable);
 
+    /**
+     * Finds a page of domains by keyset pagination, without counting all domains.
+     *
+     * @param specification specification of domains, null means all domains
+     * @param cursor cursor of the next page from the previous page, null or blank means the
+     * first page
+     * @param sort sort info must not be null
+     * @param size page size
+     * @return a cursor page of domains
+     * @throws run.halo.app.exception.BadRequestException if the cursor or the size is invalid
+     */
+    @NonNull
+    CursorPage<D> findAllAfter(@Nullable Specification<D> specification,
+        @Nullable String cursor, @NonNull Sort sort, int size);
+
     /**
      * Deletes by id list.
      *
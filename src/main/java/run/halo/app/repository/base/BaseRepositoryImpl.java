@@ -1,5 +1,6 @@
 package run.halo.app.repository.base;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -24,7 +25,9 @@ import org.springframework.data.repository.support.PageableExecutionUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
 import run.halo.app.annotation.SensitiveConceal;
+import run.halo.app.model.support.CursorPage;
 
 /**
  * Implementation of base repository.
@@ -126,6 +129,35 @@ public class BaseRepositoryImpl<DOMAIN, ID> extends SimpleJpaRepository<DOMAIN,
             : readPage(query, getDomainClass(), pageable, countQuery);
     }
 
+    @Override
+    @SensitiveConceal
+    public CursorPage<DOMAIN> findAllAfter(@Nullable Specification<DOMAIN> specification,
+        @Nullable String cursor, Sort sort, int size) {
+        Assert.notNull(sort, "Sort info must not be null");
+        KeysetCursor.checkSize(size);
+        String idProperty = entityInformation.getRequiredIdAttribute().getName();
+        KeysetCursor.checkSortable(getDomainClass(), sort, idProperty);
+
+        Sort keysetSort = KeysetCursor.withTieBreaker(sort, idProperty);
+        Specification<DOMAIN> keysetSpecification = Specification.where(specification);
+        if (StringUtils.hasText(cursor)) {
+            List<JsonNode> values = KeysetCursor.decode(cursor, keysetSort);
+            keysetSpecification = keysetSpecification.and((root, query, criteriaBuilder) ->
+                KeysetCursor.toPredicate(keysetSort, values, root, criteriaBuilder));
+        }
+
+        // Query one more domain to know whether there is a next page
+        List<DOMAIN> domains = getQuery(keysetSpecification, getDomainClass(), keysetSort)
+            .setMaxResults(size + 1)
+            .getResultList();
+        if (domains.size() <= size) {
+            return new CursorPage<>(domains, size, null);
+        }
+        List<DOMAIN> content = new ArrayList<>(domains.subList(0, size));
+        return new CursorPage<>(content, size,
+            KeysetCursor.encode(keysetSort, content.get(size - 1)));
+    }
+
     /**
      * Deletes by id list.
      *
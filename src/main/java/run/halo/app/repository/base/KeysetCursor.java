@@ -0,0 +1,252 @@
+package run.halo.app.repository.base;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.NonNull;
+import run.halo.app.exception.BadRequestException;
+import run.halo.app.model.entity.BaseComment;
+import run.halo.app.model.entity.BasePost;
+import run.halo.app.model.entity.Journal;
+import run.halo.app.model.entity.Photo;
+import run.halo.app.utils.JsonUtils;
+
+/**
+ * Opaque cursor of keyset pagination.
+ *
+ * <p>A cursor holds the sort values of the last element of a page, the next page continues
+ * with elements sorted after them. The id is always added to the sort as a tie-breaker, so that
+ * elements with equal sort values are neither skipped nor repeated.
+ *
+ * <p>The sort values go back to clients in the cursor, so only the non-null and public
+ * attributes allowed by {@link #checkSortable(Class, Sort, String)} can be sorted by.
+ *
+ * @author guqing
+ * @date 2022-04-11
+ */
+final class KeysetCursor {
+
+    /**
+     * Max page size of keyset pagination.
+     */
+    static final int MAX_SIZE = 100;
+
+    private static final String SORT_FIELD = "s";
+
+    private static final String VALUES_FIELD = "v";
+
+    /**
+     * Sortable properties of all domains besides the id.
+     */
+    private static final Set<String> COMMON_SORTABLE = Set.of("createTime", "updateTime");
+
+    /**
+     * Sortable properties by domain type. Nullable columns such as the edit time of posts are
+     * not sortable, null values can not be compared by the keyset predicate.
+     */
+    private static final Map<Class<?>, Set<String>> SORTABLE = Map.of(
+        BasePost.class, Set.of("topPriority", "visits", "likes"),
+        BaseComment.class, Set.of("topPriority"),
+        Journal.class, Set.of("likes"),
+        Photo.class, Set.of("likes"));
+
+    private KeysetCursor() {
+    }
+
+    static void checkSize(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new BadRequestException("每页数量必须在 1 到 " + MAX_SIZE + " 之间")
+                .setErrorData(size);
+        }
+    }
+
+    /**
+     * Checks that all properties of the sort are allowed to be exposed in cursors.
+     *
+     * @param domainClass domain class
+     * @param sort sort info
+     * @param idProperty id property name
+     * @throws BadRequestException if any property is not sortable
+     */
+    static void checkSortable(@NonNull Class<?> domainClass, @NonNull Sort sort,
+        @NonNull String idProperty) {
+        for (Sort.Order order : sort) {
+            String property = order.getProperty();
+            boolean sortable = idProperty.equals(property) || COMMON_SORTABLE.contains(property)
+                || SORTABLE.entrySet().stream()
+                .anyMatch(entry -> entry.getKey().isAssignableFrom(domainClass)
+                    && entry.getValue().contains(property));
+            if (!sortable) {
+                throw new BadRequestException("分页游标不支持按该属性排序").setErrorData(property);
+            }
+        }
+    }
+
+    /**
+     * Appends the id to the sort as the tie-breaker, in the direction of the last order.
+     *
+     * @param sort sort info
+     * @param idProperty id property name
+     * @return sort ending with the id
+     */
+    @NonNull
+    static Sort withTieBreaker(@NonNull Sort sort, @NonNull String idProperty) {
+        if (sort.getOrderFor(idProperty) != null) {
+            return sort;
+        }
+        Sort.Direction direction = sort.stream()
+            .reduce((first, second) -> second)
+            .map(Sort.Order::getDirection)
+            .orElse(Sort.Direction.DESC);
+        return sort.and(Sort.by(direction, idProperty));
+    }
+
+    /**
+     * Encodes the sort values of the domain.
+     *
+     * @param sort sort info
+     * @param domain last domain of a page
+     * @return opaque cursor
+     */
+    @NonNull
+    static String encode(@NonNull Sort sort, @NonNull Object domain) {
+        BeanWrapper wrapper = new BeanWrapperImpl(domain);
+        ObjectNode node = JsonUtils.DEFAULT_JSON_MAPPER.createObjectNode();
+        node.put(SORT_FIELD, signature(sort));
+        ArrayNode values = node.putArray(VALUES_FIELD);
+        for (Sort.Order order : sort) {
+            Object value = wrapper.getPropertyValue(order.getProperty());
+            if (value == null) {
+                throw new BadRequestException(
+                    "排序属性 " + order.getProperty() + " 存在空值，无法使用分页游标");
+            }
+            if (value instanceof Date) {
+                values.add(((Date) value).getTime());
+            } else if (value instanceof Enum) {
+                values.add(((Enum<?>) value).name());
+            } else {
+                values.addPOJO(value);
+            }
+        }
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                JsonUtils.DEFAULT_JSON_MAPPER.writeValueAsBytes(node));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode cursor", e);
+        }
+    }
+
+    /**
+     * Decodes sort values of the cursor.
+     *
+     * @param cursor opaque cursor
+     * @param sort sort info, must be the same as the sort of the encoded cursor
+     * @return sort values
+     * @throws BadRequestException if the cursor is invalid or of another sort
+     */
+    @NonNull
+    static List<JsonNode> decode(@NonNull String cursor, @NonNull Sort sort) {
+        JsonNode node;
+        try {
+            node = JsonUtils.DEFAULT_JSON_MAPPER.readTree(
+                new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            throw new BadRequestException("无效的分页游标", e).setErrorData(cursor);
+        }
+        JsonNode values = node.path(VALUES_FIELD);
+        if (!signature(sort).equals(node.path(SORT_FIELD).asText())
+            || !values.isArray() || values.size() != sort.toList().size()) {
+            throw new BadRequestException("分页游标与排序方式不匹配").setErrorData(cursor);
+        }
+        List<JsonNode> result = new ArrayList<>(values.size());
+        values.forEach(result::add);
+        return result;
+    }
+
+    /**
+     * Builds the predicate of elements sorted after the sort values.
+     *
+     * <p>For orders {@code a DESC, b ASC, id ASC}, it is
+     * {@code a < ?1 or (a = ?1 and b > ?2) or (a = ?1 and b = ?2 and id > ?3)}.
+     *
+     * @param sort sort info
+     * @param values decoded sort values
+     * @param root query root
+     * @param criteriaBuilder criteria builder
+     * @return predicate
+     */
+    @NonNull
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Predicate toPredicate(@NonNull Sort sort, @NonNull List<JsonNode> values,
+        @NonNull Root<?> root, @NonNull CriteriaBuilder criteriaBuilder) {
+        List<Sort.Order> orders = sort.toList();
+        List<Predicate> equals = new ArrayList<>(orders.size());
+        List<Predicate> disjunction = new ArrayList<>(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            Sort.Order order = orders.get(i);
+            if (order.getProperty().contains(".")) {
+                throw new BadRequestException("分页游标不支持按关联属性排序")
+                    .setErrorData(order.getProperty());
+            }
+            Path<Comparable> path = root.get(order.getProperty());
+            Comparable value = convert(values.get(i), path.getJavaType());
+
+            List<Predicate> conjunction = new ArrayList<>(equals);
+            conjunction.add(order.isAscending() ? criteriaBuilder.greaterThan(path, value)
+                : criteriaBuilder.lessThan(path, value));
+            disjunction.add(criteriaBuilder.and(conjunction.toArray(new Predicate[0])));
+            equals.add(criteriaBuilder.equal(path, value));
+        }
+        return criteriaBuilder.or(disjunction.toArray(new Predicate[0]));
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Comparable convert(JsonNode value, Class<?> type) {
+        try {
+            Object converted;
+            if (Date.class.isAssignableFrom(type) && value.isIntegralNumber()) {
+                converted = new Date(value.asLong());
+            } else if (value.isNumber()) {
+                converted = DefaultConversionService.getSharedInstance()
+                    .convert(value.numberValue(), type);
+            } else if (value.isBoolean()) {
+                converted = value.asBoolean();
+            } else if (value.isTextual()) {
+                converted = DefaultConversionService.getSharedInstance()
+                    .convert(value.asText(), type);
+            } else {
+                converted = null;
+            }
+            if (converted instanceof Comparable) {
+                return (Comparable) converted;
+            }
+        } catch (ConversionException e) {
+            throw new BadRequestException("无效的分页游标", e);
+        }
+        throw new BadRequestException("无效的分页游标");
+    }
+
+    private static String signature(Sort sort) {
+        return sort.stream()
+            .map(order -> order.getProperty() + ":" + order.getDirection())
+            .collect(Collectors.joining(","));
+    }
+}
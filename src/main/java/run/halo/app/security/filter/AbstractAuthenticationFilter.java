@@ -20,7 +20,6 @@ import org.springframework.lang.Nullable;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.springframework.web.util.UrlPathHelper;
 import run.halo.app.cache.AbstractStringCacheStore;
 import run.halo.app.config.properties.HaloProperties;
 import run.halo.app.exception.AbstractHaloException;
@@ -48,10 +47,15 @@ public abstract class AbstractAuthenticationFilter extends OncePerRequestFilter
     protected final HaloProperties haloProperties;
     protected final OptionService optionService;
     protected final AbstractStringCacheStore cacheStore;
-    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
     private final OneTimeTokenService oneTimeTokenService;
+    private final AuthenticationUrlMatcher authenticationUrlMatcher;
 
     private volatile AuthenticationFailureHandler failureHandler;
+
+    /**
+     * Cached once the blog is installed, it will not be uninstalled.
+     */
+    private volatile boolean installed;
     /**
      * Exclude url patterns.
      */
@@ -62,11 +66,13 @@ public abstract class AbstractAuthenticationFilter extends OncePerRequestFilter
     AbstractAuthenticationFilter(HaloProperties haloProperties,
         OptionService optionService,
         AbstractStringCacheStore cacheStore,
-        OneTimeTokenService oneTimeTokenService) {
+        OneTimeTokenService oneTimeTokenService,
+        AuthenticationUrlMatcher authenticationUrlMatcher) {
         this.haloProperties = haloProperties;
         this.optionService = optionService;
         this.cacheStore = cacheStore;
         this.oneTimeTokenService = oneTimeTokenService;
+        this.authenticationUrlMatcher = authenticationUrlMatcher;
 
         antPathMatcher = new AntPathMatcher();
     }
@@ -115,13 +121,8 @@ public abstract class AbstractAuthenticationFilter extends OncePerRequestFilter
     protected boolean shouldNotFilter(HttpServletRequest request) {
         Assert.notNull(request, "Http servlet request must not be null");
 
-        // check white list
-        boolean result = excludeUrlPatterns.stream()
-            .anyMatch(p -> antPathMatcher.match(p, urlPathHelper.getRequestUri(request)));
-
-        return result || urlPatterns.stream()
-            .noneMatch(p -> antPathMatcher.match(p, urlPathHelper.getRequestUri(request)));
-
+        // Check url patterns and white list in one pass shared by all filters
+        return !authenticationUrlMatcher.matches(getClass().getName(), request);
     }
 
     /**
@@ -133,6 +134,7 @@ public abstract class AbstractAuthenticationFilter extends OncePerRequestFilter
         Assert.notNull(excludeUrlPatterns, "Exclude url patterns must not be null");
 
         Collections.addAll(this.excludeUrlPatterns, excludeUrlPatterns);
+        compileUrlPatterns();
     }
 
     /**
@@ -154,6 +156,7 @@ public abstract class AbstractAuthenticationFilter extends OncePerRequestFilter
         Assert.notNull(excludeUrlPatterns, "Exclude url patterns must not be null");
 
         this.excludeUrlPatterns = new HashSet<>(excludeUrlPatterns);
+        compileUrlPatterns();
     }
 
     public Collection<String> getUrlPatterns() {
@@ -163,11 +166,18 @@ public abstract class AbstractAuthenticationFilter extends OncePerRequestFilter
     public void setUrlPatterns(Collection<String> urlPatterns) {
         Assert.notNull(urlPatterns, "UrlPatterns must not be null");
         this.urlPatterns = new LinkedHashSet<>(urlPatterns);
+        compileUrlPatterns();
     }
 
     public void addUrlPatterns(String... urlPatterns) {
         Assert.notNull(urlPatterns, "UrlPatterns must not be null");
         Collections.addAll(this.urlPatterns, urlPatterns);
+        compileUrlPatterns();
+    }
+
+    private void compileUrlPatterns() {
+        authenticationUrlMatcher.setPatterns(getClass().getName(), urlPatterns,
+            excludeUrlPatterns);
     }
 
     /**
@@ -208,11 +218,12 @@ public abstract class AbstractAuthenticationFilter extends OncePerRequestFilter
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
         FilterChain filterChain) throws ServletException, IOException {
         // Check whether the blog is installed or not
-        Boolean isInstalled =
-            optionService
+        if (!installed) {
+            installed = optionService
                 .getByPropertyOrDefault(PrimaryProperties.IS_INSTALLED, Boolean.class, false);
+        }
 
-        if (!isInstalled && !Mode.TEST.equals(haloProperties.getMode())) {
+        if (!installed && !Mode.TEST.equals(haloProperties.getMode())) {
             // If not installed
             getFailureHandler().onFailure(request, response, new NotInstallException("当前博客还没有初始化"));
             return;
@@ -24,7 +24,9 @@ import run.halo.app.security.context.SecurityContextHolder;
 import run.halo.app.security.context.SecurityContextImpl;
 import run.halo.app.security.handler.DefaultAuthenticationFailureHandler;
 import run.halo.app.security.service.OneTimeTokenService;
+import run.halo.app.security.service.SignedTokenService;
 import run.halo.app.security.support.UserDetail;
+import run.halo.app.security.support.UserDetailCache;
 import run.halo.app.security.util.SecurityUtils;
 import run.halo.app.service.OptionService;
 import run.halo.app.service.UserService;
@@ -43,14 +45,24 @@ public class AdminAuthenticationFilter extends AbstractAuthenticationFilter {
 
     private final UserService userService;
 
+    private final UserDetailCache userDetailCache;
+
+    private final SignedTokenService signedTokenService;
+
     public AdminAuthenticationFilter(AbstractStringCacheStore cacheStore,
         UserService userService,
         HaloProperties haloProperties,
         OptionService optionService,
         OneTimeTokenService oneTimeTokenService,
-        ObjectMapper objectMapper) {
-        super(haloProperties, optionService, cacheStore, oneTimeTokenService);
+        ObjectMapper objectMapper,
+        AuthenticationUrlMatcher authenticationUrlMatcher,
+        UserDetailCache userDetailCache,
+        SignedTokenService signedTokenService) {
+        super(haloProperties, optionService, cacheStore, oneTimeTokenService,
+            authenticationUrlMatcher);
         this.userService = userService;
+        this.userDetailCache = userDetailCache;
+        this.signedTokenService = signedTokenService;
         this.haloProperties = haloProperties;
 
         addUrlPatterns("/api/admin/**", "/api/content/comments");
@@ -98,9 +110,28 @@ public class AdminAuthenticationFilter extends AbstractAuthenticationFilter {
             throw new AuthenticationException("未登录，请登录后访问");
         }
 
-        // Get user id from cache
-        Optional<Integer> optionalUserId =
-            cacheStore.getAny(SecurityUtils.buildTokenAccessKey(token), Integer.class);
+        // Get user detail from in-process cache, or load it. Like tokens of the cache mode,
+        // signed tokens are only verified on a miss, and revocations on other nodes apply once
+        // the cached user expires
+        UserDetail userDetail = userDetailCache.get(token)
+            .orElseGet(() -> loadUserDetail(token));
+
+        // Set security
+        SecurityContextHolder
+            .setContext(new SecurityContextImpl(new AuthenticationImpl(userDetail)));
+
+        // Do filter
+        filterChain.doFilter(request, response);
+    }
+
+    @NonNull
+    private UserDetail loadUserDetail(@NonNull String token) {
+        long generation = userDetailCache.generation();
+
+        // Get user id from the signed token or cache
+        Optional<Integer> optionalUserId = signedTokenService.isSigned(token)
+            ? signedTokenService.verify(token)
+            : cacheStore.getAny(SecurityUtils.buildTokenAccessKey(token), Integer.class);
 
         if (!optionalUserId.isPresent()) {
             throw new AuthenticationException("Token 已过期或不存在").setErrorData(token);
@@ -108,16 +139,10 @@ public class AdminAuthenticationFilter extends AbstractAuthenticationFilter {
 
         // Get the user
         User user = userService.getById(optionalUserId.get());
+        userDetailCache.put(token, user, generation);
 
         // Build user detail
-        UserDetail userDetail = new UserDetail(user);
-
-        // Set security
-        SecurityContextHolder
-            .setContext(new SecurityContextImpl(new AuthenticationImpl(userDetail)));
-
-        // Do filter
-        filterChain.doFilter(request, response);
+        return new UserDetail(user);
     }
 
     @Override
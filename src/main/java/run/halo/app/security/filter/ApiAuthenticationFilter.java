@@ -41,8 +41,10 @@ public class ApiAuthenticationFilter extends AbstractAuthenticationFilter {
         OptionService optionService,
         AbstractStringCacheStore cacheStore,
         OneTimeTokenService oneTimeTokenService,
-        ObjectMapper objectMapper) {
-        super(haloProperties, optionService, cacheStore, oneTimeTokenService);
+        ObjectMapper objectMapper,
+        AuthenticationUrlMatcher authenticationUrlMatcher) {
+        super(haloProperties, optionService, cacheStore, oneTimeTokenService,
+            authenticationUrlMatcher);
         this.optionService = optionService;
 
         addUrlPatterns("/api/content/**");
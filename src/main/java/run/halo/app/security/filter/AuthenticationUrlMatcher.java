@@ -0,0 +1,152 @@
+package run.halo.app.security.filter;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.servlet.http.HttpServletRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * Url matcher shared by authentication filters.
+ *
+ * <p>Url patterns and exclude url patterns of all filters are compiled into one
+ * {@link UrlPatternTrie}. The request uri is matched once per request, the result is stored as
+ * a request attribute, and every filter decides whether it applies by its own bits.
+ *
+ * @author guqing
+ * @date 2022-04-10
+ */
+@Component
+public class AuthenticationUrlMatcher {
+
+    private static final String MATCH_ATTRIBUTE = AuthenticationUrlMatcher.class.getName()
+        + ".MATCH";
+
+    /**
+     * Every filter takes two bits, one for url patterns and one for exclude url patterns.
+     */
+    private static final int MAX_FILTERS = Long.SIZE / 2;
+
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    private final Map<String, Patterns> patternsByFilter = new LinkedHashMap<>();
+
+    private final Map<String, Integer> indexes = new HashMap<>();
+
+    private volatile Compiled compiled = new Compiled(new UrlPatternTrie(), Map.of());
+
+    /**
+     * Sets url patterns of the filter and recompiles the trie.
+     *
+     * @param filterName filter name must not be blank
+     * @param urlPatterns url patterns to apply the filter
+     * @param excludeUrlPatterns url patterns to skip the filter
+     */
+    public synchronized void setPatterns(@NonNull String filterName,
+        @NonNull Collection<String> urlPatterns,
+        @NonNull Collection<String> excludeUrlPatterns) {
+        Assert.hasText(filterName, "Filter name must not be blank");
+        Assert.notNull(urlPatterns, "Url patterns must not be null");
+        Assert.notNull(excludeUrlPatterns, "Exclude url patterns must not be null");
+
+        if (!indexes.containsKey(filterName)) {
+            Assert.state(indexes.size() < MAX_FILTERS, "Too many authentication filters");
+            indexes.put(filterName, indexes.size());
+        }
+        patternsByFilter.put(filterName,
+            new Patterns(List.copyOf(urlPatterns), List.copyOf(excludeUrlPatterns)));
+
+        UrlPatternTrie trie = new UrlPatternTrie();
+        patternsByFilter.forEach((name, patterns) -> {
+            int index = indexes.get(name);
+            patterns.urlPatterns.forEach(pattern -> trie.add(pattern, includeBit(index)));
+            patterns.excludeUrlPatterns.forEach(pattern -> trie.add(pattern, excludeBit(index)));
+        });
+        compiled = new Compiled(trie, Map.copyOf(indexes));
+    }
+
+    /**
+     * Checks whether the filter applies to the request.
+     *
+     * @param filterName filter name must not be blank
+     * @param request http servlet request must not be null
+     * @return true if the request matches any url pattern and no exclude url pattern
+     */
+    public boolean matches(@NonNull String filterName, @NonNull HttpServletRequest request) {
+        Assert.notNull(request, "Http servlet request must not be null");
+
+        Compiled current = compiled;
+        Integer index = current.indexes.get(filterName);
+        if (index == null) {
+            return false;
+        }
+
+        String requestUri = urlPathHelper.getRequestUri(request);
+        Object attribute = request.getAttribute(MATCH_ATTRIBUTE);
+        long bits;
+        if (attribute instanceof Match && ((Match) attribute).matches(current, requestUri)) {
+            bits = ((Match) attribute).bits;
+        } else {
+            bits = current.trie.match(requestUri);
+            request.setAttribute(MATCH_ATTRIBUTE, new Match(current, requestUri, bits));
+        }
+        return (bits & includeBit(index)) != 0 && (bits & excludeBit(index)) == 0;
+    }
+
+    private static long includeBit(int index) {
+        return 1L << (index * 2);
+    }
+
+    private static long excludeBit(int index) {
+        return 1L << (index * 2 + 1);
+    }
+
+    private static final class Patterns {
+
+        private final Collection<String> urlPatterns;
+
+        private final Collection<String> excludeUrlPatterns;
+
+        private Patterns(Collection<String> urlPatterns, Collection<String> excludeUrlPatterns) {
+            this.urlPatterns = urlPatterns;
+            this.excludeUrlPatterns = excludeUrlPatterns;
+        }
+    }
+
+    private static final class Compiled {
+
+        private final UrlPatternTrie trie;
+
+        private final Map<String, Integer> indexes;
+
+        private Compiled(UrlPatternTrie trie, Map<String, Integer> indexes) {
+            this.trie = trie;
+            this.indexes = indexes;
+        }
+    }
+
+    private static final class Match {
+
+        private final Compiled compiled;
+
+        private final String requestUri;
+
+        private final long bits;
+
+        private Match(Compiled compiled, String requestUri, long bits) {
+            this.compiled = compiled;
+            this.requestUri = requestUri;
+            this.bits = bits;
+        }
+
+        private boolean matches(Compiled compiled, String requestUri) {
+            // The request may be forwarded to another uri
+            return this.compiled == compiled && this.requestUri.equals(requestUri);
+        }
+    }
+}
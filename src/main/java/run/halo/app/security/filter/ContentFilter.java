@@ -27,8 +27,10 @@ public class ContentFilter extends AbstractAuthenticationFilter {
     public ContentFilter(HaloProperties haloProperties,
         OptionService optionService,
         AbstractStringCacheStore cacheStore,
-        OneTimeTokenService oneTimeTokenService) {
-        super(haloProperties, optionService, cacheStore, oneTimeTokenService);
+        OneTimeTokenService oneTimeTokenService,
+        AuthenticationUrlMatcher authenticationUrlMatcher) {
+        super(haloProperties, optionService, cacheStore, oneTimeTokenService,
+            authenticationUrlMatcher);
 
         addUrlPatterns("/**");
 
@@ -0,0 +1,161 @@
+package run.halo.app.security.filter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.lang.NonNull;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Segment trie of ant-style url patterns, matching a path against all patterns in one pass.
+ *
+ * <p>Every pattern is labelled with a bit, and {@link #match(String)} returns the bits of all
+ * matched patterns. Literal segments are looked up by hash, {@code *} and {@code **} segments
+ * are shared branches, and only segments like {@code *.js} fall back to {@link AntPathMatcher}.
+ * {@code **} is supported at any position, which Spring {@code PathPattern} does not allow, and
+ * the trailing slash is treated the same as {@link AntPathMatcher#match(String, String)}.
+ *
+ * @author guqing
+ * @date 2022-04-10
+ */
+final class UrlPatternTrie {
+
+    private static final String SEPARATOR = "/";
+
+    private static final String ANY_SEGMENT = "*";
+
+    private static final String ANY_SEGMENTS = "**";
+
+    private static final AntPathMatcher SEGMENT_MATCHER = new AntPathMatcher();
+
+    private final Node root = new Node();
+
+    /**
+     * Adds a pattern labelled with the bits.
+     *
+     * @param pattern ant-style pattern must not be blank
+     * @param bits label of the pattern
+     */
+    void add(@NonNull String pattern, long bits) {
+        Assert.hasText(pattern, "Url pattern must not be blank");
+
+        Node node = root;
+        for (String segment : tokenize(pattern)) {
+            node = node.child(segment);
+        }
+        if (node.anySegments) {
+            // A trailing ** matches the path with or without trailing slash
+            node.slashBits |= bits;
+            node.noSlashBits |= bits;
+        } else if (pattern.endsWith(SEPARATOR)) {
+            node.slashBits |= bits;
+        } else {
+            node.noSlashBits |= bits;
+        }
+    }
+
+    /**
+     * Matches the path against all patterns.
+     *
+     * @param path request path must not be null
+     * @return bits of matched patterns
+     */
+    long match(@NonNull String path) {
+        Assert.notNull(path, "Path must not be null");
+        return match(root, tokenize(path), 0, path.endsWith(SEPARATOR));
+    }
+
+    private static long match(Node node, String[] segments, int index, boolean trailingSlash) {
+        long bits = 0;
+        if (index == segments.length) {
+            bits |= trailingSlash ? node.slashBits : node.noSlashBits;
+        }
+        if (node.anySegmentsChild != null) {
+            // ** matches zero or more segments
+            for (int i = index; i <= segments.length; i++) {
+                bits |= match(node.anySegmentsChild, segments, i, trailingSlash);
+            }
+        }
+        if (index == segments.length) {
+            if (trailingSlash && node.anySegmentChild != null) {
+                // Such as /api/* matches /api/
+                bits |= node.anySegmentChild.slashBits | node.anySegmentChild.noSlashBits;
+            }
+            return bits;
+        }
+
+        String segment = segments[index];
+        Node literalChild = node.literalChildren.get(segment);
+        if (literalChild != null) {
+            bits |= match(literalChild, segments, index + 1, trailingSlash);
+        }
+        if (node.anySegmentChild != null) {
+            bits |= match(node.anySegmentChild, segments, index + 1, trailingSlash);
+        }
+        for (int i = 0; i < node.wildcardSegments.size(); i++) {
+            if (SEGMENT_MATCHER.match(node.wildcardSegments.get(i), segment)) {
+                bits |= match(node.wildcardChildren.get(i), segments, index + 1, trailingSlash);
+            }
+        }
+        return bits;
+    }
+
+    private static String[] tokenize(String path) {
+        return StringUtils.tokenizeToStringArray(path, SEPARATOR, false, true);
+    }
+
+    private static final class Node {
+
+        private final Map<String, Node> literalChildren = new HashMap<>();
+
+        private final List<String> wildcardSegments = new ArrayList<>();
+
+        private final List<Node> wildcardChildren = new ArrayList<>();
+
+        private Node anySegmentChild;
+
+        private Node anySegmentsChild;
+
+        private boolean anySegments;
+
+        /**
+         * Bits of patterns ending at this node with a trailing slash.
+         */
+        private long slashBits;
+
+        /**
+         * Bits of patterns ending at this node without a trailing slash.
+         */
+        private long noSlashBits;
+
+        private Node child(String segment) {
+            if (ANY_SEGMENTS.equals(segment)) {
+                if (anySegmentsChild == null) {
+                    anySegmentsChild = new Node();
+                    anySegmentsChild.anySegments = true;
+                }
+                return anySegmentsChild;
+            }
+            if (ANY_SEGMENT.equals(segment)) {
+                if (anySegmentChild == null) {
+                    anySegmentChild = new Node();
+                }
+                return anySegmentChild;
+            }
+            if (SEGMENT_MATCHER.isPattern(segment)) {
+                int index = wildcardSegments.indexOf(segment);
+                if (index >= 0) {
+                    return wildcardChildren.get(index);
+                }
+                Node child = new Node();
+                wildcardSegments.add(segment);
+                wildcardChildren.add(child);
+                return child;
+            }
+            return literalChildren.computeIfAbsent(segment, key -> new Node());
+        }
+    }
+}
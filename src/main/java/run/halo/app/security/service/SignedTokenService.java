@@ -0,0 +1,51 @@
+package run.halo.app.security.service;
+
+import java.util.Optional;
+import org.springframework.lang.NonNull;
+
+/**
+ * Signed access token service interface.
+ *
+ * <p>Signed access tokens carry the user id, the expiry and the key id, and are verified by
+ * their HMAC signatures. Only revoked tokens are kept in the cache store, and tokens are only
+ * verified when their users are not in the in-process user cache.
+ *
+ * @author guqing
+ * @date 2022-04-11
+ */
+public interface SignedTokenService {
+
+    /**
+     * Checks whether the token is in the format of signed access tokens.
+     *
+     * @param token token
+     * @return true if the token is a signed access token
+     */
+    boolean isSigned(String token);
+
+    /**
+     * Signs an access token for the user.
+     *
+     * @param userId user id must not be null
+     * @param expiredInSeconds seconds before the token expires
+     * @return signed access token
+     */
+    @NonNull
+    String sign(@NonNull Integer userId, long expiredInSeconds);
+
+    /**
+     * Verifies the signature, the expiry and the revocation of the access token.
+     *
+     * @param token signed access token must not be blank
+     * @return user id of the token, or empty if the token is invalid
+     */
+    @NonNull
+    Optional<Integer> verify(@NonNull String token);
+
+    /**
+     * Revokes the access token until it expires.
+     *
+     * @param token signed access token must not be blank
+     */
+    void revoke(@NonNull String token);
+}
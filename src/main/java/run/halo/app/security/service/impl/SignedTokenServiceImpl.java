@@ -0,0 +1,260 @@
+package run.halo.app.security.service.impl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+import run.halo.app.cache.AbstractStringCacheStore;
+import run.halo.app.config.properties.HaloProperties;
+import run.halo.app.exception.ServiceException;
+import run.halo.app.model.enums.AccessTokenMode;
+import run.halo.app.security.service.SignedTokenService;
+import run.halo.app.utils.HaloUtils;
+
+/**
+ * Signed access token service implementation.
+ *
+ * <p>Tokens look like {@code s1.<key id>.<user id>.<expiry>.<token id>.<signature>}, the expiry
+ * is in epoch seconds and the signature is the HMAC-SHA256 of everything before it. Every
+ * revoked token id has its own cache store entry, which expires along with the token.
+ *
+ * @author guqing
+ * @date 2022-04-11
+ */
+@Slf4j
+@Service
+public class SignedTokenServiceImpl implements SignedTokenService {
+
+    private static final String TOKEN_PREFIX = "s1.";
+
+    private static final char SEPARATOR = '.';
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final Pattern KEY_ID_PATTERN = Pattern.compile("[A-Za-z0-9_-]+");
+
+    private static final int MIN_SECRET_LENGTH = 32;
+
+    private static final String LOCAL_KEY_ID = "local";
+
+    private static final String LOCAL_KEY_FILE = "access-token-signing.key";
+
+    private static final String REVOKED_TOKEN_KEY_PREFIX = "halo.admin.revoked_access_token.";
+
+    private final AbstractStringCacheStore cacheStore;
+
+    /**
+     * Initialized macs by key id, only used as prototypes to clone.
+     */
+    private final Map<String, Mac> macs = new LinkedHashMap<>();
+
+    @Nullable
+    private final String signingKeyId;
+
+    public SignedTokenServiceImpl(HaloProperties haloProperties,
+        AbstractStringCacheStore cacheStore) {
+        this.cacheStore = cacheStore;
+
+        Map<String, String> secrets =
+            new LinkedHashMap<>(haloProperties.getAccessTokenSigningKeys());
+        // Tokens signed by the local key stay valid after switching modes or configuring keys,
+        // it is only generated when there is no other key to sign
+        boolean generate = secrets.isEmpty()
+            && AccessTokenMode.SIGNED.equals(haloProperties.getAccessTokenMode());
+        String localSecret = loadLocalSecret(haloProperties.getWorkDir(), generate);
+        if (localSecret != null) {
+            secrets.putIfAbsent(LOCAL_KEY_ID, localSecret);
+        }
+        secrets.forEach((keyId, secret) -> {
+            Assert.isTrue(KEY_ID_PATTERN.matcher(keyId).matches(),
+                "Invalid access token signing key id: " + keyId);
+            Assert.isTrue(secret != null && secret.length() >= MIN_SECRET_LENGTH,
+                "Access token signing key " + keyId + " must have at least " + MIN_SECRET_LENGTH
+                    + " characters");
+            macs.put(keyId, newMac(secret));
+        });
+
+        String keyId = haloProperties.getAccessTokenSigningKeyId();
+        if (StringUtils.isBlank(keyId)) {
+            keyId = macs.isEmpty() ? null : macs.keySet().iterator().next();
+        }
+        Assert.isTrue(keyId == null || macs.containsKey(keyId),
+            "Access token signing key " + keyId + " does not exist");
+        this.signingKeyId = keyId;
+    }
+
+    @Override
+    public boolean isSigned(String token) {
+        return token != null && token.startsWith(TOKEN_PREFIX);
+    }
+
+    @Override
+    @NonNull
+    public String sign(@NonNull Integer userId, long expiredInSeconds) {
+        Assert.notNull(userId, "User id must not be null");
+        Assert.state(signingKeyId != null, "No access token signing key");
+
+        long expiry = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis())
+            + expiredInSeconds;
+        String content = TOKEN_PREFIX + signingKeyId + SEPARATOR + userId + SEPARATOR + expiry
+            + SEPARATOR + HaloUtils.randomUUIDWithoutDash();
+        return content + SEPARATOR + Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(hmac(macs.get(signingKeyId), content));
+    }
+
+    @Override
+    @NonNull
+    public Optional<Integer> verify(@NonNull String token) {
+        Assert.hasText(token, "Access token must not be blank");
+
+        ParsedToken parsedToken = parse(token);
+        if (parsedToken == null) {
+            return Optional.empty();
+        }
+
+        // The key may be removed after rotating
+        Mac mac = macs.get(parsedToken.keyId);
+        if (mac == null || !MessageDigest.isEqual(parsedToken.signature,
+            hmac(mac, parsedToken.content))) {
+            return Optional.empty();
+        }
+        if (parsedToken.expiry <= TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis())) {
+            return Optional.empty();
+        }
+        if (cacheStore.get(buildRevokedTokenKey(parsedToken.tokenId)).isPresent()) {
+            return Optional.empty();
+        }
+        return Optional.of(parsedToken.userId);
+    }
+
+    @Override
+    public void revoke(@NonNull String token) {
+        Assert.hasText(token, "Access token must not be blank");
+
+        ParsedToken parsedToken = parse(token);
+        if (parsedToken == null) {
+            return;
+        }
+
+        long remaining =
+            parsedToken.expiry - TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        // Expired tokens are rejected anyway
+        if (remaining > 0) {
+            cacheStore.put(buildRevokedTokenKey(parsedToken.tokenId),
+                String.valueOf(parsedToken.userId), remaining, TimeUnit.SECONDS);
+        }
+    }
+
+    @NonNull
+    private static String buildRevokedTokenKey(String tokenId) {
+        return REVOKED_TOKEN_KEY_PREFIX + tokenId;
+    }
+
+    @Nullable
+    private static ParsedToken parse(String token) {
+        int signatureIndex = token.lastIndexOf(SEPARATOR);
+        if (!token.startsWith(TOKEN_PREFIX) || signatureIndex < TOKEN_PREFIX.length()) {
+            return null;
+        }
+        String content = token.substring(0, signatureIndex);
+        String[] parts =
+            StringUtils.splitPreserveAllTokens(content.substring(TOKEN_PREFIX.length()), SEPARATOR);
+        if (parts.length != 4) {
+            return null;
+        }
+        try {
+            return new ParsedToken(content, parts[0], Integer.valueOf(parts[1]),
+                Long.parseLong(parts[2]), parts[3],
+                Base64.getUrlDecoder().decode(token.substring(signatureIndex + 1)));
+        } catch (IllegalArgumentException e) {
+            // Including NumberFormatException
+            return null;
+        }
+    }
+
+    @NonNull
+    private static byte[] hmac(Mac prototype, String content) {
+        try {
+            Mac mac = (Mac) prototype.clone();
+            return mac.doFinal(content.getBytes(StandardCharsets.UTF_8));
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("Failed to clone " + ALGORITHM + " mac", e);
+        }
+    }
+
+    @NonNull
+    private static Mac newMac(String secret) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to initialize " + ALGORITHM + " mac", e);
+        }
+    }
+
+    @Nullable
+    private static String loadLocalSecret(String workDir, boolean generate) {
+        Path path = Paths.get(workDir, LOCAL_KEY_FILE);
+        try {
+            if (Files.exists(path)) {
+                return Files.readString(path).trim();
+            }
+            if (!generate) {
+                return null;
+            }
+            byte[] bytes = new byte[MIN_SECRET_LENGTH];
+            new SecureRandom().nextBytes(bytes);
+            String secret = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, secret);
+            log.info("Generated access token signing key: [{}]", path);
+            return secret;
+        } catch (IOException e) {
+            throw new ServiceException("Failed to load access token signing key: " + path, e);
+        }
+    }
+
+    private static final class ParsedToken {
+
+        private final String content;
+
+        private final String keyId;
+
+        private final Integer userId;
+
+        private final long expiry;
+
+        private final String tokenId;
+
+        private final byte[] signature;
+
+        private ParsedToken(String content, String keyId, Integer userId, long expiry,
+            String tokenId, byte[] signature) {
+            this.content = content;
+            this.keyId = keyId;
+            this.userId = userId;
+            this.expiry = expiry;
+            this.tokenId = tokenId;
+            this.signature = signature;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package run.halo.app.security.support;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.Assert;
+import run.halo.app.event.user.UserUpdatedEvent;
+import run.halo.app.model.entity.User;
+import run.halo.app.utils.BeanUtils;
+
+/**
+ * In-process cache of authenticated users by access token.
+ *
+ * <p>Entries are short-lived and bounded, so a token deleted on another node of a cluster is
+ * rejected here after {@link #EXPIRE_AFTER_WRITE} at the latest. Tokens are invalidated
+ * explicitly on logout and token refresh, and all entries are discarded once any user is
+ * updated, such as changing the password or the two-factor authentication. Every lookup returns
+ * a copy of the cached user, so it is safe to modify the user in a request.
+ *
+ * @author guqing
+ * @date 2022-04-10
+ */
+@Slf4j
+@Component
+public class UserDetailCache {
+
+    private static final long MAXIMUM_SIZE = 256;
+
+    private static final Duration EXPIRE_AFTER_WRITE = Duration.ofMinutes(1);
+
+    private final Cache<String, User> cache = CacheBuilder.newBuilder()
+        .maximumSize(MAXIMUM_SIZE)
+        .expireAfterWrite(EXPIRE_AFTER_WRITE)
+        .build();
+
+    /**
+     * Increased on every invalidation, to discard users loaded before the invalidation.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Gets the generation to pass to {@link #put(String, User, long)} before loading the user.
+     *
+     * @return current generation
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Gets the user detail of the access token.
+     *
+     * @param accessToken access token must not be blank
+     * @return an optional user detail
+     */
+    @NonNull
+    public Optional<UserDetail> get(@NonNull String accessToken) {
+        Assert.hasText(accessToken, "Access token must not be blank");
+
+        return Optional.ofNullable(cache.getIfPresent(accessToken))
+            .map(user -> new UserDetail(BeanUtils.transformFrom(user, User.class)));
+    }
+
+    /**
+     * Caches the user of the access token.
+     *
+     * @param accessToken access token must not be blank
+     * @param user user must not be null
+     * @param loadedGeneration generation got before loading the user
+     */
+    public synchronized void put(@NonNull String accessToken, @NonNull User user,
+        long loadedGeneration) {
+        Assert.hasText(accessToken, "Access token must not be blank");
+        Assert.notNull(user, "User must not be null");
+
+        User copy = BeanUtils.transformFrom(user, User.class);
+        // Do not cache users loaded while the token or the user was changing
+        if (loadedGeneration == generation.get()) {
+            cache.put(accessToken, copy);
+        }
+    }
+
+    /**
+     * Invalidates the access token.
+     *
+     * @param accessToken access token must not be blank
+     */
+    public synchronized void invalidate(@NonNull String accessToken) {
+        Assert.hasText(accessToken, "Access token must not be blank");
+
+        generation.incrementAndGet();
+        cache.invalidate(accessToken);
+    }
+
+    /**
+     * Invalidates all access tokens.
+     */
+    public synchronized void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Invalidates all access tokens after the user is committed, otherwise the old user may be
+     * loaded and cached again.
+     *
+     * @param event user updated event
+     */
+    @TransactionalEventListener(fallbackExecution = true, classes = UserUpdatedEvent.class)
+    public void onUserUpdated(UserUpdatedEvent event) {
+        invalidateAll();
+        log.debug("Invalidated cached users for updated user [{}]", event.getUserId());
+    }
+}
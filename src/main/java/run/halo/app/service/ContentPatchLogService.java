@@ -73,4 +73,24 @@ public interface ContentPatchLogService extends CrudService<ContentPatchLog, Int
      * @return deleted post content patch logs.
      */
     List<ContentPatchLog> removeByPostId(Integer postId);
+
+    /**
+     * Lists ids of posts which have more content patch logs than the given versions.
+     *
+     * @param versions versions to retain
+     * @return a list of post id
+     */
+    List<Integer> listPostIdsHavingMoreThan(int versions);
+
+    /**
+     * Permanently deletes stale content patch logs of the post.
+     *
+     * <p>The latest versions, the base version, the published version and the head version are
+     * retained.
+     *
+     * @param postId post id
+     * @param versions count of the latest versions to retain
+     * @return number of deleted records
+     */
+    int removeStaleVersions(Integer postId, int versions);
 }
@@ -3,6 +3,7 @@ package run.halo.app.service;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import run.halo.app.model.dto.JournalDTO;
@@ -11,6 +12,7 @@ import run.halo.app.model.entity.Journal;
 import run.halo.app.model.enums.JournalType;
 import run.halo.app.model.params.JournalParam;
 import run.halo.app.model.params.JournalQuery;
+import run.halo.app.model.support.CursorPage;
 import run.halo.app.service.base.CrudService;
 
 /**
@@ -57,6 +59,19 @@ public interface JournalService extends CrudService<Journal, Integer> {
     @NonNull
     Page<Journal> pageBy(@NonNull JournalQuery journalQuery, @NonNull Pageable pageable);
 
+    /**
+     * Pages journals by keyset pagination.
+     *
+     * @param journalQuery journal query must not be null
+     * @param cursor cursor of the next page, null or blank means the first page
+     * @param sort sort info must not be null
+     * @param size page size
+     * @return a cursor page of journal
+     */
+    @NonNull
+    CursorPage<Journal> pageBy(@NonNull JournalQuery journalQuery, @Nullable String cursor,
+        @NonNull Sort sort, int size);
+
     /**
      * Lists by type.
      *
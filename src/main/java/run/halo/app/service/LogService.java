@@ -1,6 +1,9 @@
 package run.halo.app.service;
 
+import java.util.Date;
+import java.util.Optional;
 import org.springframework.data.domain.Page;
+import org.springframework.lang.NonNull;
 import run.halo.app.model.dto.LogDTO;
 import run.halo.app.model.entity.Log;
 import run.halo.app.service.base.CrudService;
@@ -20,4 +23,23 @@ public interface LogService extends CrudService<Log, Long> {
      * @return a page of latest logs
      */
     Page<LogDTO> pageLatest(int top);
+
+    /**
+     * Gets the create time before which logs exceed the max rows.
+     *
+     * @param maxRows max rows to retain, must be greater than 0
+     * @return an exclusive upper bound of create time or empty if logs do not exceed the max rows
+     */
+    @NonNull
+    Optional<Date> getOverflowTime(int maxRows);
+
+    /**
+     * Removes a chunk of the oldest logs created before the given time.
+     *
+     * @param before exclusive upper bound of create time must not be null
+     * @param limit max count of logs to remove, must be greater than 0
+     * @param rollup whether to roll removed logs up into daily counts per log type
+     * @return number of removed logs
+     */
+    int removeOldest(@NonNull Date before, int limit, boolean rollup);
 }
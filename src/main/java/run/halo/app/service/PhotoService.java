@@ -5,10 +5,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import run.halo.app.model.dto.PhotoDTO;
 import run.halo.app.model.entity.Photo;
 import run.halo.app.model.params.PhotoParam;
 import run.halo.app.model.params.PhotoQuery;
+import run.halo.app.model.support.CursorPage;
 import run.halo.app.model.vo.PhotoTeamVO;
 import run.halo.app.service.base.CrudService;
 
@@ -64,6 +66,19 @@ public interface PhotoService extends CrudService<Photo, Integer> {
     @NonNull
     Page<PhotoDTO> pageDtosBy(@NonNull Pageable pageable, PhotoQuery photoQuery);
 
+    /**
+     * Pages photo output dtos by keyset pagination.
+     *
+     * @param photoQuery photo query must not be null
+     * @param cursor cursor of the next page, null or blank means the first page
+     * @param sort sort info must not be null
+     * @param size page size
+     * @return a cursor page of photo output dto
+     */
+    @NonNull
+    CursorPage<PhotoDTO> pageDtosBy(@NonNull PhotoQuery photoQuery, @Nullable String cursor,
+        @NonNull Sort sort, int size);
+
     /**
      * Creates photo by photo param.
      *
@@ -8,10 +8,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import run.halo.app.model.entity.Post;
 import run.halo.app.model.entity.PostMeta;
 import run.halo.app.model.enums.PostStatus;
 import run.halo.app.model.params.PostQuery;
+import run.halo.app.model.support.CursorPage;
 import run.halo.app.model.vo.ArchiveMonthVO;
 import run.halo.app.model.vo.ArchiveYearVO;
 import run.halo.app.model.vo.PostDetailVO;
@@ -48,6 +50,19 @@ public interface PostService extends BasePostService<Post> {
     @NonNull
     Page<Post> pageBy(@NonNull String keyword, @NonNull Pageable pageable);
 
+    /**
+     * Pages posts by keyset pagination.
+     *
+     * @param postQuery post query must not be null
+     * @param cursor cursor of the next page, null or blank means the first page
+     * @param sort sort info must not be null
+     * @param size page size
+     * @return a cursor page of post
+     */
+    @NonNull
+    CursorPage<Post> pageBy(@NonNull PostQuery postQuery, @Nullable String cursor,
+        @NonNull Sort sort, int size);
+
     /**
      * Creates post by post param.
      *
@@ -1,7 +1,5 @@
 package run.halo.app.service.assembler;
 
-import static run.halo.app.model.support.HaloConst.URL_SEPARATOR;
-
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.HashMap;
@@ -25,7 +23,6 @@ import run.halo.app.model.entity.Post;
 import run.halo.app.model.entity.PostMeta;
 import run.halo.app.model.entity.Tag;
 import run.halo.app.model.enums.CommentStatus;
-import run.halo.app.model.enums.PostPermalinkType;
 import run.halo.app.model.vo.ArchiveMonthVO;
 import run.halo.app.model.vo.ArchiveYearVO;
 import run.halo.app.model.vo.PostDetailVO;
@@ -38,6 +35,8 @@ import run.halo.app.service.PostCommentService;
 import run.halo.app.service.PostMetaService;
 import run.halo.app.service.PostTagService;
 import run.halo.app.service.TagService;
+import run.halo.app.service.support.PermalinkGenerator;
+import run.halo.app.service.support.PostArchiveIndex.Archive;
 import run.halo.app.utils.DateUtils;
 import run.halo.app.utils.ServiceUtils;
 
@@ -64,7 +63,7 @@ public class PostAssembler extends BasePostAssembler<Post> {
 
     private final ContentService contentService;
 
-    private final OptionService optionService;
+    private final PermalinkGenerator permalinkGenerator;
 
     public PostAssembler(ContentService contentService,
         OptionService optionService, PostTagService postTagService,
@@ -72,7 +71,8 @@ public class PostAssembler extends BasePostAssembler<Post> {
         PostMetaService postMetaService,
         PostCommentService postCommentService,
         TagService tagService,
-        CategoryService categoryService) {
+        CategoryService categoryService,
+        PermalinkGenerator permalinkGenerator) {
         super(contentService, optionService);
         this.postTagService = postTagService;
         this.postCategoryService = postCategoryService;
@@ -81,7 +81,7 @@ public class PostAssembler extends BasePostAssembler<Post> {
         this.tagService = tagService;
         this.categoryService = categoryService;
         this.contentService = contentService;
-        this.optionService = optionService;
+        this.permalinkGenerator = permalinkGenerator;
     }
 
     @Override
@@ -314,13 +314,15 @@ public class PostAssembler extends BasePostAssembler<Post> {
 
 
     /**
-     * Convert to year archives
+     * Groups converted posts to year archives.
      *
-     * @param posts posts must not be null
+     * @param posts post list vos must not be null
      * @return list of ArchiveYearVO
      */
-    public List<ArchiveYearVO> convertToYearArchives(List<Post> posts) {
-        Map<Integer, List<Post>> yearPostMap = new HashMap<>(8);
+    public List<ArchiveYearVO> groupToYearArchives(List<PostListVO> posts) {
+        Assert.notNull(posts, "Posts must not be null");
+
+        Map<Integer, List<PostListVO>> yearPostMap = new HashMap<>(8);
 
         posts.forEach(post -> {
             Calendar calendar = DateUtils.convertTo(post.getCreateTime());
@@ -334,7 +336,7 @@ public class PostAssembler extends BasePostAssembler<Post> {
             // Build archive
             ArchiveYearVO archive = new ArchiveYearVO();
             archive.setYear(year);
-            archive.setPosts(convertToListVo(postList));
+            archive.setPosts(postList);
 
             // Add archive
             archives.add(archive);
@@ -347,40 +349,53 @@ public class PostAssembler extends BasePostAssembler<Post> {
     }
 
     /**
-     * Convert to month archives
+     * Merges month archives to year archives.
      *
-     * @param posts posts must not be null
-     * @return list of ArchiveMonthVO
+     * @param monthArchives month archives sorted by month descending must not be null
+     * @return list of ArchiveYearVO
      */
-    public List<ArchiveMonthVO> convertToMonthArchives(List<Post> posts) {
-
-        Map<Integer, Map<Integer, List<Post>>> yearMonthPostMap = new HashMap<>(8);
+    public List<ArchiveYearVO> mergeToYearArchives(List<ArchiveMonthVO> monthArchives) {
+        Assert.notNull(monthArchives, "Month archives must not be null");
 
-        posts.forEach(post -> {
-            Calendar calendar = DateUtils.convertTo(post.getCreateTime());
-
-            yearMonthPostMap.computeIfAbsent(calendar.get(Calendar.YEAR), year -> new HashMap<>())
-                .computeIfAbsent(calendar.get(Calendar.MONTH) + 1,
-                    month -> new LinkedList<>())
-                .add(post);
-        });
-
-        List<ArchiveMonthVO> archives = new LinkedList<>();
-
-        yearMonthPostMap.forEach((year, monthPostMap) ->
-            monthPostMap.forEach((month, postList) -> {
-                ArchiveMonthVO archive = new ArchiveMonthVO();
-                archive.setYear(year);
-                archive.setMonth(month);
-                archive.setPosts(convertToListVo(postList));
-
-                archives.add(archive);
-            }));
+        List<ArchiveYearVO> archives = new LinkedList<>();
+        ArchiveYearVO yearArchive = null;
+        for (ArchiveMonthVO monthArchive : monthArchives) {
+            if (yearArchive == null || !yearArchive.getYear().equals(monthArchive.getYear())) {
+                yearArchive = new ArchiveYearVO();
+                yearArchive.setYear(monthArchive.getYear());
+                yearArchive.setPosts(new LinkedList<>());
+                archives.add(yearArchive);
+            }
+            yearArchive.getPosts().addAll(monthArchive.getPosts());
+        }
+        return archives;
+    }
 
-        // Sort this list
-        archives.sort(new ArchiveMonthVO.ArchiveComparator());
+    /**
+     * Converts materialized archives to month archives.
+     *
+     * @param archives month archives must not be null
+     * @param postMap post list vo map (key: post id)
+     * @return list of ArchiveMonthVO
+     */
+    public List<ArchiveMonthVO> convertToMonthArchives(List<Archive> archives,
+        Map<Integer, PostListVO> postMap) {
+        Assert.notNull(archives, "Archives must not be null");
+
+        return archives.stream().map(archive -> {
+            ArchiveMonthVO archiveMonthVO = new ArchiveMonthVO();
+            archiveMonthVO.setYear(archive.getYear());
+            archiveMonthVO.setMonth(archive.getMonth());
+            archiveMonthVO.setPosts(getPosts(archive, postMap));
+            return archiveMonthVO;
+        }).collect(Collectors.toList());
+    }
 
-        return archives;
+    private List<PostListVO> getPosts(Archive archive, Map<Integer, PostListVO> postMap) {
+        return archive.getPostIds().stream()
+            .map(postMap::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
     }
 
     /**
@@ -390,64 +405,6 @@ public class PostAssembler extends BasePostAssembler<Post> {
      * @return full patch to access.
      */
     public String buildFullPath(Post post) {
-
-        PostPermalinkType permalinkType = optionService.getPostPermalinkType();
-
-        String pathSuffix = optionService.getPathSuffix();
-
-        String archivesPrefix = optionService.getArchivesPrefix();
-
-        int month = DateUtils.month(post.getCreateTime()) + 1;
-
-        String monthString = month < 10 ? "0" + month : String.valueOf(month);
-
-        int day = DateUtils.dayOfMonth(post.getCreateTime());
-
-        String dayString = day < 10 ? "0" + day : String.valueOf(day);
-
-        StringBuilder fullPath = new StringBuilder();
-
-        if (optionService.isEnabledAbsolutePath()) {
-            fullPath.append(optionService.getBlogBaseUrl());
-        }
-
-        fullPath.append(URL_SEPARATOR);
-
-        if (permalinkType.equals(PostPermalinkType.DEFAULT)) {
-            fullPath.append(archivesPrefix)
-                .append(URL_SEPARATOR)
-                .append(post.getSlug())
-                .append(pathSuffix);
-        } else if (permalinkType.equals(PostPermalinkType.ID)) {
-            fullPath.append("?p=")
-                .append(post.getId());
-        } else if (permalinkType.equals(PostPermalinkType.DATE)) {
-            fullPath.append(DateUtils.year(post.getCreateTime()))
-                .append(URL_SEPARATOR)
-                .append(monthString)
-                .append(URL_SEPARATOR)
-                .append(post.getSlug())
-                .append(pathSuffix);
-        } else if (permalinkType.equals(PostPermalinkType.DAY)) {
-            fullPath.append(DateUtils.year(post.getCreateTime()))
-                .append(URL_SEPARATOR)
-                .append(monthString)
-                .append(URL_SEPARATOR)
-                .append(dayString)
-                .append(URL_SEPARATOR)
-                .append(post.getSlug())
-                .append(pathSuffix);
-        } else if (permalinkType.equals(PostPermalinkType.YEAR)) {
-            fullPath.append(DateUtils.year(post.getCreateTime()))
-                .append(URL_SEPARATOR)
-                .append(post.getSlug())
-                .append(pathSuffix);
-        } else if (permalinkType.equals(PostPermalinkType.ID_SLUG)) {
-            fullPath.append(archivesPrefix)
-                .append(URL_SEPARATOR)
-                .append(post.getId())
-                .append(pathSuffix);
-        }
-        return fullPath.toString();
+        return permalinkGenerator.buildPostFullPath(post);
     }
 }
@@ -16,6 +16,7 @@ import run.halo.app.service.PostCommentService;
 import run.halo.app.service.PostMetaService;
 import run.halo.app.service.PostTagService;
 import run.halo.app.service.TagService;
+import run.halo.app.service.support.PermalinkGenerator;
 
 /**
  * Post assembler for theme render.
@@ -37,9 +38,10 @@ public class PostRenderAssembler extends PostAssembler {
         PostCommentService postCommentService,
         TagService tagService,
         CategoryService categoryService,
+        PermalinkGenerator permalinkGenerator,
         ContentPatchLogService contentPatchLogService) {
         super(contentService, optionService, postTagService, postCategoryService, postMetaService,
-            postCommentService, tagService, categoryService);
+            postCommentService, tagService, categoryService, permalinkGenerator);
         this.contentService = contentService;
         this.contentPatchLogService = contentPatchLogService;
     }
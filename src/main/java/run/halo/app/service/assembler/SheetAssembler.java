@@ -1,7 +1,5 @@
 package run.halo.app.service.assembler;
 
-import static run.halo.app.model.support.HaloConst.URL_SEPARATOR;
-
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -17,13 +15,13 @@ import run.halo.app.model.entity.Content.PatchedContent;
 import run.halo.app.model.entity.Sheet;
 import run.halo.app.model.entity.SheetMeta;
 import run.halo.app.model.enums.CommentStatus;
-import run.halo.app.model.enums.SheetPermalinkType;
 import run.halo.app.model.vo.SheetDetailVO;
 import run.halo.app.model.vo.SheetListVO;
 import run.halo.app.service.ContentService;
 import run.halo.app.service.OptionService;
 import run.halo.app.service.SheetCommentService;
 import run.halo.app.service.SheetMetaService;
+import run.halo.app.service.support.PermalinkGenerator;
 import run.halo.app.utils.ServiceUtils;
 
 /**
@@ -41,17 +39,18 @@ public class SheetAssembler extends BasePostAssembler<Sheet> {
 
     private final SheetMetaService sheetMetaService;
 
-    private final OptionService optionService;
+    private final PermalinkGenerator permalinkGenerator;
 
     public SheetAssembler(SheetCommentService sheetCommentService,
         ContentService contentService,
         SheetMetaService sheetMetaService,
-        OptionService optionService) {
+        OptionService optionService,
+        PermalinkGenerator permalinkGenerator) {
         super(contentService, optionService);
         this.sheetCommentService = sheetCommentService;
         this.contentService = contentService;
         this.sheetMetaService = sheetMetaService;
-        this.optionService = optionService;
+        this.permalinkGenerator = permalinkGenerator;
     }
 
     /**
@@ -160,26 +159,6 @@ public class SheetAssembler extends BasePostAssembler<Sheet> {
      * @return a full path to access.
      */
     private String buildFullPath(Sheet sheet) {
-        StringBuilder fullPath = new StringBuilder();
-
-        SheetPermalinkType permalinkType = optionService.getSheetPermalinkType();
-
-        if (optionService.isEnabledAbsolutePath()) {
-            fullPath.append(optionService.getBlogBaseUrl());
-        }
-
-        if (permalinkType.equals(SheetPermalinkType.SECONDARY)) {
-            fullPath.append(URL_SEPARATOR)
-                .append(optionService.getSheetPrefix())
-                .append(URL_SEPARATOR)
-                .append(sheet.getSlug())
-                .append(optionService.getPathSuffix());
-        } else if (permalinkType.equals(SheetPermalinkType.ROOT)) {
-            fullPath.append(URL_SEPARATOR)
-                .append(sheet.getSlug())
-                .append(optionService.getPathSuffix());
-        }
-
-        return fullPath.toString();
+        return permalinkGenerator.buildSheetFullPath(sheet);
     }
 }
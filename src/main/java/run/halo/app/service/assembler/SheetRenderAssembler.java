@@ -12,6 +12,7 @@ import run.halo.app.service.ContentService;
 import run.halo.app.service.OptionService;
 import run.halo.app.service.SheetCommentService;
 import run.halo.app.service.SheetMetaService;
+import run.halo.app.service.support.PermalinkGenerator;
 
 /**
  * Sheet assembler for theme render.
@@ -30,8 +31,10 @@ public class SheetRenderAssembler extends SheetAssembler {
         ContentService contentService,
         SheetMetaService sheetMetaService,
         OptionService optionService,
+        PermalinkGenerator permalinkGenerator,
         ContentPatchLogService contentPatchLogService) {
-        super(sheetCommentService, contentService, sheetMetaService, optionService);
+        super(sheetCommentService, contentService, sheetMetaService, optionService,
+            permalinkGenerator);
         this.sheetMetaService = sheetMetaService;
         this.contentService = contentService;
         this.contentPatchLogService = contentPatchLogService;
@@ -1,7 +1,5 @@
 package run.halo.app.service.assembler.comment;
 
-import static run.halo.app.model.support.HaloConst.URL_SEPARATOR;
-
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -16,11 +14,10 @@ import org.springframework.util.CollectionUtils;
 import run.halo.app.model.dto.post.BasePostMinimalDTO;
 import run.halo.app.model.entity.Post;
 import run.halo.app.model.entity.PostComment;
-import run.halo.app.model.enums.PostPermalinkType;
 import run.halo.app.model.vo.PostCommentWithPostVO;
 import run.halo.app.repository.PostRepository;
 import run.halo.app.service.OptionService;
-import run.halo.app.utils.DateUtils;
+import run.halo.app.service.support.PermalinkGenerator;
 import run.halo.app.utils.ServiceUtils;
 
 /**
@@ -32,15 +29,16 @@ import run.halo.app.utils.ServiceUtils;
 @Component
 public class PostCommentAssembler extends BaseCommentAssembler<PostComment> {
 
-    private final OptionService optionService;
-
     private final PostRepository postRepository;
 
+    private final PermalinkGenerator permalinkGenerator;
+
     public PostCommentAssembler(OptionService optionService,
-        PostRepository postRepository) {
+        PostRepository postRepository,
+        PermalinkGenerator permalinkGenerator) {
         super(optionService);
         this.postRepository = postRepository;
-        this.optionService = optionService;
+        this.permalinkGenerator = permalinkGenerator;
     }
 
 
@@ -70,10 +68,8 @@ public class PostCommentAssembler extends BaseCommentAssembler<PostComment> {
         PostCommentWithPostVO postCommentWithPostVo =
             new PostCommentWithPostVO().convertFrom(comment);
 
-        BasePostMinimalDTO basePostMinimalDto =
-            new BasePostMinimalDTO().convertFrom(postRepository.getById(comment.getPostId()));
-
-        postCommentWithPostVo.setPost(buildPostFullPath(basePostMinimalDto));
+        postCommentWithPostVo.setPost(
+            convertToMinimal(postRepository.getById(comment.getPostId())));
 
         postCommentWithPostVo.setAvatar(buildAvatarUrl(comment.getGravatarMd5()));
 
@@ -106,10 +102,7 @@ public class PostCommentAssembler extends BaseCommentAssembler<PostComment> {
                 PostCommentWithPostVO postCommentWithPostVo =
                     new PostCommentWithPostVO().convertFrom(comment);
 
-                BasePostMinimalDTO basePostMinimalDto =
-                    new BasePostMinimalDTO().convertFrom(postMap.get(comment.getPostId()));
-
-                postCommentWithPostVo.setPost(buildPostFullPath(basePostMinimalDto));
+                postCommentWithPostVo.setPost(convertToMinimal(postMap.get(comment.getPostId())));
 
                 postCommentWithPostVo.setAvatar(buildAvatarUrl(comment.getGravatarMd5()));
 
@@ -117,67 +110,9 @@ public class PostCommentAssembler extends BaseCommentAssembler<PostComment> {
             }).collect(Collectors.toList());
     }
 
-    private BasePostMinimalDTO buildPostFullPath(BasePostMinimalDTO post) {
-        PostPermalinkType permalinkType = optionService.getPostPermalinkType();
-
-        String pathSuffix = optionService.getPathSuffix();
-
-        String archivesPrefix = optionService.getArchivesPrefix();
-
-        int month = DateUtils.month(post.getCreateTime()) + 1;
-
-        String monthString = month < 10 ? "0" + month : String.valueOf(month);
-
-        int day = DateUtils.dayOfMonth(post.getCreateTime());
-
-        String dayString = day < 10 ? "0" + day : String.valueOf(day);
-
-        StringBuilder fullPath = new StringBuilder();
-
-        if (optionService.isEnabledAbsolutePath()) {
-            fullPath.append(optionService.getBlogBaseUrl());
-        }
-
-        fullPath.append(URL_SEPARATOR);
-
-        if (permalinkType.equals(PostPermalinkType.DEFAULT)) {
-            fullPath.append(archivesPrefix)
-                .append(URL_SEPARATOR)
-                .append(post.getSlug())
-                .append(pathSuffix);
-        } else if (permalinkType.equals(PostPermalinkType.ID)) {
-            fullPath.append("?p=")
-                .append(post.getId());
-        } else if (permalinkType.equals(PostPermalinkType.DATE)) {
-            fullPath.append(DateUtils.year(post.getCreateTime()))
-                .append(URL_SEPARATOR)
-                .append(monthString)
-                .append(URL_SEPARATOR)
-                .append(post.getSlug())
-                .append(pathSuffix);
-        } else if (permalinkType.equals(PostPermalinkType.DAY)) {
-            fullPath.append(DateUtils.year(post.getCreateTime()))
-                .append(URL_SEPARATOR)
-                .append(monthString)
-                .append(URL_SEPARATOR)
-                .append(dayString)
-                .append(URL_SEPARATOR)
-                .append(post.getSlug())
-                .append(pathSuffix);
-        } else if (permalinkType.equals(PostPermalinkType.YEAR)) {
-            fullPath.append(DateUtils.year(post.getCreateTime()))
-                .append(URL_SEPARATOR)
-                .append(post.getSlug())
-                .append(pathSuffix);
-        } else if (permalinkType.equals(PostPermalinkType.ID_SLUG)) {
-            fullPath.append(archivesPrefix)
-                .append(URL_SEPARATOR)
-                .append(post.getId())
-                .append(pathSuffix);
-        }
-
-        post.setFullPath(fullPath.toString());
-
-        return post;
+    private BasePostMinimalDTO convertToMinimal(Post post) {
+        BasePostMinimalDTO basePostMinimalDto = new BasePostMinimalDTO().convertFrom(post);
+        basePostMinimalDto.setFullPath(permalinkGenerator.buildPostFullPath(post));
+        return basePostMinimalDto;
     }
 }
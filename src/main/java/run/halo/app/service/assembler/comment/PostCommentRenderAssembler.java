@@ -13,6 +13,7 @@ import run.halo.app.model.vo.BaseCommentVO;
 import run.halo.app.model.vo.PostCommentWithPostVO;
 import run.halo.app.repository.PostRepository;
 import run.halo.app.service.OptionService;
+import run.halo.app.service.support.PermalinkGenerator;
 
 /**
  * Post comment assembler for theme render.
@@ -24,8 +25,9 @@ import run.halo.app.service.OptionService;
 public class PostCommentRenderAssembler extends PostCommentAssembler {
 
     public PostCommentRenderAssembler(OptionService optionService,
-        PostRepository postRepository) {
-        super(optionService, postRepository);
+        PostRepository postRepository,
+        PermalinkGenerator permalinkGenerator) {
+        super(optionService, postRepository, permalinkGenerator);
     }
 
     @NonNull
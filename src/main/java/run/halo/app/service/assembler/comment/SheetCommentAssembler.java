@@ -1,7 +1,5 @@
 package run.halo.app.service.assembler.comment;
 
-import static run.halo.app.model.support.HaloConst.URL_SEPARATOR;
-
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -16,10 +14,10 @@ import org.springframework.util.CollectionUtils;
 import run.halo.app.model.dto.post.BasePostMinimalDTO;
 import run.halo.app.model.entity.Sheet;
 import run.halo.app.model.entity.SheetComment;
-import run.halo.app.model.enums.SheetPermalinkType;
 import run.halo.app.model.vo.SheetCommentWithSheetVO;
 import run.halo.app.repository.SheetRepository;
 import run.halo.app.service.OptionService;
+import run.halo.app.service.support.PermalinkGenerator;
 import run.halo.app.utils.ServiceUtils;
 
 /**
@@ -33,13 +31,14 @@ public class SheetCommentAssembler extends BaseCommentAssembler<SheetComment> {
 
     private final SheetRepository sheetRepository;
 
-    private final OptionService optionService;
+    private final PermalinkGenerator permalinkGenerator;
 
     public SheetCommentAssembler(OptionService optionService,
-        SheetRepository sheetRepository) {
+        SheetRepository sheetRepository,
+        PermalinkGenerator permalinkGenerator) {
         super(optionService);
         this.sheetRepository = sheetRepository;
-        this.optionService = optionService;
+        this.permalinkGenerator = permalinkGenerator;
     }
 
     /**
@@ -54,10 +53,8 @@ public class SheetCommentAssembler extends BaseCommentAssembler<SheetComment> {
         SheetCommentWithSheetVO sheetCommentWithSheetVo =
             new SheetCommentWithSheetVO().convertFrom(comment);
 
-        BasePostMinimalDTO basePostMinimalDto =
-            new BasePostMinimalDTO().convertFrom(sheetRepository.getOne(comment.getPostId()));
-
-        sheetCommentWithSheetVo.setSheet(buildSheetFullPath(basePostMinimalDto));
+        sheetCommentWithSheetVo.setSheet(
+            convertToMinimal(sheetRepository.getOne(comment.getPostId())));
 
         sheetCommentWithSheetVo.setAvatar(buildAvatarUrl(comment.getGravatarMd5()));
 
@@ -87,10 +84,7 @@ public class SheetCommentAssembler extends BaseCommentAssembler<SheetComment> {
                 SheetCommentWithSheetVO sheetCmtWithPostVo =
                     new SheetCommentWithSheetVO().convertFrom(comment);
 
-                BasePostMinimalDTO postMinimalDto =
-                    new BasePostMinimalDTO().convertFrom(sheetMap.get(comment.getPostId()));
-
-                sheetCmtWithPostVo.setSheet(buildSheetFullPath(postMinimalDto));
+                sheetCmtWithPostVo.setSheet(convertToMinimal(sheetMap.get(comment.getPostId())));
 
                 sheetCmtWithPostVo.setAvatar(buildAvatarUrl(comment.getGravatarMd5()));
 
@@ -114,28 +108,9 @@ public class SheetCommentAssembler extends BaseCommentAssembler<SheetComment> {
             sheetCommentPage.getPageable(), sheetCommentPage.getTotalElements());
     }
 
-    private BasePostMinimalDTO buildSheetFullPath(BasePostMinimalDTO basePostMinimalDto) {
-        StringBuilder fullPath = new StringBuilder();
-
-        SheetPermalinkType permalinkType = optionService.getSheetPermalinkType();
-
-        if (optionService.isEnabledAbsolutePath()) {
-            fullPath.append(optionService.getBlogBaseUrl());
-        }
-
-        if (permalinkType.equals(SheetPermalinkType.SECONDARY)) {
-            fullPath.append(URL_SEPARATOR)
-                .append(optionService.getSheetPrefix())
-                .append(URL_SEPARATOR)
-                .append(basePostMinimalDto.getSlug())
-                .append(optionService.getPathSuffix());
-        } else if (permalinkType.equals(SheetPermalinkType.ROOT)) {
-            fullPath.append(URL_SEPARATOR)
-                .append(basePostMinimalDto.getSlug())
-                .append(optionService.getPathSuffix());
-        }
-
-        basePostMinimalDto.setFullPath(fullPath.toString());
+    private BasePostMinimalDTO convertToMinimal(Sheet sheet) {
+        BasePostMinimalDTO basePostMinimalDto = new BasePostMinimalDTO().convertFrom(sheet);
+        basePostMinimalDto.setFullPath(permalinkGenerator.buildSheetFullPath(sheet));
         return basePostMinimalDto;
     }
 }
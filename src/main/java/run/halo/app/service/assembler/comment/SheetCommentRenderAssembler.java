@@ -13,6 +13,7 @@ import run.halo.app.model.vo.BaseCommentVO;
 import run.halo.app.model.vo.SheetCommentWithSheetVO;
 import run.halo.app.repository.SheetRepository;
 import run.halo.app.service.OptionService;
+import run.halo.app.service.support.PermalinkGenerator;
 
 /**
  * Sheet comment assembler for theme render.
@@ -24,8 +25,9 @@ import run.halo.app.service.OptionService;
 public class SheetCommentRenderAssembler extends SheetCommentAssembler {
 
     public SheetCommentRenderAssembler(OptionService optionService,
-        SheetRepository sheetRepository) {
-        super(optionService, sheetRepository);
+        SheetRepository sheetRepository,
+        PermalinkGenerator permalinkGenerator) {
+        super(optionService, sheetRepository, permalinkGenerator);
     }
 
     @NonNull
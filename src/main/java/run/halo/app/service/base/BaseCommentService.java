@@ -12,6 +12,7 @@ import run.halo.app.model.entity.BaseComment;
 import run.halo.app.model.enums.CommentStatus;
 import run.halo.app.model.params.BaseCommentParam;
 import run.halo.app.model.params.CommentQuery;
+import run.halo.app.model.support.CursorPage;
 import run.halo.app.model.vo.BaseCommentVO;
 import run.halo.app.model.vo.BaseCommentWithParentVO;
 import run.halo.app.model.vo.CommentWithHasChildrenVO;
@@ -225,6 +226,20 @@ public interface BaseCommentService<COMMENT extends BaseComment>
     Page<CommentWithHasChildrenVO> pageTopCommentsBy(@NonNull Integer targetId,
         @NonNull CommentStatus status, @NonNull Pageable pageable);
 
+    /**
+     * Lists a page of top comment by keyset pagination.
+     *
+     * @param targetId target id must not be null
+     * @param status comment status must not be null
+     * @param cursor cursor of the next page, null or blank means the first page
+     * @param sort sort info must not be null
+     * @param size page size
+     * @return a cursor page of top comment
+     */
+    @NonNull
+    CursorPage<CommentWithHasChildrenVO> pageTopCommentsBy(@NonNull Integer targetId,
+        @NonNull CommentStatus status, @Nullable String cursor, @NonNull Sort sort, int size);
+
     /**
      * Lists children comments.
      *
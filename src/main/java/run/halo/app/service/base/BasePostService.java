@@ -182,6 +182,17 @@ public interface BasePostService<POST extends BasePost> extends CrudService<POST
     @NonNull
     Page<POST> pageBy(@NonNull PostStatus status, @NonNull Pageable pageable);
 
+    /**
+     * Lists by status with a known total, without counting posts again.
+     *
+     * @param status post status must not be null
+     * @param pageable page info must not be null
+     * @param total total posts of the status, such as a cached counter
+     * @return a page of post
+     */
+    @NonNull
+    Page<POST> pageBy(@NonNull PostStatus status, @NonNull Pageable pageable, long total);
+
     /**
      * Increases post visits.
      *
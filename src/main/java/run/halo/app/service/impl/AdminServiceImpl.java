@@ -28,6 +28,7 @@ import run.halo.app.mail.MailService;
 import run.halo.app.model.dto.EnvironmentDTO;
 import run.halo.app.model.dto.LoginPreCheckDTO;
 import run.halo.app.model.entity.User;
+import run.halo.app.model.enums.AccessTokenMode;
 import run.halo.app.model.enums.LogType;
 import run.halo.app.model.enums.MFAType;
 import run.halo.app.model.params.LoginParam;
@@ -37,6 +38,8 @@ import run.halo.app.model.properties.EmailProperties;
 import run.halo.app.model.support.HaloConst;
 import run.halo.app.security.authentication.Authentication;
 import run.halo.app.security.context.SecurityContextHolder;
+import run.halo.app.security.service.SignedTokenService;
+import run.halo.app.security.support.UserDetailCache;
 import run.halo.app.security.token.AuthToken;
 import run.halo.app.security.util.SecurityUtils;
 import run.halo.app.service.AdminService;
@@ -69,19 +72,27 @@ public class AdminServiceImpl implements AdminService {
 
     private final ApplicationEventPublisher eventPublisher;
 
+    private final UserDetailCache userDetailCache;
+
+    private final SignedTokenService signedTokenService;
+
     public AdminServiceImpl(
         OptionService optionService,
         UserService userService,
         MailService mailService,
         AbstractStringCacheStore cacheStore,
         HaloProperties haloProperties,
-        ApplicationEventPublisher eventPublisher) {
+        ApplicationEventPublisher eventPublisher,
+        UserDetailCache userDetailCache,
+        SignedTokenService signedTokenService) {
         this.optionService = optionService;
         this.userService = userService;
         this.mailService = mailService;
         this.cacheStore = cacheStore;
         this.haloProperties = haloProperties;
         this.eventPublisher = eventPublisher;
+        this.userDetailCache = userDetailCache;
+        this.signedTokenService = signedTokenService;
     }
 
 
@@ -167,7 +178,7 @@ public class AdminServiceImpl implements AdminService {
         cacheStore.getAny(SecurityUtils.buildAccessTokenKey(user), String.class)
             .ifPresent(accessToken -> {
                 // Delete token
-                cacheStore.delete(SecurityUtils.buildTokenAccessKey(accessToken));
+                revokeAccessToken(accessToken);
                 cacheStore.delete(SecurityUtils.buildAccessTokenKey(user));
             });
 
@@ -280,8 +291,7 @@ public class AdminServiceImpl implements AdminService {
 
         // Remove all token
         cacheStore.getAny(SecurityUtils.buildAccessTokenKey(user), String.class)
-            .ifPresent(
-                accessToken -> cacheStore.delete(SecurityUtils.buildTokenAccessKey(accessToken)));
+            .ifPresent(this::revokeAccessToken);
         cacheStore.delete(SecurityUtils.buildTokenRefreshKey(refreshToken));
         cacheStore.delete(SecurityUtils.buildAccessTokenKey(user));
         cacheStore.delete(SecurityUtils.buildRefreshTokenKey(user));
@@ -289,6 +299,24 @@ public class AdminServiceImpl implements AdminService {
         return buildAuthToken(user);
     }
 
+    /**
+     * Revokes the access token of either mode.
+     *
+     * <p>The token is revoked in the store before the cached user is invalidated. Otherwise a
+     * request in between may still find the token in the store and cache it again with the new
+     * generation of the user detail cache.
+     *
+     * @param accessToken access token must not be blank
+     */
+    private void revokeAccessToken(@NonNull String accessToken) {
+        if (signedTokenService.isSigned(accessToken)) {
+            signedTokenService.revoke(accessToken);
+        } else {
+            cacheStore.delete(SecurityUtils.buildTokenAccessKey(accessToken));
+        }
+        userDetailCache.invalidate(accessToken);
+    }
+
     /**
      * Builds authentication token.
      *
@@ -302,7 +330,12 @@ public class AdminServiceImpl implements AdminService {
         // Generate new token
         AuthToken token = new AuthToken();
 
-        token.setAccessToken(HaloUtils.randomUUIDWithoutDash());
+        if (AccessTokenMode.SIGNED.equals(haloProperties.getAccessTokenMode())) {
+            token.setAccessToken(
+                signedTokenService.sign(user.getId(), ACCESS_TOKEN_EXPIRED_SECONDS));
+        } else {
+            token.setAccessToken(HaloUtils.randomUUIDWithoutDash());
+        }
         token.setExpiredIn(ACCESS_TOKEN_EXPIRED_SECONDS);
         token.setRefreshToken(HaloUtils.randomUUIDWithoutDash());
 
@@ -312,9 +345,11 @@ public class AdminServiceImpl implements AdminService {
         cacheStore.putAny(SecurityUtils.buildRefreshTokenKey(user), token.getRefreshToken(),
             REFRESH_TOKEN_EXPIRED_DAYS, TimeUnit.DAYS);
 
-        // Cache those tokens with user id
-        cacheStore.putAny(SecurityUtils.buildTokenAccessKey(token.getAccessToken()), user.getId(),
-            ACCESS_TOKEN_EXPIRED_SECONDS, TimeUnit.SECONDS);
+        // Cache those tokens with user id, signed access tokens carry the user id themselves
+        if (!signedTokenService.isSigned(token.getAccessToken())) {
+            cacheStore.putAny(SecurityUtils.buildTokenAccessKey(token.getAccessToken()),
+                user.getId(), ACCESS_TOKEN_EXPIRED_SECONDS, TimeUnit.SECONDS);
+        }
         cacheStore.putAny(SecurityUtils.buildTokenRefreshKey(token.getRefreshToken()), user.getId(),
             REFRESH_TOKEN_EXPIRED_DAYS, TimeUnit.DAYS);
 
@@ -45,6 +45,7 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.web.multipart.MultipartFile;
 import run.halo.app.config.properties.HaloProperties;
 import run.halo.app.event.options.OptionUpdatedEvent;
+import run.halo.app.event.post.PostBatchUpdatedEvent;
 import run.halo.app.event.theme.ThemeUpdatedEvent;
 import run.halo.app.exception.BadRequestException;
 import run.halo.app.exception.NotFoundException;
@@ -598,6 +599,8 @@ public class BackupServiceImpl implements BackupService {
 
         eventPublisher.publishEvent(new ThemeUpdatedEvent(this));
 
+        eventPublisher.publishEvent(new PostBatchUpdatedEvent(this));
+
         List<User> users = Arrays.asList(mapper
             .readValue(mapper.writeValueAsString(data.get("user")),
                 User[].class));
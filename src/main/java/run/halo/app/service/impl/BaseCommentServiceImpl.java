@@ -20,6 +20,7 @@ import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
@@ -31,6 +32,7 @@ import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import run.halo.app.event.comment.CommentNewEvent;
 import run.halo.app.event.comment.CommentReplyEvent;
+import run.halo.app.event.comment.CommentUpdatedEvent;
 import run.halo.app.exception.BadRequestException;
 import run.halo.app.exception.NotFoundException;
 import run.halo.app.model.entity.BaseComment;
@@ -42,6 +44,7 @@ import run.halo.app.model.projection.CommentChildrenCountProjection;
 import run.halo.app.model.projection.CommentCountProjection;
 import run.halo.app.model.properties.BlogProperties;
 import run.halo.app.model.properties.CommentProperties;
+import run.halo.app.model.support.CursorPage;
 import run.halo.app.model.vo.BaseCommentVO;
 import run.halo.app.model.vo.BaseCommentWithParentVO;
 import run.halo.app.model.vo.CommentWithHasChildrenVO;
@@ -333,6 +336,7 @@ public abstract class BaseCommentServiceImpl<COMMENT extends BaseComment>
             // Reply comment
             eventPublisher.publishEvent(new CommentReplyEvent(this, createdComment.getId()));
         }
+        eventPublisher.publishEvent(new CommentUpdatedEvent(this, createdComment.getId()));
 
         return createdComment;
     }
@@ -388,6 +392,15 @@ public abstract class BaseCommentServiceImpl<COMMENT extends BaseComment>
         return update(comment);
     }
 
+    @Override
+    @NonNull
+    @Transactional(rollbackFor = Exception.class)
+    public COMMENT update(@NonNull COMMENT comment) {
+        COMMENT updatedComment = super.update(comment);
+        eventPublisher.publishEvent(new CommentUpdatedEvent(this, updatedComment.getId()));
+        return updatedComment;
+    }
+
     @Override
     @NonNull
     @Transactional(rollbackFor = Exception.class)
@@ -425,7 +438,9 @@ public abstract class BaseCommentServiceImpl<COMMENT extends BaseComment>
             });
         }
 
-        return super.removeById(id);
+        COMMENT deletedComment = super.removeById(id);
+        eventPublisher.publishEvent(new CommentUpdatedEvent(this, id));
+        return deletedComment;
     }
 
     @Override
@@ -483,9 +498,38 @@ public abstract class BaseCommentServiceImpl<COMMENT extends BaseComment>
             return ServiceUtils.buildEmptyPageImpl(topCommentPage);
         }
 
+        // Convert to comment with has children vo
+        return new PageImpl<>(convertToHasChildrenVo(topCommentPage.getContent()),
+            topCommentPage.getPageable(), topCommentPage.getTotalElements());
+    }
+
+    @Override
+    @NonNull
+    public CursorPage<CommentWithHasChildrenVO> pageTopCommentsBy(@NonNull Integer targetId,
+        @NonNull CommentStatus status, @Nullable String cursor, @NonNull Sort sort, int size) {
+        Assert.notNull(targetId, "Target id must not be null");
+        Assert.notNull(status, "Comment status must not be null");
+        Assert.notNull(sort, "Sort info must not be null");
+
+        Specification<COMMENT> topCommentSpec = (root, query, criteriaBuilder) ->
+            criteriaBuilder.and(criteriaBuilder.equal(root.get("postId"), targetId),
+                criteriaBuilder.equal(root.get("status"), status),
+                criteriaBuilder.equal(root.get("parentId"), 0L));
+        CursorPage<COMMENT> topCommentPage =
+            baseCommentRepository.findAllAfter(topCommentSpec, cursor, sort, size);
+
+        return topCommentPage.withContent(convertToHasChildrenVo(topCommentPage.getContent()));
+    }
+
+    @NonNull
+    private List<CommentWithHasChildrenVO> convertToHasChildrenVo(
+        @NonNull List<COMMENT> topComments) {
+        if (CollectionUtils.isEmpty(topComments)) {
+            return Collections.emptyList();
+        }
+
         // Get top comment ids
-        Set<Long> topCommentIds =
-            ServiceUtils.fetchProperty(topCommentPage.getContent(), BaseComment::getId);
+        Set<Long> topCommentIds = ServiceUtils.fetchProperty(topComments, BaseComment::getId);
 
         // Get direct children count
         List<CommentChildrenCountProjection> directChildrenCount =
@@ -497,14 +541,14 @@ public abstract class BaseCommentServiceImpl<COMMENT extends BaseComment>
                 CommentChildrenCountProjection::getDirectChildrenCount);
 
         // Convert to comment with has children vo
-        return topCommentPage.map(topComment -> {
+        return topComments.stream().map(topComment -> {
             CommentWithHasChildrenVO comment =
                 new CommentWithHasChildrenVO().convertFrom(topComment);
             comment
                 .setHasChildren(commentChildrenCountMap.getOrDefault(topComment.getId(), 0L) > 0);
             comment.setAvatar(commentAssembler.buildAvatarUrl(topComment.getGravatarMd5()));
             return comment;
-        });
+        }).collect(Collectors.toList());
     }
 
     @Override
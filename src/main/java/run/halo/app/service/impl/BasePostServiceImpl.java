@@ -12,8 +12,10 @@ import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
@@ -246,6 +248,15 @@ public abstract class BasePostServiceImpl<POST extends BasePost>
         return basePostRepository.findAllByStatus(status, pageable);
     }
 
+    @Override
+    public Page<POST> pageBy(PostStatus status, Pageable pageable, long total) {
+        Assert.notNull(status, "Post status must not be null");
+        Assert.notNull(pageable, "Page info must not be null");
+
+        Slice<POST> postSlice = basePostRepository.findSliceByStatus(status, pageable);
+        return new PageImpl<>(postSlice.getContent(), pageable, total);
+    }
+
     @Override
     @Transactional
     public void increaseVisit(long visits, Integer postId) {
@@ -1,8 +1,11 @@
 package run.halo.app.service.impl;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.springframework.data.domain.Example;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
@@ -259,4 +262,38 @@ public class ContentPatchLogServiceImpl extends AbstractCrudService<ContentPatch
         contentPatchLogRepository.deleteAllInBatch(patchLogsToDelete);
         return patchLogsToDelete;
     }
+
+    @Override
+    public List<Integer> listPostIdsHavingMoreThan(int versions) {
+        Assert.isTrue(versions > 0, "Versions to retain must be greater than 0");
+        return contentPatchLogRepository.findAllPostIdsHavingMoreThan(versions);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int removeStaleVersions(Integer postId, int versions) {
+        Assert.notNull(postId, "Post id must not be null");
+        Assert.isTrue(versions > 0, "Versions to retain must be greater than 0");
+
+        List<Integer> ids = contentPatchLogRepository.findAllIdsByPostIdOrderByVersionDesc(postId);
+        if (ids.size() <= versions + 1) {
+            return 0;
+        }
+
+        // Other versions are diffs against the base version, so they are independent
+        Set<Integer> retainedIds = new HashSet<>(ids.subList(0, versions));
+        retainedIds.add(ids.get(ids.size() - 1));
+        getContentByPostId(postId).ifPresent(content -> {
+            retainedIds.add(content.getPatchLogId());
+            retainedIds.add(content.getHeadPatchLogId());
+        });
+
+        List<Integer> idsToDelete = ids.stream()
+            .filter(id -> !retainedIds.contains(id))
+            .collect(Collectors.toList());
+        if (idsToDelete.isEmpty()) {
+            return 0;
+        }
+        return contentPatchLogRepository.deleteAllByIdsInBatch(idsToDelete);
+    }
 }
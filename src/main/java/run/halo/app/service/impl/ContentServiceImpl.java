@@ -16,6 +16,7 @@ import run.halo.app.repository.ContentRepository;
 import run.halo.app.service.ContentPatchLogService;
 import run.halo.app.service.ContentService;
 import run.halo.app.service.base.AbstractCrudService;
+import run.halo.app.service.support.ResponsiveImageTransformer;
 
 /**
  * Base content service implementation.
@@ -31,11 +32,15 @@ public class ContentServiceImpl extends AbstractCrudService<Content, Integer>
 
     private final ContentPatchLogService contentPatchLogService;
 
+    private final ResponsiveImageTransformer responsiveImageTransformer;
+
     protected ContentServiceImpl(ContentRepository contentRepository,
-        ContentPatchLogService contentPatchLogService) {
+        ContentPatchLogService contentPatchLogService,
+        ResponsiveImageTransformer responsiveImageTransformer) {
         super(contentRepository);
         this.contentRepository = contentRepository;
         this.contentPatchLogService = contentPatchLogService;
+        this.responsiveImageTransformer = responsiveImageTransformer;
     }
 
     @Override
@@ -43,6 +48,9 @@ public class ContentServiceImpl extends AbstractCrudService<Content, Integer>
     public void createOrUpdateDraftBy(Integer postId, String content,
         String originalContent) {
         Assert.notNull(postId, "The postId must not be null.");
+        // Rewrite local attachment images once here instead of on every page view
+        content = responsiveImageTransformer.transform(content);
+
         // First, we need to save the contentPatchLog
         ContentPatchLog contentPatchLog =
             contentPatchLogService.createOrUpdate(postId, content, originalContent);
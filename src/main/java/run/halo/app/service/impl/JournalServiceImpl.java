@@ -9,15 +9,19 @@ import java.util.stream.Collectors;
 import javax.persistence.criteria.Predicate;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
+import run.halo.app.event.journal.JournalLikedEvent;
+import run.halo.app.event.journal.JournalUpdatedEvent;
 import run.halo.app.exception.BadRequestException;
 import run.halo.app.model.dto.JournalWithCmtCountDTO;
 import run.halo.app.model.entity.Journal;
@@ -26,6 +30,7 @@ import run.halo.app.model.enums.CommentStatus;
 import run.halo.app.model.enums.JournalType;
 import run.halo.app.model.params.JournalParam;
 import run.halo.app.model.params.JournalQuery;
+import run.halo.app.model.support.CursorPage;
 import run.halo.app.repository.JournalRepository;
 import run.halo.app.service.JournalCommentService;
 import run.halo.app.service.JournalService;
@@ -48,26 +53,34 @@ public class JournalServiceImpl extends AbstractCrudService<Journal, Integer>
 
     private final JournalCommentService journalCommentService;
 
+    private final ApplicationEventPublisher eventPublisher;
+
     public JournalServiceImpl(JournalRepository journalRepository,
-        JournalCommentService journalCommentService) {
+        JournalCommentService journalCommentService,
+        ApplicationEventPublisher eventPublisher) {
         super(journalRepository);
         this.journalRepository = journalRepository;
         this.journalCommentService = journalCommentService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     public Journal createBy(JournalParam journalParam) {
         Assert.notNull(journalParam, "Journal param must not be null");
 
-        Journal journal = journalParam.convertTo();
+        Journal journal = create(journalParam.convertTo());
 
-        return create(journal);
+        eventPublisher.publishEvent(new JournalUpdatedEvent(this));
+        return journal;
     }
 
     @Override
     public Journal updateBy(Journal journal) {
         Assert.notNull(journal, "Journal must not be null");
-        return update(journal);
+        Journal updatedJournal = update(journal);
+
+        eventPublisher.publishEvent(new JournalUpdatedEvent(this));
+        return updatedJournal;
     }
 
     @Override
@@ -82,6 +95,14 @@ public class JournalServiceImpl extends AbstractCrudService<Journal, Integer>
         return journalRepository.findAll(buildSpecByQuery(journalQuery), pageable);
     }
 
+    @Override
+    public CursorPage<Journal> pageBy(JournalQuery journalQuery, String cursor, Sort sort,
+        int size) {
+        Assert.notNull(journalQuery, "Journal query must not be null");
+        Assert.notNull(sort, "Sort info must not be null");
+        return journalRepository.findAllAfter(buildSpecByQuery(journalQuery), cursor, sort, size);
+    }
+
     @Override
     public Page<Journal> pageBy(JournalType type, Pageable pageable) {
         Assert.notNull(type, "Journal type must not be null");
@@ -97,7 +118,9 @@ public class JournalServiceImpl extends AbstractCrudService<Journal, Integer>
         List<JournalComment> journalComments = journalCommentService.removeByPostId(id);
         log.debug("Removed journal comments: [{}]", journalComments);
 
-        return super.removeById(id);
+        Journal journal = super.removeById(id);
+        eventPublisher.publishEvent(new JournalUpdatedEvent(this));
+        return journal;
     }
 
     @Override
@@ -171,6 +194,7 @@ public class JournalServiceImpl extends AbstractCrudService<Journal, Integer>
             throw new BadRequestException(
                 "Failed to increase likes " + likes + " for journal with id " + id);
         }
+        eventPublisher.publishEvent(new JournalLikedEvent(this, id, likes));
     }
 
     /**
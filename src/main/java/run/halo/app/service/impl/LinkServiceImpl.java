@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Sort;
 import org.springframework.lang.NonNull;
@@ -13,6 +14,7 @@ import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
+import run.halo.app.event.link.LinkUpdatedEvent;
 import run.halo.app.exception.AlreadyExistsException;
 import run.halo.app.model.dto.LinkDTO;
 import run.halo.app.model.entity.Link;
@@ -34,9 +36,13 @@ public class LinkServiceImpl extends AbstractCrudService<Link, Integer> implemen
 
     private final LinkRepository linkRepository;
 
-    public LinkServiceImpl(LinkRepository linkRepository) {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public LinkServiceImpl(LinkRepository linkRepository,
+        ApplicationEventPublisher eventPublisher) {
         super(linkRepository);
         this.linkRepository = linkRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -142,6 +148,27 @@ public class LinkServiceImpl extends AbstractCrudService<Link, Integer> implemen
         return update(link);
     }
 
+    @Override
+    public @NonNull Link create(@NonNull Link link) {
+        Link createdLink = super.create(link);
+        eventPublisher.publishEvent(new LinkUpdatedEvent(this));
+        return createdLink;
+    }
+
+    @Override
+    public @NonNull Link update(@NonNull Link link) {
+        Link updatedLink = super.update(link);
+        eventPublisher.publishEvent(new LinkUpdatedEvent(this));
+        return updatedLink;
+    }
+
+    @Override
+    public @NonNull Link removeById(@NonNull Integer id) {
+        Link deletedLink = super.removeById(id);
+        eventPublisher.publishEvent(new LinkUpdatedEvent(this));
+        return deletedLink;
+    }
+
     @Override
     public boolean existByName(String name) {
         Assert.hasText(name, "Link name must not be blank");
@@ -1,12 +1,26 @@
 package run.halo.app.service.impl;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 import run.halo.app.model.dto.LogDTO;
 import run.halo.app.model.entity.Log;
+import run.halo.app.model.entity.LogDailyCount;
+import run.halo.app.model.enums.LogType;
+import run.halo.app.model.projection.LogTypeTimeProjection;
+import run.halo.app.repository.LogDailyCountRepository;
 import run.halo.app.repository.LogRepository;
 import run.halo.app.service.LogService;
 import run.halo.app.service.base.AbstractCrudService;
@@ -22,9 +36,13 @@ public class LogServiceImpl extends AbstractCrudService<Log, Long> implements Lo
 
     private final LogRepository logRepository;
 
-    public LogServiceImpl(LogRepository logRepository) {
+    private final LogDailyCountRepository logDailyCountRepository;
+
+    public LogServiceImpl(LogRepository logRepository,
+        LogDailyCountRepository logDailyCountRepository) {
         super(logRepository);
         this.logRepository = logRepository;
+        this.logDailyCountRepository = logDailyCountRepository;
     }
 
     @Override
@@ -38,4 +56,63 @@ public class LogServiceImpl extends AbstractCrudService<Log, Long> implements Lo
         // List all
         return listAll(latestPageable).map(log -> new LogDTO().convertFrom(log));
     }
+
+    @Override
+    @NonNull
+    public Optional<Date> getOverflowTime(int maxRows) {
+        Assert.isTrue(maxRows > 0, "Max rows must be greater than 0");
+
+        // Create time of the newest log beyond the max rows
+        List<Date> createTimes = logRepository.findAllCreateTimes(PageRequest.of(maxRows, 1));
+        return createTimes.stream()
+            .findFirst()
+            .map(createTime -> new Date(createTime.getTime() + 1));
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int removeOldest(@NonNull Date before, int limit, boolean rollup) {
+        Assert.notNull(before, "Before time must not be null");
+        Assert.isTrue(limit > 0, "Limit must be greater than 0");
+
+        List<LogTypeTimeProjection> logs =
+            logRepository.findAllTypeTimesByCreateTimeBefore(before, PageRequest.of(0, limit));
+        if (logs.isEmpty()) {
+            return 0;
+        }
+
+        if (rollup) {
+            rollup(logs);
+        }
+
+        return logRepository.deleteAllByIdsInBatch(logs.stream()
+            .map(LogTypeTimeProjection::getId)
+            .collect(Collectors.toList()));
+    }
+
+    private void rollup(List<LogTypeTimeProjection> logs) {
+        ZoneId zoneId = ZoneId.systemDefault();
+        Map<LocalDate, Map<LogType, Long>> dailyCounts = new HashMap<>();
+        logs.forEach(log -> {
+            LocalDate day = log.getCreateTime().toInstant().atZone(zoneId).toLocalDate();
+            dailyCounts.computeIfAbsent(day, key -> new HashMap<>())
+                .merge(log.getType(), 1L, Long::sum);
+        });
+
+        dailyCounts.forEach((day, typeCounts) -> {
+            Date dayTime = Date.from(day.atStartOfDay(zoneId).toInstant());
+            typeCounts.forEach((type, count) -> {
+                LogDailyCount dailyCount = logDailyCountRepository.findByDayAndType(dayTime, type)
+                    .orElseGet(() -> {
+                        LogDailyCount newDailyCount = new LogDailyCount();
+                        newDailyCount.setDay(dayTime);
+                        newDailyCount.setType(type);
+                        newDailyCount.setCount(0L);
+                        return newDailyCount;
+                    });
+                dailyCount.setCount(dailyCount.getCount() + count);
+                logDailyCountRepository.save(dailyCount);
+            });
+        });
+    }
 }
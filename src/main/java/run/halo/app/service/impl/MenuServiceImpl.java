@@ -7,12 +7,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
+import run.halo.app.event.menu.MenuUpdatedEvent;
 import run.halo.app.model.dto.MenuDTO;
 import run.halo.app.model.entity.Menu;
 import run.halo.app.model.params.MenuParam;
@@ -35,9 +37,13 @@ public class MenuServiceImpl extends AbstractCrudService<Menu, Integer> implemen
 
     private final MenuRepository menuRepository;
 
-    public MenuServiceImpl(MenuRepository menuRepository) {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public MenuServiceImpl(MenuRepository menuRepository,
+        ApplicationEventPublisher eventPublisher) {
         super(menuRepository);
         this.menuRepository = menuRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -147,13 +153,41 @@ public class MenuServiceImpl extends AbstractCrudService<Menu, Integer> implemen
     @Override
     public @NonNull
     Menu create(@NonNull Menu menu) {
-        return super.create(menu);
+        Menu createdMenu = super.create(menu);
+        eventPublisher.publishEvent(new MenuUpdatedEvent(this));
+        return createdMenu;
+    }
+
+    @Override
+    @NonNull
+    @Transactional(rollbackFor = Exception.class)
+    public List<Menu> createInBatch(@NonNull Collection<Menu> menus) {
+        List<Menu> createdMenus = super.createInBatch(menus);
+        eventPublisher.publishEvent(new MenuUpdatedEvent(this));
+        return createdMenus;
     }
 
     @Override
     public @NonNull
     Menu update(@NonNull Menu menu) {
-        return super.update(menu);
+        Menu updatedMenu = super.update(menu);
+        eventPublisher.publishEvent(new MenuUpdatedEvent(this));
+        return updatedMenu;
+    }
+
+    @Override
+    public @NonNull
+    Menu removeById(@NonNull Integer id) {
+        Menu deletedMenu = super.removeById(id);
+        eventPublisher.publishEvent(new MenuUpdatedEvent(this));
+        return deletedMenu;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void removeInBatch(@NonNull Collection<Integer> ids) {
+        super.removeInBatch(ids);
+        eventPublisher.publishEvent(new MenuUpdatedEvent(this));
     }
 
     @Override
@@ -21,6 +21,7 @@ import run.halo.app.model.dto.PhotoDTO;
 import run.halo.app.model.entity.Photo;
 import run.halo.app.model.params.PhotoParam;
 import run.halo.app.model.params.PhotoQuery;
+import run.halo.app.model.support.CursorPage;
 import run.halo.app.model.vo.PhotoTeamVO;
 import run.halo.app.repository.PhotoRepository;
 import run.halo.app.service.PhotoService;
@@ -109,6 +110,15 @@ public class PhotoServiceImpl extends AbstractCrudService<Photo, Integer> implem
         return photoPage.map(photo -> new PhotoDTO().convertFrom(photo));
     }
 
+    @Override
+    public CursorPage<PhotoDTO> pageDtosBy(PhotoQuery photoQuery, String cursor, Sort sort,
+        int size) {
+        Assert.notNull(sort, "Sort info must not be null");
+
+        return photoRepository.findAllAfter(buildSpecByQuery(photoQuery), cursor, sort, size)
+            .map(photo -> new PhotoDTO().convertFrom(photo));
+    }
+
     @Override
     public Photo createBy(PhotoParam photoParam) {
         Assert.notNull(photoParam, "Photo param must not be null");
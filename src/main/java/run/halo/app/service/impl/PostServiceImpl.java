@@ -5,6 +5,7 @@ import static org.springframework.data.domain.Sort.Direction.DESC;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -25,11 +26,14 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import run.halo.app.event.logger.LogEvent;
+import run.halo.app.event.post.PostDeletedEvent;
+import run.halo.app.event.post.PostLikedEvent;
 import run.halo.app.event.post.PostUpdatedEvent;
 import run.halo.app.event.post.PostVisitEvent;
 import run.halo.app.exception.NotFoundException;
@@ -47,9 +51,11 @@ import run.halo.app.model.enums.PostStatus;
 import run.halo.app.model.params.PostParam;
 import run.halo.app.model.params.PostQuery;
 import run.halo.app.model.properties.PostProperties;
+import run.halo.app.model.support.CursorPage;
 import run.halo.app.model.vo.ArchiveMonthVO;
 import run.halo.app.model.vo.ArchiveYearVO;
 import run.halo.app.model.vo.PostDetailVO;
+import run.halo.app.model.vo.PostListVO;
 import run.halo.app.model.vo.PostMarkdownVO;
 import run.halo.app.repository.PostRepository;
 import run.halo.app.repository.base.BasePostRepository;
@@ -64,6 +70,10 @@ import run.halo.app.service.PostService;
 import run.halo.app.service.PostTagService;
 import run.halo.app.service.TagService;
 import run.halo.app.service.assembler.PostAssembler;
+import run.halo.app.service.support.PostArchiveIndex;
+import run.halo.app.service.support.PostArchiveIndex.Archive;
+import run.halo.app.service.support.PostNeighborIndex;
+import run.halo.app.service.support.PostNeighborIndex.SortKey;
 import run.halo.app.utils.DateUtils;
 import run.halo.app.utils.HaloUtils;
 import run.halo.app.utils.MarkdownUtils;
@@ -111,6 +121,10 @@ public class PostServiceImpl extends BasePostServiceImpl<Post> implements PostSe
 
     private final ApplicationContext applicationContext;
 
+    private final PostNeighborIndex postNeighborIndex;
+
+    private final PostArchiveIndex postArchiveIndex;
+
     public PostServiceImpl(BasePostRepository<Post> basePostRepository,
         PostAssembler postAssembler, OptionService optionService,
         PostRepository postRepository,
@@ -123,7 +137,9 @@ public class PostServiceImpl extends BasePostServiceImpl<Post> implements PostSe
         PostMetaService postMetaService,
         ContentService contentService,
         ContentPatchLogService contentPatchLogService,
-        ApplicationContext applicationContext) {
+        ApplicationContext applicationContext,
+        PostNeighborIndex postNeighborIndex,
+        PostArchiveIndex postArchiveIndex) {
         super(basePostRepository, optionService, contentService, contentPatchLogService);
         this.postAssembler = postAssembler;
         this.postRepository = postRepository;
@@ -138,6 +154,8 @@ public class PostServiceImpl extends BasePostServiceImpl<Post> implements PostSe
         this.postContentService = contentService;
         this.postContentPatchLogService = contentPatchLogService;
         this.applicationContext = applicationContext;
+        this.postNeighborIndex = postNeighborIndex;
+        this.postArchiveIndex = postArchiveIndex;
     }
 
     @Override
@@ -149,6 +167,14 @@ public class PostServiceImpl extends BasePostServiceImpl<Post> implements PostSe
         return postRepository.findAll(buildSpecByQuery(postQuery), pageable);
     }
 
+    @Override
+    public CursorPage<Post> pageBy(PostQuery postQuery, String cursor, Sort sort, int size) {
+        Assert.notNull(postQuery, "Post query must not be null");
+        Assert.notNull(sort, "Sort info must not be null");
+
+        return postRepository.findAllAfter(buildSpecByQuery(postQuery), cursor, sort, size);
+    }
+
     @Override
     public Page<Post> pageBy(String keyword, Pageable pageable) {
         Assert.notNull(keyword, "keyword must not be null");
@@ -288,6 +314,45 @@ public class PostServiceImpl extends BasePostServiceImpl<Post> implements PostSe
         return postContentPatchLogService.getByPostId(id);
     }
 
+    @Override
+    public List<Post> listPrevPosts(Post post, int size) {
+        Assert.notNull(post, "Post must not be null");
+
+        SortKey sortKey = getIndexSortKey();
+        if (sortKey == null) {
+            return Collections.emptyList();
+        }
+        return listAllByIdsInOrder(postNeighborIndex.listPrevIds(sortKey, post, size));
+    }
+
+    @Override
+    public List<Post> listNextPosts(Post post, int size) {
+        Assert.notNull(post, "Post must not be null");
+
+        SortKey sortKey = getIndexSortKey();
+        if (sortKey == null) {
+            return Collections.emptyList();
+        }
+        return listAllByIdsInOrder(postNeighborIndex.listNextIds(sortKey, post, size));
+    }
+
+    @Nullable
+    private SortKey getIndexSortKey() {
+        return SortKey.of(
+            optionService.getByPropertyOfNonNull(PostProperties.INDEX_SORT).toString());
+    }
+
+    @NonNull
+    private List<Post> listAllByIdsInOrder(List<Integer> ids) {
+        if (CollectionUtils.isEmpty(ids)) {
+            return Collections.emptyList();
+        }
+        return postRepository.findAllById(ids).stream()
+            .filter(post -> PostStatus.PUBLISHED.equals(post.getStatus()))
+            .sorted(Comparator.comparingInt(post -> ids.indexOf(post.getId())))
+            .collect(Collectors.toList());
+    }
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public List<Post> removeByIds(Collection<Integer> ids) {
@@ -315,20 +380,31 @@ public class PostServiceImpl extends BasePostServiceImpl<Post> implements PostSe
 
     @Override
     public List<ArchiveYearVO> listYearArchives() {
-        // Get all posts
-        List<Post> posts = postRepository
-            .findAllByStatus(PostStatus.PUBLISHED, Sort.by(DESC, "createTime"));
-
-        return postAssembler.convertToYearArchives(posts);
+        // Share the aggregated month archives instead of loading the posts another way
+        return postAssembler.mergeToYearArchives(listMonthArchives());
     }
 
     @Override
     public List<ArchiveMonthVO> listMonthArchives() {
-        // Get all posts
-        List<Post> posts = postRepository
-            .findAllByStatus(PostStatus.PUBLISHED, Sort.by(DESC, "createTime"));
+        List<Archive> archives = postArchiveIndex.listMonthArchives();
 
-        return postAssembler.convertToMonthArchives(posts);
+        return postAssembler.convertToMonthArchives(archives, listArchivedPostMap(archives));
+    }
+
+    @NonNull
+    private Map<Integer, PostListVO> listArchivedPostMap(List<Archive> archives) {
+        List<Integer> postIds = archives.stream()
+            .flatMap(archive -> archive.getPostIds().stream())
+            .collect(Collectors.toList());
+        if (postIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        // Convert all archived posts in one batch
+        List<Post> posts = postRepository.findAllById(postIds).stream()
+            .filter(post -> PostStatus.PUBLISHED.equals(post.getStatus()))
+            .collect(Collectors.toList());
+        return ServiceUtils.convertToMap(postAssembler.convertToListVo(posts), PostListVO::getId);
     }
 
     @Override
@@ -531,6 +607,8 @@ public class PostServiceImpl extends BasePostServiceImpl<Post> implements PostSe
         Post deletedPost = super.removeById(postId);
         deletedPost.setContent(PatchedContent.of(postContent));
 
+        eventPublisher.publishEvent(new PostDeletedEvent(this, deletedPost));
+
         // Log it
         eventPublisher.publishEvent(new LogEvent(this, postId.toString(), LogType.POST_DELETED,
             deletedPost.getTitle()));
@@ -640,6 +718,13 @@ public class PostServiceImpl extends BasePostServiceImpl<Post> implements PostSe
         return postAssembler.convertTo(post, tags, categories, postMetaList);
     }
 
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void increaseLike(long likes, Integer postId) {
+        super.increaseLike(likes, postId);
+        eventPublisher.publishEvent(new PostLikedEvent(this, postId, likes));
+    }
+
     @Override
     public void publishVisitEvent(Integer postId) {
         eventPublisher.publishEvent(new PostVisitEvent(this, postId));
@@ -1,7 +1,5 @@
 package run.halo.app.service.impl;
 
-import static run.halo.app.model.support.HaloConst.URL_SEPARATOR;
-
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -22,13 +20,13 @@ import run.halo.app.model.entity.Post;
 import run.halo.app.model.entity.PostTag;
 import run.halo.app.model.entity.Tag;
 import run.halo.app.model.enums.PostStatus;
-import run.halo.app.model.projection.TagPostPostCountProjection;
 import run.halo.app.repository.PostRepository;
 import run.halo.app.repository.PostTagRepository;
 import run.halo.app.repository.TagRepository;
-import run.halo.app.service.OptionService;
 import run.halo.app.service.PostTagService;
 import run.halo.app.service.base.AbstractCrudService;
+import run.halo.app.service.support.PermalinkGenerator;
+import run.halo.app.service.support.PostCountIndex;
 import run.halo.app.utils.ServiceUtils;
 
 /**
@@ -48,17 +46,21 @@ public class PostTagServiceImpl extends AbstractCrudService<PostTag, Integer>
 
     private final TagRepository tagRepository;
 
-    private final OptionService optionService;
+    private final PermalinkGenerator permalinkGenerator;
+
+    private final PostCountIndex postCountIndex;
 
     public PostTagServiceImpl(PostTagRepository postTagRepository,
         PostRepository postRepository,
         TagRepository tagRepository,
-        OptionService optionService) {
+        PermalinkGenerator permalinkGenerator,
+        PostCountIndex postCountIndex) {
         super(postTagRepository);
         this.postTagRepository = postTagRepository;
         this.postRepository = postRepository;
         this.tagRepository = tagRepository;
-        this.optionService = optionService;
+        this.permalinkGenerator = permalinkGenerator;
+        this.postCountIndex = postCountIndex;
     }
 
     @Override
@@ -78,31 +80,15 @@ public class PostTagServiceImpl extends AbstractCrudService<PostTag, Integer>
         // Find all tags
         List<Tag> tags = tagRepository.findAll(sort);
 
-        // Find all post count
-        Map<Integer, Long> tagPostCountMap = ServiceUtils
-            .convertToMap(postTagRepository.findPostCount(), TagPostPostCountProjection::getTagId,
-                TagPostPostCountProjection::getPostCount);
-
         // Find post count
         return tags.stream().map(
             tag -> {
                 TagWithPostCountDTO tagWithCountOutputDTO =
                     new TagWithPostCountDTO().convertFrom(tag);
-                tagWithCountOutputDTO.setPostCount(tagPostCountMap.getOrDefault(tag.getId(), 0L));
-
-                StringBuilder fullPath = new StringBuilder();
-
-                if (optionService.isEnabledAbsolutePath()) {
-                    fullPath.append(optionService.getBlogBaseUrl());
-                }
-
-                fullPath.append(URL_SEPARATOR)
-                    .append(optionService.getTagsPrefix())
-                    .append(URL_SEPARATOR)
-                    .append(tag.getSlug())
-                    .append(optionService.getPathSuffix());
+                tagWithCountOutputDTO.setPostCount(postCountIndex.getTagPostCount(tag.getId()));
 
-                tagWithCountOutputDTO.setFullPath(fullPath.toString());
+                tagWithCountOutputDTO.setFullPath(
+                    permalinkGenerator.buildTagFullPath(tag.getSlug()));
 
                 return tagWithCountOutputDTO;
             }
@@ -6,20 +6,9 @@ import run.halo.app.model.dto.StatisticDTO;
 import run.halo.app.model.dto.StatisticWithUserDTO;
 import run.halo.app.model.dto.UserDTO;
 import run.halo.app.model.entity.User;
-import run.halo.app.model.enums.CommentStatus;
-import run.halo.app.model.enums.PostStatus;
-import run.halo.app.service.CategoryService;
-import run.halo.app.service.JournalCommentService;
-import run.halo.app.service.JournalService;
-import run.halo.app.service.LinkService;
-import run.halo.app.service.OptionService;
-import run.halo.app.service.PostCommentService;
-import run.halo.app.service.PostService;
-import run.halo.app.service.SheetCommentService;
-import run.halo.app.service.SheetService;
 import run.halo.app.service.StatisticService;
-import run.halo.app.service.TagService;
 import run.halo.app.service.UserService;
+import run.halo.app.service.support.StatisticSnapshot;
 
 /**
  * Statistic service implementation.
@@ -30,76 +19,19 @@ import run.halo.app.service.UserService;
 @Service
 public class StatisticServiceImpl implements StatisticService {
 
-    private final PostService postService;
-
-    private final SheetService sheetService;
-
-    private final JournalService journalService;
-
-    private final PostCommentService postCommentService;
-
-    private final SheetCommentService sheetCommentService;
-
-    private final JournalCommentService journalCommentService;
-
-    private final OptionService optionService;
-
-    private final LinkService linkService;
-
-    private final CategoryService categoryService;
-
-    private final TagService tagService;
+    private final StatisticSnapshot statisticSnapshot;
 
     private final UserService userService;
 
-    public StatisticServiceImpl(PostService postService,
-        SheetService sheetService,
-        JournalService journalService,
-        PostCommentService postCommentService,
-        SheetCommentService sheetCommentService,
-        JournalCommentService journalCommentService,
-        OptionService optionService,
-        LinkService linkService,
-        CategoryService categoryService,
-        TagService tagService,
+    public StatisticServiceImpl(StatisticSnapshot statisticSnapshot,
         UserService userService) {
-        this.postService = postService;
-        this.sheetService = sheetService;
-        this.journalService = journalService;
-        this.postCommentService = postCommentService;
-        this.sheetCommentService = sheetCommentService;
-        this.journalCommentService = journalCommentService;
-        this.optionService = optionService;
-        this.linkService = linkService;
-        this.categoryService = categoryService;
-        this.tagService = tagService;
+        this.statisticSnapshot = statisticSnapshot;
         this.userService = userService;
     }
 
     @Override
     public StatisticDTO getStatistic() {
-        StatisticDTO statisticDto = new StatisticDTO();
-        statisticDto.setPostCount(postService.countByStatus(PostStatus.PUBLISHED));
-
-        // Handle comment count
-        long postCommentCount = postCommentService.countByStatus(CommentStatus.PUBLISHED);
-        long sheetCommentCount = sheetCommentService.countByStatus(CommentStatus.PUBLISHED);
-        long journalCommentCount = journalCommentService.countByStatus(CommentStatus.PUBLISHED);
-
-        statisticDto.setCommentCount(postCommentCount + sheetCommentCount + journalCommentCount);
-        statisticDto.setTagCount(tagService.count());
-        statisticDto.setCategoryCount(categoryService.count());
-        statisticDto.setJournalCount(journalService.count());
-
-        long birthday = optionService.getBirthday();
-        long days = (System.currentTimeMillis() - birthday) / (1000 * 24 * 3600);
-        statisticDto.setEstablishDays(days);
-        statisticDto.setBirthday(birthday);
-
-        statisticDto.setLinkCount(linkService.count());
-        statisticDto.setVisitCount(postService.countVisit() + sheetService.countVisit());
-        statisticDto.setLikeCount(postService.countLike() + sheetService.countLike());
-        return statisticDto;
+        return statisticSnapshot.get();
     }
 
     @Override
@@ -1,23 +1,23 @@
 package run.halo.app.service.impl;
 
-import static run.halo.app.model.support.HaloConst.URL_SEPARATOR;
-
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
+import run.halo.app.event.tag.TagUpdatedEvent;
 import run.halo.app.exception.AlreadyExistsException;
 import run.halo.app.exception.NotFoundException;
 import run.halo.app.model.dto.TagDTO;
 import run.halo.app.model.entity.Tag;
 import run.halo.app.repository.TagRepository;
-import run.halo.app.service.OptionService;
 import run.halo.app.service.TagService;
 import run.halo.app.service.base.AbstractCrudService;
+import run.halo.app.service.support.PermalinkGenerator;
 
 /**
  * TagService implementation class.
@@ -32,13 +32,17 @@ public class TagServiceImpl extends AbstractCrudService<Tag, Integer> implements
 
     private final TagRepository tagRepository;
 
-    private final OptionService optionService;
+    private final PermalinkGenerator permalinkGenerator;
+
+    private final ApplicationEventPublisher eventPublisher;
 
     public TagServiceImpl(TagRepository tagRepository,
-        OptionService optionService) {
+        PermalinkGenerator permalinkGenerator,
+        ApplicationEventPublisher eventPublisher) {
         super(tagRepository);
         this.tagRepository = tagRepository;
-        this.optionService = optionService;
+        this.permalinkGenerator = permalinkGenerator;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -55,7 +59,25 @@ public class TagServiceImpl extends AbstractCrudService<Tag, Integer> implements
         }
 
         // Get tag name
-        return super.create(tag);
+        Tag createdTag = super.create(tag);
+        eventPublisher.publishEvent(new TagUpdatedEvent(this));
+        return createdTag;
+    }
+
+    @Override
+    @Transactional
+    public Tag update(Tag tag) {
+        Tag updatedTag = super.update(tag);
+        eventPublisher.publishEvent(new TagUpdatedEvent(this));
+        return updatedTag;
+    }
+
+    @Override
+    @Transactional
+    public Tag removeById(Integer id) {
+        Tag deletedTag = super.removeById(id);
+        eventPublisher.publishEvent(new TagUpdatedEvent(this));
+        return deletedTag;
     }
 
     @Override
@@ -80,19 +102,7 @@ public class TagServiceImpl extends AbstractCrudService<Tag, Integer> implements
 
         TagDTO tagDTO = new TagDTO().convertFrom(tag);
 
-        StringBuilder fullPath = new StringBuilder();
-
-        if (optionService.isEnabledAbsolutePath()) {
-            fullPath.append(optionService.getBlogBaseUrl());
-        }
-
-        fullPath.append(URL_SEPARATOR)
-            .append(optionService.getTagsPrefix())
-            .append(URL_SEPARATOR)
-            .append(tag.getSlug())
-            .append(optionService.getPathSuffix());
-
-        tagDTO.setFullPath(fullPath.toString());
+        tagDTO.setFullPath(permalinkGenerator.buildTagFullPath(tag.getSlug()));
 
         return tagDTO;
     }
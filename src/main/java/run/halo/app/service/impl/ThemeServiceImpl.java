@@ -219,6 +219,9 @@ public class ThemeServiceImpl implements ThemeService {
         } catch (IOException e) {
             throw new ServiceException("保存模板内容失败 " + absolutePath, e);
         }
+
+        // Reload the theme, such as the fingerprints and compressed variants of assets
+        eventPublisher.publishEvent(new ThemeUpdatedEvent(this));
     }
 
     @Override
@@ -234,6 +237,9 @@ public class ThemeServiceImpl implements ThemeService {
         } catch (IOException e) {
             throw new ServiceException("保存模板内容失败 " + absolutePath, e);
         }
+
+        // Reload the theme, such as the fingerprints and compressed variants of assets
+        eventPublisher.publishEvent(new ThemeUpdatedEvent(this));
     }
 
     @Transactional
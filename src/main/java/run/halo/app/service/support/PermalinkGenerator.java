@@ -0,0 +1,85 @@
+package run.halo.app.service.support;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import run.halo.app.event.options.OptionUpdatedEvent;
+import run.halo.app.model.entity.BasePost;
+import run.halo.app.service.OptionService;
+
+/**
+ * Full path generator of posts, sheets, categories and tags.
+ *
+ * <p>The {@link PermalinkTemplate} is compiled lazily and recompiled after options updated.
+ *
+ * @author guqing
+ * @date 2022-03-30
+ */
+@Component
+public class PermalinkGenerator {
+
+    private final OptionService optionService;
+
+    private volatile PermalinkTemplate template;
+
+    private long version;
+
+    public PermalinkGenerator(OptionService optionService) {
+        this.optionService = optionService;
+    }
+
+    /**
+     * Gets compiled permalink template.
+     *
+     * @return compiled permalink template
+     */
+    @NonNull
+    public PermalinkTemplate getTemplate() {
+        PermalinkTemplate currentTemplate = template;
+        if (currentTemplate == null) {
+            long compilingVersion;
+            synchronized (this) {
+                compilingVersion = version;
+            }
+            currentTemplate = PermalinkTemplate.compile(optionService);
+            synchronized (this) {
+                // Discard the template if options were updated while compiling
+                if (compilingVersion == version) {
+                    template = currentTemplate;
+                }
+            }
+        }
+        return currentTemplate;
+    }
+
+    @NonNull
+    public String buildPostFullPath(@NonNull BasePost post) {
+        Assert.notNull(post, "Post must not be null");
+        return getTemplate().buildPostFullPath(post.getId(), post.getSlug(), post.getCreateTime());
+    }
+
+    @NonNull
+    public String buildSheetFullPath(@NonNull BasePost sheet) {
+        Assert.notNull(sheet, "Sheet must not be null");
+        return getTemplate().buildSheetFullPath(sheet.getSlug());
+    }
+
+    @NonNull
+    public String buildCategoryFullPath(@NonNull String slug) {
+        Assert.notNull(slug, "Category slug must not be null");
+        return getTemplate().buildCategoryFullPath(slug);
+    }
+
+    @NonNull
+    public String buildTagFullPath(@NonNull String slug) {
+        Assert.notNull(slug, "Tag slug must not be null");
+        return getTemplate().buildTagFullPath(slug);
+    }
+
+    @EventListener(OptionUpdatedEvent.class)
+    public synchronized void onOptionUpdated() {
+        version++;
+        template = null;
+    }
+}
@@ -0,0 +1,170 @@
+package run.halo.app.service.support;
+
+import static run.halo.app.model.support.HaloConst.URL_SEPARATOR;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.util.Assert;
+import run.halo.app.model.enums.PostPermalinkType;
+import run.halo.app.model.enums.SheetPermalinkType;
+import run.halo.app.service.OptionService;
+
+/**
+ * Compiled permalink template.
+ *
+ * <p>All permalink options are read once while compiling, and the static parts of every kind of
+ * full path are concatenated in advance. So building a full path is just one pass over a
+ * pre-sized buffer.
+ *
+ * @author guqing
+ * @date 2022-03-30
+ */
+public final class PermalinkTemplate {
+
+    private final PostPermalinkType postPermalinkType;
+
+    private final SheetPermalinkType sheetPermalinkType;
+
+    private final ZoneId zoneId;
+
+    private final String pathSuffix;
+
+    /**
+     * Such as: {@code http://127.0.0.1:8090/} or {@code /}.
+     */
+    private final String rootPath;
+
+    /**
+     * Such as: {@code /archives/}.
+     */
+    private final String archivesPath;
+
+    /**
+     * Such as: {@code /s/}.
+     */
+    private final String sheetPath;
+
+    /**
+     * Such as: {@code /categories/}.
+     */
+    private final String categoriesPath;
+
+    /**
+     * Such as: {@code /tags/}.
+     */
+    private final String tagsPath;
+
+    private PermalinkTemplate(@NonNull OptionService optionService) {
+        String context =
+            optionService.isEnabledAbsolutePath() ? optionService.getBlogBaseUrl() : "";
+        this.postPermalinkType = optionService.getPostPermalinkType();
+        this.sheetPermalinkType = optionService.getSheetPermalinkType();
+        this.zoneId = ZoneId.systemDefault();
+        this.pathSuffix = StringUtils.defaultString(optionService.getPathSuffix());
+        this.rootPath = context + URL_SEPARATOR;
+        this.archivesPath = rootPath + optionService.getArchivesPrefix() + URL_SEPARATOR;
+        this.sheetPath = rootPath + optionService.getSheetPrefix() + URL_SEPARATOR;
+        this.categoriesPath = rootPath + optionService.getCategoriesPrefix() + URL_SEPARATOR;
+        this.tagsPath = rootPath + optionService.getTagsPrefix() + URL_SEPARATOR;
+    }
+
+    /**
+     * Compiles permalink template with current options.
+     *
+     * @param optionService option service must not be null
+     * @return compiled permalink template
+     */
+    @NonNull
+    public static PermalinkTemplate compile(@NonNull OptionService optionService) {
+        Assert.notNull(optionService, "Option service must not be null");
+        return new PermalinkTemplate(optionService);
+    }
+
+    /**
+     * Builds post full path.
+     *
+     * @param id post id
+     * @param slug post slug
+     * @param createTime post create time
+     * @return full path of the post
+     */
+    @NonNull
+    public String buildPostFullPath(Integer id, String slug, Date createTime) {
+        if (PostPermalinkType.ID.equals(postPermalinkType)) {
+            return rootPath + "?p=" + id;
+        }
+        if (PostPermalinkType.ID_SLUG.equals(postPermalinkType)) {
+            return newBuilder(archivesPath, 11).append(id).append(pathSuffix).toString();
+        }
+        if (!PostPermalinkType.DATE.equals(postPermalinkType)
+            && !PostPermalinkType.DAY.equals(postPermalinkType)
+            && !PostPermalinkType.YEAR.equals(postPermalinkType)) {
+            // Default permalink type
+            return newBuilder(archivesPath, slug.length()).append(slug).append(pathSuffix)
+                .toString();
+        }
+
+        LocalDate date = createTime.toInstant().atZone(zoneId).toLocalDate();
+        StringBuilder fullPath = newBuilder(rootPath, slug.length() + 11)
+            .append(date.getYear())
+            .append(URL_SEPARATOR);
+        if (!PostPermalinkType.YEAR.equals(postPermalinkType)) {
+            appendTwoDigits(fullPath, date.getMonthValue()).append(URL_SEPARATOR);
+            if (PostPermalinkType.DAY.equals(postPermalinkType)) {
+                appendTwoDigits(fullPath, date.getDayOfMonth()).append(URL_SEPARATOR);
+            }
+        }
+        return fullPath.append(slug).append(pathSuffix).toString();
+    }
+
+    /**
+     * Builds sheet full path.
+     *
+     * @param slug sheet slug
+     * @return full path of the sheet
+     */
+    @NonNull
+    public String buildSheetFullPath(String slug) {
+        String prefix =
+            SheetPermalinkType.ROOT.equals(sheetPermalinkType) ? rootPath : sheetPath;
+        return newBuilder(prefix, slug.length()).append(slug).append(pathSuffix).toString();
+    }
+
+    /**
+     * Builds category full path.
+     *
+     * @param slug category slug
+     * @return full path of the category
+     */
+    @NonNull
+    public String buildCategoryFullPath(String slug) {
+        return newBuilder(categoriesPath, slug.length()).append(slug).append(pathSuffix)
+            .toString();
+    }
+
+    /**
+     * Builds tag full path.
+     *
+     * @param slug tag slug
+     * @return full path of the tag
+     */
+    @NonNull
+    public String buildTagFullPath(String slug) {
+        return newBuilder(tagsPath, slug.length()).append(slug).append(pathSuffix).toString();
+    }
+
+    private StringBuilder newBuilder(String prefix, int variableLength) {
+        return new StringBuilder(prefix.length() + variableLength + pathSuffix.length())
+            .append(prefix);
+    }
+
+    private static StringBuilder appendTwoDigits(StringBuilder builder, int value) {
+        if (value < 10) {
+            builder.append('0');
+        }
+        return builder.append(value);
+    }
+}
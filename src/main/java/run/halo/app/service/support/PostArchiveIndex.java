@@ -0,0 +1,246 @@
+package run.halo.app.service.support;
+
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import run.halo.app.model.entity.Post;
+import run.halo.app.model.enums.PostStatus;
+import run.halo.app.model.projection.PostSortKeyProjection;
+import run.halo.app.repository.PostRepository;
+
+/**
+ * Materialized year/month archives of published posts.
+ *
+ * <p>Every month keeps its post ids ordered by create time descending (then by id descending),
+ * so archives can be listed without loading and grouping all posts. Year archives are merged
+ * from the month archives. The archives are loaded
+ * lazily at the first lookup and then maintained incrementally by post events.
+ *
+ * @author guqing
+ * @date 2022-04-01
+ */
+@Slf4j
+@Component
+public class PostArchiveIndex {
+
+    private static final Comparator<Entry> ENTRY_COMPARATOR =
+        Comparator.comparingLong((Entry entry) -> entry.createTime)
+            .thenComparing(entry -> entry.id)
+            .reversed();
+
+    private final PostRepository postRepository;
+
+    private final ZoneId zoneId = ZoneId.systemDefault();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final NavigableMap<YearMonth, NavigableSet<Entry>> monthArchives =
+        new TreeMap<>(Comparator.reverseOrder());
+
+    private final Map<Integer, Entry> entries = new HashMap<>();
+
+    private volatile boolean loaded;
+
+    public PostArchiveIndex(PostRepository postRepository) {
+        this.postRepository = postRepository;
+    }
+
+    /**
+     * Lists month archives, the latest month first.
+     *
+     * @return a list of month archive
+     */
+    @NonNull
+    public List<Archive> listMonthArchives() {
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            List<Archive> archives = new ArrayList<>(monthArchives.size());
+            monthArchives.forEach((yearMonth, monthEntries) -> {
+                List<Integer> postIds = new ArrayList<>(monthEntries.size());
+                monthEntries.forEach(entry -> postIds.add(entry.id));
+                archives.add(new Archive(yearMonth.getYear(), yearMonth.getMonthValue(),
+                    postIds));
+            });
+            return archives;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or moves the post if it is published, otherwise removes it.
+     *
+     * @param post post must not be null
+     */
+    public void put(@NonNull Post post) {
+        Assert.notNull(post, "Post must not be null");
+        Assert.notNull(post.getId(), "Post id must not be null");
+
+        if (!PostStatus.PUBLISHED.equals(post.getStatus())) {
+            remove(post.getId());
+            return;
+        }
+        if (!loaded) {
+            // It will be loaded from database at the first lookup
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            doPut(post.getId(), post.getCreateTime());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the post.
+     *
+     * @param postId post id must not be null
+     */
+    public void remove(@NonNull Integer postId) {
+        Assert.notNull(postId, "Post id must not be null");
+        if (!loaded) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            doRemove(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Clears the archives, they will be reloaded at the next lookup.
+     */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+            entries.clear();
+            monthArchives.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            List<PostSortKeyProjection> projections =
+                postRepository.findAllSortKeysByStatus(PostStatus.PUBLISHED);
+            projections.forEach(projection ->
+                doPut(projection.getId(), projection.getCreateTime()));
+            loaded = true;
+            log.debug("Loaded [{}] published posts into archives", projections.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void doPut(Integer postId, @Nullable Date createTime) {
+        doRemove(postId);
+        long time = createTime == null ? 0L : createTime.getTime();
+        YearMonth yearMonth = YearMonth.from(new Date(time).toInstant().atZone(zoneId));
+        Entry entry = new Entry(postId, time, yearMonth);
+        entries.put(postId, entry);
+        monthArchives.computeIfAbsent(yearMonth, key -> new TreeSet<>(ENTRY_COMPARATOR))
+            .add(entry);
+    }
+
+    private void doRemove(Integer postId) {
+        Entry previous = entries.remove(postId);
+        if (previous == null) {
+            return;
+        }
+        NavigableSet<Entry> monthEntries = monthArchives.get(previous.yearMonth);
+        if (monthEntries != null) {
+            monthEntries.remove(previous);
+            if (monthEntries.isEmpty()) {
+                monthArchives.remove(previous.yearMonth);
+            }
+        }
+    }
+
+    /**
+     * Month archive.
+     */
+    public static final class Archive {
+
+        private final int year;
+
+        private final int month;
+
+        private final List<Integer> postIds;
+
+        private Archive(int year, int month, List<Integer> postIds) {
+            this.year = year;
+            this.month = month;
+            this.postIds = postIds;
+        }
+
+        public int getYear() {
+            return year;
+        }
+
+        public int getMonth() {
+            return month;
+        }
+
+        /**
+         * Gets post ids, the latest post first.
+         *
+         * @return an unmodifiable list of post id
+         */
+        @NonNull
+        public List<Integer> getPostIds() {
+            return Collections.unmodifiableList(postIds);
+        }
+
+        public int getCount() {
+            return postIds.size();
+        }
+    }
+
+    private static final class Entry {
+
+        private final Integer id;
+
+        private final long createTime;
+
+        private final YearMonth yearMonth;
+
+        private Entry(Integer id, long createTime, YearMonth yearMonth) {
+            this.id = id;
+            this.createTime = createTime;
+            this.yearMonth = yearMonth;
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package run.halo.app.service.support;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import run.halo.app.model.entity.Category;
+import run.halo.app.model.entity.Post;
+import run.halo.app.model.enums.PostStatus;
+import run.halo.app.repository.CategoryRepository;
+import run.halo.app.repository.PostCategoryRepository;
+import run.halo.app.repository.PostTagRepository;
+
+/**
+ * Post counters of tags and categories.
+ *
+ * <p>Posts in recycle bin are not counted. The subtree counter of a category counts every
+ * distinct post linked to the category or any of its descendants, so a post linked to both a
+ * parent and a child category is counted once by the parent. Counters are loaded lazily at the
+ * first lookup, then maintained incrementally by post events and corrected by
+ * {@link #reconcile()}. Counters are always loaded without holding the lock, the write lock is
+ * only taken to publish them.
+ *
+ * @author guqing
+ * @date 2022-04-02
+ */
+@Slf4j
+@Component
+public class PostCountIndex {
+
+    private final PostTagRepository postTagRepository;
+
+    private final PostCategoryRepository postCategoryRepository;
+
+    private final CategoryRepository categoryRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Null if not loaded yet.
+     */
+    private Counters counters;
+
+    /**
+     * Increased on every change, loaded counters are only published if it stays the same while
+     * loading. Guarded by the write lock.
+     */
+    private long modification;
+
+    public PostCountIndex(PostTagRepository postTagRepository,
+        PostCategoryRepository postCategoryRepository,
+        CategoryRepository categoryRepository) {
+        this.postTagRepository = postTagRepository;
+        this.postCategoryRepository = postCategoryRepository;
+        this.categoryRepository = categoryRepository;
+    }
+
+    /**
+     * Gets post count of the tag.
+     *
+     * @param tagId tag id
+     * @return post count
+     */
+    public long getTagPostCount(@NonNull Integer tagId) {
+        return lookup(current -> current.tagCounts, tagId);
+    }
+
+    /**
+     * Gets count of posts directly linked to the category.
+     *
+     * @param categoryId category id
+     * @return post count
+     */
+    public long getCategoryPostCount(@NonNull Integer categoryId) {
+        return lookup(current -> current.categoryCounts, categoryId);
+    }
+
+    /**
+     * Gets count of distinct posts linked to the category or its descendants.
+     *
+     * @param categoryId category id
+     * @return post count
+     */
+    public long getCategorySubtreePostCount(@NonNull Integer categoryId) {
+        return lookup(current -> current.subtreeCounts, categoryId);
+    }
+
+    /**
+     * Updates counters by current status and links of the post.
+     *
+     * @param post post must not be null
+     */
+    public void update(@NonNull Post post) {
+        Assert.notNull(post, "Post must not be null");
+        Assert.notNull(post.getId(), "Post id must not be null");
+
+        lock.writeLock().lock();
+        try {
+            if (counters == null) {
+                // It will be loaded from database at the first lookup, and a load in progress
+                // may miss the post, so it must not be published
+                modification++;
+                return;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        PostLinks links = new PostLinks(!PostStatus.RECYCLE.equals(post.getStatus()),
+            postTagRepository.findAllTagIdsByPostId(post.getId()),
+            postCategoryRepository.findAllCategoryIdsByPostId(post.getId()));
+
+        lock.writeLock().lock();
+        try {
+            if (counters != null) {
+                counters.put(post.getId(), links);
+            }
+            modification++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the post from counters.
+     *
+     * @param postId post id must not be null
+     */
+    public void remove(@NonNull Integer postId) {
+        Assert.notNull(postId, "Post id must not be null");
+
+        lock.writeLock().lock();
+        try {
+            if (counters != null) {
+                counters.put(postId, null);
+            }
+            modification++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Clears all counters, they will be reloaded at the next lookup.
+     */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            counters = null;
+            modification++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reloads counters from database and replaces the drifted ones.
+     *
+     * @return number of corrected counters
+     */
+    public int reconcile() {
+        long loadingModification;
+        lock.readLock().lock();
+        try {
+            if (counters == null) {
+                // Nothing to reconcile
+                return 0;
+            }
+            loadingModification = modification;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Counters loaded = load();
+
+        lock.writeLock().lock();
+        try {
+            if (counters == null || loadingModification != modification) {
+                log.debug("Skipped reconciling post counters updated while loading");
+                return 0;
+            }
+            int drifted = counters.diff(loaded);
+            counters = loaded;
+            return drifted;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long lookup(Function<Counters, Map<Integer, Long>> counts, Integer key) {
+        long loadingModification;
+        lock.readLock().lock();
+        try {
+            if (counters != null) {
+                return counts.apply(counters).getOrDefault(key, 0L);
+            }
+            loadingModification = modification;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Counters loaded = load();
+
+        lock.writeLock().lock();
+        try {
+            if (counters == null && loadingModification == modification) {
+                counters = loaded;
+            }
+            // Loaded counters not published are only used by this lookup
+            Counters current = counters == null ? loaded : counters;
+            return counts.apply(current).getOrDefault(key, 0L);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @NonNull
+    private Counters load() {
+        Map<Integer, Integer> parentIds = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            parentIds.put(category.getId(), category.getParentId());
+        }
+
+        Map<Integer, PostLinks> postLinks = new HashMap<>();
+        postTagRepository.findAllWithPostStatus().forEach(projection ->
+            postLinks.computeIfAbsent(projection.getPostId(),
+                    postId -> new PostLinks(projection.getPostStatus()))
+                .tagIds.add(projection.getTagId()));
+        postCategoryRepository.findAllWithPostStatus().forEach(projection ->
+            postLinks.computeIfAbsent(projection.getPostId(),
+                    postId -> new PostLinks(projection.getPostStatus()))
+                .categoryIds.add(projection.getCategoryId()));
+
+        Counters loaded = new Counters(parentIds);
+        postLinks.forEach(loaded::put);
+        log.debug("Loaded post counters of [{}] posts", postLinks.size());
+        return loaded;
+    }
+
+    /**
+     * Tags and categories linked to a post.
+     */
+    private static final class PostLinks {
+
+        private final boolean counted;
+
+        private final Set<Integer> tagIds;
+
+        private final Set<Integer> categoryIds;
+
+        private PostLinks(PostStatus status) {
+            this(!PostStatus.RECYCLE.equals(status), new HashSet<>(), new HashSet<>());
+        }
+
+        private PostLinks(boolean counted, Collection<Integer> tagIds,
+            Collection<Integer> categoryIds) {
+            this.counted = counted;
+            this.tagIds = new HashSet<>(tagIds);
+            this.categoryIds = new HashSet<>(categoryIds);
+        }
+    }
+
+    private static final class Counters {
+
+        private final Map<Integer, Integer> parentIds;
+
+        private final Map<Integer, PostLinks> postLinks = new HashMap<>();
+
+        private final Map<Integer, Long> tagCounts = new HashMap<>();
+
+        private final Map<Integer, Long> categoryCounts = new HashMap<>();
+
+        private final Map<Integer, Long> subtreeCounts = new HashMap<>();
+
+        private Counters(Map<Integer, Integer> parentIds) {
+            this.parentIds = parentIds;
+        }
+
+        private void put(Integer postId, @Nullable PostLinks links) {
+            PostLinks previous = links == null ? postLinks.remove(postId)
+                : postLinks.put(postId, links);
+            count(previous, -1L);
+            count(links, 1L);
+        }
+
+        private void count(@Nullable PostLinks links, long delta) {
+            if (links == null || !links.counted) {
+                return;
+            }
+            links.tagIds.forEach(tagId -> increase(tagCounts, tagId, delta));
+            links.categoryIds.forEach(categoryId -> increase(categoryCounts, categoryId, delta));
+            ancestorsOrSelf(links.categoryIds)
+                .forEach(categoryId -> increase(subtreeCounts, categoryId, delta));
+        }
+
+        private Set<Integer> ancestorsOrSelf(Set<Integer> categoryIds) {
+            Set<Integer> result = new HashSet<>();
+            for (Integer categoryId : categoryIds) {
+                Integer current = categoryId;
+                // The visited check also guards against a broken tree with cycles
+                while (current != null && current != 0 && result.add(current)) {
+                    current = parentIds.get(current);
+                }
+            }
+            return result;
+        }
+
+        private int diff(Counters other) {
+            return diff(tagCounts, other.tagCounts)
+                + diff(categoryCounts, other.categoryCounts)
+                + diff(subtreeCounts, other.subtreeCounts);
+        }
+
+        private static int diff(Map<Integer, Long> left, Map<Integer, Long> right) {
+            Set<Integer> keys = new HashSet<>(left.keySet());
+            keys.addAll(right.keySet());
+            int drifted = 0;
+            for (Integer key : keys) {
+                if (!Objects.equals(left.get(key), right.get(key))) {
+                    drifted++;
+                }
+            }
+            return drifted;
+        }
+
+        private static void increase(Map<Integer, Long> counts, Integer key, long delta) {
+            counts.merge(key, delta, (oldValue, value) -> {
+                long count = oldValue + value;
+                return count == 0 ? null : count;
+            });
+        }
+    }
+}
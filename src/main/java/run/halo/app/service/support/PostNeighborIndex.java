@@ -0,0 +1,308 @@
+package run.halo.app.service.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import run.halo.app.model.entity.Post;
+import run.halo.app.model.enums.PostStatus;
+import run.halo.app.model.projection.PostSortKeyProjection;
+import run.halo.app.repository.PostRepository;
+
+/**
+ * In-memory ordered index of published post ids for previous/next post navigation.
+ *
+ * <p>Posts are ordered by the sort key and then by post id, so posts with the same sort key
+ * still have deterministic neighbors. The index is loaded lazily at the first lookup and then
+ * maintained incrementally by post events and the visit flusher.
+ *
+ * @author guqing
+ * @date 2022-03-31
+ */
+@Slf4j
+@Component
+public class PostNeighborIndex {
+
+    private static final Comparator<Entry> ENTRY_COMPARATOR =
+        Comparator.comparingLong((Entry entry) -> entry.value)
+            .thenComparing(entry -> entry.id);
+
+    private final PostRepository postRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<SortKey, NavigableSet<Entry>> indexes = new EnumMap<>(SortKey.class);
+
+    private final Map<Integer, PostSortKeyProjection> sortKeys = new HashMap<>();
+
+    private volatile boolean loaded;
+
+    public PostNeighborIndex(PostRepository postRepository) {
+        this.postRepository = postRepository;
+        for (SortKey sortKey : SortKey.values()) {
+            indexes.put(sortKey, new TreeSet<>(ENTRY_COMPARATOR));
+        }
+    }
+
+    /**
+     * Lists ids of posts whose sort key is after the given post, in ascending order.
+     *
+     * @param sortKey sort key must not be null
+     * @param post post must not be null
+     * @param size max size of the result
+     * @return a list of post id
+     */
+    @NonNull
+    public List<Integer> listPrevIds(@NonNull SortKey sortKey, @NonNull Post post, int size) {
+        return listIds(sortKey, post, size, true);
+    }
+
+    /**
+     * Lists ids of posts whose sort key is before the given post, in descending order.
+     *
+     * @param sortKey sort key must not be null
+     * @param post post must not be null
+     * @param size max size of the result
+     * @return a list of post id
+     */
+    @NonNull
+    public List<Integer> listNextIds(@NonNull SortKey sortKey, @NonNull Post post, int size) {
+        return listIds(sortKey, post, size, false);
+    }
+
+    /**
+     * Adds or updates the post if it is published, otherwise removes it.
+     *
+     * @param post post must not be null
+     */
+    public void put(@NonNull Post post) {
+        Assert.notNull(post, "Post must not be null");
+        Assert.notNull(post.getId(), "Post id must not be null");
+
+        if (!PostStatus.PUBLISHED.equals(post.getStatus())) {
+            remove(post.getId());
+            return;
+        }
+
+        // Check under the lock, so updates during a load wait for it instead of being dropped
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                // It will be loaded from database at the first lookup
+                return;
+            }
+            PostSortKeyProjection previous = sortKeys.get(post.getId());
+            long visits = valueOf(post.getVisits());
+            if (previous != null) {
+                // Visits may have been flushed after the post was loaded
+                visits = Math.max(visits, valueOf(previous.getVisits()));
+            }
+            doPut(new PostSortKeyProjection(post.getId(), post.getCreateTime(),
+                post.getEditTime(), visits));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the post.
+     *
+     * @param postId post id must not be null
+     */
+    public void remove(@NonNull Integer postId) {
+        Assert.notNull(postId, "Post id must not be null");
+
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            doRemove(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Increases visits of the post if it is indexed.
+     *
+     * @param postId post id must not be null
+     * @param visits visits to increase
+     */
+    public void increaseVisits(@NonNull Integer postId, long visits) {
+        Assert.notNull(postId, "Post id must not be null");
+
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            PostSortKeyProjection previous = sortKeys.get(postId);
+            if (previous != null) {
+                doPut(new PostSortKeyProjection(postId, previous.getCreateTime(),
+                    previous.getEditTime(), valueOf(previous.getVisits()) + visits));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Clears the index, it will be reloaded at the next lookup.
+     */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+            sortKeys.clear();
+            indexes.values().forEach(NavigableSet::clear);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @NonNull
+    private List<Integer> listIds(SortKey sortKey, Post post, int size, boolean ascending) {
+        Assert.notNull(sortKey, "Sort key must not be null");
+        Assert.notNull(post, "Post must not be null");
+        if (size <= 0) {
+            return Collections.emptyList();
+        }
+
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            // Prefer the indexed sort key, the given post may be stale
+            PostSortKeyProjection current = sortKeys.get(post.getId());
+            Entry pivot = current != null ? Entry.of(sortKey, current)
+                : new Entry(post.getId() == null ? Integer.MIN_VALUE : post.getId(),
+                    sortKey.valueOf(post.getCreateTime(), post.getEditTime(), post.getVisits()));
+
+            NavigableSet<Entry> index = indexes.get(sortKey);
+            Iterator<Entry> iterator = ascending
+                ? index.tailSet(pivot, false).iterator()
+                : index.headSet(pivot, false).descendingIterator();
+
+            List<Integer> ids = new ArrayList<>(Math.min(size, index.size()));
+            while (iterator.hasNext() && ids.size() < size) {
+                ids.add(iterator.next().id);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            List<PostSortKeyProjection> projections =
+                postRepository.findAllSortKeysByStatus(PostStatus.PUBLISHED);
+            projections.forEach(this::doPut);
+            loaded = true;
+            log.debug("Loaded [{}] published posts into neighbor index", projections.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void doPut(PostSortKeyProjection sortKey) {
+        doRemove(sortKey.getId());
+        sortKeys.put(sortKey.getId(), sortKey);
+        indexes.forEach((key, index) -> index.add(Entry.of(key, sortKey)));
+    }
+
+    private void doRemove(Integer postId) {
+        PostSortKeyProjection previous = sortKeys.remove(postId);
+        if (previous != null) {
+            indexes.forEach((key, index) -> index.remove(Entry.of(key, previous)));
+        }
+    }
+
+    private static long valueOf(@Nullable Long value) {
+        return value == null ? 0L : value;
+    }
+
+    /**
+     * Supported sort keys of the neighbor index.
+     */
+    public enum SortKey {
+
+        CREATE_TIME("createTime"),
+
+        EDIT_TIME("editTime"),
+
+        VISITS("visits");
+
+        private final String property;
+
+        SortKey(String property) {
+            this.property = property;
+        }
+
+        /**
+         * Gets sort key by the property name of post.
+         *
+         * @param property property name, such as the value of index sort option
+         * @return sort key or null if the property is not supported
+         */
+        @Nullable
+        public static SortKey of(@Nullable String property) {
+            for (SortKey sortKey : values()) {
+                if (sortKey.property.equals(property)) {
+                    return sortKey;
+                }
+            }
+            return null;
+        }
+
+        long valueOf(@Nullable Date createTime, @Nullable Date editTime, @Nullable Long visits) {
+            switch (this) {
+                case CREATE_TIME:
+                    return createTime == null ? 0L : createTime.getTime();
+                case EDIT_TIME:
+                    return editTime == null ? 0L : editTime.getTime();
+                default:
+                    return PostNeighborIndex.valueOf(visits);
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final Integer id;
+
+        private final long value;
+
+        private Entry(Integer id, long value) {
+            this.id = id;
+            this.value = value;
+        }
+
+        private static Entry of(SortKey sortKey, PostSortKeyProjection projection) {
+            return new Entry(projection.getId(), sortKey.valueOf(projection.getCreateTime(),
+                projection.getEditTime(), projection.getVisits()));
+        }
+    }
+}
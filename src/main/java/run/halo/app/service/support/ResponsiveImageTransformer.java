@@ -0,0 +1,194 @@
+package run.halo.app.service.support;
+
+import static run.halo.app.handler.file.LocalFileHandler.THUMB_HEIGHT;
+import static run.halo.app.handler.file.LocalFileHandler.THUMB_WIDTH;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+import org.springframework.web.util.HtmlUtils;
+import run.halo.app.model.entity.Attachment;
+import run.halo.app.model.enums.AttachmentType;
+import run.halo.app.repository.AttachmentRepository;
+import run.halo.app.service.OptionService;
+
+/**
+ * Rewrites {@code <img>} tags of rendered html content which refer to local attachments.
+ *
+ * <p>Every matched image gets {@code loading="lazy"}, {@code decoding="async"}, the intrinsic
+ * {@code width}/{@code height} recorded in the attachment and a {@code srcset} which contains
+ * the generated thumbnail. Attributes already present in the tag are left untouched, so the
+ * transformation is idempotent and can be applied on every save.
+ *
+ * @author guqing
+ * @date 2022-03-28
+ */
+@Component
+public class ResponsiveImageTransformer {
+
+    private static final Pattern IMG_TAG_PATTERN =
+        Pattern.compile("<img\\s[^>]*>", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern SRC_ATTR_PATTERN =
+        Pattern.compile("\\ssrc\\s*=\\s*\"([^\"]*)\"", Pattern.CASE_INSENSITIVE);
+
+    private static final String URL_SEPARATOR = "/";
+
+    private final AttachmentRepository attachmentRepository;
+
+    private final OptionService optionService;
+
+    public ResponsiveImageTransformer(AttachmentRepository attachmentRepository,
+        OptionService optionService) {
+        this.attachmentRepository = attachmentRepository;
+        this.optionService = optionService;
+    }
+
+    /**
+     * Transforms the local attachment images in the given html content.
+     *
+     * @param html rendered html content
+     * @return transformed html content or the original content if nothing matched
+     */
+    @Nullable
+    public String transform(@Nullable String html) {
+        if (StringUtils.isBlank(html) || !StringUtils.containsIgnoreCase(html, "<img")) {
+            return html;
+        }
+
+        String blogBaseUrl = optionService.getBlogBaseUrl();
+
+        // Collect all local paths at first, then query the attachments in one round trip
+        Map<String, String> srcPathMap = new LinkedHashMap<>();
+        Matcher tagMatcher = IMG_TAG_PATTERN.matcher(html);
+        while (tagMatcher.find()) {
+            String src = getSrc(tagMatcher.group());
+            String path = resolveLocalPath(src, blogBaseUrl);
+            if (path != null) {
+                srcPathMap.put(src, path);
+            }
+        }
+        if (srcPathMap.isEmpty()) {
+            return html;
+        }
+
+        List<Attachment> attachments = attachmentRepository
+            .findAllByPathInAndType(srcPathMap.values(), AttachmentType.LOCAL);
+        if (CollectionUtils.isEmpty(attachments)) {
+            return html;
+        }
+        Map<String, Attachment> attachmentMap = attachments.stream()
+            .collect(Collectors.toMap(Attachment::getPath, Function.identity(), (a, b) -> a));
+
+        StringBuilder result = new StringBuilder(html.length() + 128 * attachmentMap.size());
+        tagMatcher.reset();
+        while (tagMatcher.find()) {
+            String tag = tagMatcher.group();
+            String src = getSrc(tag);
+            String path = src == null ? null : srcPathMap.get(src);
+            Attachment attachment = path == null ? null : attachmentMap.get(path);
+            String rewritten = attachment == null ? tag : rewrite(tag, src, path, attachment);
+            tagMatcher.appendReplacement(result, Matcher.quoteReplacement(rewritten));
+        }
+        tagMatcher.appendTail(result);
+        return result.toString();
+    }
+
+    @NonNull
+    private String rewrite(String tag, String src, String path, Attachment attachment) {
+        StringBuilder attributes = new StringBuilder();
+        appendIfAbsent(tag, attributes, "loading", "lazy");
+        appendIfAbsent(tag, attributes, "decoding", "async");
+
+        int width = attachment.getWidth() == null ? 0 : attachment.getWidth();
+        int height = attachment.getHeight() == null ? 0 : attachment.getHeight();
+        if (width > 0 && height > 0) {
+            appendIfAbsent(tag, attributes, "width", String.valueOf(width));
+            appendIfAbsent(tag, attributes, "height", String.valueOf(height));
+
+            String srcset = buildSrcset(src, path, attachment, width, height);
+            if (srcset != null) {
+                appendIfAbsent(tag, attributes, "srcset", srcset);
+                appendIfAbsent(tag, attributes, "sizes",
+                    "(max-width: " + width + "px) 100vw, " + width + "px");
+            }
+        }
+
+        if (attributes.length() == 0) {
+            return tag;
+        }
+
+        int end = tag.endsWith("/>") ? tag.length() - 2 : tag.length() - 1;
+        String head = StringUtils.stripEnd(tag.substring(0, end), null);
+        return head + attributes + (tag.endsWith("/>") ? " />" : ">");
+    }
+
+    @Nullable
+    private String buildSrcset(String src, String path, Attachment attachment, int width,
+        int height) {
+        String thumbPath = attachment.getThumbPath();
+        if (StringUtils.isBlank(thumbPath) || thumbPath.equals(path)) {
+            return null;
+        }
+
+        // The thumbnail is generated within the bounds by keeping aspect ratio
+        double scale = Math.min((double) THUMB_WIDTH / width, (double) THUMB_HEIGHT / height);
+        int thumbWidth = (int) Math.round(width * scale);
+        if (thumbWidth <= 0 || thumbWidth >= width) {
+            return null;
+        }
+
+        // Keep the same url prefix as the source, such as blog base url or a leading slash
+        String prefix = StringUtils.removeEnd(HtmlUtils.htmlUnescape(src), path);
+        return HtmlUtils.htmlEscape(prefix + thumbPath) + " " + thumbWidth + "w, "
+            + src + " " + width + "w";
+    }
+
+    private void appendIfAbsent(String tag, StringBuilder attributes, String name,
+        String value) {
+        Pattern attrPattern =
+            Pattern.compile("\\s" + name + "\\s*=", Pattern.CASE_INSENSITIVE);
+        if (attrPattern.matcher(tag).find()) {
+            return;
+        }
+        attributes.append(' ').append(name).append("=\"").append(value).append('"');
+    }
+
+    @Nullable
+    private String getSrc(String tag) {
+        Matcher srcMatcher = SRC_ATTR_PATTERN.matcher(tag);
+        return srcMatcher.find() ? srcMatcher.group(1) : null;
+    }
+
+    /**
+     * Resolves the attachment path from image src.
+     *
+     * @param src image src
+     * @param blogBaseUrl blog base url
+     * @return relative attachment path or null if the src does not refer to this blog
+     */
+    @Nullable
+    private String resolveLocalPath(@Nullable String src, String blogBaseUrl) {
+        if (StringUtils.isBlank(src)) {
+            return null;
+        }
+        String url = HtmlUtils.htmlUnescape(src);
+        if (StringUtils.startsWith(url, blogBaseUrl + URL_SEPARATOR)) {
+            url = url.substring(blogBaseUrl.length());
+        }
+        if (!url.startsWith(URL_SEPARATOR) || url.startsWith("//")
+            || StringUtils.containsAny(url, '?', '#')) {
+            return null;
+        }
+        return url.substring(1);
+    }
+}
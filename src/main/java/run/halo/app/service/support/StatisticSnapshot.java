@@ -0,0 +1,240 @@
+package run.halo.app.service.support;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import run.halo.app.model.dto.StatisticDTO;
+import run.halo.app.model.enums.CommentStatus;
+import run.halo.app.model.enums.PostStatus;
+import run.halo.app.service.CategoryService;
+import run.halo.app.service.JournalCommentService;
+import run.halo.app.service.JournalService;
+import run.halo.app.service.LinkService;
+import run.halo.app.service.OptionService;
+import run.halo.app.service.PostCommentService;
+import run.halo.app.service.PostService;
+import run.halo.app.service.SheetCommentService;
+import run.halo.app.service.SheetService;
+import run.halo.app.service.TagService;
+
+/**
+ * Materialized snapshot of the site statistics.
+ *
+ * <p>All counters are loaded at the first lookup. After that, a counter is recounted only when
+ * a domain event changes it, visits and likes are increased in place, and
+ * {@link #reconcile()} recounts everything periodically to correct the drift.
+ *
+ * @author guqing
+ * @date 2022-04-03
+ */
+@Slf4j
+@Component
+public class StatisticSnapshot {
+
+    private final PostService postService;
+
+    private final SheetService sheetService;
+
+    private final JournalService journalService;
+
+    private final PostCommentService postCommentService;
+
+    private final SheetCommentService sheetCommentService;
+
+    private final JournalCommentService journalCommentService;
+
+    private final OptionService optionService;
+
+    private final LinkService linkService;
+
+    private final CategoryService categoryService;
+
+    private final TagService tagService;
+
+    private final Map<Counter, AtomicLong> counters = new EnumMap<>(Counter.class);
+
+    private volatile long birthday;
+
+    private volatile boolean loaded;
+
+    public StatisticSnapshot(PostService postService,
+        SheetService sheetService,
+        JournalService journalService,
+        PostCommentService postCommentService,
+        SheetCommentService sheetCommentService,
+        JournalCommentService journalCommentService,
+        OptionService optionService,
+        LinkService linkService,
+        CategoryService categoryService,
+        TagService tagService) {
+        this.postService = postService;
+        this.sheetService = sheetService;
+        this.journalService = journalService;
+        this.postCommentService = postCommentService;
+        this.sheetCommentService = sheetCommentService;
+        this.journalCommentService = journalCommentService;
+        this.optionService = optionService;
+        this.linkService = linkService;
+        this.categoryService = categoryService;
+        this.tagService = tagService;
+        for (Counter counter : Counter.values()) {
+            counters.put(counter, new AtomicLong());
+        }
+    }
+
+    /**
+     * Gets current statistic.
+     *
+     * @return a new statistic dto
+     */
+    @NonNull
+    public StatisticDTO get() {
+        if (!loaded) {
+            load();
+        }
+
+        StatisticDTO statisticDto = new StatisticDTO();
+        statisticDto.setPostCount(get(Counter.POST));
+        statisticDto.setCommentCount(get(Counter.COMMENT));
+        statisticDto.setTagCount(get(Counter.TAG));
+        statisticDto.setCategoryCount(get(Counter.CATEGORY));
+        statisticDto.setJournalCount(get(Counter.JOURNAL));
+
+        long currentBirthday = birthday;
+        statisticDto.setEstablishDays(
+            TimeUnit.MILLISECONDS.toDays(System.currentTimeMillis() - currentBirthday));
+        statisticDto.setBirthday(currentBirthday);
+
+        statisticDto.setLinkCount(get(Counter.LINK));
+        statisticDto.setVisitCount(get(Counter.VISIT));
+        statisticDto.setLikeCount(get(Counter.LIKE));
+        return statisticDto;
+    }
+
+    /**
+     * Gets the current value of the counter.
+     *
+     * @param counter counter must not be null
+     * @return current value of the counter
+     */
+    public long getCount(@NonNull Counter counter) {
+        Assert.notNull(counter, "Counter must not be null");
+        if (!loaded) {
+            load();
+        }
+        return get(counter);
+    }
+
+    /**
+     * Recounts the given counters from database if the snapshot is loaded.
+     *
+     * @param counters counters to recount
+     */
+    public void refresh(@NonNull Counter... counters) {
+        if (!loaded) {
+            return;
+        }
+        for (Counter counter : counters) {
+            this.counters.get(counter).set(count(counter));
+        }
+    }
+
+    /**
+     * Increases the counter in place if the snapshot is loaded.
+     *
+     * @param counter counter must not be null
+     * @param delta delta to increase
+     */
+    public void increase(@NonNull Counter counter, long delta) {
+        Assert.notNull(counter, "Counter must not be null");
+        if (loaded) {
+            counters.get(counter).addAndGet(delta);
+        }
+    }
+
+    /**
+     * Reloads the birthday option if the snapshot is loaded.
+     */
+    public void refreshBirthday() {
+        if (loaded) {
+            birthday = optionService.getBirthday();
+        }
+    }
+
+    /**
+     * Recounts all counters from database if the snapshot is loaded.
+     *
+     * @return number of drifted counters
+     */
+    public int reconcile() {
+        if (!loaded) {
+            // Nothing to reconcile
+            return 0;
+        }
+        return load();
+    }
+
+    private synchronized int load() {
+        int drifted = 0;
+        for (Counter counter : Counter.values()) {
+            long count = count(counter);
+            long previous = counters.get(counter).getAndSet(count);
+            if (loaded && previous != count) {
+                drifted++;
+                log.debug("Statistic counter [{}] drifted from [{}] to [{}]", counter, previous,
+                    count);
+            }
+        }
+        birthday = optionService.getBirthday();
+        loaded = true;
+        return drifted;
+    }
+
+    private long get(Counter counter) {
+        return counters.get(counter).get();
+    }
+
+    private long count(Counter counter) {
+        switch (counter) {
+            case POST:
+                return postService.countByStatus(PostStatus.PUBLISHED);
+            case COMMENT:
+                return postCommentService.countByStatus(CommentStatus.PUBLISHED)
+                    + sheetCommentService.countByStatus(CommentStatus.PUBLISHED)
+                    + journalCommentService.countByStatus(CommentStatus.PUBLISHED);
+            case TAG:
+                return tagService.count();
+            case CATEGORY:
+                return categoryService.count();
+            case JOURNAL:
+                return journalService.count();
+            case LINK:
+                return linkService.count();
+            case VISIT:
+                return postService.countVisit() + sheetService.countVisit();
+            case LIKE:
+                return postService.countLike() + sheetService.countLike();
+            default:
+                throw new IllegalArgumentException("Unsupported counter " + counter);
+        }
+    }
+
+    /**
+     * Counters of the statistic.
+     */
+    public enum Counter {
+        POST,
+        COMMENT,
+        TAG,
+        CATEGORY,
+        JOURNAL,
+        LINK,
+        VISIT,
+        LIKE
+    }
+}
@@ -0,0 +1,36 @@
+package run.halo.app.task;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import run.halo.app.service.support.PostCountIndex;
+
+/**
+ * Reconciles post counters of tags and categories with database.
+ *
+ * @author guqing
+ * @date 2022-04-02
+ */
+@Slf4j
+@Component
+public class PostCountReconciliationTask {
+
+    private final PostCountIndex postCountIndex;
+
+    public PostCountReconciliationTask(PostCountIndex postCountIndex) {
+        this.postCountIndex = postCountIndex;
+    }
+
+    /**
+     * Replaces drifted counters every hour.
+     */
+    @Scheduled(cron = "0 30 */1 * * ?")
+    public synchronized void run() {
+        int drifted = postCountIndex.reconcile();
+        if (drifted > 0) {
+            log.info("Post counters reconciled, {} counters were drifted", drifted);
+        } else {
+            log.debug("Post counters reconciled without drift");
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package run.halo.app.task;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import run.halo.app.config.properties.HaloProperties;
+import run.halo.app.service.ContentPatchLogService;
+import run.halo.app.service.LogService;
+
+/**
+ * Removes expired logs and stale content patch logs.
+ *
+ * <p>Rows are removed in chunks, one transaction per chunk, so the tables are never locked for
+ * long.
+ *
+ * @author guqing
+ * @date 2022-04-05
+ */
+@Slf4j
+@Component
+public class RetentionTask {
+
+    private final LogService logService;
+
+    private final ContentPatchLogService contentPatchLogService;
+
+    private final HaloProperties haloProperties;
+
+    public RetentionTask(LogService logService,
+        ContentPatchLogService contentPatchLogService,
+        HaloProperties haloProperties) {
+        this.logService = logService;
+        this.contentPatchLogService = contentPatchLogService;
+        this.haloProperties = haloProperties;
+    }
+
+    /**
+     * Runs every day at 03:40.
+     */
+    @Scheduled(cron = "0 40 3 * * ?")
+    public synchronized void run() {
+        removeExpiredLogs();
+        removeStaleContentPatchLogs();
+    }
+
+    void removeExpiredLogs() {
+        Optional<Date> before = getLogExpiryTime();
+        if (before.isEmpty()) {
+            return;
+        }
+
+        int chunkSize = haloProperties.getRetentionChunkSize();
+        boolean rollup = haloProperties.isLogRollupEnabled();
+        long removed = 0;
+        int removedInChunk;
+        do {
+            removedInChunk = logService.removeOldest(before.get(), chunkSize, rollup);
+            removed += removedInChunk;
+        } while (removedInChunk >= chunkSize);
+
+        log.info("Removed {} logs created before {}", removed, before.get());
+    }
+
+    void removeStaleContentPatchLogs() {
+        int versions = haloProperties.getContentPatchLogRetainVersions();
+        if (versions <= 0) {
+            return;
+        }
+
+        List<Integer> postIds = contentPatchLogService.listPostIdsHavingMoreThan(versions);
+        long removed = 0;
+        for (Integer postId : postIds) {
+            removed += contentPatchLogService.removeStaleVersions(postId, versions);
+        }
+
+        log.info("Removed {} stale content patch logs of {} posts", removed, postIds.size());
+    }
+
+    private Optional<Date> getLogExpiryTime() {
+        Date before = null;
+        if (!haloProperties.getLogRetention().isNegative()
+            && !haloProperties.getLogRetention().isZero()) {
+            before = new Date(System.currentTimeMillis()
+                - haloProperties.getLogRetention().toMillis());
+        }
+        if (haloProperties.getLogMaxRows() > 0) {
+            Optional<Date> overflowTime =
+                logService.getOverflowTime(haloProperties.getLogMaxRows());
+            if (overflowTime.isPresent()
+                && (before == null || overflowTime.get().after(before))) {
+                before = overflowTime.get();
+            }
+        }
+        return Optional.ofNullable(before);
+    }
+}
@@ -0,0 +1,36 @@
+package run.halo.app.task;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import run.halo.app.service.support.StatisticSnapshot;
+
+/**
+ * Reconciles the statistic snapshot with database.
+ *
+ * @author guqing
+ * @date 2022-04-03
+ */
+@Slf4j
+@Component
+public class StatisticReconciliationTask {
+
+    private final StatisticSnapshot statisticSnapshot;
+
+    public StatisticReconciliationTask(StatisticSnapshot statisticSnapshot) {
+        this.statisticSnapshot = statisticSnapshot;
+    }
+
+    /**
+     * Recounts the statistic every ten minutes.
+     */
+    @Scheduled(cron = "0 */10 * * * ?")
+    public synchronized void run() {
+        int drifted = statisticSnapshot.reconcile();
+        if (drifted > 0) {
+            log.info("Statistic reconciled, {} counters were drifted", drifted);
+        } else {
+            log.debug("Statistic reconciled without drift");
+        }
+    }
+}
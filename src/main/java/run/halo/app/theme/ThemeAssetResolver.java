@@ -0,0 +1,127 @@
+package run.halo.app.theme;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import javax.servlet.http.HttpServletRequest;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+/**
+ * Resolves fingerprinted theme asset paths to the assets, other paths are passed on as is.
+ *
+ * <p>Clients accepting gzip get the compressed variant of {@link ThemeAssets} if it is up to
+ * date.
+ *
+ * @author guqing
+ * @date 2022-04-11
+ */
+public class ThemeAssetResolver extends AbstractResourceResolver {
+
+    private static final String GZIP = "gzip";
+
+    private final ThemeAssets themeAssets;
+
+    public ThemeAssetResolver(ThemeAssets themeAssets) {
+        this.themeAssets = themeAssets;
+    }
+
+    @Override
+    protected Resource resolveResourceInternal(@Nullable HttpServletRequest request,
+        @NonNull String requestPath, @NonNull List<? extends Resource> locations,
+        @NonNull ResourceResolverChain chain) {
+        String assetPath = themeAssets.resolve(requestPath);
+        String path = assetPath == null ? requestPath : assetPath;
+        Resource resource = chain.resolveResource(request, path, locations);
+        if (resource == null || request == null || !acceptsGzip(request)) {
+            return resource;
+        }
+        Path compressed = themeAssets.compressed(path);
+        return compressed == null ? resource
+            : new GzippedResource(resource, new FileSystemResource(compressed));
+    }
+
+    @Override
+    protected String resolveUrlPathInternal(@NonNull String resourceUrlPath,
+        @NonNull List<? extends Resource> locations, @NonNull ResourceResolverChain chain) {
+        return chain.resolveUrlPath(resourceUrlPath, locations);
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains(GZIP);
+    }
+
+    /**
+     * Compressed variant of a resource, served with the media type of the original.
+     */
+    static final class GzippedResource extends AbstractResource implements HttpResource {
+
+        private final Resource original;
+
+        private final Resource compressed;
+
+        GzippedResource(Resource original, Resource compressed) {
+            this.original = original;
+            this.compressed = compressed;
+        }
+
+        @Override
+        @NonNull
+        public InputStream getInputStream() throws IOException {
+            return compressed.getInputStream();
+        }
+
+        @Override
+        public boolean exists() {
+            return compressed.exists();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return compressed.contentLength();
+        }
+
+        @Override
+        public long lastModified() throws IOException {
+            return compressed.lastModified();
+        }
+
+        @Override
+        @NonNull
+        public File getFile() throws IOException {
+            return compressed.getFile();
+        }
+
+        @Override
+        public String getFilename() {
+            return original.getFilename();
+        }
+
+        @Override
+        @NonNull
+        public String getDescription() {
+            return compressed.getDescription();
+        }
+
+        @Override
+        @NonNull
+        public HttpHeaders getResponseHeaders() {
+            HttpHeaders headers = original instanceof HttpResource
+                ? ((HttpResource) original).getResponseHeaders() : new HttpHeaders();
+            headers.add(HttpHeaders.CONTENT_ENCODING, GZIP);
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package run.halo.app.theme;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
+import run.halo.app.config.properties.HaloProperties;
+
+/**
+ * Content-hashed assets of the activated theme.
+ *
+ * <p>When a theme is activated or updated, every asset is hashed and compressible assets get a
+ * {@code .gz} variant in the work directory, named by the hash of the content, so theme
+ * directories are never written and a variant never outlives the content it was compressed
+ * from. A fingerprinted path inserts the hash before the extension, such as
+ * {@code source/css/style.9f86d081884c7d65.css}, and resolves back to the asset as long as the
+ * content is unchanged. Themes edited in the admin are reloaded at once.
+ *
+ * @author guqing
+ * @date 2022-04-11
+ */
+@Slf4j
+@Component
+public class ThemeAssets {
+
+    public static final String GZIP_SUFFIX = ".gz";
+
+    /**
+     * Folder of compressed variants in the work directory.
+     */
+    static final String CACHE_FOLDER = ".cache/theme-assets";
+
+    /**
+     * Hex characters of the hash in fingerprinted paths.
+     */
+    static final int HASH_LENGTH = 16;
+
+    private static final Set<String> COMPRESSIBLE_EXTENSIONS =
+        Set.of("css", "js", "mjs", "json", "map", "svg", "xml", "txt", "html", "ttf", "otf",
+            "eot");
+
+    private static final Set<String> SKIPPED_EXTENSIONS = Set.of("ftl", "yaml", "yml", "gz");
+
+    /**
+     * Small assets are not worth compressing.
+     */
+    private static final long MIN_COMPRESS_SIZE = 1024;
+
+    private final Path cachePath;
+
+    private volatile Index index = new Index(null, null, Collections.emptyMap(),
+        Collections.emptyMap());
+
+    public ThemeAssets(HaloProperties haloProperties) {
+        this.cachePath = Paths.get(haloProperties.getWorkDir(), CACHE_FOLDER);
+    }
+
+    /**
+     * Hashes assets of the theme, generates compressed variants and replaces the index.
+     *
+     * @param folderName theme folder name must not be blank
+     * @param themePath theme path must not be null
+     */
+    public void load(@NonNull String folderName, @NonNull Path themePath) {
+        Assert.hasText(folderName, "Theme folder name must not be blank");
+        Assert.notNull(themePath, "Theme path must not be null");
+
+        long start = System.currentTimeMillis();
+        Map<String, String> hashes = new HashMap<>();
+        Map<String, Path> compressed = new HashMap<>();
+        Path themeCachePath = cachePath.resolve(folderName);
+        try {
+            Files.walkFileTree(themePath, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    // Such as .git
+                    return isHidden(dir) && !dir.equals(themePath) ? FileVisitResult.SKIP_SUBTREE
+                        : FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+                    throws IOException {
+                    String extension =
+                        StringUtils.substringAfterLast(file.getFileName().toString(), ".")
+                            .toLowerCase(Locale.ROOT);
+                    if (!attrs.isRegularFile() || isHidden(file)
+                        || SKIPPED_EXTENSIONS.contains(extension)) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                    String relativePath =
+                        themePath.relativize(file).toString().replace('\\', '/');
+                    String hash = hash(file);
+                    hashes.put(relativePath, hash);
+                    if (COMPRESSIBLE_EXTENSIONS.contains(extension)) {
+                        Path target =
+                            themeCachePath.resolve(fingerprint(relativePath, hash) + GZIP_SUFFIX);
+                        if (compress(file, target)) {
+                            compressed.put(relativePath, target);
+                        }
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            // Serve assets without fingerprints rather than failing the theme activation
+            log.warn("Failed to hash assets of theme: [{}]", themePath, e);
+            hashes.clear();
+            compressed.clear();
+        }
+        index = new Index(folderName, themePath, hashes, compressed);
+        deleteStale(themeCachePath, Set.copyOf(compressed.values()));
+        log.info("Hashed [{}] assets of theme [{}] in [{}] ms", hashes.size(), folderName,
+            System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Gets the fingerprinted path of the asset.
+     *
+     * @param path asset path relative to the activated theme
+     * @return fingerprinted path, or the path itself if the asset is unknown
+     */
+    @NonNull
+    public String fingerprint(@NonNull String path) {
+        String hash = index.hashes.get(path);
+        return hash == null ? path : fingerprint(path, hash);
+    }
+
+    /**
+     * Gets the compressed variant of the asset.
+     *
+     * @param assetPath asset path relative to the themes directory, such as
+     * {@code anatole/source/css/style.css}
+     * @return path of the compressed variant, or null if there is no up-to-date variant
+     */
+    @Nullable
+    public Path compressed(@NonNull String assetPath) {
+        Index current = index;
+        if (current.folderName == null || current.themePath == null
+            || !assetPath.startsWith(current.folderName + "/")) {
+            return null;
+        }
+        String path = assetPath.substring(current.folderName.length() + 1);
+        Path compressed = current.compressed.get(path);
+        if (compressed == null) {
+            return null;
+        }
+        try {
+            // The asset may have been changed outside of the admin since it was compressed
+            if (Files.getLastModifiedTime(compressed)
+                .compareTo(Files.getLastModifiedTime(current.themePath.resolve(path))) < 0) {
+                return null;
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        return compressed;
+    }
+
+    /**
+     * Resolves the fingerprinted path to the asset path.
+     *
+     * @param requestPath request path relative to the themes directory, such as
+     * {@code anatole/source/css/style.9f86d081884c7d65.css}
+     * @return asset path relative to the themes directory, or null if it is not a fingerprinted
+     * path of the current content
+     */
+    @Nullable
+    public String resolve(@NonNull String requestPath) {
+        Index current = index;
+        if (current.folderName == null || !requestPath.startsWith(current.folderName + "/")) {
+            return null;
+        }
+        String prefix = current.folderName + "/";
+        String path = requestPath.substring(prefix.length());
+        int extensionIndex = path.lastIndexOf('.');
+        int hashIndex = path.lastIndexOf('.', extensionIndex - 1);
+        if (extensionIndex < 0 || hashIndex < 0 || extensionIndex - hashIndex - 1 != HASH_LENGTH
+            || path.indexOf('/', hashIndex) >= 0) {
+            return null;
+        }
+        String assetPath = path.substring(0, hashIndex) + path.substring(extensionIndex);
+        String hash = path.substring(hashIndex + 1, extensionIndex);
+        return hash.equals(current.hashes.get(assetPath)) ? prefix + assetPath : null;
+    }
+
+    @NonNull
+    static String fingerprint(String path, String hash) {
+        int slashIndex = path.lastIndexOf('/');
+        int extensionIndex = path.lastIndexOf('.');
+        if (extensionIndex <= slashIndex + 1) {
+            // No extension to keep the media type, leave it as is
+            return path;
+        }
+        return path.substring(0, extensionIndex) + "." + hash + path.substring(extensionIndex);
+    }
+
+    @NonNull
+    static String hash(Path path) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(path), digest)) {
+            StreamUtils.drain(in);
+        }
+        StringBuilder hex = new StringBuilder(HASH_LENGTH);
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16))
+                .append(Character.forDigit(b & 0xF, 16));
+            if (hex.length() == HASH_LENGTH) {
+                break;
+            }
+        }
+        return hex.toString();
+    }
+
+    private static boolean isHidden(Path path) {
+        return path.getFileName() != null && path.getFileName().toString().startsWith(".");
+    }
+
+    /**
+     * Compresses the asset to the target unless the target exists already.
+     *
+     * @param path asset path
+     * @param target compressed variant path, named by the hash of the asset
+     * @return true if the compressed variant exists
+     */
+    static boolean compress(Path path, Path target) {
+        try {
+            return compressIfAbsent(path, target);
+        } catch (IOException e) {
+            // Then the asset is served uncompressed
+            log.debug("Failed to compress theme asset: [{}]", path, e);
+            return false;
+        }
+    }
+
+    private static boolean compressIfAbsent(Path path, Path target) throws IOException {
+        long size = Files.size(path);
+        if (size < MIN_COMPRESS_SIZE) {
+            return false;
+        }
+        if (Files.exists(target)) {
+            // Compressed from the same content already
+            return true;
+        }
+
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".", GZIP_SUFFIX);
+        try {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+                Files.copy(path, out);
+            }
+            if (Files.size(temp) >= size) {
+                // Not worth it
+                return false;
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Deletes compressed variants of old contents or removed assets.
+     */
+    private static void deleteStale(Path themeCachePath, Set<Path> current) {
+        if (!Files.isDirectory(themeCachePath)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(themeCachePath)) {
+            paths.filter(Files::isRegularFile)
+                .filter(file -> !current.contains(file))
+                .forEach(file -> {
+                    try {
+                        Files.deleteIfExists(file);
+                    } catch (IOException e) {
+                        log.debug("Failed to delete stale theme asset: [{}]", file, e);
+                    }
+                });
+        } catch (IOException e) {
+            log.debug("Failed to delete stale theme assets in: [{}]", themeCachePath, e);
+        }
+    }
+
+    private static final class Index {
+
+        @Nullable
+        private final String folderName;
+
+        @Nullable
+        private final Path themePath;
+
+        private final Map<String, String> hashes;
+
+        /**
+         * Compressed variants by asset path relative to the theme.
+         */
+        private final Map<String, Path> compressed;
+
+        private Index(@Nullable String folderName, @Nullable Path themePath,
+            Map<String, String> hashes, Map<String, Path> compressed) {
+            this.folderName = folderName;
+            this.themePath = themePath;
+            this.hashes = hashes;
+            this.compressed = compressed;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package run.halo.app.utils;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.vladsch.flexmark.ext.attributes.AttributesExtension;
 import com.vladsch.flexmark.ext.autolink.AutolinkExtension;
 import com.vladsch.flexmark.ext.emoji.EmojiExtension;
@@ -21,12 +23,19 @@ import com.vladsch.flexmark.parser.Parser;
 import com.vladsch.flexmark.util.ast.Node;
 import com.vladsch.flexmark.util.data.DataHolder;
 import com.vladsch.flexmark.util.data.MutableDataSet;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
 import run.halo.app.model.support.HaloConst;
 import run.halo.app.utils.footnotes.FootnoteExtension;
@@ -73,6 +82,60 @@ public class MarkdownUtils {
     private static final HtmlRenderer RENDERER = HtmlRenderer.builder(OPTIONS).build();
     private static final Pattern FRONT_MATTER = Pattern.compile("^(---)?[\\s\\S]*?---");
 
+    /**
+     * Version of the rendering options, it must be increased when {@link #OPTIONS} or the short
+     * url replacements are changed, so that no html rendered by old options will be reused.
+     */
+    private static final int OPTIONS_VERSION = 1;
+
+    /**
+     * Cached html is weighed by its length, about 32MB of memory at most.
+     */
+    private static final long CACHE_MAXIMUM_WEIGHT = 16 * 1024 * 1024;
+
+    /**
+     * Documents larger than this may be rendered in parallel by top-level blocks.
+     */
+    private static final int PARALLEL_THRESHOLD = 64 * 1024;
+
+    /**
+     * Minimum length of a block rendered in parallel, smaller sections are merged.
+     */
+    private static final int PARALLEL_CHUNK_SIZE = 16 * 1024;
+
+    private static final int SMALL_DOCUMENT_SIZE = 4 * 1024;
+
+    private static final Pattern ATX_HEADING = Pattern.compile("^#{1,6}(?:[ \\t].*)?$");
+
+    private static final Pattern FENCE = Pattern.compile("^ {0,3}(`{3,}|~{3,})");
+
+    /**
+     * Constructs resolved across the whole document, which cannot be rendered block by block:
+     * link reference definitions, footnotes, table of contents, front matter and html blocks.
+     */
+    private static final Pattern NOT_SPLITTABLE = Pattern.compile(
+        "^ {0,3}(?:\\[[^\\]]+]:|<)|\\[\\^|\\[(?i:toc)]|\\A---", Pattern.MULTILINE);
+
+    private static final Cache<String, String> RENDER_CACHE = CacheBuilder.newBuilder()
+        .maximumWeight(CACHE_MAXIMUM_WEIGHT)
+        .<String, String>weigher((key, html) -> html.length())
+        .build();
+
+    private static final Counter CACHE_HITS =
+        Metrics.counter("halo.markdown.render.cache", "result", "hit");
+
+    private static final Counter CACHE_MISSES =
+        Metrics.counter("halo.markdown.render.cache", "result", "miss");
+
+    private static final Timer SMALL_RENDER_TIMER =
+        Metrics.timer("halo.markdown.render", "size", "small");
+
+    private static final Timer MEDIUM_RENDER_TIMER =
+        Metrics.timer("halo.markdown.render", "size", "medium");
+
+    private static final Timer LARGE_RENDER_TIMER =
+        Metrics.timer("halo.markdown.render", "size", "large");
+
     //    /**
     //     * Render html document to markdown document.
     //     *
@@ -84,7 +147,10 @@ public class MarkdownUtils {
     //    }
 
     /**
-     * Render Markdown content
+     * Render Markdown content.
+     *
+     * <p>The html is cached by a hash of the markdown and the options version, so the same
+     * content saved again or imported again is not rendered twice.
      *
      * @param markdown content
      * @return String
@@ -94,6 +160,22 @@ public class MarkdownUtils {
             return StringUtils.EMPTY;
         }
 
+        String key = OPTIONS_VERSION + ":" + DigestUtils.sha256Hex(markdown);
+        String html = RENDER_CACHE.getIfPresent(key);
+        if (html != null) {
+            CACHE_HITS.increment();
+            return html;
+        }
+        CACHE_MISSES.increment();
+
+        Timer timer = markdown.length() < SMALL_DOCUMENT_SIZE ? SMALL_RENDER_TIMER
+            : markdown.length() < PARALLEL_THRESHOLD ? MEDIUM_RENDER_TIMER : LARGE_RENDER_TIMER;
+        html = timer.record(() -> render(markdown));
+        RENDER_CACHE.put(key, html);
+        return html;
+    }
+
+    private static String render(String markdown) {
         // Render netease music short url.
         if (markdown.contains(HaloConst.NETEASE_MUSIC_PREFIX)) {
             markdown = markdown
@@ -112,11 +194,73 @@ public class MarkdownUtils {
                 .replaceAll(HaloConst.YOUTUBE_VIDEO_REG_PATTERN, HaloConst.YOUTUBE_VIDEO_IFRAME);
         }
 
+        List<String> blocks = splitTopLevelBlocks(markdown);
+        if (blocks.size() < 2) {
+            return renderBlock(markdown);
+        }
+        return blocks.parallelStream()
+            .map(MarkdownUtils::renderBlock)
+            .collect(Collectors.joining());
+    }
+
+    private static String renderBlock(String markdown) {
         Node document = PARSER.parse(markdown);
 
         return RENDERER.render(document);
     }
 
+    /**
+     * Splits a large document before headings into chunks which can be rendered independently.
+     *
+     * <p>Only ATX headings at the first column after a blank line and outside fenced code are
+     * split points, because such a heading always closes the previous paragraphs, lists and
+     * quotes. Documents with constructs resolved across the whole document or with duplicate
+     * headings, whose generated ids would not be deduplicated any more, are not split.
+     *
+     * @param markdown markdown document
+     * @return chunks of the document, or a single chunk if it cannot be split
+     */
+    static List<String> splitTopLevelBlocks(String markdown) {
+        if (markdown.length() < PARALLEL_THRESHOLD || NOT_SPLITTABLE.matcher(markdown).find()) {
+            return List.of(markdown);
+        }
+
+        List<String> chunks = new ArrayList<>();
+        Set<String> headings = new HashSet<>();
+        String[] lines = markdown.split("\n", -1);
+        StringBuilder chunk = new StringBuilder();
+        String fence = null;
+        boolean previousBlank = true;
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i];
+            if (fence != null) {
+                if (line.trim().startsWith(fence)) {
+                    fence = null;
+                }
+            } else {
+                Matcher fenceMatcher = FENCE.matcher(line);
+                if (fenceMatcher.find()) {
+                    fence = fenceMatcher.group(1);
+                } else if (ATX_HEADING.matcher(line).matches()) {
+                    if (!headings.add(line.trim())) {
+                        return List.of(markdown);
+                    }
+                    if (previousBlank && chunk.length() >= PARALLEL_CHUNK_SIZE) {
+                        chunks.add(chunk.toString());
+                        chunk.setLength(0);
+                    }
+                }
+            }
+            chunk.append(line);
+            if (i < lines.length - 1) {
+                chunk.append('\n');
+            }
+            previousBlank = StringUtils.isBlank(line);
+        }
+        chunks.add(chunk.toString());
+        return chunks;
+    }
+
     /**
      * Get front-matter
      *
@@ -0,0 +1,84 @@
+package run.halo.app.utils;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Xml utils.
+ *
+ * @author guqing
+ * @date 2022-04-11
+ */
+public class XmlUtils {
+
+    private static final String CDATA_SPLIT = "]]><![CDATA[>";
+
+    private XmlUtils() {
+    }
+
+    /**
+     * Sanitizes text written inside a CDATA section in one scan.
+     *
+     * <p>Chars not allowed by XML 1.0 are removed, such as control chars other than tab, line
+     * feed and carriage return, DEL, unpaired surrogates, U+FFFE and U+FFFF. A {@code ]]>} in
+     * the text would end the section, so the section is split around it. Text without anything
+     * to change is returned as is without any allocation.
+     *
+     * @param text text to sanitize
+     * @return sanitized text, or null if the text is null
+     */
+    @Nullable
+    public static String sanitizeCdata(@Nullable String text) {
+        if (text == null) {
+            return null;
+        }
+        int length = text.length();
+        StringBuilder builder = null;
+        // Start of chars to keep which are not copied yet
+        int start = 0;
+        // Consecutive ']' kept right before the current char
+        int brackets = 0;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < length
+                && Character.isLowSurrogate(text.charAt(i + 1))) {
+                i++;
+                brackets = 0;
+                continue;
+            }
+            boolean valid = isXmlChar(c);
+            boolean cdataEnd = valid && c == '>' && brackets >= 2;
+            if (valid) {
+                brackets = c == ']' ? brackets + 1 : 0;
+            }
+            if (valid && !cdataEnd) {
+                continue;
+            }
+            if (builder == null) {
+                builder = new StringBuilder(length + CDATA_SPLIT.length());
+            }
+            builder.append(text, start, i);
+            if (cdataEnd) {
+                builder.append(CDATA_SPLIT);
+            }
+            start = i + 1;
+        }
+        if (builder == null) {
+            return text;
+        }
+        return builder.append(text, start, length).toString();
+    }
+
+    private static boolean isXmlChar(char c) {
+        if (c < 0x20) {
+            return c == '\t' || c == '\n' || c == '\r';
+        }
+        if (c < 0x7F) {
+            return true;
+        }
+        if (c == 0x7F) {
+            // Allowed by XML 1.0 but removed from feeds as before
+            return false;
+        }
+        return c < Character.MIN_SURROGATE || (c > Character.MAX_SURROGATE && c <= 0xFFFD);
+    }
+}
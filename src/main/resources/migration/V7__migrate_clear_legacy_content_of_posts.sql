@@ -0,0 +1,5 @@
+-- Clear legacy content columns of posts whose content has moved to contents table
+UPDATE posts
+SET original_content = NULL,
+    format_content   = NULL
+WHERE id IN (SELECT post_id FROM contents);
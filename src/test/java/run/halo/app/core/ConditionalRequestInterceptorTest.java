@@ -0,0 +1,121 @@
+package run.halo.app.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.ui.Model;
+import org.springframework.web.method.HandlerMethod;
+import run.halo.app.cache.ContentGeneration;
+import run.halo.app.controller.admin.api.PhotoController;
+import run.halo.app.controller.content.ContentIndexController;
+import run.halo.app.controller.content.api.JournalController;
+
+/**
+ * Test for {@link ConditionalRequestInterceptor}.
+ *
+ * @author guqing
+ * @date 2022-04-11
+ */
+class ConditionalRequestInterceptorTest {
+
+    ContentGeneration contentGeneration;
+
+    ConditionalRequestInterceptor interceptor;
+
+    HandlerMethod indexHandler;
+
+    HandlerMethod photoHandler;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        contentGeneration = new ContentGeneration();
+        interceptor = new ConditionalRequestInterceptor(contentGeneration);
+        indexHandler = new HandlerMethod(mock(ContentIndexController.class),
+            ContentIndexController.class.getMethod("index", Model.class, Integer.class));
+        photoHandler = new HandlerMethod(mock(PhotoController.class),
+            PhotoController.class.getMethod("deletePermanently", Integer.class));
+    }
+
+    @Test
+    void notModifiedUntilContentChanged() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(new MockHttpServletRequest("GET", "/page/2"), response,
+            indexHandler)).isTrue();
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache");
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/page/2");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        response = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request, response, indexHandler)).isFalse();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+
+        contentGeneration.increase();
+        response = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request, response, indexHandler)).isTrue();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+    }
+
+    @Test
+    void skipPreview() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(new MockHttpServletRequest("GET", "/"), response, indexHandler);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.setParameter("token", "preview");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, response.getHeader(HttpHeaders.ETAG));
+        response = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request, response, indexHandler)).isTrue();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+    }
+
+    @Test
+    void skipSession() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(new MockHttpServletRequest("GET", "/"), response, indexHandler);
+        assertThat(response.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.COOKIE);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.setRequestedSessionId("unlocked");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, response.getHeader(HttpHeaders.ETAG));
+        response = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request, response, indexHandler)).isTrue();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("private, no-cache");
+        assertThat(response.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.COOKIE);
+    }
+
+    @Test
+    void notIncreaseGenerationAfterContentWrite() throws NoSuchMethodException {
+        HandlerMethod likeHandler = new HandlerMethod(mock(JournalController.class),
+            JournalController.class.getMethod("like", Integer.class));
+        interceptor.afterCompletion(
+            new MockHttpServletRequest("POST", "/api/content/journals/1/likes"),
+            new MockHttpServletResponse(), likeHandler, null);
+        // Left to the domain events
+        assertThat(contentGeneration.get()).isZero();
+    }
+
+    @Test
+    void increaseGenerationAfterAdminWrite() {
+        MockHttpServletRequest request =
+            new MockHttpServletRequest("DELETE", "/api/admin/photos/1");
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), photoHandler, null);
+        assertThat(contentGeneration.get()).isEqualTo(1);
+
+        MockHttpServletResponse failed = new MockHttpServletResponse();
+        failed.setStatus(HttpStatus.BAD_REQUEST.value());
+        interceptor.afterCompletion(request, failed, photoHandler, null);
+        interceptor.afterCompletion(new MockHttpServletRequest("GET", "/api/admin/photos"),
+            new MockHttpServletResponse(), photoHandler, null);
+        assertThat(contentGeneration.get()).isEqualTo(1);
+    }
+}
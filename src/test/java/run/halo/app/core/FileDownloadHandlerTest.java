@@ -0,0 +1,158 @@
+package run.halo.app.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import run.halo.app.exception.NotFoundException;
+import run.halo.app.model.enums.DownloadType;
+
+/**
+ * Test for {@link FileDownloadHandler}.
+ *
+ * @author guqing
+ * @date 2022-04-11
+ */
+class FileDownloadHandlerTest {
+
+    static final String CONTENT = "0123456789";
+
+    @TempDir
+    Path tempDir;
+
+    Path file;
+
+    SimpleMeterRegistry meterRegistry;
+
+    FileDownloadHandler fileDownloadHandler;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.writeString(tempDir.resolve("halo-backup.zip"), CONTENT);
+        meterRegistry = new SimpleMeterRegistry();
+        fileDownloadHandler = new FileDownloadHandler(meterRegistry);
+    }
+
+    @Test
+    void downloadFull() throws IOException {
+        MockHttpServletResponse response = download(new MockHttpServletRequest("GET", "/"));
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+        assertThat(response.getContentLengthLong()).isEqualTo(CONTENT.length());
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_DISPOSITION))
+            .contains("halo-backup.zip");
+        assertThat(meterRegistry.counter("halo.download.bytes", "type", "backup", "range", "full")
+            .count()).isEqualTo(CONTENT.length());
+    }
+
+    @Test
+    void downloadSingleRange() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.RANGE, "bytes=7-");
+        MockHttpServletResponse response = download(request);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.PARTIAL_CONTENT.value());
+        assertThat(response.getContentAsString()).isEqualTo("789");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 7-9/10");
+        assertThat(response.getContentLengthLong()).isEqualTo(3);
+    }
+
+    @Test
+    void downloadMultipleRanges() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-1,5-6");
+        MockHttpServletResponse response = download(request);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.PARTIAL_CONTENT.value());
+        assertThat(response.getContentType()).startsWith("multipart/byteranges; boundary=");
+        String content = response.getContentAsString(StandardCharsets.US_ASCII);
+        assertThat(content).contains("Content-Range: bytes 0-1/10\r\n\r\n01\r\n")
+            .contains("Content-Range: bytes 5-6/10\r\n\r\n56\r\n")
+            .endsWith("--\r\n");
+        assertThat(response.getContentLengthLong()).isEqualTo(content.length());
+    }
+
+    @Test
+    void ignoreRangeIfChanged() throws IOException {
+        MockHttpServletResponse response = download(new MockHttpServletRequest("GET", "/"));
+        String etag = response.getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.RANGE, "bytes=7-");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"outdated\"");
+        response = download(request);
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+
+        request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.RANGE, "bytes=7-");
+        request.addHeader(HttpHeaders.IF_RANGE, etag);
+        response = download(request);
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.PARTIAL_CONTENT.value());
+    }
+
+    @Test
+    void rejectUnsatisfiableRange() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-");
+        MockHttpServletResponse response = download(request);
+
+        assertThat(response.getStatus())
+            .isEqualTo(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */10");
+    }
+
+    @Test
+    void downloadEmptyFile() throws IOException {
+        file = Files.writeString(tempDir.resolve("empty.zip"), "");
+
+        MockHttpServletResponse response = download(new MockHttpServletRequest("GET", "/"));
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentAsByteArray()).isEmpty();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-");
+        response = download(request);
+        assertThat(response.getStatus())
+            .isEqualTo(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */0");
+    }
+
+    @Test
+    void notModified() throws IOException {
+        MockHttpServletResponse response = download(new MockHttpServletRequest("GET", "/"));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, response.getHeader(HttpHeaders.ETAG));
+        response = download(request);
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void downloadMissingFile() {
+        assertThatThrownBy(() -> fileDownloadHandler.download(tempDir.resolve("missing.zip"),
+            DownloadType.BACKUP, true, new MockHttpServletRequest("GET", "/"),
+            new MockHttpServletResponse()))
+            .isInstanceOf(NotFoundException.class);
+    }
+
+    MockHttpServletResponse download(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        fileDownloadHandler.download(file, DownloadType.BACKUP, true, request, response);
+        return response;
+    }
+}
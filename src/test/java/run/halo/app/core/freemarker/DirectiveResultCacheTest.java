@@ -0,0 +1,68 @@
+package run.halo.app.core.freemarker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import freemarker.template.SimpleScalar;
+import freemarker.template.TemplateModel;
+import freemarker.template.TemplateModelException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import run.halo.app.cache.ContentGeneration;
+
+/**
+ * Test for {@link DirectiveResultCache}.
+ *
+ * @author guqing
+ * @date 2022-03-29
+ */
+class DirectiveResultCacheTest {
+
+    ContentGeneration contentGeneration;
+
+    DirectiveResultCache directiveResultCache;
+
+    @BeforeEach
+    void setUp() {
+        contentGeneration = new ContentGeneration();
+        directiveResultCache = new DirectiveResultCache(contentGeneration);
+    }
+
+    @Test
+    void cacheByDirectiveAndParams() throws TemplateModelException {
+        AtomicInteger loadCount = new AtomicInteger();
+
+        Map<String, TemplateModel> params =
+            Map.of("method", new SimpleScalar("latest"), "top", new SimpleScalar("5"));
+        Map<String, TemplateModel> sameParams =
+            Map.of("top", new SimpleScalar("5"), "method", new SimpleScalar("latest"));
+        Map<String, TemplateModel> otherParams =
+            Map.of("method", new SimpleScalar("latest"), "top", new SimpleScalar("10"));
+
+        TemplateModel result =
+            directiveResultCache.get("postTag", params, loadCount::incrementAndGet);
+        assertThat(directiveResultCache.get("postTag", sameParams, loadCount::incrementAndGet))
+            .isSameAs(result);
+        assertThat(loadCount.get()).isEqualTo(1);
+
+        directiveResultCache.get("postTag", otherParams, loadCount::incrementAndGet);
+        directiveResultCache.get("tagTag", params, loadCount::incrementAndGet);
+        assertThat(loadCount.get()).isEqualTo(3);
+    }
+
+    @Test
+    void invalidateByGeneration() throws TemplateModelException {
+        AtomicInteger loadCount = new AtomicInteger();
+        Map<String, TemplateModel> params = Map.of("method", new SimpleScalar("count"));
+
+        directiveResultCache.get("postTag", params, loadCount::incrementAndGet);
+        directiveResultCache.get("postTag", params, loadCount::incrementAndGet);
+        assertThat(loadCount.get()).isEqualTo(1);
+
+        contentGeneration.increase();
+
+        directiveResultCache.get("postTag", params, loadCount::incrementAndGet);
+        assertThat(loadCount.get()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,66 @@
+package run.halo.app.core.freemarker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+import freemarker.template.TemplateException;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.ui.freemarker.FreeMarkerTemplateUtils;
+
+/**
+ * Test for {@link TemplateStreamRenderer}.
+ *
+ * @author guqing
+ * @date 2022-04-11
+ */
+class TemplateStreamRendererTest {
+
+    @Test
+    void renderSameAsString() throws IOException, TemplateException {
+        Template template = new Template("rss",
+            "<rss><#list posts as post><item>${post}</item></#list></rss>",
+            new Configuration(Configuration.VERSION_2_3_25));
+        Map<String, Object> model = Map.of("posts", List.of("a", "b", "c"));
+
+        StringWriter out = new StringWriter();
+        TemplateStreamRenderer.render(template, model, out, 4);
+        assertThat(out.toString())
+            .isEqualTo(FreeMarkerTemplateUtils.processTemplateIntoString(template, model));
+    }
+
+    @Test
+    void flushEveryFlushSize() throws IOException {
+        FlushRecordingWriter out = new FlushRecordingWriter();
+        TemplateStreamRenderer.FlushingWriter writer =
+            new TemplateStreamRenderer.FlushingWriter(out, 4);
+
+        writer.write("abc");
+        assertThat(out.flushed).isEmpty();
+        writer.write("defghij");
+        writer.write('k');
+        assertThat(out.flushed).containsExactly("abcd", "efgh");
+        writer.write("xyz".toCharArray(), 1, 2);
+        writer.flush();
+        assertThat(out.flushed).containsExactly("abcd", "efgh", "ijky", "z");
+    }
+
+    static class FlushRecordingWriter extends StringWriter {
+
+        final List<String> flushed = new ArrayList<>();
+
+        int flushedLength;
+
+        @Override
+        public void flush() {
+            String content = toString();
+            flushed.add(content.substring(flushedLength));
+            flushedLength = content.length();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package run.halo.app.core.freemarker.profile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import run.halo.app.core.freemarker.tag.ToolTagDirective;
+import run.halo.app.model.dto.RenderProfileDTO;
+
+/**
+ * Test for {@link ThemeProfiler}.
+ *
+ * @author guqing
+ * @date 2022-04-08
+ */
+class ThemeProfilerTest {
+
+    SimpleMeterRegistry meterRegistry;
+
+    ThemeProfiler themeProfiler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        themeProfiler = new ThemeProfiler(new Configuration(Configuration.VERSION_2_3_25),
+            meterRegistry);
+    }
+
+    @Test
+    void resolveTheme() {
+        assertThat(ThemeProfiler.resolveTheme("themes/anatole/post")).isEqualTo("anatole");
+        assertThat(ThemeProfiler.resolveTheme("themes/anatole/post.ftl")).isEqualTo("anatole");
+        assertThat(ThemeProfiler.resolveTheme("common/error/404")).isNull();
+        assertThat(ThemeProfiler.resolveTheme(null)).isNull();
+    }
+
+    @Test
+    void listSlowestTemplates() {
+        themeProfiler.recordTemplate("themes/anatole/index", millis(10));
+        themeProfiler.recordTemplate("themes/anatole/post", millis(10));
+        themeProfiler.recordTemplate("themes/anatole/post", millis(30));
+        themeProfiler.recordTemplate("themes/other/post", millis(100));
+        themeProfiler.recordTemplate("common/error/404", millis(100));
+
+        List<RenderProfileDTO> templates = themeProfiler.listSlowestTemplates("anatole", 10);
+        assertThat(templates).extracting(RenderProfileDTO::getName)
+            .containsExactly("post", "index");
+        assertThat(templates.get(0).getCount()).isEqualTo(2);
+        assertThat(templates.get(0).getAverageMillis()).isEqualTo(20D);
+        assertThat(templates.get(0).getMaxMillis()).isEqualTo(30D);
+        assertThat(meterRegistry.get("halo.theme.render").tag("theme", "anatole")
+            .tag("template", "post").timer().count()).isEqualTo(2);
+
+        themeProfiler.clear();
+        assertThat(themeProfiler.listSlowestTemplates("anatole", 10)).isEmpty();
+    }
+
+    @Test
+    void profileDirective() throws Exception {
+        Configuration configuration = new Configuration(Configuration.VERSION_2_3_25);
+        new ToolTagDirective(configuration);
+        themeProfiler = new ThemeProfiler(configuration, meterRegistry);
+        themeProfiler.afterSingletonsInstantiated();
+
+        assertThat(configuration.getSharedVariable("toolTag"))
+            .isInstanceOf(ProfilingDirective.class);
+
+        Template template = new Template("themes/anatole/index.ftl",
+            "<@toolTag method=\"random\" min=\"1\" max=\"2\">${number}</@toolTag>",
+            configuration);
+        StringWriter out = new StringWriter();
+        template.process(Map.of(), out);
+
+        assertThat(out.toString()).isEqualTo("1");
+        assertThat(themeProfiler.listSlowestDirectives("anatole", 10))
+            .extracting(RenderProfileDTO::getName, RenderProfileDTO::getMethod)
+            .containsExactly(tuple("toolTag", "random"));
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
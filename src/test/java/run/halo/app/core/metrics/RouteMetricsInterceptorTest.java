@@ -0,0 +1,41 @@
+package run.halo.app.core.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Test for {@link RouteMetricsInterceptor}.
+ *
+ * @author guqing
+ * @date 2022-04-06
+ */
+class RouteMetricsInterceptorTest {
+
+    @Test
+    void resolvePageType() {
+        assertThat(RouteMetricsInterceptor.resolvePageType("themes/anatole/index"))
+            .isEqualTo("index");
+        assertThat(RouteMetricsInterceptor.resolvePageType("themes/anatole/post_diary"))
+            .isEqualTo("post");
+        assertThat(RouteMetricsInterceptor.resolvePageType("themes/anatole/sheet.ftl"))
+            .isEqualTo("sheet");
+        assertThat(RouteMetricsInterceptor.resolvePageType("common/error/404")).isNull();
+        assertThat(RouteMetricsInterceptor.resolvePageType(null)).isNull();
+    }
+
+    @Test
+    void tagRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        assertThat(RouteMetrics.getPageType(request)).isEqualTo(RouteMetrics.NONE);
+        assertThat(RouteMetrics.getCacheStatus(request)).isEqualTo(RouteMetrics.NONE);
+
+        new RouteMetricsInterceptor().postHandle(request, new MockHttpServletResponse(),
+            new Object(), new ModelAndView("themes/anatole/category"));
+
+        assertThat(RouteMetrics.getPageType(request)).isEqualTo("category");
+    }
+}
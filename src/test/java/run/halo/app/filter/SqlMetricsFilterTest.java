@@ -0,0 +1,75 @@
+package run.halo.app.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import javax.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import run.halo.app.config.properties.HaloProperties;
+import run.halo.app.core.metrics.SqlStatementInspector;
+import run.halo.app.core.metrics.SqlStatistics;
+
+/**
+ * Test for {@link SqlMetricsFilter}.
+ *
+ * @author guqing
+ * @date 2022-04-07
+ */
+class SqlMetricsFilterTest {
+
+    HaloProperties haloProperties;
+
+    SimpleMeterRegistry meterRegistry;
+
+    SqlMetricsFilter filter;
+
+    FilterChain chain = (request, response) -> {
+        SqlStatementInspector inspector = new SqlStatementInspector();
+        inspector.inspect("select * from posts where id=?");
+        inspector.inspect("select * from posts where id=?");
+        inspector.inspect("select * from posts where id=?");
+        inspector.inspect("select * from tags");
+        response.getWriter().write("ok");
+    };
+
+    @BeforeEach
+    void setUp() {
+        haloProperties = new HaloProperties();
+        haloProperties.setSqlRepeatThreshold(2);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new SqlMetricsFilter(haloProperties, meterRegistry);
+    }
+
+    @Test
+    void recordMetrics() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/archives");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(meterRegistry.get("halo.sql.statements").summary().totalAmount())
+            .isEqualTo(4);
+        assertThat(meterRegistry.get("halo.sql.repeated").counter().count()).isEqualTo(1);
+        assertThat(response.getHeader(SqlMetricsFilter.STATISTICS_HEADER)).isNull();
+        assertThat(SqlStatistics.current()).isNull();
+    }
+
+    @Test
+    void writeDebugHeaders() throws Exception {
+        haloProperties.setSqlDebugHeaderEnabled(true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/archives");
+        request.addHeader(SqlMetricsFilter.DEBUG_HEADER, "true");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getHeader(SqlMetricsFilter.STATISTICS_HEADER))
+            .startsWith("statements=4, entities=0");
+        assertThat(response.getHeaders(SqlMetricsFilter.REPEATED_HEADER))
+            .containsExactly("3");
+        assertThat(response.getContentAsString()).isEqualTo("ok");
+    }
+}
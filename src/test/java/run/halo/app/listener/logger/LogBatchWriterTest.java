@@ -0,0 +1,107 @@
+package run.halo.app.listener.logger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import run.halo.app.config.properties.HaloProperties;
+import run.halo.app.model.entity.Log;
+import run.halo.app.model.enums.LogOverflowPolicy;
+import run.halo.app.model.enums.LogType;
+
+/**
+ * Test for {@link LogBatchWriter}.
+ *
+ * @author guqing
+ * @date 2022-04-04
+ */
+@ExtendWith(MockitoExtension.class)
+class LogBatchWriterTest {
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+
+    @Captor
+    ArgumentCaptor<List<Object[]>> batchArgsCaptor;
+
+    HaloProperties haloProperties;
+
+    SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        haloProperties = new HaloProperties();
+        haloProperties.setLogQueueCapacity(2);
+        haloProperties.setLogBatchSize(2);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void dropOldestWhenFull() {
+        LogBatchWriter writer = new LogBatchWriter(jdbcTemplate, haloProperties, meterRegistry);
+
+        writer.write(log("1"));
+        writer.write(log("2"));
+        writer.write(log("3"));
+
+        assertThat(writer.flush()).isEqualTo(2);
+        verify(jdbcTemplate).batchUpdate(anyString(), batchArgsCaptor.capture());
+        assertThat(batchArgsCaptor.getValue()).extracting(args -> args[2])
+            .containsExactly("2", "3");
+        assertThat(meterRegistry.counter("halo.log.writer.dropped").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("halo.log.writer.written").count()).isEqualTo(2);
+    }
+
+    @Test
+    void dropNewestWhenBlockTimeout() {
+        haloProperties.setLogOverflowPolicy(LogOverflowPolicy.BLOCK);
+        LogBatchWriter writer = new LogBatchWriter(jdbcTemplate, haloProperties, meterRegistry);
+
+        writer.write(log("1"));
+        writer.write(log("2"));
+        writer.write(log("3"));
+
+        assertThat(writer.flush()).isEqualTo(2);
+        verify(jdbcTemplate).batchUpdate(anyString(), batchArgsCaptor.capture());
+        assertThat(batchArgsCaptor.getValue()).extracting(args -> args[2])
+            .containsExactly("1", "2");
+        assertThat(meterRegistry.counter("halo.log.writer.dropped").count()).isEqualTo(1);
+    }
+
+    @Test
+    void drainOnStop() {
+        haloProperties.setLogQueueCapacity(10);
+        LogBatchWriter writer = new LogBatchWriter(jdbcTemplate, haloProperties, meterRegistry);
+
+        for (int i = 0; i < 5; i++) {
+            writer.write(log(String.valueOf(i)));
+        }
+        writer.stop();
+
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), anyList());
+        assertThat(meterRegistry.counter("halo.log.writer.written").count()).isEqualTo(5);
+
+        // Logs are written directly after stopped
+        writer.write(log("5"));
+        assertThat(meterRegistry.counter("halo.log.writer.written").count()).isEqualTo(6);
+    }
+
+    private static Log log(String content) {
+        Log log = new Log();
+        log.setType(LogType.LOGGED_IN);
+        log.setContent(content);
+        return log;
+    }
+}
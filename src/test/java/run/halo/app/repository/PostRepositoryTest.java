@@ -0,0 +1,48 @@
+package run.halo.app.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import run.halo.app.model.entity.LegacyPostContent;
+import run.halo.app.model.entity.Post;
+import run.halo.app.model.enums.PostStatus;
+
+/**
+ * Post repository test.
+ *
+ * @author guqing
+ * @date 2022-04-11
+ */
+@DataJpaTest
+@AutoConfigureDataJpa
+class PostRepositoryTest {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void legacyContentColumnsSplitFromPost() {
+        Post post = new Post();
+        post.setTitle("Hello Halo");
+        post.setSlug("hello-halo");
+        post.setStatus(PostStatus.PUBLISHED);
+        Integer postId = postRepository.saveAndFlush(post).getId();
+        entityManager.clear();
+
+        assertThat(postRepository.findById(postId))
+            .hasValueSatisfying(saved -> assertThat(saved.getTitle()).isEqualTo("Hello Halo"));
+
+        // The legacy columns still exist, but nothing writes them any more
+        LegacyPostContent legacyContent = entityManager.find(LegacyPostContent.class, postId);
+        assertThat(legacyContent).isNotNull();
+        assertThat(legacyContent.getOriginalContent()).isNull();
+        assertThat(legacyContent.getFormatContent()).isNull();
+    }
+}
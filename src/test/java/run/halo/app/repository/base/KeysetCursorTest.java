@@ -0,0 +1,120 @@
+package run.halo.app.repository.base;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.Date;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import run.halo.app.exception.BadRequestException;
+import run.halo.app.model.entity.Post;
+import run.halo.app.model.entity.PostComment;
+
+/**
+ * Test for {@link KeysetCursor}.
+ *
+ * @author guqing
+ * @date 2022-04-11
+ */
+class KeysetCursorTest {
+
+    @Test
+    void checkSortable() {
+        KeysetCursor.checkSortable(Post.class,
+            Sort.by(Sort.Direction.DESC, "topPriority", "createTime", "id"), "id");
+        KeysetCursor.checkSortable(PostComment.class, Sort.by("createTime"), "id");
+
+        assertThatThrownBy(() -> KeysetCursor.checkSortable(Post.class,
+            Sort.by(Sort.Direction.DESC, "password"), "id"))
+            .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> KeysetCursor.checkSortable(PostComment.class,
+            Sort.by("createTime", "email"), "id"))
+            .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> KeysetCursor.checkSortable(PostComment.class,
+            Sort.by("ipAddress"), "id"))
+            .isInstanceOf(BadRequestException.class);
+        // Nullable properties are not sortable
+        assertThatThrownBy(() -> KeysetCursor.checkSortable(Post.class,
+            Sort.by(Sort.Direction.DESC, "editTime"), "id"))
+            .isInstanceOf(BadRequestException.class);
+        // Properties of other domains are not sortable
+        assertThatThrownBy(() -> KeysetCursor.checkSortable(PostComment.class,
+            Sort.by("visits"), "id"))
+            .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void withTieBreaker() {
+        Sort sort = Sort.by(Sort.Direction.DESC, "topPriority", "createTime");
+        assertThat(KeysetCursor.withTieBreaker(sort, "id"))
+            .isEqualTo(Sort.by(Sort.Direction.DESC, "topPriority", "createTime", "id"));
+
+        Sort sortWithId = Sort.by(Sort.Order.asc("createTime"), Sort.Order.desc("id"));
+        assertThat(KeysetCursor.withTieBreaker(sortWithId, "id")).isSameAs(sortWithId);
+    }
+
+    @Test
+    void encodeAndDecode() {
+        Post post = new Post();
+        post.setId(12);
+        post.setTopPriority(1);
+        post.setCreateTime(new Date(1649635200000L));
+        Sort sort = KeysetCursor.withTieBreaker(
+            Sort.by(Sort.Direction.DESC, "topPriority", "createTime"), "id");
+
+        String cursor = KeysetCursor.encode(sort, post);
+        assertThat(cursor).doesNotContain("=", "+", "/");
+
+        List<JsonNode> values = KeysetCursor.decode(cursor, sort);
+        assertThat(values).hasSize(3);
+        assertThat(values.get(0).asInt()).isEqualTo(1);
+        assertThat(values.get(1).asLong()).isEqualTo(1649635200000L);
+        assertThat(values.get(2).asInt()).isEqualTo(12);
+    }
+
+    @Test
+    void encodeNullValue() {
+        Post post = new Post();
+        post.setId(12);
+        Sort sort = KeysetCursor.withTieBreaker(Sort.by("createTime"), "id");
+
+        assertThatThrownBy(() -> KeysetCursor.encode(sort, post))
+            .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void decodeWithAnotherSort() {
+        Post post = new Post();
+        post.setId(12);
+        post.setCreateTime(new Date());
+        String cursor = KeysetCursor.encode(Sort.by("createTime", "id"), post);
+
+        assertThatThrownBy(() -> KeysetCursor.decode(cursor, Sort.by("editTime", "id")))
+            .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(cursor,
+            Sort.by(Sort.Direction.DESC, "createTime", "id")))
+            .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void decodeInvalidCursor() {
+        Sort sort = Sort.by("id");
+
+        assertThatThrownBy(() -> KeysetCursor.decode("not a cursor!", sort))
+            .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode("bm90IGpzb24", sort))
+            .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void checkSize() {
+        KeysetCursor.checkSize(1);
+        KeysetCursor.checkSize(KeysetCursor.MAX_SIZE);
+        assertThatThrownBy(() -> KeysetCursor.checkSize(0))
+            .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> KeysetCursor.checkSize(KeysetCursor.MAX_SIZE + 1))
+            .isInstanceOf(BadRequestException.class);
+    }
+}
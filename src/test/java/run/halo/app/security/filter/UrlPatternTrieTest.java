@@ -0,0 +1,77 @@
+package run.halo.app.security.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Test for {@link UrlPatternTrie}.
+ *
+ * @author guqing
+ * @date 2022-04-10
+ */
+class UrlPatternTrieTest {
+
+    static final List<String> PATTERNS = List.of(
+        "/**",
+        "/admin/**",
+        "/api/**",
+        "/api/content/**",
+        "/api/content/**/comments",
+        "/api/content/**/comments/**",
+        "/api/content/posts/*/likes",
+        "/api/admin/refresh/*",
+        "/api/admin/login",
+        "/api/admin/login/",
+        "/js/**",
+        "/themes/*/assets/*.js",
+        "/version");
+
+    static final List<String> PATHS = List.of(
+        "/",
+        "/admin",
+        "/admin/",
+        "/admin/index.html",
+        "/api/content",
+        "/api/content/",
+        "/api/content/comments",
+        "/api/content/posts/1/comments",
+        "/api/content/posts/1/comments/",
+        "/api/content/posts/1/comments/2/children",
+        "/api/content/posts/1/likes",
+        "/api/content/posts/likes",
+        "/api/admin/refresh/",
+        "/api/admin/refresh/token",
+        "/api/admin/refresh/token/other",
+        "/api/admin/login",
+        "/api/admin/login/",
+        "/js/halo.js",
+        "/themes/anatole/assets/main.js",
+        "/themes/anatole/assets/main.css",
+        "/version",
+        "/version/",
+        "/archives/hello-halo");
+
+    @Test
+    void matchSameAsAntPathMatcher() {
+        UrlPatternTrie trie = new UrlPatternTrie();
+        for (int i = 0; i < PATTERNS.size(); i++) {
+            trie.add(PATTERNS.get(i), 1L << i);
+        }
+
+        AntPathMatcher antPathMatcher = new AntPathMatcher();
+        for (String path : PATHS) {
+            long expected = 0;
+            for (int i = 0; i < PATTERNS.size(); i++) {
+                if (antPathMatcher.match(PATTERNS.get(i), path)) {
+                    expected |= 1L << i;
+                }
+            }
+            assertThat(Long.toBinaryString(trie.match(path)))
+                .as(path)
+                .isEqualTo(Long.toBinaryString(expected));
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package run.halo.app.security.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import run.halo.app.cache.AbstractStringCacheStore;
+import run.halo.app.cache.InMemoryCacheStore;
+import run.halo.app.config.properties.HaloProperties;
+import run.halo.app.model.enums.AccessTokenMode;
+
+/**
+ * Test for {@link SignedTokenServiceImpl}.
+ *
+ * @author guqing
+ * @date 2022-04-11
+ */
+class SignedTokenServiceImplTest {
+
+    static final String OLD_SECRET = "old-secret-old-secret-old-secret";
+
+    static final String NEW_SECRET = "new-secret-new-secret-new-secret";
+
+    @TempDir
+    Path workDir;
+
+    AbstractStringCacheStore cacheStore;
+
+    @BeforeEach
+    void setUp() {
+        cacheStore = new InMemoryCacheStore();
+    }
+
+    @Test
+    void signAndVerify() {
+        SignedTokenServiceImpl signedTokenService = newService("old", Map.of("old", OLD_SECRET));
+
+        String token = signedTokenService.sign(1, 60);
+        assertThat(signedTokenService.isSigned(token)).isTrue();
+        assertThat(signedTokenService.isSigned("3a4d5bd1c2a74b1d9f0e0ac2c1d2f3e4")).isFalse();
+        assertThat(signedTokenService.verify(token)).contains(1);
+
+        // Tampered user id
+        String tampered = token.replaceFirst("\\.1\\.", ".2.");
+        assertThat(signedTokenService.verify(tampered)).isEmpty();
+
+        // Expired
+        assertThat(signedTokenService.verify(signedTokenService.sign(1, -1))).isEmpty();
+
+        assertThat(signedTokenService.verify("s1.old.1")).isEmpty();
+        assertThat(signedTokenService.verify("s1.old.1.x.y.%%%")).isEmpty();
+    }
+
+    @Test
+    void rotateKeys() {
+        SignedTokenServiceImpl oldService = newService("old", Map.of("old", OLD_SECRET));
+        String oldToken = oldService.sign(1, 60);
+
+        Map<String, String> keys = new LinkedHashMap<>();
+        keys.put("new", NEW_SECRET);
+        keys.put("old", OLD_SECRET);
+        SignedTokenServiceImpl rotatedService = newService("new", keys);
+        String newToken = rotatedService.sign(1, 60);
+        assertThat(newToken).startsWith("s1.new.");
+        assertThat(rotatedService.verify(oldToken)).contains(1);
+        assertThat(rotatedService.verify(newToken)).contains(1);
+
+        // The old key is removed
+        SignedTokenServiceImpl newService = newService("new", Map.of("new", NEW_SECRET));
+        assertThat(newService.verify(oldToken)).isEmpty();
+        assertThat(newService.verify(newToken)).contains(1);
+    }
+
+    @Test
+    void revoke() {
+        SignedTokenServiceImpl signedTokenService = newService(null, Map.of("old", OLD_SECRET));
+        SignedTokenServiceImpl otherNode = newService(null, Map.of("old", OLD_SECRET));
+
+        String token = signedTokenService.sign(1, 60);
+        String otherToken = signedTokenService.sign(1, 60);
+        signedTokenService.revoke(token);
+
+        assertThat(signedTokenService.verify(token)).isEmpty();
+        assertThat(signedTokenService.verify(otherToken)).contains(1);
+        // Revocations are shared by the cache store
+        assertThat(otherNode.verify(token)).isEmpty();
+        assertThat(otherNode.verify(otherToken)).contains(1);
+    }
+
+    @Test
+    void revokeStoresOneEntryPerToken() {
+        SignedTokenServiceImpl signedTokenService = newService(null, Map.of("old", OLD_SECRET));
+
+        // The in-memory cache store is shared by all instances
+        int size = cacheStore.toMap().size();
+        signedTokenService.revoke(signedTokenService.sign(1, 60));
+        signedTokenService.revoke(signedTokenService.sign(2, 60));
+        assertThat(cacheStore.toMap()).hasSize(size + 2);
+
+        // Expired tokens are not stored
+        signedTokenService.revoke(signedTokenService.sign(1, -1));
+        assertThat(cacheStore.toMap()).hasSize(size + 2);
+    }
+
+    @Test
+    void localKey() {
+        SignedTokenServiceImpl generated = newService(null, Map.of());
+        String localToken = generated.sign(1, 60);
+        assertThat(localToken).startsWith("s1.local.");
+
+        // The local key is loaded in the cache mode too
+        HaloProperties haloProperties = new HaloProperties();
+        haloProperties.setWorkDir(workDir.toString());
+        SignedTokenServiceImpl cacheModeService =
+            new SignedTokenServiceImpl(haloProperties, cacheStore);
+        assertThat(cacheModeService.verify(localToken)).contains(1);
+
+        // And along with the configured keys
+        SignedTokenServiceImpl configuredService = newService(null, Map.of("new", NEW_SECRET));
+        assertThat(configuredService.sign(1, 60)).startsWith("s1.new.");
+        assertThat(configuredService.verify(localToken)).contains(1);
+    }
+
+    @Test
+    void noLocalKeyGeneratedInCacheMode() {
+        HaloProperties haloProperties = new HaloProperties();
+        haloProperties.setWorkDir(workDir.toString());
+        new SignedTokenServiceImpl(haloProperties, cacheStore);
+
+        assertThat(workDir).isEmptyDirectory();
+    }
+
+    SignedTokenServiceImpl newService(String keyId, Map<String, String> keys) {
+        HaloProperties haloProperties = new HaloProperties();
+        haloProperties.setWorkDir(workDir.toString());
+        haloProperties.setAccessTokenMode(AccessTokenMode.SIGNED);
+        haloProperties.setAccessTokenSigningKeyId(keyId);
+        haloProperties.setAccessTokenSigningKeys(keys);
+        return new SignedTokenServiceImpl(haloProperties, cacheStore);
+    }
+}
@@ -0,0 +1,61 @@
+package run.halo.app.security.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import run.halo.app.event.user.UserUpdatedEvent;
+import run.halo.app.model.entity.User;
+
+/**
+ * Test for {@link UserDetailCache}.
+ *
+ * @author guqing
+ * @date 2022-04-10
+ */
+class UserDetailCacheTest {
+
+    final UserDetailCache userDetailCache = new UserDetailCache();
+
+    @Test
+    void getCopyOfCachedUser() {
+        userDetailCache.put("token", user(), userDetailCache.generation());
+
+        User cached = userDetailCache.get("token").orElseThrow().getUser();
+        assertThat(cached.getUsername()).isEqualTo("admin");
+
+        // Changes in a request must not leak into the cache
+        cached.setUsername("changed");
+        assertThat(userDetailCache.get("token").orElseThrow().getUser().getUsername())
+            .isEqualTo("admin");
+    }
+
+    @Test
+    void invalidate() {
+        userDetailCache.put("token", user(), userDetailCache.generation());
+        userDetailCache.put("other", user(), userDetailCache.generation());
+
+        userDetailCache.invalidate("token");
+        assertThat(userDetailCache.get("token")).isEmpty();
+        assertThat(userDetailCache.get("other")).isPresent();
+
+        userDetailCache.onUserUpdated(new UserUpdatedEvent(this, 1));
+        assertThat(userDetailCache.get("other")).isEmpty();
+    }
+
+    @Test
+    void skipUserLoadedBeforeInvalidation() {
+        long generation = userDetailCache.generation();
+        userDetailCache.invalidate("token");
+
+        userDetailCache.put("token", user(), generation);
+        assertThat(userDetailCache.get("token")).isEmpty();
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId(1);
+        user.setUsername("admin");
+        user.setNickname("Admin");
+        return user;
+    }
+}
@@ -0,0 +1,83 @@
+package run.halo.app.service.impl;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import run.halo.app.cache.AbstractStringCacheStore;
+import run.halo.app.config.properties.HaloProperties;
+import run.halo.app.mail.MailService;
+import run.halo.app.model.entity.User;
+import run.halo.app.security.service.SignedTokenService;
+import run.halo.app.security.support.UserDetailCache;
+import run.halo.app.security.util.SecurityUtils;
+import run.halo.app.service.OptionService;
+import run.halo.app.service.UserService;
+
+/**
+ * Test for {@link AdminServiceImpl}.
+ *
+ * @author guqing
+ * @date 2022-04-11
+ */
+class AdminServiceImplTest {
+
+    AbstractStringCacheStore cacheStore;
+
+    UserService userService;
+
+    UserDetailCache userDetailCache;
+
+    SignedTokenService signedTokenService;
+
+    AdminServiceImpl adminService;
+
+    User user;
+
+    @BeforeEach
+    void setUp() {
+        cacheStore = mock(AbstractStringCacheStore.class);
+        userService = mock(UserService.class);
+        userDetailCache = mock(UserDetailCache.class);
+        signedTokenService = mock(SignedTokenService.class);
+        adminService = new AdminServiceImpl(mock(OptionService.class), userService,
+            mock(MailService.class), cacheStore, new HaloProperties(),
+            mock(ApplicationEventPublisher.class), userDetailCache, signedTokenService);
+
+        user = new User();
+        user.setId(1);
+        when(cacheStore.getAny(SecurityUtils.buildTokenRefreshKey("refresh-token"), Integer.class))
+            .thenReturn(Optional.of(1));
+        when(userService.getById(1)).thenReturn(user);
+    }
+
+    @Test
+    void refreshTokenRevokesBeforeInvalidatingCache() {
+        when(cacheStore.getAny(SecurityUtils.buildAccessTokenKey(user), String.class))
+            .thenReturn(Optional.of("access-token"));
+
+        adminService.refreshToken("refresh-token");
+
+        InOrder inOrder = inOrder(cacheStore, userDetailCache);
+        inOrder.verify(cacheStore).delete(SecurityUtils.buildTokenAccessKey("access-token"));
+        inOrder.verify(userDetailCache).invalidate("access-token");
+    }
+
+    @Test
+    void refreshSignedTokenRevokesBeforeInvalidatingCache() {
+        when(cacheStore.getAny(SecurityUtils.buildAccessTokenKey(user), String.class))
+            .thenReturn(Optional.of("signed-token"));
+        when(signedTokenService.isSigned("signed-token")).thenReturn(true);
+
+        adminService.refreshToken("refresh-token");
+
+        InOrder inOrder = inOrder(signedTokenService, userDetailCache);
+        inOrder.verify(signedTokenService).revoke("signed-token");
+        inOrder.verify(userDetailCache).invalidate("signed-token");
+    }
+}
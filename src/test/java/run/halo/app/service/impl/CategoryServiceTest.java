@@ -17,6 +17,7 @@ import run.halo.app.model.vo.CategoryVO;
 import run.halo.app.repository.CategoryRepository;
 import run.halo.app.service.OptionService;
 import run.halo.app.service.PostCategoryService;
+import run.halo.app.service.support.PermalinkGenerator;
 import run.halo.app.utils.JsonUtils;
 
 /**
@@ -45,8 +46,8 @@ public class CategoryServiceTest {
     @BeforeEach
     public void setUp() {
         categoryService =
-            new CategoryServiceImpl(categoryRepository, postCategoryService, optionService,
-                applicationContext);
+            new CategoryServiceImpl(categoryRepository, postCategoryService,
+                new PermalinkGenerator(optionService), applicationContext);
 
         when(optionService.isEnabledAbsolutePath()).thenReturn(true);
         when(optionService.getBlogBaseUrl()).thenReturn("http://127.0.0.1:8090");
@@ -1,9 +1,11 @@
 package run.halo.app.service.impl;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -185,4 +187,17 @@ public class ContentPatchLogServiceImplTest {
             + "岱宗夫如何，齐鲁青未了。\n\n"
             + "造化钟神秀，阴阳割昏晓。\n");
     }
+
+    @Test
+    public void removeStaleVersions() {
+        when(contentPatchLogRepository.findAllIdsByPostIdOrderByVersionDesc(2))
+            .thenReturn(List.of(7, 6, 5, 4, 3, 2, 1));
+        when(contentPatchLogRepository.deleteAllByIdsInBatch(List.of(5, 4, 3))).thenReturn(3);
+
+        // The base version and versions referenced by the content are retained
+        assertThat(contentPatchLogService.removeStaleVersions(2, 2)).isEqualTo(3);
+        verify(contentPatchLogRepository).deleteAllByIdsInBatch(List.of(5, 4, 3));
+
+        assertThat(contentPatchLogService.removeStaleVersions(2, 6)).isZero();
+    }
 }
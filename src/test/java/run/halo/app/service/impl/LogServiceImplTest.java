@@ -0,0 +1,108 @@
+package run.halo.app.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import run.halo.app.model.entity.LogDailyCount;
+import run.halo.app.model.enums.LogType;
+import run.halo.app.model.projection.LogTypeTimeProjection;
+import run.halo.app.repository.LogDailyCountRepository;
+import run.halo.app.repository.LogRepository;
+
+/**
+ * Test for {@link LogServiceImpl}.
+ *
+ * @author guqing
+ * @date 2022-04-05
+ */
+@ExtendWith(MockitoExtension.class)
+class LogServiceImplTest {
+
+    @Mock
+    LogRepository logRepository;
+
+    @Mock
+    LogDailyCountRepository logDailyCountRepository;
+
+    LogServiceImpl logService;
+
+    @BeforeEach
+    void setUp() {
+        logService = new LogServiceImpl(logRepository, logDailyCountRepository);
+    }
+
+    @Test
+    void removeOldestWithRollup() {
+        Date before = new Date();
+        when(logRepository.findAllTypeTimesByCreateTimeBefore(before, PageRequest.of(0, 3)))
+            .thenReturn(List.of(
+                new LogTypeTimeProjection(1L, LogType.LOGGED_IN, date(1, 8)),
+                new LogTypeTimeProjection(2L, LogType.LOGGED_IN, date(1, 20)),
+                new LogTypeTimeProjection(3L, LogType.LOGGED_OUT, date(1, 21))));
+        when(logRepository.deleteAllByIdsInBatch(List.of(1L, 2L, 3L))).thenReturn(3);
+
+        LogDailyCount existing = new LogDailyCount();
+        existing.setDay(date(1, 0));
+        existing.setType(LogType.LOGGED_IN);
+        existing.setCount(5L);
+        when(logDailyCountRepository.findByDayAndType(date(1, 0), LogType.LOGGED_IN))
+            .thenReturn(Optional.of(existing));
+        when(logDailyCountRepository.findByDayAndType(date(1, 0), LogType.LOGGED_OUT))
+            .thenReturn(Optional.empty());
+
+        assertThat(logService.removeOldest(before, 3, true)).isEqualTo(3);
+
+        ArgumentCaptor<LogDailyCount> captor = ArgumentCaptor.forClass(LogDailyCount.class);
+        verify(logDailyCountRepository, times(2)).save(captor.capture());
+        assertThat(captor.getAllValues())
+            .extracting(LogDailyCount::getType, LogDailyCount::getCount)
+            .containsExactlyInAnyOrder(
+                tuple(LogType.LOGGED_IN, 7L),
+                tuple(LogType.LOGGED_OUT, 1L));
+    }
+
+    @Test
+    void removeOldestWithoutRollup() {
+        Date before = new Date();
+        when(logRepository.findAllTypeTimesByCreateTimeBefore(eq(before), any()))
+            .thenReturn(List.of());
+
+        assertThat(logService.removeOldest(before, 100, false)).isZero();
+        verify(logRepository, never()).deleteAllByIdsInBatch(any());
+    }
+
+    @Test
+    void getOverflowTime() {
+        Date createTime = date(2, 10);
+        when(logRepository.findAllCreateTimes(PageRequest.of(10, 1)))
+            .thenReturn(List.of(createTime));
+        when(logRepository.findAllCreateTimes(PageRequest.of(20, 1))).thenReturn(List.of());
+
+        assertThat(logService.getOverflowTime(10))
+            .contains(new Date(createTime.getTime() + 1));
+        assertThat(logService.getOverflowTime(20)).isEmpty();
+    }
+
+    private static Date date(int day, int hour) {
+        return Date.from(LocalDateTime.of(2022, 4, day, hour, 0)
+            .atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
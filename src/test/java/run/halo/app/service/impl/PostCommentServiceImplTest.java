@@ -21,6 +21,7 @@ import run.halo.app.service.CommentBlackListService;
 import run.halo.app.service.OptionService;
 import run.halo.app.service.UserService;
 import run.halo.app.service.assembler.comment.PostCommentAssembler;
+import run.halo.app.service.support.PermalinkGenerator;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -66,7 +67,8 @@ public class PostCommentServiceImplTest {
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
-        postCommentAssembler = new PostCommentAssembler(mockOptionService, mockPostRepository);
+        postCommentAssembler = new PostCommentAssembler(mockOptionService, mockPostRepository,
+            new PermalinkGenerator(mockOptionService));
 
         postCommentService = new PostCommentServiceImpl(
             mockPostCommentRepository,
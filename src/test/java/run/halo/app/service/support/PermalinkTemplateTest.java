@@ -0,0 +1,78 @@
+package run.halo.app.service.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import run.halo.app.model.enums.PostPermalinkType;
+import run.halo.app.model.enums.SheetPermalinkType;
+import run.halo.app.service.OptionService;
+
+/**
+ * Test for {@link PermalinkTemplate}.
+ *
+ * @author guqing
+ * @date 2022-03-30
+ */
+@ExtendWith(MockitoExtension.class)
+class PermalinkTemplateTest {
+
+    @Mock
+    OptionService optionService;
+
+    Date createTime;
+
+    @BeforeEach
+    void setUp() {
+        createTime = Date.from(LocalDateTime.of(2022, 3, 5, 10, 30)
+            .atZone(ZoneId.systemDefault()).toInstant());
+
+        when(optionService.isEnabledAbsolutePath()).thenReturn(true);
+        when(optionService.getBlogBaseUrl()).thenReturn("http://127.0.0.1:8090");
+        when(optionService.getSheetPermalinkType()).thenReturn(SheetPermalinkType.SECONDARY);
+        when(optionService.getPathSuffix()).thenReturn(".html");
+        when(optionService.getArchivesPrefix()).thenReturn("archives");
+        when(optionService.getSheetPrefix()).thenReturn("s");
+        when(optionService.getCategoriesPrefix()).thenReturn("categories");
+        when(optionService.getTagsPrefix()).thenReturn("tags");
+    }
+
+    @Test
+    void buildPostFullPath() {
+        assertThat(compile(PostPermalinkType.DEFAULT).buildPostFullPath(1, "hello", createTime))
+            .isEqualTo("http://127.0.0.1:8090/archives/hello.html");
+        assertThat(compile(PostPermalinkType.ID).buildPostFullPath(1, "hello", createTime))
+            .isEqualTo("http://127.0.0.1:8090/?p=1");
+        assertThat(compile(PostPermalinkType.ID_SLUG).buildPostFullPath(1, "hello", createTime))
+            .isEqualTo("http://127.0.0.1:8090/archives/1.html");
+        assertThat(compile(PostPermalinkType.YEAR).buildPostFullPath(1, "hello", createTime))
+            .isEqualTo("http://127.0.0.1:8090/2022/hello.html");
+        assertThat(compile(PostPermalinkType.DATE).buildPostFullPath(1, "hello", createTime))
+            .isEqualTo("http://127.0.0.1:8090/2022/03/hello.html");
+        assertThat(compile(PostPermalinkType.DAY).buildPostFullPath(1, "hello", createTime))
+            .isEqualTo("http://127.0.0.1:8090/2022/03/05/hello.html");
+    }
+
+    @Test
+    void buildOtherFullPath() {
+        PermalinkTemplate template = compile(PostPermalinkType.DEFAULT);
+        assertThat(template.buildSheetFullPath("about"))
+            .isEqualTo("http://127.0.0.1:8090/s/about.html");
+        assertThat(template.buildCategoryFullPath("java"))
+            .isEqualTo("http://127.0.0.1:8090/categories/java.html");
+        assertThat(template.buildTagFullPath("spring"))
+            .isEqualTo("http://127.0.0.1:8090/tags/spring.html");
+    }
+
+    private PermalinkTemplate compile(PostPermalinkType postPermalinkType) {
+        when(optionService.getPostPermalinkType()).thenReturn(postPermalinkType);
+        return PermalinkTemplate.compile(optionService);
+    }
+}
@@ -0,0 +1,92 @@
+package run.halo.app.service.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import run.halo.app.model.entity.Post;
+import run.halo.app.model.enums.PostStatus;
+import run.halo.app.model.projection.PostSortKeyProjection;
+import run.halo.app.repository.PostRepository;
+import run.halo.app.service.support.PostArchiveIndex.Archive;
+
+/**
+ * Test for {@link PostArchiveIndex}.
+ *
+ * @author guqing
+ * @date 2022-04-01
+ */
+@ExtendWith(MockitoExtension.class)
+class PostArchiveIndexTest {
+
+    @Mock
+    PostRepository postRepository;
+
+    PostArchiveIndex postArchiveIndex;
+
+    @BeforeEach
+    void setUp() {
+        postArchiveIndex = new PostArchiveIndex(postRepository);
+
+        when(postRepository.findAllSortKeysByStatus(PostStatus.PUBLISHED)).thenReturn(List.of(
+            projection(1, date(2021, 12, 1)),
+            projection(2, date(2022, 1, 5)),
+            projection(3, date(2022, 1, 20)),
+            projection(4, date(2022, 3, 1))));
+    }
+
+    @Test
+    void listArchives() {
+        List<Archive> monthArchives = postArchiveIndex.listMonthArchives();
+        assertThat(monthArchives.stream()
+            .map(archive -> archive.getYear() + "-" + archive.getMonth())
+            .collect(Collectors.toList()))
+            .containsExactly("2022-3", "2022-1", "2021-12");
+        assertThat(monthArchives.get(1).getPostIds()).containsExactly(3, 2);
+    }
+
+    @Test
+    void updateIncrementally() {
+        postArchiveIndex.listMonthArchives();
+
+        // Unpublish the only post in December
+        Post post = post(1, date(2021, 12, 1));
+        post.setStatus(PostStatus.DRAFT);
+        postArchiveIndex.put(post);
+
+        // Move a post to another month
+        postArchiveIndex.put(post(4, date(2022, 1, 31)));
+        postArchiveIndex.remove(2);
+
+        List<Archive> monthArchives = postArchiveIndex.listMonthArchives();
+        assertThat(monthArchives).hasSize(1);
+        assertThat(monthArchives.get(0).getMonth()).isEqualTo(1);
+        assertThat(monthArchives.get(0).getPostIds()).containsExactly(4, 3);
+    }
+
+    private static Date date(int year, int month, int day) {
+        return Date.from(LocalDateTime.of(year, month, day, 12, 0)
+            .atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static PostSortKeyProjection projection(Integer id, Date createTime) {
+        return new PostSortKeyProjection(id, createTime, createTime, 0L);
+    }
+
+    private static Post post(Integer id, Date createTime) {
+        Post post = new Post();
+        post.setId(id);
+        post.setStatus(PostStatus.PUBLISHED);
+        post.setCreateTime(createTime);
+        return post;
+    }
+}
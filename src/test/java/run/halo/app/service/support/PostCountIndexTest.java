@@ -0,0 +1,143 @@
+package run.halo.app.service.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import run.halo.app.model.entity.Category;
+import run.halo.app.model.entity.Post;
+import run.halo.app.model.enums.PostStatus;
+import run.halo.app.model.projection.CategoryIdPostStatusProjection;
+import run.halo.app.model.projection.TagIdPostStatusProjection;
+import run.halo.app.repository.CategoryRepository;
+import run.halo.app.repository.PostCategoryRepository;
+import run.halo.app.repository.PostTagRepository;
+
+/**
+ * Test for {@link PostCountIndex}.
+ *
+ * @author guqing
+ * @date 2022-04-02
+ */
+@ExtendWith(MockitoExtension.class)
+class PostCountIndexTest {
+
+    @Mock
+    PostTagRepository postTagRepository;
+
+    @Mock
+    PostCategoryRepository postCategoryRepository;
+
+    @Mock
+    CategoryRepository categoryRepository;
+
+    PostCountIndex postCountIndex;
+
+    @BeforeEach
+    void setUp() {
+        postCountIndex =
+            new PostCountIndex(postTagRepository, postCategoryRepository, categoryRepository);
+
+        // 1 -> 2 -> 3
+        when(categoryRepository.findAll())
+            .thenReturn(List.of(category(1, 0), category(2, 1), category(3, 2)));
+        when(postTagRepository.findAllWithPostStatus()).thenReturn(List.of(
+            new TagIdPostStatusProjection(1, 1, PostStatus.PUBLISHED),
+            new TagIdPostStatusProjection(1, 2, PostStatus.DRAFT),
+            new TagIdPostStatusProjection(1, 3, PostStatus.RECYCLE)));
+        when(postCategoryRepository.findAllWithPostStatus()).thenReturn(List.of(
+            new CategoryIdPostStatusProjection(1, 1, PostStatus.PUBLISHED),
+            new CategoryIdPostStatusProjection(3, 1, PostStatus.PUBLISHED),
+            new CategoryIdPostStatusProjection(3, 2, PostStatus.DRAFT),
+            new CategoryIdPostStatusProjection(3, 3, PostStatus.RECYCLE)));
+    }
+
+    @Test
+    void countDirectAndSubtree() {
+        assertThat(postCountIndex.getTagPostCount(1)).isEqualTo(2);
+
+        assertThat(postCountIndex.getCategoryPostCount(1)).isEqualTo(1);
+        assertThat(postCountIndex.getCategoryPostCount(2)).isZero();
+        assertThat(postCountIndex.getCategoryPostCount(3)).isEqualTo(2);
+
+        // Post 1 is linked to both category 1 and 3, but counted once
+        assertThat(postCountIndex.getCategorySubtreePostCount(1)).isEqualTo(2);
+        assertThat(postCountIndex.getCategorySubtreePostCount(2)).isEqualTo(2);
+        assertThat(postCountIndex.getCategorySubtreePostCount(3)).isEqualTo(2);
+    }
+
+    @Test
+    void notPublishLoadRacedWithChange() {
+        List<Category> categories = List.of(category(1, 0), category(2, 1), category(3, 2));
+        when(categoryRepository.findAll()).thenAnswer(invocation -> {
+            // A tag is changed while loading
+            postCountIndex.invalidate();
+            return categories;
+        }).thenReturn(categories);
+
+        assertThat(postCountIndex.getTagPostCount(1)).isEqualTo(2);
+        assertThat(postCountIndex.getTagPostCount(1)).isEqualTo(2);
+        assertThat(postCountIndex.getTagPostCount(1)).isEqualTo(2);
+
+        // Loaded again, then published
+        verify(categoryRepository, times(2)).findAll();
+    }
+
+    @Test
+    void updateIncrementally() {
+        postCountIndex.getTagPostCount(1);
+
+        // Move post 2 to recycle bin
+        when(postTagRepository.findAllTagIdsByPostId(2)).thenReturn(Set.of(1));
+        when(postCategoryRepository.findAllCategoryIdsByPostId(2)).thenReturn(Set.of(3));
+        postCountIndex.update(post(2, PostStatus.RECYCLE));
+
+        // Restore post 3 to category 2 without tags
+        when(postTagRepository.findAllTagIdsByPostId(3)).thenReturn(Set.of());
+        when(postCategoryRepository.findAllCategoryIdsByPostId(3)).thenReturn(Set.of(2));
+        postCountIndex.update(post(3, PostStatus.PUBLISHED));
+
+        postCountIndex.remove(1);
+
+        assertThat(postCountIndex.getTagPostCount(1)).isZero();
+        assertThat(postCountIndex.getCategoryPostCount(2)).isEqualTo(1);
+        assertThat(postCountIndex.getCategoryPostCount(3)).isZero();
+        assertThat(postCountIndex.getCategorySubtreePostCount(1)).isEqualTo(1);
+        assertThat(postCountIndex.getCategorySubtreePostCount(3)).isZero();
+    }
+
+    @Test
+    void reconcile() {
+        assertThat(postCountIndex.reconcile()).isZero();
+
+        postCountIndex.getTagPostCount(1);
+        postCountIndex.remove(1);
+        assertThat(postCountIndex.getTagPostCount(1)).isEqualTo(1);
+
+        // Post 1 still exists in database, so the counters have drifted
+        assertThat(postCountIndex.reconcile()).isEqualTo(6);
+        assertThat(postCountIndex.getTagPostCount(1)).isEqualTo(2);
+    }
+
+    private static Category category(Integer id, Integer parentId) {
+        Category category = new Category();
+        category.setId(id);
+        category.setParentId(parentId);
+        return category;
+    }
+
+    private static Post post(Integer id, PostStatus status) {
+        Post post = new Post();
+        post.setId(id);
+        post.setStatus(status);
+        return post;
+    }
+}
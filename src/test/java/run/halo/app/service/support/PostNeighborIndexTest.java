@@ -0,0 +1,121 @@
+package run.halo.app.service.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import run.halo.app.model.entity.Post;
+import run.halo.app.model.enums.PostStatus;
+import run.halo.app.model.projection.PostSortKeyProjection;
+import run.halo.app.repository.PostRepository;
+import run.halo.app.service.support.PostNeighborIndex.SortKey;
+
+/**
+ * Test for {@link PostNeighborIndex}.
+ *
+ * @author guqing
+ * @date 2022-03-31
+ */
+@ExtendWith(MockitoExtension.class)
+class PostNeighborIndexTest {
+
+    @Mock
+    PostRepository postRepository;
+
+    PostNeighborIndex postNeighborIndex;
+
+    @BeforeEach
+    void setUp() {
+        postNeighborIndex = new PostNeighborIndex(postRepository);
+
+        when(postRepository.findAllSortKeysByStatus(PostStatus.PUBLISHED)).thenReturn(List.of(
+            new PostSortKeyProjection(1, new Date(1000), new Date(4000), 10L),
+            new PostSortKeyProjection(2, new Date(2000), new Date(3000), 10L),
+            new PostSortKeyProjection(3, new Date(3000), new Date(2000), 10L),
+            new PostSortKeyProjection(4, new Date(4000), new Date(1000), 5L)));
+    }
+
+    @Test
+    void listByCreateTime() {
+        Post post = post(2, 2000, 10L);
+
+        assertThat(postNeighborIndex.listPrevIds(SortKey.CREATE_TIME, post, 5))
+            .containsExactly(3, 4);
+        assertThat(postNeighborIndex.listNextIds(SortKey.CREATE_TIME, post, 5))
+            .containsExactly(1);
+        assertThat(postNeighborIndex.listPrevIds(SortKey.CREATE_TIME, post, 1))
+            .containsExactly(3);
+        verify(postRepository, times(1)).findAllSortKeysByStatus(PostStatus.PUBLISHED);
+    }
+
+    @Test
+    void breakTiesById() {
+        Post post = post(2, 2000, 10L);
+
+        assertThat(postNeighborIndex.listPrevIds(SortKey.VISITS, post, 1)).containsExactly(3);
+        assertThat(postNeighborIndex.listNextIds(SortKey.VISITS, post, 5))
+            .containsExactly(1, 4);
+    }
+
+    @Test
+    void updateIncrementally() {
+        Post post = post(2, 2000, 10L);
+        postNeighborIndex.listPrevIds(SortKey.VISITS, post, 1);
+
+        postNeighborIndex.increaseVisits(4, 10L);
+        assertThat(postNeighborIndex.listPrevIds(SortKey.VISITS, post, 5))
+            .containsExactly(3, 4);
+
+        postNeighborIndex.put(post(5, 5000, 0L));
+        assertThat(postNeighborIndex.listPrevIds(SortKey.CREATE_TIME, post, 5))
+            .containsExactly(3, 4, 5);
+
+        Post draft = post(3, 3000, 10L);
+        draft.setStatus(PostStatus.DRAFT);
+        postNeighborIndex.put(draft);
+        postNeighborIndex.remove(4);
+        assertThat(postNeighborIndex.listPrevIds(SortKey.CREATE_TIME, post, 5))
+            .containsExactly(5);
+    }
+
+    @Test
+    void keepUpdatesDuringLoading() throws InterruptedException {
+        Post post = post(2, 2000, 10L);
+        List<PostSortKeyProjection> projections =
+            postRepository.findAllSortKeysByStatus(PostStatus.PUBLISHED);
+        Thread writer = new Thread(() -> postNeighborIndex.put(post(5, 5000, 0L)));
+        when(postRepository.findAllSortKeysByStatus(PostStatus.PUBLISHED))
+            .thenAnswer(invocation -> {
+                // The post is committed after the query snapshot was taken
+                writer.start();
+                while (writer.isAlive() && writer.getState() != Thread.State.WAITING) {
+                    Thread.onSpinWait();
+                }
+                return projections;
+            });
+
+        postNeighborIndex.listPrevIds(SortKey.CREATE_TIME, post, 5);
+        writer.join();
+
+        assertThat(postNeighborIndex.listPrevIds(SortKey.CREATE_TIME, post, 5))
+            .containsExactly(3, 4, 5);
+    }
+
+    private Post post(Integer id, long createTime, Long visits) {
+        Post post = new Post();
+        post.setId(id);
+        post.setStatus(PostStatus.PUBLISHED);
+        post.setCreateTime(new Date(createTime));
+        post.setEditTime(new Date(createTime));
+        post.setVisits(visits);
+        return post;
+    }
+}
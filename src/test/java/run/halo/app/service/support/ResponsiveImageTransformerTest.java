@@ -0,0 +1,103 @@
+package run.halo.app.service.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import run.halo.app.model.entity.Attachment;
+import run.halo.app.model.enums.AttachmentType;
+import run.halo.app.repository.AttachmentRepository;
+import run.halo.app.service.OptionService;
+
+/**
+ * Test for {@link ResponsiveImageTransformer}.
+ *
+ * @author guqing
+ * @date 2022-03-28
+ */
+@ExtendWith(MockitoExtension.class)
+class ResponsiveImageTransformerTest {
+
+    @Mock
+    AttachmentRepository attachmentRepository;
+
+    @Mock
+    OptionService optionService;
+
+    ResponsiveImageTransformer transformer;
+
+    @BeforeEach
+    void setUp() {
+        transformer = new ResponsiveImageTransformer(attachmentRepository, optionService);
+    }
+
+    @Test
+    void transformLocalImage() {
+        when(optionService.getBlogBaseUrl()).thenReturn("https://halo.run");
+        when(attachmentRepository.findAllByPathInAndType(anyCollection(),
+            eq(AttachmentType.LOCAL))).thenReturn(List.of(attachment()));
+
+        String html = "<p><img src=\"/upload/2022/03/a.png\" alt=\"a\" /></p>\n"
+            + "<p><img src=\"https://halo.run/upload/2022/03/a.png\" alt=\"b\" /></p>\n"
+            + "<p><img src=\"https://example.com/b.png\" alt=\"c\" /></p>\n";
+
+        String result = transformer.transform(html);
+
+        assertThat(result).isEqualTo("<p><img src=\"/upload/2022/03/a.png\" alt=\"a\""
+            + " loading=\"lazy\" decoding=\"async\" width=\"1024\" height=\"512\""
+            + " srcset=\"/upload/2022/03/a-thumbnail.png 256w, /upload/2022/03/a.png 1024w\""
+            + " sizes=\"(max-width: 1024px) 100vw, 1024px\" /></p>\n"
+            + "<p><img src=\"https://halo.run/upload/2022/03/a.png\" alt=\"b\""
+            + " loading=\"lazy\" decoding=\"async\" width=\"1024\" height=\"512\""
+            + " srcset=\"https://halo.run/upload/2022/03/a-thumbnail.png 256w,"
+            + " https://halo.run/upload/2022/03/a.png 1024w\""
+            + " sizes=\"(max-width: 1024px) 100vw, 1024px\" /></p>\n"
+            + "<p><img src=\"https://example.com/b.png\" alt=\"c\" /></p>\n");
+
+        // idempotent
+        assertThat(transformer.transform(result)).isEqualTo(result);
+    }
+
+    @Test
+    void keepExistingAttributes() {
+        when(optionService.getBlogBaseUrl()).thenReturn("https://halo.run");
+        when(attachmentRepository.findAllByPathInAndType(anyCollection(),
+            eq(AttachmentType.LOCAL))).thenReturn(List.of(attachment()));
+
+        String result =
+            transformer.transform("<img src=\"/upload/2022/03/a.png\" loading=\"eager\">");
+
+        assertThat(result).startsWith("<img src=\"/upload/2022/03/a.png\" loading=\"eager\""
+            + " decoding=\"async\" width=\"1024\"");
+        assertThat(result).doesNotContain("loading=\"lazy\"");
+    }
+
+    @Test
+    void skipContentWithoutImages() {
+        String html = "<p>Hello Halo</p>";
+
+        assertThat(transformer.transform(html)).isSameAs(html);
+        assertThat(transformer.transform(null)).isNull();
+        verify(attachmentRepository, never()).findAllByPathInAndType(anyCollection(), eq(
+            AttachmentType.LOCAL));
+    }
+
+    Attachment attachment() {
+        Attachment attachment = new Attachment();
+        attachment.setPath("upload/2022/03/a.png");
+        attachment.setThumbPath("upload/2022/03/a-thumbnail.png");
+        attachment.setWidth(1024);
+        attachment.setHeight(512);
+        attachment.setType(AttachmentType.LOCAL);
+        return attachment;
+    }
+}
@@ -0,0 +1,136 @@
+package run.halo.app.service.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import run.halo.app.model.dto.StatisticDTO;
+import run.halo.app.model.enums.CommentStatus;
+import run.halo.app.model.enums.PostStatus;
+import run.halo.app.service.CategoryService;
+import run.halo.app.service.JournalCommentService;
+import run.halo.app.service.JournalService;
+import run.halo.app.service.LinkService;
+import run.halo.app.service.OptionService;
+import run.halo.app.service.PostCommentService;
+import run.halo.app.service.PostService;
+import run.halo.app.service.SheetCommentService;
+import run.halo.app.service.SheetService;
+import run.halo.app.service.TagService;
+import run.halo.app.service.support.StatisticSnapshot.Counter;
+
+/**
+ * Test for {@link StatisticSnapshot}.
+ *
+ * @author guqing
+ * @date 2022-04-03
+ */
+@ExtendWith(MockitoExtension.class)
+class StatisticSnapshotTest {
+
+    @Mock
+    PostService postService;
+
+    @Mock
+    SheetService sheetService;
+
+    @Mock
+    JournalService journalService;
+
+    @Mock
+    PostCommentService postCommentService;
+
+    @Mock
+    SheetCommentService sheetCommentService;
+
+    @Mock
+    JournalCommentService journalCommentService;
+
+    @Mock
+    OptionService optionService;
+
+    @Mock
+    LinkService linkService;
+
+    @Mock
+    CategoryService categoryService;
+
+    @Mock
+    TagService tagService;
+
+    StatisticSnapshot statisticSnapshot;
+
+    @BeforeEach
+    void setUp() {
+        statisticSnapshot = new StatisticSnapshot(postService, sheetService, journalService,
+            postCommentService, sheetCommentService, journalCommentService, optionService,
+            linkService, categoryService, tagService);
+    }
+
+    @Test
+    void loadAtFirstLookup() {
+        stubCounts();
+
+        StatisticDTO statistic = statisticSnapshot.get();
+
+        assertThat(statistic.getPostCount()).isEqualTo(3);
+        assertThat(statistic.getCommentCount()).isEqualTo(7);
+        assertThat(statistic.getTagCount()).isEqualTo(5);
+        assertThat(statistic.getCategoryCount()).isEqualTo(2);
+        assertThat(statistic.getJournalCount()).isEqualTo(1);
+        assertThat(statistic.getLinkCount()).isEqualTo(6);
+        assertThat(statistic.getVisitCount()).isEqualTo(120);
+        assertThat(statistic.getLikeCount()).isEqualTo(10);
+        assertThat(statistic.getEstablishDays()).isZero();
+    }
+
+    @Test
+    void skipUpdatesBeforeLoaded() {
+        statisticSnapshot.refresh(Counter.POST);
+        statisticSnapshot.increase(Counter.VISIT, 1L);
+
+        assertThat(statisticSnapshot.reconcile()).isZero();
+        verifyNoInteractions(postService);
+    }
+
+    @Test
+    void updateAndReconcile() {
+        stubCounts();
+        statisticSnapshot.get();
+
+        statisticSnapshot.increase(Counter.VISIT, 2L);
+        when(tagService.count()).thenReturn(6L);
+        statisticSnapshot.refresh(Counter.TAG);
+
+        StatisticDTO statistic = statisticSnapshot.get();
+        assertThat(statistic.getVisitCount()).isEqualTo(122);
+        assertThat(statistic.getTagCount()).isEqualTo(6);
+        verify(postService).countByStatus(PostStatus.PUBLISHED);
+
+        // Visits in memory are ahead of database
+        assertThat(statisticSnapshot.reconcile()).isEqualTo(1);
+        assertThat(statisticSnapshot.get().getVisitCount()).isEqualTo(120);
+    }
+
+    private void stubCounts() {
+        when(postService.countByStatus(PostStatus.PUBLISHED)).thenReturn(3L);
+        when(postCommentService.countByStatus(CommentStatus.PUBLISHED)).thenReturn(4L);
+        when(sheetCommentService.countByStatus(CommentStatus.PUBLISHED)).thenReturn(1L);
+        when(journalCommentService.countByStatus(CommentStatus.PUBLISHED)).thenReturn(2L);
+        when(tagService.count()).thenReturn(5L);
+        when(categoryService.count()).thenReturn(2L);
+        when(journalService.count()).thenReturn(1L);
+        when(linkService.count()).thenReturn(6L);
+        when(postService.countVisit()).thenReturn(100L);
+        when(sheetService.countVisit()).thenReturn(20L);
+        when(postService.countLike()).thenReturn(10L);
+        when(sheetService.countLike()).thenReturn(0L);
+        when(optionService.getBirthday()).thenReturn(System.currentTimeMillis());
+    }
+}
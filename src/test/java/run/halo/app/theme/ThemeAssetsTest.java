@@ -0,0 +1,112 @@
+package run.halo.app.theme;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import run.halo.app.config.properties.HaloProperties;
+
+/**
+ * Test for {@link ThemeAssets}.
+ *
+ * @author guqing
+ * @date 2022-04-11
+ */
+class ThemeAssetsTest {
+
+    @TempDir
+    Path themePath;
+
+    @TempDir
+    Path workDir;
+
+    ThemeAssets themeAssets;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.createDirectories(themePath.resolve("source/css"));
+        Files.createDirectories(themePath.resolve(".git"));
+        Files.writeString(themePath.resolve("source/css/style.css"), "body { color: red; }\n"
+            .repeat(100));
+        Files.writeString(themePath.resolve("source/css/small.css"), "a {}");
+        Files.writeString(themePath.resolve("index.ftl"), "<#include \"module/macro.ftl\">");
+        Files.writeString(themePath.resolve(".git/config"), "[core]");
+
+        HaloProperties haloProperties = new HaloProperties();
+        haloProperties.setWorkDir(workDir.toString());
+        themeAssets = new ThemeAssets(haloProperties);
+        themeAssets.load("anatole", themePath);
+    }
+
+    @Test
+    void fingerprintAndResolve() throws IOException {
+        String hash = ThemeAssets.hash(themePath.resolve("source/css/style.css"));
+        assertThat(hash).hasSize(ThemeAssets.HASH_LENGTH);
+
+        String fingerprinted = themeAssets.fingerprint("source/css/style.css");
+        assertThat(fingerprinted).isEqualTo("source/css/style." + hash + ".css");
+        assertThat(themeAssets.resolve("anatole/" + fingerprinted))
+            .isEqualTo("anatole/source/css/style.css");
+
+        // Unknown or outdated paths
+        assertThat(themeAssets.fingerprint("source/js/main.js")).isEqualTo("source/js/main.js");
+        assertThat(themeAssets.fingerprint("index.ftl")).isEqualTo("index.ftl");
+        assertThat(themeAssets.fingerprint(".git/config")).isEqualTo(".git/config");
+        assertThat(themeAssets.resolve("anatole/source/css/style.css")).isNull();
+        assertThat(themeAssets.resolve("anatole/source/css/style.0123456789abcdef.css")).isNull();
+        assertThat(themeAssets.resolve("other/" + fingerprinted)).isNull();
+    }
+
+    @Test
+    void compressOnce() throws IOException {
+        Path compressed = themeAssets.compressed("anatole/source/css/style.css");
+        assertThat(compressed).exists().startsWith(workDir.resolve(ThemeAssets.CACHE_FOLDER));
+        assertThat(Files.size(compressed))
+            .isLessThan(Files.size(themePath.resolve("source/css/style.css")));
+        // Never written into the theme
+        assertThat(themePath.resolve("source/css/style.css" + ThemeAssets.GZIP_SUFFIX))
+            .doesNotExist();
+        // Too small to compress
+        assertThat(themeAssets.compressed("anatole/source/css/small.css")).isNull();
+
+        long lastModified = Files.getLastModifiedTime(compressed).toMillis();
+        themeAssets.load("anatole", themePath);
+        assertThat(themeAssets.compressed("anatole/source/css/style.css")).isEqualTo(compressed);
+        assertThat(Files.getLastModifiedTime(compressed).toMillis()).isEqualTo(lastModified);
+    }
+
+    @Test
+    void reloadChangedAsset() throws IOException {
+        Path asset = themePath.resolve("source/css/style.css");
+        String oldFingerprinted = themeAssets.fingerprint("source/css/style.css");
+        Path oldCompressed = themeAssets.compressed("anatole/source/css/style.css");
+
+        Files.writeString(asset, "body { color: blue; }\n".repeat(100));
+        Files.setLastModifiedTime(oldCompressed,
+            FileTime.fromMillis(Files.getLastModifiedTime(asset).toMillis() - 1000));
+        // Changed but not reloaded yet, the stale variant must not be served
+        assertThat(themeAssets.compressed("anatole/source/css/style.css")).isNull();
+
+        themeAssets.load("anatole", themePath);
+        assertThat(themeAssets.resolve("anatole/" + oldFingerprinted)).isNull();
+        assertThat(themeAssets.fingerprint("source/css/style.css"))
+            .isNotEqualTo(oldFingerprinted);
+        assertThat(themeAssets.compressed("anatole/source/css/style.css"))
+            .isNotEqualTo(oldCompressed).exists();
+        assertThat(oldCompressed).doesNotExist();
+    }
+
+    @Test
+    void fingerprintPath() {
+        assertThat(ThemeAssets.fingerprint("source/js/app.min.js", "abc"))
+            .isEqualTo("source/js/app.min.abc.js");
+        assertThat(ThemeAssets.fingerprint("source/LICENSE", "abc")).isEqualTo("source/LICENSE");
+        assertThat(ThemeAssets.fingerprint("source/.htaccess", "abc"))
+            .isEqualTo("source/.htaccess");
+    }
+}
@@ -1,6 +1,7 @@
 package run.halo.app.utils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
@@ -110,4 +111,28 @@ class MarkdownUtilsTest {
         assertEquals("default category", frontMatter.get("categories").get(0));
         assertEquals("multi category", frontMatter.get("categories").get(1));
     }
-}
\ No newline at end of file
+
+    @Test
+    void splitLargeDocumentByHeadings() {
+        StringBuilder markdown = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            markdown.append("## Section ").append(i).append("\n\n")
+                .append(StringUtils.repeat("Hello Halo. ", 100)).append("\n\n")
+                .append("```markdown\n# Not a heading ").append(i).append("\n```\n\n");
+        }
+
+        List<String> blocks = MarkdownUtils.splitTopLevelBlocks(markdown.toString());
+        assertTrue(blocks.size() > 1);
+        assertEquals(markdown.toString(), String.join("", blocks));
+        blocks.forEach(block -> assertTrue(block.startsWith("## Section ")));
+
+        String html = MarkdownUtils.renderHtml(markdown.toString());
+        assertEquals(100, StringUtils.countMatches(html, "<h2"));
+        // Rendered once and cached
+        assertSame(html, MarkdownUtils.renderHtml(markdown.toString()));
+
+        // Footnotes are resolved across the whole document
+        markdown.append("Footnote[^1]\n\n[^1]: Halo\n");
+        assertEquals(1, MarkdownUtils.splitTopLevelBlocks(markdown.toString()).size());
+    }
+}
@@ -0,0 +1,39 @@
+package run.halo.app.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link XmlUtils}.
+ *
+ * @author guqing
+ * @date 2022-04-11
+ */
+class XmlUtilsTest {
+
+    @Test
+    void returnCleanTextAsIs() {
+        String text = "<p>Hello\tHalo</p>\r\n<pre>a[0]] > b</pre> 博客 😀";
+        assertThat(XmlUtils.sanitizeCdata(text)).isSameAs(text);
+        assertThat(XmlUtils.sanitizeCdata(null)).isNull();
+        assertThat(XmlUtils.sanitizeCdata("")).isEmpty();
+    }
+
+    @Test
+    void removeInvalidChars() {
+        assertThat(XmlUtils.sanitizeCdata("a\u0000b\u001Fc\u007Fd\uFFFEe\uFFFF"))
+            .isEqualTo("abcde");
+        // Unpaired surrogates
+        assertThat(XmlUtils.sanitizeCdata("a\uD83Db\uDE00c\uD83D")).isEqualTo("abc");
+    }
+
+    @Test
+    void splitCdataEnd() {
+        assertThat(XmlUtils.sanitizeCdata("a]]>b")).isEqualTo("a]]]]><![CDATA[>b");
+        assertThat(XmlUtils.sanitizeCdata("]]]>")).isEqualTo("]]]]]><![CDATA[>");
+        // The end is formed once the invalid char is removed
+        assertThat(XmlUtils.sanitizeCdata("]]\u0000>")).isEqualTo("]]]]><![CDATA[>");
+        assertThat(XmlUtils.sanitizeCdata("]a]>")).isEqualTo("]a]>");
+    }
+}